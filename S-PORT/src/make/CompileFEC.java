@@ -8,14 +8,12 @@
 package make;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Vector;
 
+import simula.compiler.BuildDriver;
 import simula.compiler.Simula;
-import simula.compiler.SimulaCompiler;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
-import simula.compiler.utilities.Util;
 import simula.editor.RTOption;
 
 /**
@@ -283,15 +281,12 @@ public final class CompileFEC {
 
 		long startTimeMs = System.currentTimeMillis( );
 
-		for(String name:names) {
-//			String fileName = userDir+"/src/"+Global.packetName+"/sim/"+name;
-			String fileName = "C:/WorkSpaces/SPort-System/S-Port/src/sport/fec/"+name;
-			System.out.println("Compile: "+fileName);
-			SimulaCompiler compiler = new SimulaCompiler(fileName);
-			Option.RUNTIME_USER_DIR=new File(fileName).getParent();
-			try { compiler.doCompile(); } catch (IOException e) { Util.IERR("Compiler Error: ", e); }
-			System.out.println("Done: "+fileName);
-		}
+		// The modules are compiled in parallel, in the order given by their external declarations.
+		String sourceDir = "C:/WorkSpaces/SPort-System/S-Port/src/sport/fec/";
+		Vector<File> files=new Vector<File>();
+		for(String name:names) files.add(new File(sourceDir+name));
+		Option.RUNTIME_USER_DIR=sourceDir;
+		BuildDriver.build(files);
 		System.out.println("--- END OF SIMULA TESTBATCH");
 		long timeUsed  = System.currentTimeMillis( ) - startTimeMs;
 		System.out.println("\nElapsed Time: Approximately " + timeUsed/1000 + " sec.");
@@ -7,22 +7,23 @@
  */
 package simula.compiler;
 
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.Files;
 
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.declaration.BlockDeclaration;
 import simula.compiler.syntaxClass.declaration.Declaration;
-import simula.compiler.syntaxClass.declaration.StandardClass;
 import simula.compiler.syntaxClass.statement.ProgramModule;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.Fingerprint;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
 
@@ -56,16 +57,17 @@ public final class AttributeFileIO {
 	/**
 	 * Write an attribute file.
 	 * @param program the program module
+	 * @return the interface fingerprint, or null if the program is not separately compiled
 	 * @throws IOException if an output operation fail
 	 */
-	static void write(final ProgramModule program) throws IOException {
+	static String write(final ProgramModule program) throws IOException {
 		String relativeAttributeFileName = program.getRelativeAttributeFileName();
-		if (relativeAttributeFileName == null) return;
-		File file = new File(Global.tempClassFileDir,relativeAttributeFileName);
+		if (relativeAttributeFileName == null) return(null);
+		File file = new File(CompilationContext.current().tempClassFileDir,relativeAttributeFileName);
 		if (Option.verbose)
 			Util.println("*** BEGIN Generate SimulaAttributeFile: \"" + file+"\"");
 		AttributeFileIO attributeFile = new AttributeFileIO(file);
-		attributeFile.write((BlockDeclaration) program.module);
+		byte[] bytes = attributeFile.write((BlockDeclaration) program.module);
 		if (Option.TRACE_ATTRIBUTE_OUTPUT) {
 			try { attributeFile.listAttributeFile(file);
 			} catch (ClassNotFoundException e) {
@@ -73,6 +75,7 @@ public final class AttributeFileIO {
 			}
 		}
 		if (Option.verbose)	Util.TRACE("*** ENDOF Generate SimulaAttributeFile: " + file);
+		return(Fingerprint.of(bytes));
 	}
 
 	/**
@@ -117,18 +120,18 @@ public final class AttributeFileIO {
 	/**
 	 * Write a module's attribute file.
 	 * @param module the module
+	 * @return the contents of the attribute file
 	 * @throws IOException if an io-error occurs
 	 */
-	private void write(final BlockDeclaration module) throws IOException {
-		File attributeDir = new File(Global.tempClassFileDir,Global.packetName);
+	private byte[] write(final BlockDeclaration module) throws IOException {
+		File attributeDir = new File(CompilationContext.current().tempClassFileDir,CompilationContext.current().packetName);
 		attributeDir.mkdirs();
-		attributeFile.createNewFile();
-		FileOutputStream fileOutputStream = new FileOutputStream(attributeFile);
-		ObjectOutputStream oupt = new ObjectOutputStream(fileOutputStream);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream oupt = new ObjectOutputStream(bytes);
 		// writeVersion:
 		oupt.writeObject(version);
 		// writeDependencies:
-		for(Declaration dcl:StandardClass.ENVIRONMENT.declarationList) {
+		for(Declaration dcl:CompilationContext.current().ENVIRONMENT.declarationList) {
 			if(dcl instanceof BlockDeclaration ext) {
 				if(ext.isPreCompiled) {
 					if (Option.verbose) Util.TRACE("***       Write External "+ext.declarationKind+' '+ext.identifier+'['+ext.externalIdent+']');
@@ -140,6 +143,8 @@ public final class AttributeFileIO {
 			Util.TRACE("***       Write External " + module.declarationKind + ' ' + module.identifier + '[' + module.externalIdent + ']');
 		oupt.writeObject(module);
 		oupt.flush(); oupt.close();	oupt = null;
+		Files.write(attributeFile.toPath(), bytes.toByteArray());
+		return(bytes.toByteArray());
 	}
 	  
 	/**
@@ -0,0 +1,728 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.compiler;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import simula.compiler.parsing.SimulaScanner;
+import simula.compiler.utilities.CompilationContext;
+import simula.compiler.utilities.Fingerprint;
+import simula.compiler.utilities.Global;
+import simula.compiler.utilities.KeyWord;
+import simula.compiler.utilities.Option;
+import simula.compiler.utilities.Token;
+import simula.compiler.utilities.Util;
+
+/**
+ * The Simula Build Driver.
+ * <p>
+ * Compiles a set of source files, each a main program or a separately compiled class or procedure.
+ * A module which declares an external class or procedure must be compiled after the module which
+ * produces its .jar file, see {@link simula.compiler.syntaxClass.declaration.ExternalDeclaration}.
+ * Instead of compiling the files one by one in a hand-maintained order, the build driver scans each
+ * source file for external declarations, in the external head and in block heads, and builds the
+ * dependency graph.
+ * <p>
+ * The module produced by a source file is the class or procedure declared after the external head.
+ * An external item with an external identification, i.e. a file name, refers to the module whose
+ * .jar file has that name. External items which are not produced by the build are expected to be found
+ * in extLib or in the output directory as before. If several source files produce the same module,
+ * e.g. to compile mutually recursive procedures, the list of source files gives the order: A module
+ * uses the nearest one before it in the list, and the .jar file is written again only when the modules
+ * reading the previous one are compiled.
+ * <p>
+ * The modules are compiled by a pool of threads, one thread per processor by default. A module is
+ * started when all the modules it depends on are compiled and their .jar files, with the attribute
+ * files, exist. Among the modules ready to be compiled, those with the longest chain of dependents
+ * are started first, so the build time approaches the time of the critical path. A module which
+ * depends on a failed module is not compiled.
+ * <p>
+ * A build is incremental, using the fingerprints in the manifest of each .jar file, see
+ * {@link Fingerprint}. A module is not compiled again when its source text, the options and the
+ * interfaces of the external modules it reads are unchanged. When an external module is compiled
+ * again but its attribute file is unchanged, only its classes are copied into the .jar files of the
+ * modules which read it. A main program is always compiled unless -noexec is given.
+ * <p>
+ * Each compilation has its own {@link CompilationContext}. The options in Option and the settings in
+ * Global are shared, they must be set before the build and not changed during it.
+ * The build driver is used by:
+ * <pre>
+ * 		java -jar releaseHome\simula.jar -build [simula-options] simula-sourceFile ...
+ * </pre>
+ * <p>
+ * Link to GitHub: <a href=
+ * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/BuildDriver.java"><b>Source
+ * File</b></a>.
+ */
+public final class BuildDriver {
+
+	/**
+	 * A source module in the build.
+	 */
+	private static final class Module implements Runnable, Comparable<Module> {
+		/** The source file. */
+		final File sourceFile;
+		/** The identifier of the separately compiled class or procedure, or null for a main program. */
+		String identifier;
+		/** The identifiers of the external declarations. */
+		final Vector<String> externals = new Vector<String>();
+		/** The modules in the build this module depends on. */
+		final Vector<Module> dependencies = new Vector<Module>();
+		/** The modules in the build depending on this module. */
+		final Vector<Module> dependents = new Vector<Module>();
+		/** The number of dependencies not yet compiled. */
+		int nWaiting;
+		/** The length of the longest chain of dependents, including this module. */
+		int height;
+		/** The build. */
+		final BuildDriver build;
+		/** True when the source file is scanned. */
+		boolean scanned;
+		/** The compilation time in milliseconds. */
+		long timeUsed;
+		/** True if the compilation is done, i.e. successful, failed or skipped. */
+		boolean done;
+		/** True if the compilation failed or was skipped. */
+		boolean failed;
+
+		/**
+		 * Create a new Module.
+		 * @param build the build
+		 * @param sourceFile the source file
+		 */
+		Module(final BuildDriver build, final File sourceFile) {
+			this.build = build;
+			this.sourceFile = sourceFile.getAbsoluteFile();
+		}
+
+		@Override
+		public void run() {
+			if (scanned)
+				build.compile(this);
+			else
+				build.scan(this);
+		}
+
+		@Override
+		public int compareTo(final Module other) {
+			return (other.height - this.height);
+		}
+
+		@Override
+		public String toString() {
+			return (sourceFile.getName());
+		}
+	}
+
+	/**
+	 * The modules of the build.
+	 */
+	private final Vector<Module> modules = new Vector<Module>();
+
+	/**
+	 * The modules producing each class or procedure, in the listed order, indexed by key(identifier).
+	 */
+	private final Hashtable<String, Vector<Module>> producers = new Hashtable<String, Vector<Module>>();
+
+	/**
+	 * The thread pool.
+	 */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Counts the modules which are not done.
+	 */
+	private final CountDownLatch remaining;
+
+	/**
+	 * Counts the modules which are not scanned.
+	 */
+	private final CountDownLatch unscanned;
+
+	/**
+	 * Create a new BuildDriver.
+	 * @param sourceFiles the source files
+	 * @param nThreads the number of threads
+	 */
+	private BuildDriver(final List<File> sourceFiles, final int nThreads) {
+		for (File sourceFile : sourceFiles)
+			modules.add(new Module(this, sourceFile));
+		executor = new ThreadPoolExecutor(nThreads, nThreads, 0, TimeUnit.MILLISECONDS,
+				new PriorityBlockingQueue<Runnable>());
+		remaining = new CountDownLatch(modules.size());
+		unscanned = new CountDownLatch(modules.size());
+	}
+
+	/**
+	 * Build a set of source files using one thread per processor.
+	 * @param sourceFiles the source files
+	 * @return the number of modules which failed or were not compiled
+	 */
+	public static int build(final List<File> sourceFiles) {
+		return (build(sourceFiles, Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Build a set of source files.
+	 * @param sourceFiles the source files
+	 * @param nThreads the number of threads
+	 * @return the number of modules which failed or were not compiled
+	 */
+	public static int build(final List<File> sourceFiles, final int nThreads) {
+		BuildDriver build = new BuildDriver(sourceFiles, Math.max(1, nThreads));
+		try {
+			return (build.build());
+		} finally {
+			build.executor.shutdown();
+		}
+	}
+
+	/**
+	 * Scan the source files, build the dependency graph and compile the modules.
+	 * @return the number of modules which failed or were not compiled
+	 */
+	private int build() {
+		long startTimeMs = System.currentTimeMillis();
+		scanAll();
+		for (Module module : modules) {
+			if (module.identifier != null) {
+				Vector<Module> producer = producers.get(key(module.identifier));
+				if (producer == null)
+					producers.put(key(module.identifier), producer = new Vector<Module>());
+				else // The same .jar file is written again, after the previous one
+					addDependency(module, producer.lastElement());
+				producer.add(module);
+			}
+		}
+		for (Module module : modules) {
+			for (String external : module.externals) {
+				Vector<Module> producer = producers.get(key(external));
+				if (producer != null)
+					addDependency(module, producer(module, producer));
+			}
+		}
+		for (Vector<Module> producer : producers.values()) {
+			// The .jar file is not written again until the modules reading the previous one are compiled
+			for (int i = 1; i < producer.size(); i++) {
+				for (Module reader : new Vector<Module>(producer.get(i - 1).dependents))
+					if (!dependsOn(reader, producer.get(i), new Vector<Module>()))
+						addDependency(producer.get(i), reader);
+			}
+		}
+		for (Module module : modules)
+			module.nWaiting = module.dependencies.size();
+		computeHeights();
+		for (Module module : findCycles()) {
+			Util.printError("Simula Build: Cyclic external declarations: " + module + " is not compiled");
+			done(module, true);
+		}
+		if (Option.verbose)
+			for (Module module : modules)
+				Util.println("Simula Build: " + module + " depends on " + module.dependencies);
+		for (Module module : modules)
+			if (module.nWaiting == 0 && !module.done)
+				executor.execute(module);
+		try {
+			remaining.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			Util.IERR("Simula Build interrupted", e);
+		}
+		long timeUsed = System.currentTimeMillis() - startTimeMs;
+		int nFailed = 0;
+		long compileTime = 0;
+		for (Module module : modules) {
+			if (module.failed)
+				nFailed++;
+			compileTime += module.timeUsed;
+		}
+		Util.println("Simula Build: " + modules.size() + " modules, " + nFailed + " failed, elapsed time "
+				+ timeUsed + " ms, compile time " + compileTime + " ms, critical path " + criticalPath() + " ms");
+		return (nFailed);
+	}
+
+	/**
+	 * Scan all the source files in parallel.
+	 */
+	private void scanAll() {
+		for (Module module : modules)
+			executor.execute(module);
+		try {
+			unscanned.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			Util.IERR("Simula Build interrupted", e);
+		}
+	}
+
+	/**
+	 * Scan a source file for external declarations and the identifier of the module it produces.
+	 * @param module the module
+	 */
+	private void scan(final Module module) {
+		try {
+			scanDeclarations(module);
+		} finally {
+			module.scanned = true;
+			unscanned.countDown();
+		}
+	}
+
+	/**
+	 * Scan a source file for external declarations and the identifier of the module it produces.
+	 * <p>
+	 * External declarations may occur in the external head and in any block head. The module identifier
+	 * is the one following the first CLASS or PROCEDURE outside the external declarations. If BEGIN comes
+	 * first, the source file is a main program.
+	 * @param module the module
+	 */
+	private static void scanDeclarations(final Module module) {
+		CompilationContext context = new CompilationContext();
+		context.bind();
+		context.sourceFileName = module.sourceFile.getName();
+		context.sourceFileDir = module.sourceFile.getParentFile();
+		try (Reader reader = new InputStreamReader(new FileInputStream(module.sourceFile), Global._CHARSET)) {
+			SimulaScanner scanner = new SimulaScanner(reader, false);
+			boolean moduleFound = false;
+			for (Token token = scanner.nextToken(); token != null; token = scanner.nextToken()) {
+				KeyWord keyWord = token.getKeyWord();
+				if (keyWord == KeyWord.EXTERNAL) {
+					while (token != null && token.getKeyWord() != KeyWord.CLASS && token.getKeyWord() != KeyWord.PROCEDURE)
+						token = scanner.nextToken();
+					while (token != null && token.getKeyWord() != KeyWord.SEMICOLON) {
+						token = scanner.nextToken();
+						if (token != null && token.getKeyWord() == KeyWord.IDENTIFIER) {
+							String external = token.getIdentifier();
+							token = scanner.nextToken();
+							if (token != null && token.getKeyWord() == KeyWord.EQ) {
+								token = scanner.nextToken();
+								if (token != null && token.getKeyWord() == KeyWord.TEXTKONST)
+									external = jarName(token.getValue().toString());
+								token = scanner.nextToken();
+							}
+							module.externals.add(external);
+						}
+					}
+					if (token == null)
+						break;
+				} else if (!moduleFound) {
+					if (keyWord == KeyWord.BEGIN)
+						moduleFound = true;
+					else if (keyWord == KeyWord.CLASS || keyWord == KeyWord.PROCEDURE) {
+						moduleFound = true;
+						token = scanner.nextToken();
+						if (token != null && token.getKeyWord() == KeyWord.IDENTIFIER)
+							module.identifier = token.getIdentifier();
+					}
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			Util.printWarning("Simula Build: Unable to scan " + module.sourceFile + ": " + e);
+		}
+	}
+
+	/**
+	 * Returns the module producing an external class or procedure for a module.
+	 * <p>
+	 * If several source files produce it, the nearest one before the module in the list of source files
+	 * is used, i.e. the one a compilation in the listed order would use. If there is none, the first one
+	 * is used.
+	 * @param module the module
+	 * @param producer the modules producing the external class or procedure, in the listed order
+	 * @return the module producing it
+	 */
+	private Module producer(final Module module, final Vector<Module> producer) {
+		int index = modules.indexOf(module);
+		Module result = producer.firstElement();
+		for (Module candidate : producer)
+			if (modules.indexOf(candidate) < index)
+				result = candidate;
+		return (result);
+	}
+
+	/**
+	 * Add a dependency between two modules.
+	 * @param module the module
+	 * @param dependency the module it depends on
+	 */
+	private static void addDependency(final Module module, final Module dependency) {
+		if (dependency != module && !module.dependencies.contains(dependency)) {
+			module.dependencies.add(dependency);
+			dependency.dependents.add(module);
+		}
+	}
+
+	/**
+	 * Returns the module identifier of an external identification, i.e. the .jar file name without .jar.
+	 * @param externalIdentification the external identification
+	 * @return the module identifier
+	 */
+	private static String jarName(final String externalIdentification) {
+		String name = new File(externalIdentification).getName();
+		if (name.toLowerCase().endsWith(".jar"))
+			name = name.substring(0, name.length() - 4);
+		return (name);
+	}
+
+	/**
+	 * Returns the key used to look up a module identifier.
+	 * @param identifier the module identifier
+	 * @return the key
+	 */
+	private static String key(final String identifier) {
+		return ((Option.CaseSensitive) ? identifier : identifier.toUpperCase());
+	}
+
+	/**
+	 * Compute the height of each module, i.e. the length of the longest chain of dependents.
+	 * <p>
+	 * Modules on a cycle, and the modules they depend on, get height zero.
+	 */
+	private void computeHeights() {
+		Hashtable<Module, Integer> nDependents = new Hashtable<Module, Integer>();
+		Vector<Module> ready = new Vector<Module>();
+		for (Module module : modules) {
+			nDependents.put(module, module.dependents.size());
+			if (module.dependents.isEmpty())
+				ready.add(module);
+		}
+		while (!ready.isEmpty()) {
+			Module module = ready.remove(ready.size() - 1);
+			module.height = 1;
+			for (Module dependent : module.dependents)
+				module.height = Math.max(module.height, dependent.height + 1);
+			for (Module dependency : module.dependencies) {
+				int n = nDependents.get(dependency) - 1;
+				nDependents.put(dependency, n);
+				if (n == 0)
+					ready.add(dependency);
+			}
+		}
+	}
+
+	/**
+	 * Find the modules which can't be compiled because they are on a cycle of external declarations.
+	 * <p>
+	 * The modules depending on them are not included, they are not compiled when a module they depend
+	 * on fails.
+	 * @return the modules on a cycle
+	 */
+	private Vector<Module> findCycles() {
+		Hashtable<Module, Integer> nWaiting = new Hashtable<Module, Integer>();
+		Vector<Module> ready = new Vector<Module>();
+		for (Module module : modules) {
+			nWaiting.put(module, module.nWaiting);
+			if (module.nWaiting == 0)
+				ready.add(module);
+		}
+		while (!ready.isEmpty()) {
+			Module module = ready.remove(ready.size() - 1);
+			for (Module dependent : module.dependents) {
+				int n = nWaiting.get(dependent) - 1;
+				nWaiting.put(dependent, n);
+				if (n == 0)
+					ready.add(dependent);
+			}
+		}
+		Vector<Module> cycles = new Vector<Module>();
+		for (Module module : modules)
+			if (nWaiting.get(module) > 0 && dependsOn(module, module, new Vector<Module>()))
+				cycles.add(module);
+		return (cycles);
+	}
+
+	/**
+	 * Returns true if a module depends on another module, directly or indirectly.
+	 * @param module the module
+	 * @param target the other module
+	 * @param visited the modules already visited
+	 * @return true if module depends on target
+	 */
+	private static boolean dependsOn(final Module module, final Module target, final Vector<Module> visited) {
+		for (Module dependency : module.dependencies) {
+			if (dependency == target)
+				return (true);
+			if (!visited.contains(dependency)) {
+				visited.add(dependency);
+				if (dependsOn(dependency, target, visited))
+					return (true);
+			}
+		}
+		return (false);
+	}
+
+	/**
+	 * Returns the compilation time of the critical path, i.e. the longest chain of dependencies.
+	 * @return the critical path time in milliseconds
+	 */
+	private long criticalPath() {
+		Hashtable<Module, Long> finish = new Hashtable<Module, Long>();
+		long max = 0;
+		for (Module module : modules)
+			max = Math.max(max, finish(module, finish));
+		return (max);
+	}
+
+	/**
+	 * Returns the compilation time of the longest chain of dependencies ending with a module.
+	 * @param module the module
+	 * @param finish the times already computed
+	 * @return the time in milliseconds
+	 */
+	private static long finish(final Module module, final Hashtable<Module, Long> finish) {
+		Long time = finish.get(module);
+		if (time == null) {
+			finish.put(module, 0L); // In case of a cycle
+			long start = 0;
+			for (Module dependency : module.dependencies)
+				start = Math.max(start, finish(dependency, finish));
+			time = start + module.timeUsed;
+			finish.put(module, time);
+		}
+		return (time);
+	}
+
+	/**
+	 * Compile a module. Called by a thread in the pool when all its dependencies are compiled.
+	 * <p>
+	 * A module whose .jar file is up to date is not compiled. If only the build fingerprint of an
+	 * external module has changed, the classes of the external modules are copied into the .jar file.
+	 * @param module the module
+	 */
+	private void compile(final Module module) {
+		long startTimeMs = System.currentTimeMillis();
+		boolean failed = true;
+		try {
+			File jarFile = outputJarFile(module);
+			Manifest manifest = Fingerprint.readManifest(jarFile);
+			Vector<File> dependencyJars = new Vector<File>();
+			switch (check(module, manifest, dependencyJars)) {
+				case UP_TO_DATE -> {
+					Util.println("Up to date: " + module.sourceFile);
+					failed = false;
+				}
+				case REPACKAGE -> {
+					Util.println("Repackage: " + module.sourceFile);
+					repackage(jarFile, manifest, dependencyJars);
+					failed = false;
+				}
+				default -> {
+					Util.println("Compile: " + module.sourceFile);
+					SimulaCompiler compiler = new SimulaCompiler(module.sourceFile.getPath());
+					compiler.doCompile();
+					File outputJarFile = compiler.getOutputJarFile();
+					failed = compiler.getContext().nError > 0 || outputJarFile == null || !outputJarFile.exists();
+					Util.println(((failed) ? "Failed: " : "Done: ") + module.sourceFile);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			Util.printError("Simula Build: " + module + " failed: " + e);
+		}
+		module.timeUsed = System.currentTimeMillis() - startTimeMs;
+		done(module, failed);
+	}
+
+	/**
+	 * The result of checking the fingerprints of a module.
+	 */
+	private enum State {
+		/** The module must be compiled. */
+		COMPILE,
+		/** The classes of the external modules must be copied into the .jar file. */
+		REPACKAGE,
+		/** The .jar file is up to date. */
+		UP_TO_DATE
+	}
+
+	/**
+	 * Check the fingerprints of a module's .jar file, see {@link Fingerprint}.
+	 * <p>
+	 * The module must be compiled if the .jar file or its source fingerprint is missing, if the source
+	 * text or the options have changed, or if the interface of an external module has changed. A main
+	 * program is always compiled when it is to be executed.
+	 * @param module the module
+	 * @param manifest the manifest of the module's .jar file, or null
+	 * @param dependencyJars updated with the .jar files of the external modules
+	 * @return the result
+	 */
+	private State check(final Module module, final Manifest manifest, final Vector<File> dependencyJars) {
+		if (manifest == null || (module.identifier == null && !Option.noExecution))
+			return (State.COMPILE);
+		Attributes attributes = manifest.getMainAttributes();
+		String sourceFingerprint = attributes.getValue(Fingerprint.SOURCE);
+		if (sourceFingerprint == null
+				|| !sourceFingerprint.equals(Fingerprint.ofSource(module.sourceFile, Global.packetName, SimulaScanner.selector)))
+			return (State.COMPILE);
+		State state = State.UP_TO_DATE;
+		String dependencies = attributes.getValue(Fingerprint.DEPENDENCIES);
+		if (dependencies != null) {
+			for (String dependency : dependencies.split(" ")) {
+				String[] fingerprint = dependency.split(":");
+				if (fingerprint.length != 3)
+					return (State.COMPILE);
+				File dependencyJar = dependencyJarFile(module, fingerprint[0]);
+				Manifest dependencyManifest = Fingerprint.readManifest(dependencyJar);
+				if (dependencyManifest == null)
+					return (State.COMPILE);
+				Attributes dependencyAttributes = dependencyManifest.getMainAttributes();
+				if (!fingerprint[1].equals(dependencyAttributes.getValue(Fingerprint.INTERFACE)))
+					return (State.COMPILE);
+				if (!fingerprint[2].equals(dependencyAttributes.getValue(Fingerprint.BUILD)))
+					state = State.REPACKAGE;
+				dependencyJars.add(dependencyJar);
+			}
+		}
+		return (state);
+	}
+
+	/**
+	 * Copy the classes of the external modules into a module's .jar file and update its fingerprints.
+	 * <p>
+	 * The classes of the module itself and its attribute file are kept.
+	 * @param jarFile the module's .jar file
+	 * @param manifest the manifest of the module's .jar file
+	 * @param dependencyJars the .jar files of the external modules
+	 * @throws IOException if something went wrong
+	 */
+	private static void repackage(final File jarFile, final Manifest manifest, final Vector<File> dependencyJars)
+			throws IOException {
+		String packetDir = Global.packetName + '/';
+		LinkedHashMap<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+		try (JarFile jar = new JarFile(jarFile)) {
+			for (JarEntry entry : Collections.list(jar.entries()))
+				if (!entry.getName().startsWith("META-INF/"))
+					entries.put(entry.getName(), jar.getInputStream(entry).readAllBytes());
+		}
+		Vector<String> dependencyFingerprints = new Vector<String>();
+		for (File dependencyJar : dependencyJars) {
+			try (JarFile jar = new JarFile(dependencyJar)) {
+				for (JarEntry entry : Collections.list(jar.entries()))
+					if (entry.getName().startsWith(packetDir) && entry.getName().endsWith(".class"))
+						entries.put(entry.getName(), jar.getInputStream(entry).readAllBytes());
+				Attributes attributes = jar.getManifest().getMainAttributes();
+				dependencyFingerprints.add(jarName(dependencyJar.getName()) + ':' + attributes.getValue(Fingerprint.INTERFACE)
+						+ ':' + attributes.getValue(Fingerprint.BUILD));
+			}
+		}
+		TreeMap<String, byte[]> packetEntries = new TreeMap<String, byte[]>();
+		for (Map.Entry<String, byte[]> entry : entries.entrySet())
+			if (entry.getKey().startsWith(packetDir) && !entry.getKey().endsWith("/"))
+				packetEntries.put(entry.getKey(), entry.getValue());
+		Manifest newManifest = new Manifest(manifest);
+		newManifest.getMainAttributes().putValue(Fingerprint.DEPENDENCIES, String.join(" ", dependencyFingerprints));
+		newManifest.getMainAttributes().putValue(Fingerprint.BUILD, Fingerprint.ofEntries(packetEntries));
+		File tempFile = new File(jarFile.getPath() + ".tmp");
+		try (JarOutputStream target = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)), newManifest)) {
+			long time = System.currentTimeMillis();
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				JarEntry jarEntry = new JarEntry(entry.getKey());
+				jarEntry.setTime(time);
+				target.putNextEntry(jarEntry);
+				target.write(entry.getValue());
+				target.closeEntry();
+			}
+		}
+		Files.move(tempFile.toPath(), jarFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Returns the output directory of a module, as chosen by SimulaCompiler.
+	 * @param module the module
+	 * @return the output directory
+	 */
+	private static File outputDir(final Module module) {
+		if (Global.outputDir != null)
+			return (Global.outputDir);
+		return (Global.getWritableDir(new File(module.sourceFile.getParentFile(), "bin")));
+	}
+
+	/**
+	 * Returns the .jar file of a module, as written by SimulaCompiler.
+	 * @param module the module
+	 * @return the .jar file
+	 */
+	private static File outputJarFile(final Module module) {
+		String name = module.identifier;
+		if (name == null) {
+			name = module.sourceFile.getName();
+			int p = name.lastIndexOf(".");
+			if (p > 0)
+				name = name.substring(0, p);
+		}
+		return (new File(outputDir(module), name + ".jar"));
+	}
+
+	/**
+	 * Returns the .jar file of an external module, as found by ExternalDeclaration.
+	 * <p>
+	 * If the external module is produced by the build, its .jar file is used. Otherwise extLib and the
+	 * output directory are searched.
+	 * @param module the module
+	 * @param name the name of the external module
+	 * @return the .jar file
+	 */
+	private File dependencyJarFile(final Module module, final String name) {
+		Vector<Module> producer = producers.get(key(name));
+		if (producer != null)
+			return (outputJarFile(producer(module, producer)));
+		if (Global.extLib != null) {
+			File jarFile = new File(Global.extLib, name + ".jar");
+			if (jarFile.exists())
+				return (jarFile);
+		}
+		return (new File(outputDir(module), name + ".jar"));
+	}
+
+	/**
+	 * Mark a module as done and start the dependents which are ready.
+	 * <p>
+	 * If the module failed, its dependents are not compiled.
+	 * @param module the module
+	 * @param failed true if the module failed or was not compiled
+	 */
+	private synchronized void done(final Module module, final boolean failed) {
+		if (module.done)
+			return;
+		module.done = true;
+		module.failed = failed;
+		remaining.countDown();
+		for (Module dependent : module.dependents) {
+			if (failed) {
+				if (!dependent.done)
+					Util.printError("Simula Build: " + dependent + " is not compiled, it depends on " + module);
+				done(dependent, true);
+			} else if (--dependent.nWaiting == 0 && !dependent.done)
+				executor.execute(dependent);
+		}
+	}
+
+}
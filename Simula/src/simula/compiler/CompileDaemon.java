@@ -0,0 +1,464 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.compiler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Vector;
+
+import simula.compiler.utilities.Global;
+import simula.compiler.utilities.Option;
+import simula.compiler.utilities.Util;
+
+/**
+ * The Simula Compile Daemon.
+ * <p>
+ * Each compilation normally starts a new Java VM, loads the compiler and the Java system compiler, and
+ * runs them cold. For small programs this start-up dominates the compilation time. The compile daemon
+ * is a long-lived compiler listening on a local port:
+ * <pre>
+ * 		java -jar releaseHome\simula.jar -daemon port
+ * </pre>
+ * Before the first request the daemon compiles a small warm-up program, so that the compiler, the
+ * Java system compiler and the Java runtime image are loaded. Each compilation is then done in the
+ * warmed-up Java VM. The predefined declarations in StandardClass are still built for each compilation,
+ * they depend on the options and get the precompiled modules added, and this takes about one millisecond.
+ * The generated .jar file is executed in a new Java VM as before.
+ * <p>
+ * A request is sent by:
+ * <pre>
+ * 		java -jar releaseHome\simula.jar -connect port [simula-options] simula-sourceFile
+ * </pre>
+ * or by any other client using the protocol: The access token on the first line, the client's working
+ * directory on the second line, one command line argument on each following line, and an empty line.
+ * The daemon replies with the output of the compilation and the execution, each line prefixed by
+ * "|", followed by the line "%EXIT n" where n is the exit value. If the output does not end with a
+ * line terminator, its last line is followed by the line "%NOEOL". Thus no output line can be
+ * mistaken for the end of the reply. A request with the single argument -shutdown terminates the
+ * daemon. A request without the right access token is rejected with the exit value -1.
+ * <p>
+ * The daemon compiles and executes programs with the rights of its owner, so only the owner may use
+ * it. When started the daemon writes a random access token to the file .simula/daemon/port.token in
+ * the owner's home directory. The directory and the file are readable by the owner only. The file is
+ * deleted when the daemon terminates.
+ * <p>
+ * The options and System.out are shared by all compilations, so the requests are done one at a time.
+ * The options are reset to their defaults before each request. Only connections from the local host
+ * are accepted, and a client must send its request within {@value #REQUEST_TIMEOUT} milliseconds.
+ * <p>
+ * Link to GitHub: <a href=
+ * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/CompileDaemon.java"><b>Source
+ * File</b></a>.
+ */
+public final class CompileDaemon {
+
+	/**
+	 * The start of the last line of a reply. Followed by the exit value.
+	 */
+	static final String EXIT = "%EXIT ";
+
+	/**
+	 * The line of a reply telling that the output line before it has no line terminator.
+	 */
+	static final String NOEOL = "%NOEOL";
+
+	/**
+	 * The prefix of each output line in a reply.
+	 */
+	static final char OUTPUT = '|';
+
+	/**
+	 * The time in milliseconds a client is given to send its request.
+	 */
+	private static final int REQUEST_TIMEOUT = 10000;
+
+	/**
+	 * The number of bytes in the access token.
+	 */
+	private static final int TOKEN_LENGTH = 32;
+
+	/**
+	 * The number of warm-up compilations.
+	 */
+	private static final int WARM_UP_COMPILATIONS = 3;
+
+	/**
+	 * The warm-up program.
+	 */
+	private static final String WARM_UP_PROGRAM = """
+			begin
+			   class Item(n); integer n;
+			   begin ref(Item) next; end;
+			   ref(Item) first; text t; integer i;
+			   procedure add(n); integer n;
+			   begin ref(Item) x; x :- new Item(n); x.next :- first; first :- x; end;
+			   for i := 1 step 1 until 10 do add(i);
+			   t :- blanks(20); t.putint(i);
+			   inspect first when Item do outtext(t & "!");
+			   outimage;
+			end;
+			""";
+
+	/**
+	 * Default constructor.
+	 */
+	private CompileDaemon() {
+	}
+
+	/**
+	 * Run the compile daemon.
+	 * @param port the local port, or 0 for any free port
+	 * @throws IOException if the server socket can't be opened
+	 */
+	public static void serve(final int port) throws IOException {
+		Global.compileDaemon = true;
+		warmUp();
+		try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+			Path tokenFile = tokenFile(server.getLocalPort());
+			try {
+				byte[] token = writeToken(tokenFile);
+				Util.println("Simula compile daemon listening on port " + server.getLocalPort());
+				boolean running = true;
+				while (running) {
+					try (Socket socket = server.accept()) {
+						running = serve(socket, token);
+					} catch (IOException | RuntimeException e) {
+						Util.printWarning("Simula compile daemon: Request failed: " + e);
+					}
+				}
+			} finally {
+				Files.deleteIfExists(tokenFile);
+			}
+		}
+		Util.println("Simula compile daemon terminated");
+	}
+
+	/**
+	 * Returns the access token file of the compile daemon at the given port.
+	 * @param port the local port
+	 * @return the access token file
+	 */
+	private static Path tokenFile(final int port) {
+		return (Path.of(System.getProperty("user.home"), ".simula", "daemon", port + ".token"));
+	}
+
+	/**
+	 * Write a new random access token to a file readable by the owner only.
+	 * @param tokenFile the access token file
+	 * @return the access token
+	 * @throws IOException if the file can't be written
+	 */
+	private static byte[] writeToken(final Path tokenFile) throws IOException {
+		byte[] bytes = new byte[TOKEN_LENGTH];
+		new SecureRandom().nextBytes(bytes);
+		byte[] token = HexFormat.of().formatHex(bytes).getBytes(StandardCharsets.UTF_8);
+		Path dir = tokenFile.getParent();
+		Files.deleteIfExists(tokenFile);
+		if (dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+			Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+			Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createDirectories(dir);
+			File file = Files.createFile(tokenFile).toFile();
+			file.setReadable(false, false);
+			file.setReadable(true, true);
+			file.setWritable(false, false);
+			file.setWritable(true, true);
+		}
+		Files.write(tokenFile, token);
+		return (token);
+	}
+
+	/**
+	 * Serve a single request.
+	 * @param socket the client connection
+	 * @param token the access token
+	 * @return false if the daemon should terminate
+	 * @throws IOException if the connection fails
+	 */
+	private static boolean serve(final Socket socket, final byte[] token) throws IOException {
+		socket.setSoTimeout(REQUEST_TIMEOUT);
+		BufferedReader inpt = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		Reply reply = new Reply(socket.getOutputStream());
+		PrintStream oupt = new PrintStream(reply, true, StandardCharsets.UTF_8);
+		String clientToken = inpt.readLine();
+		if (clientToken == null || !MessageDigest.isEqual(token, clientToken.getBytes(StandardCharsets.UTF_8))) {
+			oupt.println("Simula compile daemon: Access denied");
+			reply.exit(-1);
+			return (true);
+		}
+		String workingDir = inpt.readLine();
+		Vector<String> args = new Vector<String>();
+		for (String line = inpt.readLine(); line != null && !line.isEmpty(); line = inpt.readLine())
+			args.add(line);
+		if (workingDir == null || workingDir.isEmpty()) {
+			oupt.println("Simula compile daemon: Bad request");
+			reply.exit(-1);
+			return (true);
+		}
+		if (args.size() == 1 && args.get(0).equalsIgnoreCase("-shutdown")) {
+			reply.exit(0);
+			return (false);
+		}
+		int exitValue = compile(new File(workingDir), args, oupt);
+		reply.exit(exitValue);
+		return (true);
+	}
+
+	/**
+	 * The reply stream of a request. Each output line is prefixed by {@link #OUTPUT}.
+	 * <p>
+	 * The prefix is inserted in the UTF-8 bytes, where the byte of a line feed does not occur
+	 * inside a multi-byte character.
+	 */
+	private static final class Reply extends FilterOutputStream {
+
+		/**
+		 * True when the next byte starts a new output line.
+		 */
+		private boolean lineStart = true;
+
+		/**
+		 * Create a new Reply.
+		 * @param out the socket's output stream
+		 */
+		Reply(final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			if (lineStart)
+				out.write(OUTPUT);
+			out.write(b);
+			lineStart = (b == '\n');
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			int p = off;
+			int end = off + len;
+			while (p < end) {
+				if (lineStart)
+					out.write(OUTPUT);
+				int q = p;
+				while (q < end && b[q] != '\n')
+					q++;
+				lineStart = (q < end);
+				if (lineStart)
+					q++;
+				out.write(b, p, q - p);
+				p = q;
+			}
+		}
+
+		/**
+		 * End the reply with the line "%EXIT n".
+		 * @param exitValue the exit value
+		 * @throws IOException if the connection fails
+		 */
+		void exit(final int exitValue) throws IOException {
+			if (!lineStart)
+				out.write(("\n" + NOEOL + "\n").getBytes(StandardCharsets.UTF_8));
+			lineStart = true;
+			out.write((EXIT + exitValue + "\n").getBytes(StandardCharsets.UTF_8));
+			out.flush();
+		}
+	}
+
+	/**
+	 * Compile with the given arguments. The output is written to the given stream.
+	 * @param workingDir the client's working directory
+	 * @param args the command line arguments
+	 * @param oupt the output stream
+	 * @return the exit value
+	 */
+	private static int compile(final File workingDir, final Vector<String> args, final PrintStream oupt) {
+		PrintStream sysout = System.out;
+		PrintStream syserr = System.err;
+		System.setOut(oupt);
+		System.setErr(oupt);
+		try {
+			resetOptions();
+			String fileName = Simula.setOptions(resolve(workingDir, args));
+			if (fileName == null) {
+				for (String arg : args)
+					if (arg.equalsIgnoreCase("-help"))
+						return (0);
+				Util.printError("Simula: No source file specified");
+				return (-1);
+			}
+			SimulaCompiler compiler = new SimulaCompiler(fileName);
+			compiler.doCompile();
+			return ((compiler.getContext().nError > 0) ? 1 : 0);
+		} catch (Exception e) {
+			Util.printError("Simula: " + e.getMessage());
+			return (1);
+		} finally {
+			oupt.flush();
+			System.setOut(sysout);
+			System.setErr(syserr);
+		}
+	}
+
+	/**
+	 * Resolve the file arguments against the client's working directory.
+	 * @param workingDir the client's working directory
+	 * @param args the command line arguments
+	 * @return the resolved command line arguments
+	 */
+	private static String[] resolve(final File workingDir, final Vector<String> args) {
+		String[] argv = args.toArray(new String[args.size()]);
+		for (int i = 0; i < argv.length; i++) {
+			String arg = argv[i];
+			if (arg.startsWith("-")) {
+				if (arg.equalsIgnoreCase("-keepJava") || arg.equalsIgnoreCase("-output")
+						|| arg.equalsIgnoreCase("-extLib")) {
+					if (i + 1 < argv.length)
+						argv[i + 1] = resolve(workingDir, argv[i + 1]);
+					i++;
+				} else if (arg.equalsIgnoreCase("-select") || arg.equalsIgnoreCase("-source"))
+					i++;
+			} else
+				argv[i] = resolve(workingDir, arg);
+		}
+		return (argv);
+	}
+
+	/**
+	 * Resolve a file name against the client's working directory.
+	 * @param workingDir the client's working directory
+	 * @param fileName the file name
+	 * @return the resolved file name
+	 */
+	private static String resolve(final File workingDir, final String fileName) {
+		File file = new File(fileName);
+		if (file.isAbsolute())
+			return (fileName);
+		return (new File(workingDir, fileName).getPath());
+	}
+
+	/**
+	 * Reset the compiler options to their defaults.
+	 */
+	private static void resetOptions() {
+		Option.InitCompilerOptions();
+		Option.keepJava = null;
+		Option.SOURCE_FILE = "";
+		Option.RUNTIME_USER_DIR = "";
+		Simula.setSelectors("");
+		Global.outputDir = null;
+		Global.extLib = null;
+	}
+
+	/**
+	 * Warm up the compiler and the Java system compiler.
+	 * @throws IOException if the temp directory can't be created
+	 */
+	private static void warmUp() throws IOException {
+		File dir = Files.createTempDirectory("simulaDaemon").toFile();
+		try {
+			for (int i = 0; i < WARM_UP_COMPILATIONS; i++) {
+				resetOptions();
+				Option.noExecution = true;
+				Option.WARNINGS = false;
+				Global.outputDir = dir;
+				new SimulaCompiler(new File(dir, "WarmUp.sim").getPath(), new StringReader(WARM_UP_PROGRAM)).doCompile();
+			}
+		} catch (RuntimeException e) {
+			Util.printWarning("Simula compile daemon: Warm-up failed: " + e);
+		} finally {
+			File[] elt = dir.listFiles();
+			if (elt != null)
+				for (File f : elt)
+					f.delete();
+			dir.delete();
+		}
+	}
+
+	/**
+	 * Let the compile daemon do a compilation.
+	 * <p>
+	 * The output lines of the reply are written to System.out, without the prefix "|".
+	 * @param port the local port of the compile daemon
+	 * @param args the command line arguments
+	 * @return the exit value
+	 * @throws IOException if the access token can't be read, the connection fails or the reply is malformed
+	 */
+	public static int connect(final int port, final String[] args) throws IOException {
+		String token = Files.readString(tokenFile(port), StandardCharsets.UTF_8).strip();
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			PrintStream oupt = new PrintStream(socket.getOutputStream(), false, StandardCharsets.UTF_8);
+			oupt.println(token);
+			oupt.println(new File("").getAbsolutePath());
+			for (String arg : args)
+				oupt.println(arg);
+			oupt.println();
+			oupt.flush();
+			InputStream inpt = new BufferedInputStream(socket.getInputStream());
+			boolean endOfLine = false;
+			for (String line = readLine(inpt); line != null; line = readLine(inpt)) {
+				if (!line.isEmpty() && line.charAt(0) == OUTPUT) {
+					if (endOfLine)
+						System.out.print('\n');
+					System.out.print(line.substring(1));
+					endOfLine = true;
+				} else if (line.equals(NOEOL)) {
+					endOfLine = false;
+				} else if (line.startsWith(EXIT)) {
+					if (endOfLine)
+						System.out.print('\n');
+					System.out.flush();
+					return (Integer.parseInt(line.substring(EXIT.length())));
+				} else
+					throw new IOException("Malformed reply from the compile daemon: " + line);
+			}
+			throw new IOException("Connection closed by the compile daemon");
+		}
+	}
+
+	/**
+	 * Read a line of a reply. Only a line feed ends the line, so a carriage return in the output
+	 * is kept in the line.
+	 * @param inpt the socket's input stream
+	 * @return the line without the line feed, or null at the end of the stream
+	 * @throws IOException if the connection fails
+	 */
+	private static String readLine(final InputStream inpt) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b = inpt.read();
+		if (b < 0)
+			return (null);
+		while (b >= 0 && b != '\n') {
+			line.write(b);
+			b = inpt.read();
+		}
+		return (line.toString(StandardCharsets.UTF_8));
+	}
+
+}
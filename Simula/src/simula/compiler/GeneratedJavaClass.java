@@ -11,13 +11,18 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Date;
 import java.util.Vector;
 
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+
 import simula.compiler.byteCodeEngineering.JavaClassInfo;
 import simula.compiler.syntaxClass.declaration.BlockDeclaration;
 import simula.compiler.syntaxClass.declaration.ClassDeclaration;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -25,6 +30,10 @@ import simula.compiler.utilities.Util;
 /**
  * Generated Java class.
  * <p>
+ * The generated Java code is kept in memory and is given to the Java system compiler as a
+ * {@link JavaFileObject}. The .java file is only written when the option -keepJava is set, or
+ * when the Java command line compiler is used.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/GeneratedJavaClass.java"><b>Source File</b></a>.
  * 
@@ -41,7 +50,7 @@ public final class GeneratedJavaClass {
 	/**
 	 * The Java output writer.
 	 */
-	private final Writer writer;
+	private final Writer writer = new StringWriter();
 	
 	/**
 	 * The line number map
@@ -74,21 +83,15 @@ public final class GeneratedJavaClass {
 	 */
 	public GeneratedJavaClass(final BlockDeclaration blockDeclaration) {
 		this.blockDeclaration = blockDeclaration;
-		Global.generatedJavaClass.add(this);
-		enclosingJavaModule = Global.currentJavaModule;
-		Global.currentJavaModule = this;
-		javaOutputFile = new File(Global.tempJavaFileDir, blockDeclaration.getJavaIdentifier() + ".java");
-		try {
-			javaOutputFile.getParentFile().mkdirs();
-			if (Option.verbose)
-				Util.TRACE("Output: " + javaOutputFile.getCanonicalPath());
-			writer = new OutputStreamWriter(new FileOutputStream(javaOutputFile), Global._CHARSET);
-			GeneratedJavaClass.code("package " + Global.packetName + ";");
-			GeneratedJavaClass.code("// " + Global.simulaReleaseID + " Compiled at " + new Date());
-			GeneratedJavaClass.code("import simula.runtime.*;");
-		} catch (IOException e) {
-			throw new RuntimeException("Writing .java output failed", e);
-		}
+		CompilationContext.current().generatedJavaClass.add(this);
+		enclosingJavaModule = CompilationContext.current().currentJavaModule;
+		CompilationContext.current().currentJavaModule = this;
+		javaOutputFile = new File(CompilationContext.current().tempJavaFileDir, blockDeclaration.getJavaIdentifier() + ".java");
+		if (Option.verbose)
+			Util.TRACE("Output: " + javaOutputFile);
+		GeneratedJavaClass.code("package " + CompilationContext.current().packetName + ";");
+		GeneratedJavaClass.code("// " + Global.simulaReleaseID + " Compiled at " + new Date());
+		GeneratedJavaClass.code("import simula.runtime.*;");
 
 		JavaClassInfo info = new JavaClassInfo();
 		info.externalIdent = blockDeclaration.getJavaIdentifier();
@@ -102,7 +105,7 @@ public final class GeneratedJavaClass {
 	 * @return the current module's identification
 	 */
 	private String modid() {
-		BlockDeclaration blk = Global.currentJavaModule.blockDeclaration;
+		BlockDeclaration blk = CompilationContext.current().currentJavaModule.blockDeclaration;
 		return (blk.declarationKind + " " + blk.scopeID());
 	}
 
@@ -111,22 +114,57 @@ public final class GeneratedJavaClass {
 	 * @return the output file for generated Java code
 	 */
 	String getClassOutputFileName() {
-		return (Global.tempClassFileDir + "/" + Global.packetName + '/' + blockDeclaration.getJavaIdentifier() + ".class");
+		return (CompilationContext.current().tempClassFileDir + "/" + CompilationContext.current().packetName + '/' + blockDeclaration.getJavaIdentifier() + ".class");
+	}
+
+	/**
+	 * Returns the binary name of the generated class.
+	 * @return the binary name of the generated class
+	 */
+	String getClassName() {
+		return (CompilationContext.current().packetName + '.' + blockDeclaration.getJavaIdentifier());
+	}
+
+	/**
+	 * Returns the generated Java code as a source file object for the Java system compiler.
+	 * <p>
+	 * The file object has the URI of the .java output file, so that diagnostics name that file.
+	 * @return the generated Java code as a source file object
+	 */
+	JavaFileObject getJavaFileObject() {
+		final String source = writer.toString();
+		return (new SimpleJavaFileObject(javaOutputFile.toURI(), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+				return (source);
+			}
+		});
 	}
 
 	/**
-	 * Close Java output file.
+	 * Close Java output.
+	 * <p>
+	 * The .java file is written if the option -keepJava is set.
 	 * @throws RuntimeException if writing .java output failed
 	 */
 	public void closeJavaOutput() {
-		try {
-			writer.flush();
-			writer.close();
+		if (CompilationContext.current().keepJava != null)
+			writeJavaOutputFile();
+		CompilationContext.current().currentJavaModule = enclosingJavaModule;
+		enclosingJavaModule = null;
+	}
+
+	/**
+	 * Write the generated Java code to the .java output file.
+	 * @throws RuntimeException if writing .java output failed
+	 */
+	void writeJavaOutputFile() {
+		javaOutputFile.getParentFile().mkdirs();
+		try (Writer fileWriter = new OutputStreamWriter(new FileOutputStream(javaOutputFile), Global._CHARSET)) {
+			fileWriter.write(writer.toString());
 		} catch (IOException e) {
 			throw new RuntimeException("Writing .java output failed", e);
 		}
-		Global.currentJavaModule = enclosingJavaModule;
-		enclosingJavaModule = null;
 	}
 
 	/**
@@ -146,7 +184,7 @@ public final class GeneratedJavaClass {
 	 * @param line a code line
 	 */
 	public static void code(final String line) {
-		Global.currentJavaModule.write(Global.sourceLineNumber, line, Global.currentJavaModule.modid());
+		CompilationContext.current().currentJavaModule.write(CompilationContext.current().sourceLineNumber, line, CompilationContext.current().currentJavaModule.modid());
 	}
 
 	/**
@@ -165,7 +203,7 @@ public final class GeneratedJavaClass {
 	 * @param c a code line
 	 */
 	public static void code(final CodeLine c) {
-		Global.currentJavaModule.write(c.sourceLineNumber, c.codeLine, c.modid);
+		CompilationContext.current().currentJavaModule.write(c.sourceLineNumber, c.codeLine, c.modid);
 	}
 
 	/**
@@ -173,11 +211,6 @@ public final class GeneratedJavaClass {
 	 */
 	private int currentJavaLineNumber = 0;
 
-	/**
-	 * Previous source line number.
-	 */
-	private static int prevLineNumber = 0;
-	
 	/**
 	 * Current indentation
 	 */
@@ -197,7 +230,7 @@ public final class GeneratedJavaClass {
 		} else
 			try {
 				currentJavaLineNumber++;
-				if (prevLineNumber != sourceLineNumber) {
+				if (CompilationContext.current().prevLineNumber != sourceLineNumber) {
 					String s0 = edIndent() + edLineNumberLine(sourceLineNumber, modid);
 					appendLine(currentJavaLineNumber, sourceLineNumber);
 					if (Option.TRACE_CODING)
@@ -220,7 +253,7 @@ public final class GeneratedJavaClass {
 			} catch (IOException e) {
 				Util.IERR("Error Writing File: " + javaOutputFile, e);
 			}
-		prevLineNumber = sourceLineNumber;
+		CompilationContext.current().prevLineNumber = sourceLineNumber;
 	}
 
 	/**
@@ -236,7 +269,7 @@ public final class GeneratedJavaClass {
 	 */
 	private String edLineNumberLine(final int simulaLine, final String modid) {
 		StringBuilder sb = new StringBuilder();
-		if (Global.duringSTM_Coding && Option.GNERATE_LINE_CALLS) {
+		if (CompilationContext.current().duringSTM_Coding && Option.GNERATE_LINE_CALLS) {
 			sb.append("RTS_COMMON._LINE(\"").append(modid).append("\",").append(simulaLine).append("); ");
 		}
 		sb.append("// JavaLine ").append(currentJavaLineNumber).append(" <== SourceLine ").append(simulaLine);
@@ -274,7 +307,7 @@ public final class GeneratedJavaClass {
 		// RTS_PROGINFO("file.sim","MainProgram",1,4,12,5,14,12,32,14,37,16);
 		StringBuilder s = new StringBuilder();
 		s.append(edIndent() + "public static RTS_PROGINFO _INFO=new RTS_PROGINFO(\"");
-		s.append(Global.sourceFileName);
+		s.append(CompilationContext.current().sourceFileName);
 		s.append("\",\"");
 		s.append(blockDeclaration.declarationKind + " " + blockDeclaration.identifier);
 		s.append('"');
@@ -292,7 +325,7 @@ public final class GeneratedJavaClass {
 	 */
 	private void writeCode(String s) {
 		if (Option.TRACE_CODING)
-			Util.println("CODE " + Global.sourceLineNumber + ": " + s);
+			Util.println("CODE " + CompilationContext.current().sourceLineNumber + ": " + s);
 		Util.ASSERT(writer != null, "Can't Output Code - writer==null");
 		try {
 			writer.write(s.toString() + '\n');
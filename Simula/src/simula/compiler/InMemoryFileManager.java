@@ -0,0 +1,93 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * In-memory Java file manager.
+ * <p>
+ * Used by the Java system compiler to write the .class files of the generated Java classes.
+ * Each class file is captured as a byte array in the given map, indexed by its binary class name,
+ * e.g. "simprog.adHoc00". ByteCodeEngineering is done on these arrays and the .jar file is
+ * written directly from them, so no .class file is written to the temp directory.
+ * <p>
+ * All other requests are forwarded to the standard file manager, i.e. the classpath with the
+ * runtime system and the precompiled modules.
+ * <p>
+ * Link to GitHub: <a href=
+ * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/InMemoryFileManager.java"><b>Source File</b></a>.
+ */
+final class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	/**
+	 * The class files written by the Java compiler.
+	 */
+	private final Map<String, byte[]> classFiles;
+
+	/**
+	 * Create a new InMemoryFileManager.
+	 * @param fileManager the standard file manager
+	 * @param classFiles map to receive the class files
+	 */
+	InMemoryFileManager(final StandardJavaFileManager fileManager, final Map<String, byte[]> classFiles) {
+		super(fileManager);
+		this.classFiles = classFiles;
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(final Location location, final String className, final Kind kind,
+			final FileObject sibling) throws IOException {
+		if (location == StandardLocation.CLASS_OUTPUT && kind == Kind.CLASS)
+			return (new ClassFileObject(className));
+		return (super.getJavaFileForOutput(location, className, kind, sibling));
+	}
+
+	/**
+	 * A class file written to a byte array.
+	 */
+	private final class ClassFileObject extends SimpleJavaFileObject {
+
+		/**
+		 * The binary class name.
+		 */
+		private final String className;
+
+		/**
+		 * Create a new ClassFileObject.
+		 * @param className the binary class name
+		 */
+		private ClassFileObject(final String className) {
+			super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+			this.className = className;
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return (new ByteArrayOutputStream() {
+				@Override
+				public void close() {
+					classFiles.put(className, toByteArray());
+				}
+			});
+		}
+	}
+
+}
@@ -9,6 +9,8 @@ package simula.compiler;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Vector;
 
 import simula.compiler.parsing.SimulaScanner;
 import simula.compiler.utilities.Global;
@@ -61,6 +63,21 @@ import simula.editor.SimulaEditor;
  *      -extLib directory       Specify where to search for precompiled classes and
  *                              procedures. If not found, output directory is also searched.
  * </pre>
+ * <h2>Compile Daemon:</h2>
+ * To avoid the start-up of the Java VM and the Java compiler for each compilation, the compiler may run
+ * as a long-lived compile daemon listening on a local port. Only the user who started the daemon can
+ * connect to it, see {@link CompileDaemon}:
+ * <pre>
+ * 		java -jar releaseHome\simula.jar -daemon port
+ * 		java -jar releaseHome\simula.jar -connect port [simula-options] simula-sourceFile
+ * </pre>
+ * <h2>Build:</h2>
+ * A set of source files, main programs and separately compiled classes and procedures, may be compiled
+ * in parallel in the order given by their external declarations. Modules whose source text and
+ * external interfaces are unchanged are not compiled again, see {@link BuildDriver}:
+ * <pre>
+ * 		java -jar releaseHome\simula.jar -build [simula-options] simula-sourceFile ...
+ * </pre>
  * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/Simula.java"><b>Source File</b></a>.
@@ -101,7 +118,19 @@ public final class Simula {
 		Util.println("                             If not found, output directory is also searched");
 		Util.println("");
 		Util.println("sourceFile      Simula Source File");
-		System.exit(0);
+		Util.println("");
+		Util.println("Usage: java -jar simula.jar  -daemon <port>");
+		Util.println("       java -jar simula.jar  -connect <port>  [options]  sourceFile ");
+		Util.println("");
+		Util.println("  -daemon <port>             Run as a compile daemon listening on the local port");
+		Util.println("  -connect <port>            Let the compile daemon at the local port do the compilation");
+		Util.println("");
+		Util.println("Usage: java -jar simula.jar  -build  [options]  sourceFile ... ");
+		Util.println("");
+		Util.println("  -build                     Compile the source files in parallel, in the order given");
+		Util.println("                             by their external declarations, skipping unchanged modules");
+		if (!Global.compileDaemon)
+			System.exit(0);
 	}
 
 	/**
@@ -109,13 +138,62 @@ public final class Simula {
 	 * @param argv arguments
 	 */
 	public static void main(String[] argv) {
-		String fileName = null;
+		if (argv.length > 0 && argv[0].equalsIgnoreCase("-connect")) {
+			// *** LET THE COMPILE DAEMON DO THE COMPILATION ***
+			int exitValue = -1;
+			try {
+				exitValue = CompileDaemon.connect(Integer.parseInt(argv[1]), Arrays.copyOfRange(argv, 2, argv.length));
+			} catch (IOException | RuntimeException e) {
+				System.err.println("Simula: Unable to connect to the compile daemon: " + e);
+			}
+			System.exit(exitValue);
+		}
 		Option.verbose=false;
 		Option.WARNINGS=true;
 		Option.EXTENSIONS=true;
 		Global.initSimulaProperties();
+	    if(!Option.INLINE_TESTING) Global.simulaRtsLib=new File(Global.simulaHome,"rts");
 
-		// Parse command line arguments.
+		if (argv.length > 0 && argv[0].equalsIgnoreCase("-daemon")) {
+			// *** STARTING SIMULA COMPILE DAEMON ***
+			try {
+				CompileDaemon.serve(Integer.parseInt(argv[1]));
+			} catch (IOException | RuntimeException e) {
+				System.err.println("Simula: The compile daemon failed: " + e);
+				System.exit(-1);
+			}
+			return;
+		}
+		if (argv.length > 0 && argv[0].equalsIgnoreCase("-build")) {
+			// *** STARTING SIMULA BUILD DRIVER ***
+			System.exit(build(Arrays.copyOfRange(argv, 1, argv.length)));
+		}
+		String fileName = setOptions(argv);
+	    
+		if (fileName == null) {
+			// *** STARTING SIMULA EDITOR ***
+			Global.sampleSourceDir = new File(Global.simulaHome, "samples");
+			RTOption.InitRuntimeOptions();
+			Option.InitCompilerOptions();
+			SimulaEditor editor = new SimulaEditor();
+			editor.setVisible(true);
+		} else {
+			// *** STARTING SIMULA COMPILER ***
+			try {
+				new SimulaCompiler(fileName).doCompile();
+			} catch (IOException e) {
+				Util.IERR("Compiler Error: ", e);
+			}
+		}
+	}
+
+	/**
+	 * Set compiler options from command line arguments.
+	 * @param argv arguments
+	 * @return the source file name, or null if no source file is given
+	 */
+	static String setOptions(final String[] argv) {
+		String fileName = null;
 		for(int i=0;i<argv.length;i++) {
 			String arg=argv[i];
 			if (arg.charAt(0) == '-') { // command line option
@@ -134,31 +212,45 @@ public final class Simula {
 				else error("Unknown option "+arg);
 			} else if(fileName==null) fileName = arg;
 			else error("multiple input files specified");
-		}	
-	    if(!Option.INLINE_TESTING) Global.simulaRtsLib=new File(Global.simulaHome,"rts");
-	    
-		if (fileName == null) {
-			// *** STARTING SIMULA EDITOR ***
-			Global.sampleSourceDir = new File(Global.simulaHome, "samples");
-			RTOption.InitRuntimeOptions();
-			Option.InitCompilerOptions();
-			SimulaEditor editor = new SimulaEditor();
-			editor.setVisible(true);
-		} else {
-			// *** STARTING SIMULA COMPILER ***
-			try {
-				new SimulaCompiler(fileName).doCompile();
-			} catch (IOException e) {
-				Util.IERR("Compiler Error: ", e);
-			}
 		}
+		return (fileName);
+	}
+
+	/**
+	 * Build a set of source files.
+	 * @param argv the options followed by the source files
+	 * @return the exit value
+	 */
+	private static int build(final String[] argv) {
+		Vector<String> options = new Vector<String>();
+		Vector<File> files = new Vector<File>();
+		for (int i = 0; i < argv.length; i++) {
+			String arg = argv[i];
+			if (arg.charAt(0) == '-') {
+				options.add(arg);
+				if (arg.equalsIgnoreCase("-select") || arg.equalsIgnoreCase("-keepJava") || arg.equalsIgnoreCase("-output")
+						|| arg.equalsIgnoreCase("-extLib") || arg.equalsIgnoreCase("-source"))
+					if (i + 1 < argv.length)
+						options.add(argv[++i]);
+			} else
+				files.add(new File(arg));
+		}
+		setOptions(options.toArray(new String[options.size()]));
+		if (files.isEmpty())
+			error("No source file specified");
+		return ((BuildDriver.build(files) > 0) ? 1 : 0);
 	}
 
 	/**
 	 * Utility: Print an error message on a popup panel.
+	 * <p>
+	 * In a compile daemon the error is reported to the client instead.
 	 * @param msg the error message
+	 * @throws IllegalArgumentException in a compile daemon
 	 */
 	private static void error(final String msg) {
+		if (Global.compileDaemon)
+			throw new IllegalArgumentException(msg);
 		System.err.println("Simula: " + msg + "\n");
 		Util.popUpError(msg);
 		help();
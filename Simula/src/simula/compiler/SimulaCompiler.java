@@ -8,21 +8,28 @@
 package simula.compiler;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.Vector;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
@@ -31,6 +38,8 @@ import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 
 import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
 import simula.compiler.byteCodeEngineering.ByteCodeEngineering;
@@ -38,6 +47,8 @@ import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.declaration.ClassDeclaration;
 import simula.compiler.syntaxClass.statement.ProgramModule;
 import simula.compiler.transform.ClassFileTransform;
+import simula.compiler.utilities.CompilationContext;
+import simula.compiler.utilities.Fingerprint;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -48,7 +59,7 @@ import simula.editor.RTOption;
  * <p>
  * The compiler consists of the following steps:
  * <ul>
- * <li>Initiate global variables.
+ * <li>Initiate the CompilationContext.
  * <li>Do Parsing: Read source file through the scanner building program syntax tree.
  * <li>Do Checking: Traverse the syntax tree performing semantic checking.
  * <li>Do JavaCoding: Traverse the syntax tree generating .java code.
@@ -58,6 +69,16 @@ import simula.editor.RTOption;
  * <li>Execute .jar file.
  * </ul>
  * <p>
+ * The generated .java code and the resulting .class files are held in memory. The Java system compiler
+ * reads the sources through {@link GeneratedJavaClass#getJavaFileObject()} and writes the class files
+ * through an {@link InMemoryFileManager}. ByteCodeEngineering is done on the byte arrays, and the .jar
+ * file is written from them. Only when the Java command line compiler is used, the .java files and
+ * .class files are written to and read from the temp directory.
+ * <p>
+ * The state of the compilation is held in a {@link CompilationContext}, which is bound to the thread
+ * doing the compilation. Each compilation has its own temp directory, so several SimulaCompilers may
+ * run at the same time in different threads.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/SimulaCompiler.java"><b>Source
  * File</b></a>.
@@ -67,6 +88,11 @@ import simula.editor.RTOption;
  */
 public final class SimulaCompiler {
 	
+	/**
+	 * The state of this compilation.
+	 */
+	private final CompilationContext context;
+
 	/**
 	 * The Reader in case of SimulaEditor.
 	 */
@@ -81,12 +107,27 @@ public final class SimulaCompiler {
 	 * The output .jar file
 	 */
 	private File outputJarFile;
+
+	/**
+	 * The interface fingerprint, or null if the program is not separately compiled.
+	 */
+	private String interfaceFingerprint;
 	
 	/**
 	 * Main entry name.
 	 */
 	private String mainEntry;
 
+	/**
+	 * The class files produced by the Java compiler, indexed by binary class name.
+	 */
+	private final Map<String, byte[]> classFiles = new LinkedHashMap<String, byte[]>();
+
+	/**
+	 * The names of the entries written to the output .jar file.
+	 */
+	private final Set<String> jarEntries = new HashSet<String>();
+
 	/**
 	 * Create a new SimulaCompiler.
 	 * 
@@ -103,6 +144,8 @@ public final class SimulaCompiler {
 	 * @param reader        Reader in case of SimulaEditor
 	 */
 	public SimulaCompiler(final String inputFileName, Reader reader) {
+		context = new CompilationContext();
+		context.bind();
 		Global.initiate();
 		if (reader == null) {
 			try {
@@ -110,6 +153,7 @@ public final class SimulaCompiler {
 			} catch (IOException e) {
 				Util.error("can't open " + inputFileName + ", reason: " + e);
 			}
+			context.sourceFingerprint = Fingerprint.ofSource(new File(inputFileName), context.packetName, context.selector);
 		}
 		this.reader = reader;
 		if (!inputFileName.toLowerCase().endsWith(".sim"))
@@ -119,35 +163,38 @@ public final class SimulaCompiler {
 
 		// Create Output File Path
 		String name = inputFile.getName();
-		Global.sourceFileName = name;
+		context.sourceFileName = name;
 		int p=name.lastIndexOf(".");
 		if(p > 0)
-			Global.sourceName = name.substring(0, p);
-		Global.sourceFileDir = inputFile.getParentFile();
+			context.sourceName = name.substring(0, p);
+		context.sourceFileDir = inputFile.getParentFile();
 
 		if (Option.TRACING)
 			Util.println("Compiling: \"" + inputFileName + "\"");
 
-		if (Global.outputDir == null) {
-			Global.trySetOutputDir(new File(Global.sourceFileDir, "bin"));
+		if (context.outputDir == null) {
+			context.outputDir = Global.getWritableDir(new File(context.sourceFileDir, "bin"));
 		}
 
 		// Get Temp Directory:
-		Global.simulaTempDir = Global.getTempFileDir("simula/");
-		deleteTempFiles(Global.simulaTempDir);
+		try {
+			context.simulaTempDir = Files.createTempDirectory(Global.getTempFileDir("simula/").toPath(), "compile").toFile();
+		} catch (IOException e) {
+			Util.IERR("Unable to create temp directory: ", e);
+		}
 
 		// Create Temp .java-Files Directory:
-		File javatmp = Option.keepJava;
+		File javatmp = context.keepJava;
 		if (javatmp == null)
-			javatmp = Global.simulaTempDir;
-		File tmpJavaDir = new File(javatmp, "src/" + Global.packetName);
+			javatmp = context.simulaTempDir;
+		File tmpJavaDir = new File(javatmp, "src/" + context.packetName);
 		tmpJavaDir.mkdirs();
-		Global.tempJavaFileDir = tmpJavaDir;
+		context.tempJavaFileDir = tmpJavaDir;
 
 		// Create Temp .class-Files Directory:
-		File tmpClassDir = new File(Global.simulaTempDir, "classes");
+		File tmpClassDir = new File(context.simulaTempDir, "classes");
 		tmpClassDir.mkdirs();
-		Global.tempClassFileDir = tmpClassDir;
+		context.tempClassFileDir = tmpClassDir;
 
 		File desktop = new File(System.getProperty("user.home"), "Desktop");
 		if (Option.verbose) {
@@ -245,18 +292,50 @@ public final class SimulaCompiler {
 	 * @throws IOException when it fails
 	 */
 	public void doCompile() throws IOException {
+		context.bind();
+		try {
+			compile();
+		} finally {
+			if (Option.DEBUGGING)
+				Util.println("------------  CLEANING UP TEMP FILES  ------------");
+			deleteTempFiles(context.simulaTempDir);
+			context.simulaTempDir.delete();
+		}
+	}
+
+	/**
+	 * Returns the CompilationContext of this compilation.
+	 * @return the CompilationContext
+	 */
+	public CompilationContext getContext() {
+		return (context);
+	}
+
+	/**
+	 * Returns the .jar file written by this compilation.
+	 * @return the .jar file, or null if it is not written
+	 */
+	public File getOutputJarFile() {
+		return (outputJarFile);
+	}
+
+	/**
+	 * Compile, generate .jar file and possibly execute it.
+	 * @throws IOException when it fails
+	 */
+	private void compile() throws IOException {
 //		try {
-			Util.nError = 0;
-			if (!Util.isJavaIdentifier(Global.sourceName)) {
-				String sourceName = Global.sourceName;
-				Global.sourceName = Util.makeJavaIdentifier(sourceName);
+			context.nError = 0;
+			if (!Util.isJavaIdentifier(context.sourceName)) {
+				String sourceName = context.sourceName;
+				context.sourceName = Util.makeJavaIdentifier(sourceName);
 				Util.warning("The source file name '" + sourceName + "' is not a legal class identifier. Modified to: "
-						+ Global.sourceName);
+						+ context.sourceName);
 			}
 			// ***************************************************************
 			// *** Scanning and Parsing
 			// ***************************************************************
-			Global.generatedJavaClass = new Vector<GeneratedJavaClass>();
+			context.generatedJavaClass = new Vector<GeneratedJavaClass>();
 			Parse.initiate(reader);
 			programModule = new ProgramModule();
 			if (Option.TRACING) {
@@ -265,9 +344,9 @@ public final class SimulaCompiler {
 					programModule.print(0);
 			}
 			Parse.close();
-			Global.duringParsing = false;
-			if (Util.nError > 0) {
-				String msg="Compiler terminate " + Global.sourceName + " after " + Util.nError + " errors during parsing";
+			context.duringParsing = false;
+			if (context.nError > 0) {
+				String msg="Compiler terminate " + context.sourceName + " after " + context.nError + " errors during parsing";
 				Util.println(msg);
 				throw new RuntimeException(msg);
 			}
@@ -276,17 +355,17 @@ public final class SimulaCompiler {
 			// ***************************************************************
 			if (Option.TRACING)
 				Util.println("BEGIN Semantic Checker");
-			Global.duringChecking = true;
+			context.duringChecking = true;
 			programModule.doChecking();
 			if (Option.TRACING) {
 				Util.println("END Semantic Checker: \"" + programModule + "\"");
 				if (Option.TRACE_CHECKER_OUTPUT && programModule != null)
 					programModule.print(0);
 			}
-			Global.duringChecking = false;
+			context.duringChecking = false;
 			if(Option.PRINT_SYNTAX_TREE) programModule.printTree(0);
-			if (Util.nError > 0) {
-				String msg="Compiler terminate " + Global.sourceName + " after " + Util.nError
+			if (context.nError > 0) {
+				String msg="Compiler terminate " + context.sourceName + " after " + context.nError
 						+ " errors during semantic checking";
 				Util.println(msg);
 				throw new RuntimeException(msg);
@@ -299,11 +378,11 @@ public final class SimulaCompiler {
 			programModule.doJavaCoding();
 			if (Option.TRACING) {
 				Util.println("END Generate .java Output Code");
-				for (GeneratedJavaClass javaClass : Global.generatedJavaClass)
+				for (GeneratedJavaClass javaClass : context.generatedJavaClass)
 					Util.println(javaClass.javaOutputFile.toString());
 			}
-			if (Util.nError > 0) {
-				String msg="Compiler terminate " + Global.sourceName + " after " + Util.nError
+			if (context.nError > 0) {
+				String msg="Compiler terminate " + context.sourceName + " after " + context.nError
 						+ " errors during code generation";
 				Util.println(msg);
 				throw new RuntimeException(msg);
@@ -311,7 +390,7 @@ public final class SimulaCompiler {
 
 			if (Option.TRACING)
 				Util.println("BEGIN Possible Generate AttributeFile");
-			AttributeFileIO.write(programModule);
+			interfaceFingerprint = AttributeFileIO.write(programModule);
 
 			// ***************************************************************
 			// *** CALL JAVA COMPILER
@@ -346,7 +425,7 @@ public final class SimulaCompiler {
 				}
 			}
 			String pathSeparator = System.getProperty("path.separator");
-			for (File jarFile : Global.externalJarFiles) {
+			for (File jarFile : context.externalJarFiles) {
 				if (Option.DEBUGGING) {
 					boolean exist = jarFile.exists();
 					boolean cread = jarFile.canRead();
@@ -371,9 +450,9 @@ public final class SimulaCompiler {
 				exitValue = callJavacCompiler(classPath);
 			if (Option.DEBUGGING) {
 				Util.println("Java " + msg + " Compiler returns exit=" + exitValue + "\n");
-				for (GeneratedJavaClass javaClass : Global.generatedJavaClass)
-					Util.println(javaClass.getClassOutputFileName());
-				list(Global.tempClassFileDir);
+				for (Map.Entry<String, byte[]> classFile : classFiles.entrySet())
+					Util.println(classFile.getKey() + ": " + classFile.getValue().length + " bytes");
+				list(context.tempClassFileDir);
 			}
 			if (exitValue != 0) {
 				Util.error("Java " + msg + " Compiler returns exit=" + exitValue + "\n");
@@ -384,30 +463,28 @@ public final class SimulaCompiler {
 			// ***************************************************************
 			// *** POSSIBLE -- DO BYTE_CODE_ENGINEERING
 			// ***************************************************************
-			if (Option.keepJava == null) {
+			if (context.keepJava == null) {
 				if (Option.TRACE_BYTECODE_OUTPUT) {
 					Util.println("------------  LIST ByteCode Before Engineering  ------------");
-					for (GeneratedJavaClass javaClass : Global.generatedJavaClass) {
-						String classFile = javaClass.getClassOutputFileName();
-						Util.doListClassFile(classFile);
-					}
+					for (GeneratedJavaClass javaClass : context.generatedJavaClass)
+						listClassFile(javaClass);
 				}
-				for (GeneratedJavaClass javaClass : Global.generatedJavaClass) {
+				for (GeneratedJavaClass javaClass : context.generatedJavaClass) {
 					if (javaClass.mustDoByteCodeEngineering) {
-						String classFileName = javaClass.getClassOutputFileName();
+						String className = javaClass.getClassName();
+						byte[] bytes = classFiles.get(className);
 						if(Option.USE_FILE_CLASS_API == 1){
-							ClassFileTransform.doRepairSingleByteCode(classFileName,classFileName);
+							bytes = ClassFileTransform.doRepairSingleByteCode(bytes);
 						} else {
-							new ByteCodeEngineering().doRepairSingleByteCode(classFileName);
+							bytes = new ByteCodeEngineering().doRepairSingleByteCode(className + ".class", bytes);
 						}
+						classFiles.put(className, bytes);
 					}
 				}
 				if (Option.TRACE_BYTECODE_OUTPUT) {
 					Util.println("------------  LIST ByteCode After Engineering  ------------");
-					for (GeneratedJavaClass javaClass : Global.generatedJavaClass) {
-						String classFile = javaClass.getClassOutputFileName();
-						Util.doListClassFile(classFile);
-					}
+					for (GeneratedJavaClass javaClass : context.generatedJavaClass)
+						listClassFile(javaClass);
 				}
 			} else {
 				Util.warning("Option.keepJava set: No ByteCode Engineering is performed");
@@ -444,7 +521,7 @@ public final class SimulaCompiler {
 					cmds.add(Option.RUNTIME_USER_DIR);
 				} else {
 					cmds.add("-userDir");
-					cmds.add(Global.outputDir.getParentFile().getAbsolutePath());
+					cmds.add(context.outputDir.getParentFile().getAbsolutePath());
 				}
 				RTOption.addRTArguments(cmds);
 				if (Option.SOURCE_FILE.length() > 0) {
@@ -458,9 +535,6 @@ public final class SimulaCompiler {
 					throw new RuntimeException("Execution of "+jarFile+" failed. ExitValue = "+exitValue3);
 				}
 			}
-			if (Option.DEBUGGING)
-				Util.println("------------  CLEANING UP TEMP FILES  ------------");
-			deleteTempFiles(Global.simulaTempDir);
 
 //		} catch (IOException e) {
 //			Util.IERR("Compiler Error: ", e);
@@ -490,31 +564,32 @@ public final class SimulaCompiler {
 			Util.println("SimulaCompiler.callJavaSystemCompiler: classPath=\"" + classPath + "\"");
 		arguments.add("-classpath");
 		arguments.add(classPath);
-		arguments.add("-d");
-		arguments.add(Global.tempClassFileDir.toString()); // Specifies output directory.
 		if (!Option.WARNINGS)
 			arguments.add("-nowarn");
-		for (GeneratedJavaClass javaClass : Global.generatedJavaClass)
-			arguments.add(javaClass.javaOutputFile.toString()); // Add .java Files
-		int nArg = arguments.size();
-		String[] args = new String[nArg];
-		arguments.toArray(args);
-
-		InputStream in = System.in;
-		OutputStream out = System.out;
+		Vector<JavaFileObject> sources = new Vector<JavaFileObject>();
+		for (GeneratedJavaClass javaClass : context.generatedJavaClass)
+			sources.add(javaClass.getJavaFileObject()); // Add .java Sources
+
 		OutputStream err = System.err;
-		if (Global.console != null) {
-			out = Global.console.getOutputStream();
+		if (Global.console != null)
 			err = Global.console.getErrorStream();
-		}
 		if (Option.DEBUGGING) {
 			Util.println("------------  Call Java System Compiler  ------------");
 			Util.println("System Compiler supports " + compiler.getSourceVersions());
-			for (int i = 0; i < args.length; i++)
-				Util.println("Compiler'args[" + i + "]=" + args[i]);
+			for (int i = 0; i < arguments.size(); i++)
+				Util.println("Compiler'args[" + i + "]=" + arguments.get(i));
 		}
-		int exitValue = compiler.run(in, out, err, args);
-		return (exitValue);
+		Writer out = new OutputStreamWriter(err);
+		StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(null, null, Global._CHARSET);
+		InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager, classFiles);
+		boolean success;
+		try {
+			success = compiler.getTask(out, fileManager, null, arguments, null, sources).call();
+		} finally {
+			out.flush();
+			fileManager.close();
+		}
+		return ((success) ? 0 : 1);
 	}
 
 	// ***************************************************************************
@@ -544,21 +619,61 @@ public final class SimulaCompiler {
 		cmds.add("-classpath");
 		cmds.add(classPath);
 		cmds.add("-d");
-		cmds.add(Global.tempClassFileDir.toString()); // Specifies output directory.
+		cmds.add(context.tempClassFileDir.toString()); // Specifies output directory.
 		if (!Option.WARNINGS)
 			cmds.add("-nowarn");
-		for (GeneratedJavaClass javaClass : Global.generatedJavaClass) {
+		for (GeneratedJavaClass javaClass : context.generatedJavaClass) {
+			if (context.keepJava == null)
+				javaClass.writeJavaOutputFile();
 			cmds.add(javaClass.javaOutputFile.toString()); // Add .java Files
 		}
 		int exitValue = Util.execute(cmds);
 		if (Option.TRACING) {
 			Util.println("END Generate .class Output Code. Exit value=" + exitValue);
-			for (GeneratedJavaClass javaClass : Global.generatedJavaClass)
+			for (GeneratedJavaClass javaClass : context.generatedJavaClass)
 				Util.println(javaClass.getClassOutputFileName());
 		}
+		if (exitValue == 0)
+			readClassFiles();
 		return (exitValue);
 	}
 
+	/**
+	 * Read the .class files of the generated Java classes written by the Java command line compiler.
+	 * <p>
+	 * This includes the nested and local classes, which are named by the identifier of the outermost
+	 * class followed by '$'.
+	 * @throws IOException if something went wrong
+	 */
+	private void readClassFiles() throws IOException {
+		File classDir = new File(context.tempClassFileDir, context.packetName);
+		File[] elt = classDir.listFiles();
+		if (elt == null)
+			return;
+		for (GeneratedJavaClass javaClass : context.generatedJavaClass) {
+			String ident = javaClass.blockDeclaration.getJavaIdentifier();
+			for (File f : elt) {
+				String name = f.getName();
+				if (name.equals(ident + ".class") || (name.startsWith(ident + '$') && name.endsWith(".class")))
+					classFiles.put(context.packetName + '.' + name.substring(0, name.length() - 6), Files.readAllBytes(f.toPath()));
+			}
+		}
+	}
+
+	/**
+	 * List a generated class file.
+	 * <p>
+	 * The class file is written to the temp directory and listed by javap.
+	 * @param javaClass the generated Java class
+	 * @throws IOException if something went wrong
+	 */
+	private void listClassFile(final GeneratedJavaClass javaClass) throws IOException {
+		File classFile = new File(javaClass.getClassOutputFileName());
+		classFile.getParentFile().mkdirs();
+		Files.write(classFile.toPath(), classFiles.get(javaClass.getClassName()));
+		Util.doListClassFile(classFile.toString());
+	}
+
 	// ***************************************************************
 	// *** CREATE .jar FILE
 	// ***************************************************************
@@ -571,7 +686,7 @@ public final class SimulaCompiler {
 	private String createJarFile(final ProgramModule program) throws IOException {
 		if (Option.TRACING)
 			Util.println("BEGIN Create .jar File");
-		outputJarFile = new File(Global.outputDir, program.getIdentifier() + ".jar");
+		outputJarFile = new File(context.outputDir, program.getIdentifier() + ".jar");
 		outputJarFile.getParentFile().mkdirs();
 		if (!program.isExecutable()) {
 			String id = program.module.identifier;
@@ -581,7 +696,7 @@ public final class SimulaCompiler {
 			Util.warning("No execution - Separate Compiled " + kind + id + " is written to: \"" + outputJarFile + "\"");
 		}
 		Manifest manifest = new Manifest();
-		mainEntry = Global.packetName + '/' + program.getIdentifier();
+		mainEntry = context.packetName + '/' + program.getIdentifier();
 		mainEntry = mainEntry.replace('/', '.');
 		if (Option.TRACING)
 			Util.println("Output " + outputJarFile + " MANIFEST'mainEntry=\"" + mainEntry + "\"");
@@ -594,9 +709,33 @@ public final class SimulaCompiler {
 			if (relativeAttributeFileName != null)
 				manifest.getMainAttributes().putValue("SIMULA-INFO", relativeAttributeFileName);
 		}
-
-		JarOutputStream target = new JarOutputStream(new FileOutputStream(outputJarFile), manifest);
-		add(target, new File(Global.tempClassFileDir, Global.packetName), Global.tempClassFileDir.toString().length());
+		if (context.sourceFingerprint != null)
+			manifest.getMainAttributes().putValue(Fingerprint.SOURCE, context.sourceFingerprint);
+		if (interfaceFingerprint != null)
+			manifest.getMainAttributes().putValue(Fingerprint.INTERFACE, interfaceFingerprint);
+		manifest.getMainAttributes().putValue(Fingerprint.BUILD, buildFingerprint());
+		if (!context.dependencyFingerprints.isEmpty())
+			manifest.getMainAttributes().putValue(Fingerprint.DEPENDENCIES, String.join(" ", context.dependencyFingerprints));
+
+		JarOutputStream target = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(outputJarFile)), manifest);
+		long time = System.currentTimeMillis();
+		JarEntry packetEntry = new JarEntry(context.packetName + '/');
+		packetEntry.setTime(time);
+		target.putNextEntry(packetEntry);
+		target.closeEntry();
+		jarEntries.add(packetEntry.getName());
+		for (Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+			JarEntry entry = new JarEntry(classFile.getKey().replace('.', '/') + ".class");
+			entry.setTime(time);
+			target.putNextEntry(entry);
+			target.write(classFile.getValue());
+			target.closeEntry();
+			jarEntries.add(entry.getName());
+		}
+		// The attribute file and the classes of separately compiled modules
+		File tempPacketDir = new File(context.tempClassFileDir, context.packetName);
+		if (tempPacketDir.exists())
+			add(target, tempPacketDir, context.tempClassFileDir.toString().length());
 		if (programModule.isExecutable()) {
 			File rtsHome = new File(Global.simulaRtsLib, "simula/runtime");
 			add(target, rtsHome, Global.simulaRtsLib.toString().length());
@@ -614,8 +753,36 @@ public final class SimulaCompiler {
 		return (outputJarFile.toString());
 	}
 
+	/**
+	 * Returns the build fingerprint, i.e. the fingerprint of the packet directory in the .jar file.
+	 * <p>
+	 * The packet directory contains the classes of the program, the classes of the separately compiled
+	 * modules and the attribute file, as written by createJarFile.
+	 * @return the build fingerprint
+	 * @throws IOException if something went wrong
+	 */
+	private String buildFingerprint() throws IOException {
+		TreeMap<String, byte[]> entries = new TreeMap<String, byte[]>();
+		for (Map.Entry<String, byte[]> classFile : classFiles.entrySet())
+			entries.put(classFile.getKey().replace('.', '/') + ".class", classFile.getValue());
+		File tempPacketDir = new File(context.tempClassFileDir, context.packetName);
+		if (tempPacketDir.exists()) {
+			int pathSize = context.tempClassFileDir.toString().length();
+			for (File file : tempPacketDir.listFiles()) {
+				String entryName = file.getPath().replace("\\", "/").substring(pathSize);
+				if (entryName.startsWith("/"))
+					entryName = entryName.substring(1);
+				if (file.isFile() && !entryName.endsWith(".jasm") && !entries.containsKey(entryName))
+					entries.put(entryName, Files.readAllBytes(file.toPath()));
+			}
+		}
+		return (Fingerprint.ofEntries(entries));
+	}
+
 	/**
 	 * Add directory or a file to a JarOutputStream.
+	 * <p>
+	 * Entries already written to the JarOutputStream are skipped.
 	 * @param target the JarOutputStream
 	 * @param source source file or directory
 	 * @param pathSize the path size
@@ -632,10 +799,12 @@ public final class SimulaCompiler {
 					name = name.substring(pathSize);
 					if (name.startsWith("/"))
 						name = name.substring(1);
-					JarEntry entry = new JarEntry(name);
-					entry.setTime(source.lastModified());
-					target.putNextEntry(entry);
-					target.closeEntry();
+					if (jarEntries.add(name)) {
+						JarEntry entry = new JarEntry(name);
+						entry.setTime(source.lastModified());
+						target.putNextEntry(entry);
+						target.closeEntry();
+					}
 				}
 				for (File nestedFile : source.listFiles())
 					add(target, nestedFile, pathSize);
@@ -646,6 +815,8 @@ public final class SimulaCompiler {
 				entryName = entryName.substring(pathSize);
 				if (entryName.startsWith("/"))
 					entryName = entryName.substring(1);
+				if (!jarEntries.add(entryName))
+					return;
 				JarEntry entry = new JarEntry(entryName);
 				entry.setTime(source.lastModified());
 				target.putNextEntry(entry);
@@ -673,15 +844,15 @@ public final class SimulaCompiler {
 	 */
 	private void fileSummary() {
 		Util.println("------------  FILE SUMMARY  ------------");
-		Util.println("Package Name:    \"" + Global.packetName + "\"");
-		Util.println("SourceFile Name: \"" + Global.sourceName + "\"");
-		Util.println("SourceFile Dir:  \"" + Global.sourceFileDir.getAbsolutePath() + "\"");
+		Util.println("Package Name:    \"" + context.packetName + "\"");
+		Util.println("SourceFile Name: \"" + context.sourceName + "\"");
+		Util.println("SourceFile Dir:  \"" + context.sourceFileDir.getAbsolutePath() + "\"");
 		if (Global.currentWorkspace != null)
 			Util.println("CurrentWorkspace \"" + Global.currentWorkspace.getAbsolutePath() + "\"");
-		Util.println("TempDir .java:   \"" + Global.tempJavaFileDir.getAbsolutePath() + "\"");
-		Util.println("TempDir .class:  \"" + Global.tempClassFileDir.getAbsolutePath() + "\"");
+		Util.println("TempDir .java:   \"" + context.tempJavaFileDir.getAbsolutePath() + "\"");
+		Util.println("TempDir .class:  \"" + context.tempClassFileDir.getAbsolutePath() + "\"");
 		Util.println("SimulaRtsLib:    \"" + Global.simulaRtsLib.getAbsolutePath() + "\"");
-		Util.println("OutputDir:       \"" + Global.outputDir.getAbsolutePath() + "\"");
+		Util.println("OutputDir:       \"" + context.outputDir.getAbsolutePath() + "\"");
 	}
 
 	// ***************************************************************
@@ -9,11 +9,11 @@ package simula.compiler.byteCodeEngineering;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -57,16 +57,35 @@ public final class ByteCodeEngineering {
 	 * @param classFileName the .class file name
 	 */
 	public void doRepairSingleByteCode(String classFileName) {
-		InputStream inputStream = null;
 		try {
-			File file = new File(classFileName);
-			String fileName = file.getName();
-			if (Option.TRACE_REPAIRING)
-				Util.println("ByteCodeEngineering.doRepairSingleByteCode: Load " + classFileName);
 			if (LIST_ASM_CODE)
 				Util.doListClassFile(classFileName);
-			inputStream = new FileInputStream(classFileName);
-			ClassReader classReader = new ClassReader(inputStream);
+			byte[] bytes = Files.readAllBytes(Path.of(classFileName));
+			byte[] b2 = doRepairSingleByteCode(new File(classFileName).getName(), bytes);
+			if (b2 != bytes)
+				dumpToFile(b2, classFileName);
+			if (LIST_ASM_CODE)
+				Util.doListClassFile(classFileName);
+		} catch (IOException e) {
+			Util.warning("ByteCodeEngineering FAILED for " + classFileName + ", Exception="
+					+ e.getClass().getSimpleName() + ", msg=" + e.getMessage());
+		}
+	}
+
+	/**
+	 * Repair a single class file held in memory.
+	 * <p>
+	 * If the repair fails a warning is given and the input bytes are returned.
+	 * 
+	 * @param fileName the class file name, used in messages
+	 * @param bytes the class file bytes as written by the Java compiler
+	 * @return the repaired class file bytes
+	 */
+	public byte[] doRepairSingleByteCode(String fileName, byte[] bytes) {
+		try {
+			if (Option.TRACE_REPAIRING)
+				Util.println("ByteCodeEngineering.doRepairSingleByteCode: Load " + fileName);
+			ClassReader classReader = new ClassReader(bytes);
 			ClassWriter classWriter = new ExtendedClassWriter(classReader, ClassWriter.COMPUTE_FRAMES);
 			// classVisitor forwards all events to classWriter
 			ClassVisitor classVisitor;
@@ -78,25 +97,15 @@ public final class ByteCodeEngineering {
 			classReader.accept(classVisitor, 0); // ClassReader will call methods in classWriter
 			if (DEBUG)
 				Util.println("ByteCodeEngineering.doRepairSingleByteCode: AFTER  classReader.accept(classVisitor, 0);");
-			// Dump the class to <classFileName>
 			if (Option.TRACE_REPAIRING)
-				Util.println("ByteCodeEngineering.doRepairSingleByteCode: Dump " + classFileName);
-			byte[] b2 = classWriter.toByteArray(); // b2 represents the repaired version of the input class
-			dumpToFile(b2, classFileName);
-			if (LIST_ASM_CODE)
-				Util.doListClassFile(classFileName);
+				Util.println("ByteCodeEngineering.doRepairSingleByteCode: Dump " + fileName);
+			return (classWriter.toByteArray()); // the repaired version of the input class
 		} catch (Exception e) {
-			Util.println("ByteCodeEngineering FAILED for " + classFileName);
+			Util.println("ByteCodeEngineering FAILED for " + fileName);
 			e.printStackTrace();
-			Util.warning("ByteCodeEngineering FAILED for " + classFileName + ", Exception="
+			Util.warning("ByteCodeEngineering FAILED for " + fileName + ", Exception="
 					+ e.getClass().getSimpleName() + ", msg=" + e.getMessage());
-		} finally {
-			if (inputStream != null)
-				try {
-					inputStream.close();
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+			return (bytes);
 		}
 	}
 
@@ -10,7 +10,7 @@ package simula.compiler.byteCodeEngineering;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Util;
 
 /**
@@ -18,7 +18,7 @@ import simula.compiler.utilities.Util;
  * <p>
  * This class is introduced to compensate for a weakness in ASM ( https://asm.ow2.io/ ).
  * <p>
- * ClassWriter.getCommonSuperClass does not work because Global.tempClassFileDir is not present in java.class.path
+ * ClassWriter.getCommonSuperClass does not work because CompilationContext.tempClassFileDir is not present in java.class.path
  * <p>
  * Instead we use the information we have about all generated .class files to find common superclass of two types.
  * <p>
@@ -82,7 +82,7 @@ public class ExtendedClassWriter extends ClassWriter {
 	private static JavaClassInfo getClassInfo(String type) {
 		int n = type.lastIndexOf('/');
 		String dir = type.substring(0, n);
-		Util.ASSERT(dir.equals(Global.packetName), " dir=" + dir + ", Global.packetName=" + Global.packetName);
+		Util.ASSERT(dir.equals(CompilationContext.current().packetName), " dir=" + dir + ", CompilationContext.current().packetName=" + CompilationContext.current().packetName);
 		type = type.substring(n + 1);
 		if (DEBUG)
 			System.out.println("ExtendedClassWriter.getClassInfo: javaClassInfo.get(" + type + ")");
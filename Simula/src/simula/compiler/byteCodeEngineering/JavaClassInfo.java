@@ -10,12 +10,14 @@ package simula.compiler.byteCodeEngineering;
 import java.util.Hashtable;
 import java.util.Set;
 
+import simula.compiler.utilities.CompilationContext;
+
 /**
  * Java class info.
  * <p>
  * This class is introduced to compensate for a weakness in ASM.
  * <p>
- * ClassWriter.getCommonSuperClass does not work because Global.tempClassFileDir is not present in java.class.path
+ * ClassWriter.getCommonSuperClass does not work because CompilationContext.tempClassFileDir is not present in java.class.path
  * <p>
  * See: ExtendedClassWriter.getCommonSuperClass
  * <p>
@@ -31,11 +33,6 @@ public class JavaClassInfo {
 	 */
 	private static final boolean DEBUG = false;
 	
-	/**
-	 * The java class map
-	 */
-	private static Hashtable<String, JavaClassInfo> javaClassMap;
-
 	/**
 	 * External identifier.
 	 */
@@ -59,14 +56,14 @@ public class JavaClassInfo {
 	 * @param info the info
 	 */
 	public static void put(String key, JavaClassInfo info) {
-		javaClassMap.putIfAbsent(key, info);
+		CompilationContext.current().javaClassMap.putIfAbsent(key, info);
 	}
 	
 	/**
 	 * Initiate javaClassMap
 	 */
 	public static void init() {
-		javaClassMap = new Hashtable<String, JavaClassInfo>();
+		CompilationContext.current().javaClassMap = new Hashtable<String, JavaClassInfo>();
 	}
 
 	/**
@@ -76,7 +73,7 @@ public class JavaClassInfo {
 	 * @return the associated info or an empty String if not found
 	 */
 	static JavaClassInfo get(String key) {
-		JavaClassInfo info = javaClassMap.get(key);
+		JavaClassInfo info = CompilationContext.current().javaClassMap.get(key);
 		if (info == null)
 			printJavaClassMap("");
 		return (info);
@@ -112,7 +109,7 @@ public class JavaClassInfo {
 	 * @return the prefix identifier or null
 	 */
 	private String getPrefixIdent(String ident) {
-		JavaClassInfo prefix = javaClassMap.get(ident);
+		JavaClassInfo prefix = CompilationContext.current().javaClassMap.get(ident);
 		String res = ((prefix == null) ? null : prefix.prefixIdent);
 		if (DEBUG)
 			System.out.println("JavaClassInfo.getClassInfo: getPrefixIdent(" + ident + ") ==> " + res);
@@ -125,6 +122,7 @@ public class JavaClassInfo {
 	 * @param title the title
 	 */
 	static void printJavaClassMap(String title) {
+		Hashtable<String, JavaClassInfo> javaClassMap = CompilationContext.current().javaClassMap;
 		Set<String> keys = javaClassMap.keySet();
 		for (String key : keys) {
 			System.out.println("JavaClassMap-Key: " + key + ", value=" + javaClassMap.get(key));
@@ -1,7 +1,7 @@
 package simula.compiler.parsing;
 
 import java.io.File;
-import simula.compiler.utilities.Option;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Util;
 
 /**
@@ -62,6 +62,7 @@ public class Directive {
 		Util.warning("%INSERT " + fileName);
 		File file = new File(fileName);
 		if (file.exists() && file.canRead()) {
+			CompilationContext.current().sourceFingerprint = null; // The inserted file is not fingerprinted
 			scanner.insert(file);
 		} else
 			Util.error("Can't open " + fileName + " for reading");
@@ -127,7 +128,7 @@ public class Directive {
 	 */
 	private static void setKeepJava(final String dir) {
 		if (dir != null)
-			Option.keepJava = new File(dir);
+			CompilationContext.current().keepJava = new File(dir);
 		else
 			Util.warning("Missing directory in KEEP_JAVA directive");
 	}
@@ -10,6 +10,7 @@ package simula.compiler.parsing;
 import java.io.Reader;
 
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Token;
 import simula.compiler.utilities.Util;
@@ -56,31 +57,6 @@ import simula.compiler.utilities.Util;
  */
 public final class Parse {
 	
-	/**
-	 * The saved Token used by 'pushBack'
-	 */
-	private static Token savedToken; // Used by 'pushBack'
-	
-	/**
-	 * Indicate that endOfFile error is given
-	 */
-	private static boolean endOfFileErrorGiven;
-	
-	/**
-	 * The SimulaScanner
-	 */
-	private static SimulaScanner simulaScanner;
-	
-	/**
-	 * The previous Token.
-	 */
-	public static Token prevToken;
-	
-	/**
-	 * The current Token.
-	 */
-	public static Token currentToken;
-	
 	/**
 	 * Default constructor.
 	 */
@@ -94,11 +70,12 @@ public final class Parse {
 	 * @param reader the source file reader.
 	 */
 	public static void initiate(final Reader reader) {
-		simulaScanner = new SimulaScanner(reader,false);
-		prevToken = null;
-		currentToken = null;
-		savedToken = null; // Used by 'pushBack'
-		endOfFileErrorGiven=false;
+		CompilationContext context = CompilationContext.current();
+		context.simulaScanner = new SimulaScanner(reader,false);
+		context.prevToken = null;
+		context.currentToken = null;
+		context.savedToken = null; // Used by 'pushBack'
+		context.endOfFileErrorGiven=false;
 
 		nextToken();
 	}
@@ -110,8 +87,9 @@ public final class Parse {
 	 * Close the Simula scanner.
 	 */
 	public static void close() {
-		simulaScanner.close();
-		simulaScanner = null;
+		CompilationContext context = CompilationContext.current();
+		context.simulaScanner.close();
+		context.simulaScanner = null;
 	}
 
 	// *********************************************************************************
@@ -121,33 +99,35 @@ public final class Parse {
 	 * Save current Token
 	 */
 	public static void saveCurrentToken() {
-		if (savedToken != null) Util.IERR("saveCurrentToken: Already called");
-		savedToken = Parse.currentToken;
-		Parse.currentToken = Parse.prevToken;
-		Parse.prevToken = null;
+		CompilationContext context = CompilationContext.current();
+		if (context.savedToken != null) Util.IERR("saveCurrentToken: Already called");
+		context.savedToken = context.currentToken;
+		context.currentToken = context.prevToken;
+		context.prevToken = null;
 	}
 	
 	/**
 	 * Advance to next Token.
 	 */
 	public static void nextToken() {
-		Parse.prevToken = Parse.currentToken;
-		if (savedToken == null) {
-			Parse.currentToken = simulaScanner.nextToken();
-			if (Parse.currentToken == null) {
-				if (!endOfFileErrorGiven) {
+		CompilationContext context = CompilationContext.current();
+		context.prevToken = context.currentToken;
+		if (context.savedToken == null) {
+			context.currentToken = context.simulaScanner.nextToken();
+			if (context.currentToken == null) {
+				if (!context.endOfFileErrorGiven) {
 					//Util.warning("Possible scanning past END-OF-FILE");
 				}
-				endOfFileErrorGiven = true;
-				Parse.currentToken = new Token(KeyWord.END);
+				context.endOfFileErrorGiven = true;
+				context.currentToken = new Token(KeyWord.END);
 			}
 		} else {
-			Parse.currentToken = savedToken;
-			savedToken = null;
+			context.currentToken = context.savedToken;
+			context.savedToken = null;
 		}
-		if(Parse.currentToken.getKeyWord()==KeyWord.IDENTIFIER)
-			if(Parse.prevToken!=null && Parse.prevToken.getKeyWord()==KeyWord.IDENTIFIER) {
-				Util.error("Misplaced identifier "+Parse.currentToken+" directly after the identifier "+Parse.prevToken+" - Ignored");
+		if(context.currentToken.getKeyWord()==KeyWord.IDENTIFIER)
+			if(context.prevToken!=null && context.prevToken.getKeyWord()==KeyWord.IDENTIFIER) {
+				Util.error("Misplaced identifier "+context.currentToken+" directly after the identifier "+context.prevToken+" - Ignored");
 		        nextToken();
 			}
 	}
@@ -162,8 +142,9 @@ public final class Parse {
 	 * @return true if a keyword is accepted, false otherwise.
 	 */
 	public static boolean accept(final KeyWord... key) {
+		KeyWord current = CompilationContext.current().currentToken.getKeyWord();
 		for (int i = 0; i < key.length; i++)
-			if (Parse.currentToken.getKeyWord() == key[i]) {
+			if (current == key[i]) {
 				nextToken();
 				return (true);
 			}
@@ -179,7 +160,7 @@ public final class Parse {
 	 */
 	public static boolean expect(final KeyWord key) {
 		if (accept(key)) return (true);
-		Util.error("Got symbol '" + Parse.currentToken + "' while expecting KeyWord " + key.toLowerCase());
+		Util.error("Got symbol '" + CompilationContext.current().currentToken + "' while expecting KeyWord " + key.toLowerCase());
 		return (false);
 	}
 
@@ -187,7 +168,7 @@ public final class Parse {
 	 * Skip misplaced current symbol.
 	 */
 	public static void skipMisplacedCurrentSymbol() {
-		Util.error("Misplaced symbol: "+Parse.currentToken+" -- Ignored");
+		Util.error("Misplaced symbol: "+CompilationContext.current().currentToken+" -- Ignored");
 		nextToken();
 	}
 	
@@ -197,7 +178,7 @@ public final class Parse {
 	 */
 	public static String acceptIdentifier() {
 		if (Parse.accept(KeyWord.IDENTIFIER))
-			return (Parse.prevToken.getIdentifier());
+			return (CompilationContext.current().prevToken.getIdentifier());
 		return (null);
 	}
 
@@ -208,7 +189,7 @@ public final class Parse {
 	 * @return the identifier or null
 	 */
 	public static String expectIdentifier() {
-		Token token = Parse.currentToken;
+		Token token = CompilationContext.current().currentToken;
 		if (acceptIdentifier() != null)
 			return (token.getIdentifier());
 		Util.error("Got symbol " + token + " while expecting an Identifier");
@@ -230,7 +211,7 @@ public final class Parse {
 		else if(Parse.accept(KeyWord.LONG)) { Parse.expect(KeyWord.REAL); type=Type.LongReal; }
 		else if(Parse.accept(KeyWord.TEXT)) type=Type.Text;
 		else if(Parse.accept(KeyWord.REF))	{
-			Parse.expect(KeyWord.BEGPAR); Token classIdentifier=Parse.currentToken;
+			Parse.expect(KeyWord.BEGPAR); Token classIdentifier=CompilationContext.current().currentToken;
 			Parse.expect(KeyWord.IDENTIFIER); Parse.expect(KeyWord.ENDPAR); 
 			type=Type.Ref(classIdentifier.toString()); 
 		}
@@ -276,7 +257,7 @@ public final class Parse {
 	 * @param msg a message
 	 */
 	public static void TRACE(final String msg) {
-		Util.TRACE(msg + ", current=" + Parse.currentToken + ", prev=" + Parse.prevToken);
+		Util.TRACE(msg + ", current=" + CompilationContext.current().currentToken + ", prev=" + CompilationContext.current().prevToken);
 	}
 	
 
@@ -12,7 +12,7 @@ import java.io.Reader;
 import java.util.LinkedList;
 import java.util.Stack;
 
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Token;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -66,7 +66,9 @@ public final class SimulaScanner extends DefaultScanner {
     SourceFileReader sourceFileReader;
     
     /**
-     * The selector array.
+     * The selector array given by the option -select.
+     * <p>
+     * Copied to each CompilationContext, where %SELECT may change it.
      */
     public static boolean selector[]=new boolean[256];
 
@@ -93,7 +95,7 @@ public final class SimulaScanner extends DefaultScanner {
 	public SimulaScanner(final Reader reader,final boolean editorMode) {
 		this.sourceFileReader=new SourceFileReader(reader);
 		this.editorMode=editorMode;
-		Global.sourceLineNumber=1;
+		CompilationContext.current().sourceLineNumber=1;
 	}
 
     //********************************************************************************
@@ -191,7 +193,8 @@ public final class SimulaScanner extends DefaultScanner {
     private Token scanBasic() {
     	if(Option.TRACE_SCAN) Util.TRACE("SimulaScanner.scanBasic, "+edcurrent());
     	while(true)	{
-    		Token.lineNumberBeforeScanBasic = Global.sourceLineNumber;
+    		CompilationContext context = CompilationContext.current();
+    		context.lineNumberBeforeScanBasic = context.sourceLineNumber;
 
     		if(Character.isLetter(getNext())) return(scanIdentifier());
     		switch(current) {
@@ -248,7 +251,7 @@ public final class SimulaScanner extends DefaultScanner {
 	            case '%': return(scanDirectiveLine());
 	    	
 	            case '\n':			/* NL (LF) */
-	    	      if (editorMode) return(newToken(KeyWord.NEWLINE,Global.sourceLineNumber+1));
+	    	      if (editorMode) return(newToken(KeyWord.NEWLINE,CompilationContext.current().sourceLineNumber+1));
 	            case ' ':
 	            case '\b':			/* BS */
 	            case '\t':			/* HT */
@@ -711,7 +714,7 @@ public final class SimulaScanner extends DefaultScanner {
 //    	int firstLine=Global.sourceLineNumber;
 //    	int lastLine=firstLine;
     	LOOP:while(true) {
-        	int firstLine=Global.sourceLineNumber;
+        	int firstLine=CompilationContext.current().sourceLineNumber;
         	int lastLine=firstLine;
     		// Scan simple-string:
     		while(getNext() != '"') {
@@ -728,10 +731,10 @@ public final class SimulaScanner extends DefaultScanner {
     			} else accumulatedTextConstant.append((char)current);
     		}
     		if(editorMode) tokenQueue.add(newToken(KeyWord.STRING));
-    		lastLine=Global.sourceLineNumber;
+    		lastLine=CompilationContext.current().sourceLineNumber;
     		if(getNext() == '"') {
     			accumulatedTextConstant.append('"');
-    			lastLine=Global.sourceLineNumber;
+    			lastLine=CompilationContext.current().sourceLineNumber;
     		} else {
     			// Skip string-separator
     			while(currentIsStringSeparator()) getNext();
@@ -938,6 +941,7 @@ public final class SimulaScanner extends DefaultScanner {
      * Set selectors for conditional compilation.
      */
     private void setSelectors() {
+    	boolean[] selector = CompilationContext.current().selector;
     	for(int i=0;i<255;i++) selector[i]=false;
     	getNext();
     	while(current==' ') getNext();
@@ -952,6 +956,7 @@ public final class SimulaScanner extends DefaultScanner {
      * @return true if current line is selected
      */
 	private boolean lineSelected() {
+		boolean[] selector = CompilationContext.current().selector;
 		while (true) {
 			if (current == '+') {
 				getNext();
@@ -1062,7 +1067,7 @@ public final class SimulaScanner extends DefaultScanner {
 		tokenQueue.add(newToken(KeyWord.END));				   
 		StringBuilder skipped = new StringBuilder();
 		if (Option.TRACE_SCAN) Util.TRACE("scanEndComment, " + edcurrent());
-		int firstLine = Global.sourceLineNumber;
+		int firstLine = CompilationContext.current().sourceLineNumber;
 		int lastLine = firstLine;
    LOOP:while (getNext() != EOF_MARK) {
 			if(current=='%' && prevChar=='\n') {
@@ -1089,7 +1094,7 @@ public final class SimulaScanner extends DefaultScanner {
 				skipped.append(name); // lastLine=Global.sourceLineNumber;
 			} else if (!isWhiteSpace(current)) {
 				skipped.append((char) current);
-				lastLine = Global.sourceLineNumber;
+				lastLine = CompilationContext.current().sourceLineNumber;
 			}
 		}
 		
@@ -1128,7 +1133,7 @@ public final class SimulaScanner extends DefaultScanner {
     	prevChar=current;
     	if(puchBackStack.empty()) {
     		int c=sourceFileReader.read();
-    		if(c=='\n') Global.sourceLineNumber++;
+    		if(c=='\n') CompilationContext.current().sourceLineNumber++;
     		else if(c<0) { EOF_SEEN=true; c=EOF_MARK; }
     		else if(c<32) c=' '; // Whitespace
     		current=c;
@@ -14,6 +14,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.Stack;
 
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Util;
 
@@ -89,12 +90,12 @@ public final class SourceFileReader {
 	 * @param file the file to be inserted
 	 */
 	void insert(final File file) {
-		lineStack.push(Global.sourceLineNumber);
-		Global.sourceLineNumber = 1;
+		lineStack.push(CompilationContext.current().sourceLineNumber);
+		CompilationContext.current().sourceLineNumber = 1;
 		try {
 			Reader reader = new InputStreamReader(new FileInputStream(file), Global._CHARSET);
-			nameStack.push(Global.insertName);
-			Global.insertName = file.getName();
+			nameStack.push(CompilationContext.current().insertName);
+			CompilationContext.current().insertName = file.getName();
 			stack.push(current);
 			current = reader;
 		} catch (IOException e) {
@@ -106,8 +107,8 @@ public final class SourceFileReader {
 	 * Force EOF on the current underlying reader.
 	 */
 	void forceEOF() {
-		Global.insertName = nameStack.pop();
-		Global.sourceLineNumber = lineStack.pop();
+		CompilationContext.current().insertName = nameStack.pop();
+		CompilationContext.current().sourceLineNumber = lineStack.pop();
 		current = stack.pop();
 	}
 
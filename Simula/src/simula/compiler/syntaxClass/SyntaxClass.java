@@ -11,7 +11,7 @@ import simula.compiler.GeneratedJavaClass;
 import simula.compiler.syntaxClass.declaration.Declaration;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.statement.Statement;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Util;
 
 /**
@@ -102,7 +102,7 @@ public abstract sealed class SyntaxClass permits Declaration, Statement, Express
 	 * Create a new SyntaxClass.
 	 */
 	protected SyntaxClass() {
-		lineNumber = Global.sourceLineNumber;
+		lineNumber = CompilationContext.current().sourceLineNumber;
 	}
 
 	/**
@@ -113,7 +113,7 @@ public abstract sealed class SyntaxClass permits Declaration, Statement, Express
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		String name = this.getClass().getSimpleName();
 		Util.IERR("*** NOT IMPLEMENTED: " + "" + name + ".doChecking");
 	}
@@ -159,7 +159,7 @@ public abstract sealed class SyntaxClass permits Declaration, Statement, Express
 	 * Output Java code.
 	 */
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		GeneratedJavaClass.code(toJavaCode());
 	}
 
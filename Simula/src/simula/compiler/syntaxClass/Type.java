@@ -426,6 +426,20 @@ public sealed class Type extends SyntaxClass implements Externalizable permits O
 		return(this.toString());
 	}
 	
+	/**
+	 * Codeing utility: toJavaNameClass.
+	 * <p>
+	 * Name parameters of type integer, real, long real, character and boolean
+	 * are transmitted as RTS_NAME_int, RTS_NAME_float etc. which are read by
+	 * getValue and written by putValue without boxing.
+	 * @return the resulting code string, or null if this type uses RTS_NAME&lt;T>.
+	 */
+	public String toJavaNameClass() {
+		if(this.equals(LongReal)||this.equals(Real)||this.equals(Integer)
+		 ||this.equals(Boolean)||this.equals(Character)) return("RTS_NAME_"+toJavaType());
+		return(null);
+	}
+	
 	/**
 	 * Codeing utility: toJavaArrayType.
 	 * @return the resulting code string.
@@ -20,8 +20,8 @@ import simula.compiler.syntaxClass.SyntaxClass;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.TypeConversion;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
-import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -143,7 +143,7 @@ public final class ArrayDeclaration extends Declaration implements Externalizabl
 	 */
 	static void expectArrayDeclaration(final Type type, final DeclarationList declarationList) {
 		if (Option.TRACE_PARSE)
-			Util.TRACE("Parse ArrayDeclaration, type=" + type + ", current=" + Parse.currentToken);
+			Util.TRACE("Parse ArrayDeclaration, type=" + type + ", current=" + CompilationContext.current().currentToken);
 		do {
 			if (Option.TRACE_PARSE)
 				Parse.TRACE("Parse ArraySegment");
@@ -220,7 +220,7 @@ public final class ArrayDeclaration extends Declaration implements Externalizabl
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (type == null)
 			type = Type.Real;
 		if (boundPairList != null)
@@ -231,7 +231,7 @@ public final class ArrayDeclaration extends Declaration implements Externalizabl
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		// --------------------------------------------------------------------
 		// public _FLOAT_GARRAY Tab=null;
@@ -243,7 +243,7 @@ public final class ArrayDeclaration extends Declaration implements Externalizabl
 
 	@Override
 	public void doDeclarationCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		// --------------------------------------------------------------------
 		// integer array A(1:4,4:6,6:12);
@@ -12,7 +12,7 @@ import java.util.Vector;
 import simula.compiler.GeneratedJavaClass;
 import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.statement.Statement;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
 
@@ -236,7 +236,7 @@ permits ClassDeclaration, ProcedureDeclaration, MaybeBlockDeclaration {
 			} else{
 				GeneratedJavaClass.code("_JUMPTABLE(_JTX);","For ByteCode Engineering");
 			}
-			Global.currentJavaModule.mustDoByteCodeEngineering=true;
+			CompilationContext.current().currentJavaModule.mustDoByteCodeEngineering=true;
 		}
 		codeStatements();
 		if (hasLabel()) {
@@ -264,10 +264,10 @@ permits ClassDeclaration, ProcedureDeclaration, MaybeBlockDeclaration {
 	 * Coding utility: Code statements
 	 */
 	protected void codeStatements() {
-		boolean duringSTM_Coding=Global.duringSTM_Coding;
-		Global.duringSTM_Coding=true;
+		boolean duringSTM_Coding=CompilationContext.current().duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=true;
 		for (Statement stm : statements) stm.doJavaCoding();
-		Global.duringSTM_Coding=duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=duringSTM_Coding;
 	}
 	
 	protected void printStatementList(int indent) {
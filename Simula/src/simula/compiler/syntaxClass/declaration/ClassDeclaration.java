@@ -23,6 +23,7 @@ import simula.compiler.syntaxClass.ProtectedSpecification;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.statement.InnerStatement;
 import simula.compiler.syntaxClass.statement.Statement;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
@@ -186,11 +187,11 @@ permits StandardClass, PrefixedBlockDeclaration {
 	 */
 	public static ClassDeclaration expectClassDeclaration(final String prefix) {
 		ClassDeclaration cls = new ClassDeclaration(null);
-		cls.lineNumber = Parse.prevToken.lineNumber;
+		cls.lineNumber = CompilationContext.current().prevToken.lineNumber;
 		cls.prefix = prefix;
 		cls.declaredIn.hasLocalClasses = true;
 		if (cls.prefix == null)
-			cls.prefix = StandardClass.CLASS.identifier;
+			cls.prefix = CompilationContext.current().CLASS.identifier;
 		cls.modifyIdentifier(Parse.expectIdentifier());
 		if (Parse.accept(KeyWord.BEGPAR)) {
 			expectFormalParameterPart(cls.parameterList);
@@ -207,7 +208,7 @@ permits StandardClass, PrefixedBlockDeclaration {
 			VirtualSpecification.expectVirtualPart(cls);
 		expectClassBody(cls);
 		
-		cls.lastLineNumber = Global.sourceLineNumber;
+		cls.lastLineNumber = CompilationContext.current().sourceLineNumber;
 		cls.type = Type.Ref(cls.identifier);
 		if (Option.TRACE_PARSE)
 			Parse.TRACE("Line " + cls.lineNumber + ": ClassDeclaration: " + cls);
@@ -400,16 +401,16 @@ permits StandardClass, PrefixedBlockDeclaration {
 					if (seen)
 						Util.error("Max one INNER per Block");
 					else
-						stmList.add(new InnerStatement(Parse.currentToken.lineNumber));
+						stmList.add(new InnerStatement(CompilationContext.current().currentToken.lineNumber));
 					seen = true;
 				}
 			}
 			if (!seen)
-				stmList.add(new InnerStatement(Parse.currentToken.lineNumber)); // Implicit INNER
+				stmList.add(new InnerStatement(CompilationContext.current().currentToken.lineNumber)); // Implicit INNER
 		}
 		else {
 			cls.statements.add(Statement.expectStatement());
-			cls.statements.add(new InnerStatement(Parse.currentToken.lineNumber)); // Implicit INNER
+			cls.statements.add(new InnerStatement(CompilationContext.current().currentToken.lineNumber)); // Implicit INNER
 		}
 	}
 
@@ -450,14 +451,14 @@ permits StandardClass, PrefixedBlockDeclaration {
 	@Override
 	public void doChecking() {
 		if(isPreCompiled && !isBlockLevelUpdated)
-			updateBlockLevels(DeclarationScope.currentRTBlockLevel);
+			updateBlockLevels(CompilationContext.current().currentRTBlockLevel);
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (externalIdent == null)
 			externalIdent = edJavaClassName();
-		currentRTBlockLevel++;
-		rtBlockLevel = currentRTBlockLevel;
+		CompilationContext.current().currentRTBlockLevel++;
+		rtBlockLevel = CompilationContext.current().currentRTBlockLevel;
 		Global.enterScope(this);
 		ClassDeclaration prefixClass = null;
 		if (!hasNoRealPrefix()) {
@@ -482,7 +483,7 @@ permits StandardClass, PrefixedBlockDeclaration {
 		checkHiddenList();
 		doCheckLabelList(prefixClass);
 		Global.exitScope();
-		currentRTBlockLevel--;
+		CompilationContext.current().currentRTBlockLevel--;
 		SET_SEMANTICS_CHECKED();
 
 		JavaClassInfo info = new JavaClassInfo();
@@ -909,7 +910,7 @@ permits StandardClass, PrefixedBlockDeclaration {
 		ASSERT_SEMANTICS_CHECKED();
 		if (this.isPreCompiled)
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		GeneratedJavaClass javaModule = new GeneratedJavaClass(this);
 		Global.enterScope(this);
 		GeneratedJavaClass.code("@SuppressWarnings(\"unchecked\")");
@@ -1026,10 +1027,10 @@ permits StandardClass, PrefixedBlockDeclaration {
 //	private void saveClassStms() {
 //		if (code1 == null) {
 //			code1 = new Vector<CodeLine>();
-//			Global.currentJavaModule.saveCode = code1;
+//			CompilationContext.current().currentJavaModule.saveCode = code1;
 //			for (Statement stm : statements)
 //				stm.doJavaCoding();
-//			Global.currentJavaModule.saveCode = null;
+//			CompilationContext.current().currentJavaModule.saveCode = null;
 //		}
 //	}
 
@@ -1058,10 +1059,10 @@ permits StandardClass, PrefixedBlockDeclaration {
 		//saveClassStms();
 		if (code1 == null) {
 			code1 = new Vector<CodeLine>();
-			Global.currentJavaModule.saveCode = code1;
+			CompilationContext.current().currentJavaModule.saveCode = code1;
 			for (Statement stm : statements)
 				stm.doJavaCoding();
-			Global.currentJavaModule.saveCode = null;
+			CompilationContext.current().currentJavaModule.saveCode = null;
 		}
 		
 		
@@ -1115,8 +1116,8 @@ permits StandardClass, PrefixedBlockDeclaration {
 	 * Coding utility: Code class statements.
 	 */
 	protected void codeClassStatements() {
-		boolean duringSTM_Coding = Global.duringSTM_Coding;
-		Global.duringSTM_Coding = true;
+		boolean duringSTM_Coding = CompilationContext.current().duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding = true;
 		GeneratedJavaClass.debug("// Class Statements");
 		GeneratedJavaClass.code("@Override");
 		GeneratedJavaClass.code("public " + getJavaIdentifier() + " _STM() {");
@@ -1124,7 +1125,7 @@ permits StandardClass, PrefixedBlockDeclaration {
 		GeneratedJavaClass.code("EBLK();");
 		GeneratedJavaClass.code("return(this);");
 		GeneratedJavaClass.code("}", "End of Class Statements");
-		Global.duringSTM_Coding = duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding = duringSTM_Coding;
 	}
 
 	// ***********************************************************************************************
@@ -18,6 +18,7 @@ import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.TypeConversion;
 import simula.compiler.syntaxClass.expression.VariableExpression;
 import simula.compiler.syntaxClass.statement.Statement;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Meaning;
 import simula.compiler.utilities.Option;
@@ -71,7 +72,7 @@ public final class ConnectionBlock extends DeclarationScope implements Externali
 	 * @param whenClassIdentifier the when class identifier
 	 */
 	public ConnectionBlock(final VariableExpression inspectedVariable, final String whenClassIdentifier) {
-		super("Connection block at line " + (Global.sourceLineNumber - 1));
+		super("Connection block at line " + (CompilationContext.current().sourceLineNumber - 1));
 		declarationKind = Declaration.Kind.ConnectionBlock;
 		this.inspectedVariable = inspectedVariable;
 		this.whenClassIdentifier = whenClassIdentifier;
@@ -118,7 +119,7 @@ public final class ConnectionBlock extends DeclarationScope implements Externali
 
 	@Override
 	public Meaning findMeaning(final String identifier) {
-		if (classDeclaration == null && Global.duringParsing)
+		if (classDeclaration == null && CompilationContext.current().duringParsing)
 			return (null); // Still in Pass1(Parser)
 		Meaning result = null;
 		if (classDeclaration != null)
@@ -139,11 +140,11 @@ public final class ConnectionBlock extends DeclarationScope implements Externali
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		// Set External Identifier
 		externalIdent = inspectedVariable.identifier + '_' + lineNumber;
 		Global.enterScope(this);
-		rtBlockLevel = currentRTBlockLevel;
+		rtBlockLevel = CompilationContext.current().currentRTBlockLevel;
 		if (whenClassIdentifier != null) {
 			Meaning meaning = findMeaning(whenClassIdentifier);
 			whenClassDeclaration = meaning.declaredAs;
@@ -155,7 +156,7 @@ public final class ConnectionBlock extends DeclarationScope implements Externali
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		Global.enterScope(this);
 		GeneratedJavaClass.code("{");
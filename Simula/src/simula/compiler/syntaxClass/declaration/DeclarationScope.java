@@ -9,6 +9,7 @@ package simula.compiler.syntaxClass.declaration;
 
 import java.util.Vector;
 
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Meaning;
@@ -29,11 +30,6 @@ import simula.compiler.utilities.Util;
 public abstract sealed class DeclarationScope extends Declaration
 permits BlockDeclaration, ConnectionBlock  {
 	
-	/**
-	 * Current Runtime Block level - Used during doChecking
-	 */
-	protected static int currentRTBlockLevel = 0;
-
 	/**
 	 * The source block level. Set during Parsing.
 	 */
@@ -75,7 +71,7 @@ permits BlockDeclaration, ConnectionBlock  {
 	protected DeclarationScope(final String ident) {
 		super(ident);
 		declarationList = new DeclarationList(
-				this.getClass().getSimpleName() + ':' + ident + ":Line=" + Global.sourceLineNumber);
+				this.getClass().getSimpleName() + ':' + ident + ":Line=" + CompilationContext.current().sourceLineNumber);
 		declaredIn = Global.getCurrentScope();
 		Global.setScope(this);
 		if (declaredIn != null)
@@ -124,7 +120,7 @@ permits BlockDeclaration, ConnectionBlock  {
 		if (meaning == null && declaredIn != null)
 			meaning = declaredIn.findMeaning(identifier);
 		if (meaning == null) {
-			if (!Global.duringParsing)
+			if (!CompilationContext.current().duringParsing)
 				Util.error("Undefined variable: " + identifier);
 			meaning = new Meaning(null, null); // Error Recovery: No Meaning
 		}
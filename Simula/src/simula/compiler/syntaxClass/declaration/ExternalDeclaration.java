@@ -22,8 +22,9 @@ import java.util.zip.ZipEntry;
 import simula.compiler.AttributeFileIO;
 import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.Fingerprint;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Token;
@@ -140,7 +141,7 @@ public final class ExternalDeclaration extends Declaration {
 		LOOP: while (true) {
 			Token externalIdentifier = null;
 			if (Parse.accept(KeyWord.EQ)) {
-				externalIdentifier = Parse.currentToken;
+				externalIdentifier = CompilationContext.current().currentToken;
 				Parse.expect(KeyWord.TEXTKONST);
 			}
 			File jarFile = findJarFile(identifier, externalIdentifier);
@@ -174,12 +175,12 @@ public final class ExternalDeclaration extends Declaration {
 		try {
 			if (externalIdentifier == null) {
 				// If present search extLib
-				if (Global.extLib != null) {
-					jarFile = new File(Global.extLib, identifier + ".jar");
+				if (CompilationContext.current().extLib != null) {
+					jarFile = new File(CompilationContext.current().extLib, identifier + ".jar");
 					if (jarFile.exists())
 						return (jarFile);
 				}
-				jarFile = new File(Global.outputDir, identifier + ".jar");
+				jarFile = new File(CompilationContext.current().outputDir, identifier + ".jar");
 				if (jarFile.exists())
 					return (jarFile);
 			} else {
@@ -214,16 +215,21 @@ public final class ExternalDeclaration extends Declaration {
 			Manifest manifest = jarFile.getManifest();
 			Attributes mainAttributes = manifest.getMainAttributes();
 			String simulaInfo = mainAttributes.getValue("SIMULA-INFO");
+			String name = file.getName();
+			if (name.toLowerCase().endsWith(".jar"))
+				name = name.substring(0, name.length() - 4);
+			CompilationContext.current().dependencyFingerprints.add(name + ':' + mainAttributes.getValue(Fingerprint.INTERFACE)
+					+ ':' + mainAttributes.getValue(Fingerprint.BUILD));
 			ZipEntry zipEntry = jarFile.getEntry(simulaInfo);
 			InputStream inputStream = jarFile.getInputStream(zipEntry);
 			moduleType = AttributeFileIO.readAttributeFile(inputStream, new File(simulaInfo), declarationList);
 			inputStream.close();
 
-			File destDir = Global.tempClassFileDir;
+			File destDir = CompilationContext.current().tempClassFileDir;
 			expandJarEntries(jarFile, destDir);
 			inputStream.close();
 			jarFile.close();
-			Global.externalJarFiles.add(file);
+			CompilationContext.current().externalJarFiles.add(file);
 		} catch (IOException | ClassNotFoundException e) {
 			Util.error("Unable to read Attribute File: " + file + " caused by: " + e);
 			Util.warning("It may be necessary to recompile '" + identifier + "'");
@@ -241,14 +247,14 @@ public final class ExternalDeclaration extends Declaration {
 	private static void expandJarEntries(final JarFile jarFile, final File destDir) throws IOException {
 		if (Option.verbose)
 			Util.println("---------  EXPAND .jar File: " + jarFile.getName() + "  ---------");
-		new File(destDir, Global.packetName).mkdirs(); // Create directories
+		new File(destDir, CompilationContext.current().packetName).mkdirs(); // Create directories
 		Enumeration<JarEntry> entries = jarFile.entries();
 		int nEntriesAdded = 0;
 		LOOP: while (entries.hasMoreElements()) {
 			JarEntry entry = entries.nextElement();
 
 			String name = entry.getName();
-			if (!name.startsWith(Global.packetName))
+			if (!name.startsWith(CompilationContext.current().packetName))
 				continue LOOP;
 			if (!name.endsWith(".class"))
 				continue LOOP;
@@ -12,6 +12,7 @@ import java.io.Externalizable;
 import simula.compiler.GeneratedJavaClass;
 import simula.compiler.syntaxClass.ProtectedSpecification;
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 
 /**
@@ -44,7 +45,7 @@ public final class LabelDeclaration extends SimpleVariableDeclaration implements
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		DeclarationScope declaredIn = Global.getCurrentScope();
 		type.doChecking(declaredIn);
 		VirtualSpecification virtSpec = VirtualSpecification.getVirtualSpecification(this);
@@ -64,7 +65,7 @@ public final class LabelDeclaration extends SimpleVariableDeclaration implements
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		String ident = getJavaIdentifier();
 		VirtualSpecification virtSpec = VirtualSpecification.getVirtualSpecification(this);
 		if (virtSpec != null)
@@ -13,6 +13,7 @@ import simula.compiler.GeneratedJavaClass;
 import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.statement.BlockStatement;
 import simula.compiler.syntaxClass.statement.Statement;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Meaning;
@@ -66,9 +67,9 @@ public final class MaybeBlockDeclaration extends BlockDeclaration {
 	 * @return the main program block
 	 */
 	public static MaybeBlockDeclaration createMainProgramBlock() {
-		int lineNumber=Parse.prevToken.lineNumber;
-		if (Option.TRACE_PARSE)	Util.TRACE("BlockStatement.createMainProgramBlock: line="+lineNumber+" "+Parse.prevToken);
-		MaybeBlockDeclaration module = new MaybeBlockDeclaration(Global.sourceName);
+		int lineNumber=CompilationContext.current().prevToken.lineNumber;
+		if (Option.TRACE_PARSE)	Util.TRACE("BlockStatement.createMainProgramBlock: line="+lineNumber+" "+CompilationContext.current().prevToken);
+		MaybeBlockDeclaration module = new MaybeBlockDeclaration(CompilationContext.current().sourceName);
 		module.isMainModule = true;
 		module.declarationKind = Declaration.Kind.SimulaProgram;
 		module.expectMaybeBlock(lineNumber);
@@ -110,12 +111,12 @@ public final class MaybeBlockDeclaration extends BlockDeclaration {
 				modifyIdentifier("SubBlock" + line);
 			} else {
 				declarationKind = Declaration.Kind.CompoundStatement;
-				modifyIdentifier("CompoundStatement" + Global.sourceLineNumber);
+				modifyIdentifier("CompoundStatement" + CompilationContext.current().sourceLineNumber);
 				if (!labelList.isEmpty())
 					moveLabelsFrom(this); // Label is also declaration
 			}
 		}
-		this.lastLineNumber = Global.sourceLineNumber;
+		this.lastLineNumber = CompilationContext.current().sourceLineNumber;
 		Global.setScope(declaredIn);
 		return (new BlockStatement(this));
 	}
@@ -147,16 +148,16 @@ public final class MaybeBlockDeclaration extends BlockDeclaration {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (externalIdent == null) externalIdent = edJavaClassName();
-		if (declarationKind != Declaration.Kind.CompoundStatement) currentRTBlockLevel++;
-		rtBlockLevel = currentRTBlockLevel;
+		if (declarationKind != Declaration.Kind.CompoundStatement) CompilationContext.current().currentRTBlockLevel++;
+		rtBlockLevel = CompilationContext.current().currentRTBlockLevel;
 		Global.enterScope(this);
 		for (Declaration dcl : declarationList)	dcl.doChecking();
 		for (Statement stm : statements) stm.doChecking();
 		doCheckLabelList(null);
 		Global.exitScope();
-		if (declarationKind != Declaration.Kind.CompoundStatement) currentRTBlockLevel--;
+		if (declarationKind != Declaration.Kind.CompoundStatement) CompilationContext.current().currentRTBlockLevel--;
 		SET_SEMANTICS_CHECKED();
 	}
 
@@ -199,7 +200,7 @@ public final class MaybeBlockDeclaration extends BlockDeclaration {
 	 * Code utility: Code compound statement
 	 */
 	private void doCompoundStatementCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		Util.ASSERT(declarationList.isEmpty(), "Invariant");
 		Util.ASSERT(labelList.isEmpty(), "Invariant");
@@ -223,11 +224,11 @@ public final class MaybeBlockDeclaration extends BlockDeclaration {
 	 * Code utility: Code sub-block
 	 */
 	private void doSubBlockCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass javaModule = new GeneratedJavaClass(this);
 		Global.enterScope(this);
-		Global.duringSTM_Coding=false;
+		CompilationContext.current().duringSTM_Coding=false;
 		GeneratedJavaClass.code("@SuppressWarnings(\"unchecked\")");
 		GeneratedJavaClass.code("public final class " + getJavaIdentifier() + " extends RTS_BASICIO" + " {");
 		GeneratedJavaClass.debug("// SubBlock: Kind=" + declarationKind + ", BlockLevel=" + rtBlockLevel + ", firstLine="
@@ -242,16 +243,16 @@ public final class MaybeBlockDeclaration extends BlockDeclaration {
 		GeneratedJavaClass.debug("// Declare locals as attributes");
 		for (Declaration decl : declarationList) decl.doJavaCoding();
 		doCodeConstructor();
-		boolean duringSTM_Coding=Global.duringSTM_Coding;
-		Global.duringSTM_Coding=true;
+		boolean duringSTM_Coding=CompilationContext.current().duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=true;
 		doCodeStatements();
-		Global.duringSTM_Coding=duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=duringSTM_Coding;
 		if (this.isMainModule) {
 			GeneratedJavaClass.code("");
 			GeneratedJavaClass.code("public static void main(String[] args) {");
 			GeneratedJavaClass.debug("//System.setProperty(\"file.encoding\",\"UTF-8\");");
 			GeneratedJavaClass.code("RTS_COMMON.setRuntimeOptions(args);");
-			GeneratedJavaClass.code("new " + getJavaIdentifier() + "(_CTX)._STM();");
+			GeneratedJavaClass.code("RTS_COMMON.runMainProgram(() -> new " + getJavaIdentifier() + "(_CTX)._STM());");
 			GeneratedJavaClass.code("}", "End of main");
 		}
 		javaModule.codeProgramInfo();
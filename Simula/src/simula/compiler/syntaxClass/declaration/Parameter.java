@@ -14,6 +14,7 @@ import java.io.ObjectOutput;
 import java.util.Vector;
 
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Util;
 	
@@ -184,7 +185,7 @@ public final class Parameter extends Declaration implements Externalizable {
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (kind == null) {
 			Util.error("Parameter " + identifier + " is not specified -- assumed Simple Integer");
 			kind = Kind.Simple;
@@ -263,6 +264,9 @@ public final class Parameter extends Declaration implements Externalizable {
 			case Simple:
 				if (type == Type.Label)
 					return ("RTS_NAME<RTS_LABEL>");
+				String nameClass = type.toJavaNameClass();
+				if (nameClass != null)
+					return (nameClass);
 				return ("RTS_NAME<" + type.toJavaTypeClass() + ">");
 			case Procedure:
 				return ("RTS_NAME<RTS_PRCQNT>");
@@ -12,6 +12,7 @@ import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.VariableExpression;
 import simula.compiler.syntaxClass.statement.Statement;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -79,7 +80,7 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 	 */
 	public static PrefixedBlockDeclaration expectPrefixedBlock(final VariableExpression blockPrefix,boolean isMainModule) {
 		PrefixedBlockDeclaration block=new PrefixedBlockDeclaration(blockPrefix,isMainModule);
-		block.lineNumber=Parse.prevToken.lineNumber;
+		block.lineNumber=CompilationContext.current().prevToken.lineNumber;
 		block.declarationKind=Declaration.Kind.PrefixedBlock;
 		Util.ASSERT(blockPrefix != null,"blockPrefix == null");
 		block.blockPrefix = blockPrefix;
@@ -92,10 +93,10 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 			if (stm != null) block.statements.add(stm);
 		}
 		if(isMainModule)
-		     block.modifyIdentifier(Global.sourceName);
-		else block.modifyIdentifier("" + Global.sourceName + "_PBLK" + block.lineNumber);
+		     block.modifyIdentifier(CompilationContext.current().sourceName);
+		else block.modifyIdentifier("" + CompilationContext.current().sourceName + "_PBLK" + block.lineNumber);
 		block.externalIdent = block.identifier;
-		block.lastLineNumber = Global.sourceLineNumber;
+		block.lastLineNumber = CompilationContext.current().sourceLineNumber;
 		if (Option.TRACE_PARSE)	Util.TRACE("Line "+block.lineNumber+": PrefixedBlockDeclaration: "+block);
 		Global.setScope(block.declaredIn);
 		return block;
@@ -107,10 +108,10 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (externalIdent == null) externalIdent = edJavaClassName();
-		currentRTBlockLevel++;
-		rtBlockLevel = currentRTBlockLevel;
+		CompilationContext.current().currentRTBlockLevel++;
+		rtBlockLevel = CompilationContext.current().currentRTBlockLevel;
 		Util.ASSERT(blockPrefix != null, "Invariant");
 		if (blockPrefix != null) {
 			Global.enterScope(this.declaredIn);
@@ -130,7 +131,7 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 		for (Statement stm : statements) stm.doChecking();
 		doCheckLabelList(this.getPrefixClass());
 		Global.exitScope();
-		currentRTBlockLevel--;
+		CompilationContext.current().currentRTBlockLevel--;
 		SET_SEMANTICS_CHECKED();
 	}
 
@@ -140,11 +141,11 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 	// ***********************************************************************************************
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass javaModule = new GeneratedJavaClass(this);
 		Global.enterScope(this);
-		Global.duringSTM_Coding=false;
+		CompilationContext.current().duringSTM_Coding=false;
 		GeneratedJavaClass.code("@SuppressWarnings(\"unchecked\")");
 		String line = "public final class " + getJavaIdentifier();
 		if (prefix != null)
@@ -172,10 +173,10 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 		for (Declaration decl : declarationList) decl.doJavaCoding();
 		for (VirtualMatch match : virtualMatchList)	match.doJavaCoding();
 		doCodeConstructor();
-		boolean duringSTM_Coding=Global.duringSTM_Coding;
-		Global.duringSTM_Coding=true;
+		boolean duringSTM_Coding=CompilationContext.current().duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=true;
 		codeClassStatements();
-		Global.duringSTM_Coding=duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=duringSTM_Coding;
 
 		if (this.isMainModule) {
 			GeneratedJavaClass.code("");
@@ -183,13 +184,13 @@ public final class PrefixedBlockDeclaration extends ClassDeclaration {
 			GeneratedJavaClass.debug("//System.setProperty(\"file.encoding\",\"UTF-8\");");
 			GeneratedJavaClass.code("RTS_COMMON.setRuntimeOptions(args);");
 			StringBuilder s = new StringBuilder();
-			s.append("new " + getJavaIdentifier() + "(_CTX");
+			s.append("RTS_COMMON.runMainProgram(() -> new " + getJavaIdentifier() + "(_CTX");
 			if (blockPrefix != null && blockPrefix.hasArguments()) {
 				for (Expression par : blockPrefix.checkedParams) {
 					s.append(',').append(par.toJavaCode());
 				}
 			}
-			s.append(")._STM();");
+			s.append(")._STM());");
 			GeneratedJavaClass.code("" + s);
 			GeneratedJavaClass.code("}", "End of main");
 		}
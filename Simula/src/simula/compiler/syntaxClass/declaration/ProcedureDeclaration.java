@@ -17,6 +17,7 @@ import simula.compiler.GeneratedJavaClass;
 import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.statement.Statement;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
@@ -125,7 +126,7 @@ permits StandardProcedure, SwitchDeclaration {
 	public static ProcedureDeclaration expectProcedureDeclaration(final Type type) {
 		Declaration.Kind declarationKind = Declaration.Kind.Procedure;
 		ProcedureDeclaration proc = new ProcedureDeclaration(null, declarationKind);
-		proc.lineNumber=Parse.prevToken.lineNumber;
+		proc.lineNumber=CompilationContext.current().prevToken.lineNumber;
 		proc.type = type;
 		if (Option.TRACE_PARSE)	Parse.TRACE("Parse ProcedureDeclaration, type=" + type);
 		proc.modifyIdentifier(Parse.expectIdentifier());
@@ -137,7 +138,7 @@ permits StandardProcedure, SwitchDeclaration {
 		} else Parse.expect(KeyWord.SEMICOLON);
 		expectProcedureBody(proc);
 
-		proc.lastLineNumber = Global.sourceLineNumber;
+		proc.lastLineNumber = CompilationContext.current().sourceLineNumber;
 		if (Option.TRACE_PARSE)	Util.TRACE("Line "+proc.lineNumber+": ProcedureDeclaration: "+proc);
 		Global.setScope(proc.declaredIn);
 		return (proc);
@@ -160,7 +161,7 @@ permits StandardProcedure, SwitchDeclaration {
 	 */
 	private static boolean acceptModePart(Vector<Parameter> pList) {
 		if (Parse.accept(KeyWord.VALUE, KeyWord.NAME)) {
-			Parameter.Mode mode = (Parse.prevToken.getKeyWord() == KeyWord.VALUE)
+			Parameter.Mode mode = (CompilationContext.current().prevToken.getKeyWord() == KeyWord.VALUE)
 					? Parameter.Mode.value
 					: Parameter.Mode.name;
 			do {
@@ -283,16 +284,16 @@ permits StandardProcedure, SwitchDeclaration {
 	@Override
 	public void doChecking() {
 		if(isPreCompiled && !isBlockLevelUpdated)
-			updateBlockLevels(DeclarationScope.currentRTBlockLevel);
+			updateBlockLevels(CompilationContext.current().currentRTBlockLevel);
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (declarationKind == Declaration.Kind.ContextFreeMethod) externalIdent = this.identifier;
 		if (declarationKind == Declaration.Kind.MemberMethod) externalIdent = this.identifier;
 		else if (externalIdent == null)	externalIdent = edJavaClassName();
 
-		currentRTBlockLevel++;
-		rtBlockLevel = currentRTBlockLevel;
+		CompilationContext.current().currentRTBlockLevel++;
+		rtBlockLevel = CompilationContext.current().currentRTBlockLevel;
 		Global.enterScope(this);
 			int prfx = 0;// prefixLevel();
 			if (declarationKind == Declaration.Kind.Procedure)
@@ -310,7 +311,7 @@ permits StandardProcedure, SwitchDeclaration {
 				if (decl == virtualSpec.declaredIn) virtualSpec.hasDefaultMatch = true;
 			}
 		Global.exitScope();
-		currentRTBlockLevel--;
+		CompilationContext.current().currentRTBlockLevel--;
 		SET_SEMANTICS_CHECKED();
 	}
 
@@ -363,7 +364,7 @@ permits StandardProcedure, SwitchDeclaration {
 	 * @param addStaticLink add static link as 0'th parameter
 	 */
 	private void doMethodJavaCoding(final String modifier,final boolean addStaticLink) {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		Global.enterScope(this);
 		String line = "public " + modifier + ((type == null) ? "void" : type.toJavaType());
@@ -418,7 +419,7 @@ permits StandardProcedure, SwitchDeclaration {
 	 * Generate java source code for this Procedure.
 	 */
 	private void doProcedureCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		if (this.isPreCompiled)	return;
 		GeneratedJavaClass javaModule = new GeneratedJavaClass(this);
@@ -496,7 +497,11 @@ permits StandardProcedure, SwitchDeclaration {
 		for (Parameter par : parameterList) {
 			String tp = par.toJavaType();
 			String typeValue;
-			if (par.mode == Parameter.Mode.name) typeValue = ("(" + tp + ")param");
+			if (par.mode == Parameter.Mode.name) {
+				if (par.kind == Parameter.Kind.Simple && par.type.toJavaNameClass() != null)
+					typeValue = (par.type.toJavaType() + "Name(param)");
+				else typeValue = ("(" + tp + ")param");
+			}
 			else if (par.kind == Parameter.Kind.Array) {
 				typeValue = ("arrayValue(param)");
 				if (par.mode == Parameter.Mode.value) typeValue = typeValue + ".COPY()";
@@ -512,12 +517,49 @@ permits StandardProcedure, SwitchDeclaration {
 		GeneratedJavaClass.code("catch(ClassCastException e) { throw new RTS_SimulaRuntimeError(\"Wrong type of parameter: \"+param,e);}");
 		GeneratedJavaClass.code("return(this);");
 		GeneratedJavaClass.code("}");
+		for (String valueType : new String[] { "int", "float", "double", "char", "boolean" })
+			doCodeTypedSetPar(valueType);
 		GeneratedJavaClass.debug("// Constructor in case of Formal/Virtual Procedure Call");
 		GeneratedJavaClass.code("public " + getJavaIdentifier() + "(RTS_RTObject _SL) {");
 		GeneratedJavaClass.code("super(_SL,"+parameterList.size()+");","Expecting "+parameterList.size()+" parameters");
 		GeneratedJavaClass.code("}");
 	}
 
+	// ***********************************************************************************************
+	// *** Coding Utility: doCodeTypedSetPar
+	// ***********************************************************************************************
+	/**
+	 * Generate Java source code for a typed 'setPar' in case of 'call formal procedure'.
+	 * <p>
+	 * Simple parameters by value which can take a value of the given Java type are set
+	 * directly. Other parameters are set by setPar(Object) which boxes the value.
+	 * Nothing is generated if no such parameter exists.
+	 * 
+	 * @param valueType the Java type of the value: int, float, double, char or boolean
+	 */
+	private void doCodeTypedSetPar(final String valueType) {
+		boolean arithmetic = !valueType.equals("char") && !valueType.equals("boolean");
+		Vector<String> cases = new Vector<String>();
+		int nPar = 0;
+		for (Parameter par : parameterList) {
+			int parNo = parameterList.size() - (nPar++);
+			if (par.kind != Parameter.Kind.Simple || par.mode == Parameter.Mode.name) continue;
+			String tp = par.toJavaType();
+			if (arithmetic ? par.type.isArithmeticType() : tp.equals(valueType))
+				cases.add("case " + parNo + ": " + par.externalIdent + "=(" + tp + ")param; break;");
+		}
+		if (cases.isEmpty()) return;
+		GeneratedJavaClass.code("@Override");
+		GeneratedJavaClass.code("public " + getJavaIdentifier() + " setPar(" + valueType + " param) {");
+		GeneratedJavaClass.code("switch(_nParLeft) {");
+		for (String c : cases) GeneratedJavaClass.code(c);
+		GeneratedJavaClass.code("default: return(setPar((Object)param));");
+		GeneratedJavaClass.code("}");
+		GeneratedJavaClass.code("_nParLeft--;");
+		GeneratedJavaClass.code("return(this);");
+		GeneratedJavaClass.code("}");
+	}
+
 	// ***********************************************************************************************
 	// *** Coding Utility: codeProcedureBody -- Redefined in SwitchDeclaration
 	// ***********************************************************************************************
@@ -525,8 +567,8 @@ permits StandardProcedure, SwitchDeclaration {
 	 * Coding Utility: codeProcedureBody. Redefined in SwitchDeclaration.
 	 */
 	protected void codeProcedureBody() {
-		boolean duringSTM_Coding=Global.duringSTM_Coding;
-		Global.duringSTM_Coding=true;
+		boolean duringSTM_Coding=CompilationContext.current().duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=true;
 		GeneratedJavaClass.debug("// Procedure Statements");
 		GeneratedJavaClass.code("@Override");
 		GeneratedJavaClass.code("public " + getJavaIdentifier() + " _STM() {");
@@ -534,7 +576,7 @@ permits StandardProcedure, SwitchDeclaration {
 		GeneratedJavaClass.code("EBLK();");
 		GeneratedJavaClass.code("return(this);");
 		GeneratedJavaClass.code("}", "End of Procedure BODY");
-		Global.duringSTM_Coding=duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=duringSTM_Coding;
 	}
 
 	// ***********************************************************************************************
@@ -17,6 +17,7 @@ import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Constant;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.TypeConversion;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.DeclarationList;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
@@ -145,7 +146,7 @@ public sealed class SimpleVariableDeclaration extends Declaration implements Ext
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		type.doChecking(Global.getCurrentScope());
 		if (constantElement != null) {
 			constantElement.doChecking();
@@ -7,6 +7,7 @@
  */
 package simula.compiler.syntaxClass.declaration;
 
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Meaning;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -35,37 +36,40 @@ public final class StandardClass extends ClassDeclaration {
 	/**
 	 * The type text.
 	 */
-	public static StandardClass typeText;
+	private static StandardClass typeText;
 
 	/**
 	 * The Standard Class ENVIRONMENT.
 	 */
-	public static StandardClass ENVIRONMENT;
+	private static StandardClass ENVIRONMENT;
 
 	/**
 	 * The Standard Class BASICIO.
 	 */
-	public static StandardClass BASICIO;
+	private static StandardClass BASICIO;
 
 	/**
 	 * The Standard Class CLASS.
 	 */
-	static StandardClass CLASS;
+	private static StandardClass CLASS;
 
 	/**
 	 * The Standard Class Infile.
 	 */
-	public static StandardClass Infile;
+	private static StandardClass Infile;
 
 	/**
 	 * The Standard Class Printfile.
 	 */
-	public static StandardClass Printfile;
+	private static StandardClass Printfile;
 
 	/**
-	 * Method to initiate all standard classes.
+	 * Method to initiate all standard classes of the current CompilationContext.
+	 * <p>
+	 * The standard classes are built in the static fields of this class, one compilation at a time,
+	 * and then stored in the CompilationContext.
 	 */
-	public static void INITIATE() {
+	public static synchronized void INITIATE() {
 		initTypeText();
 		initUNIVERSE();
 		initRTObject();
@@ -98,6 +102,13 @@ public final class StandardClass extends ClassDeclaration {
 				initShapeElement();
 				initTextElement();
 		}
+		CompilationContext context = CompilationContext.current();
+		context.typeText = typeText;
+		context.ENVIRONMENT = ENVIRONMENT;
+		context.BASICIO = BASICIO;
+		context.CLASS = CLASS;
+		context.Infile = Infile;
+		context.Printfile = Printfile;
 	}
 
 
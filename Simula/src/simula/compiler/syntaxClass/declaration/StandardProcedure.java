@@ -8,6 +8,7 @@
 package simula.compiler.syntaxClass.declaration;
 
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -49,7 +50,7 @@ public final class StandardProcedure extends ProcedureDeclaration {
 	public void doChecking() {
 		if(IS_SEMANTICS_CHECKED()) return;
 		Global.enterScope(this);
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		String name=this.getClass().getSimpleName();
 		if(Option.TRACE_CHECKER) Util.TRACE("BEGIN "+name+".doChecking");
 		Global.exitScope();
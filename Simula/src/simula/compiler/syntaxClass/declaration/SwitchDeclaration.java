@@ -14,6 +14,7 @@ import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.ProtectedSpecification;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Expression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -83,8 +84,8 @@ public final class SwitchDeclaration extends ProcedureDeclaration {
 	// ***********************************************************************************************
 	@Override
 	protected void codeProcedureBody() {
-		boolean duringSTM_Coding=Global.duringSTM_Coding;
-		Global.duringSTM_Coding=true;
+		boolean duringSTM_Coding=CompilationContext.current().duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=true;
 		GeneratedJavaClass.debug("// Switch Body");
 		GeneratedJavaClass.code("@Override");
 		GeneratedJavaClass.code("public " + getJavaIdentifier() + " _STM() {");
@@ -98,7 +99,7 @@ public final class SwitchDeclaration extends ProcedureDeclaration {
 		GeneratedJavaClass.code("EBLK();");
 		GeneratedJavaClass.code("return(this);");
 		GeneratedJavaClass.code("}","End of Switch BODY");
-		Global.duringSTM_Coding=duringSTM_Coding;
+		CompilationContext.current().duringSTM_Coding=duringSTM_Coding;
 	}
 
 	@Override
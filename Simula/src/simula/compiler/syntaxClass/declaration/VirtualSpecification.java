@@ -18,7 +18,7 @@ import simula.compiler.syntaxClass.HiddenSpecification;
 import simula.compiler.syntaxClass.ProtectedSpecification;
 import simula.compiler.syntaxClass.SyntaxClass;
 import simula.compiler.syntaxClass.Type;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Util;
 
@@ -182,7 +182,7 @@ public final class VirtualSpecification extends Declaration implements Externali
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (procedureSpec != null)
 			procedureSpec.doChecking(this.declaredIn);
 		// Label and switch attributes are implicit specified 'protected'
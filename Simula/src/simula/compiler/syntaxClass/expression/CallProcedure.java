@@ -23,7 +23,7 @@ import simula.compiler.syntaxClass.declaration.ProcedureSpecification;
 import simula.compiler.syntaxClass.declaration.SimpleVariableDeclaration;
 import simula.compiler.syntaxClass.declaration.StandardProcedure;
 import simula.compiler.syntaxClass.declaration.VirtualSpecification;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Meaning;
 import simula.compiler.utilities.Util;
 
@@ -139,12 +139,12 @@ public final class CallProcedure {
 		String params=edProcedureParameters(variable,null,procedure);
 		if(meaning.declaredAs instanceof StandardProcedure)	{
 		    if(Util.equals(variable.identifier, "detach")) {
-		    	params="("+Global.sourceLineNumber+')';
+		    	params="("+CompilationContext.current().sourceLineNumber+')';
 		    }
 		    else if(Util.equals(variable.identifier, "call")  
 		          | Util.equals(variable.identifier, "resume") 	) {
 		    	params=params.substring(0,params.length()-1);
-		    	params=params+","+Global.sourceLineNumber+')';
+		    	params=params+","+CompilationContext.current().sourceLineNumber+')';
 		    }
 		}
 		String methodCall=meaning.declaredAs.getJavaIdentifier()+params;
@@ -155,7 +155,7 @@ public final class CallProcedure {
 		}
 		BlockDeclaration staticLink=(BlockDeclaration)meaning.declaredAs.declaredIn;
 		if(!staticLink.isContextFree) {
-			BlockDeclaration currentModule=Global.currentJavaModule.blockDeclaration; // Class, Procedure, ...
+			BlockDeclaration currentModule=CompilationContext.current().currentJavaModule.blockDeclaration; // Class, Procedure, ...
 			String castIdent=meaning.declaredIn.getJavaIdentifier();
 			int n=meaning.declaredIn.rtBlockLevel;
 			if(n!=currentModule.rtBlockLevel)
@@ -188,7 +188,7 @@ public final class CallProcedure {
 			return(connID+'.'+methodCall);
 		}
 		if(!isContextFree) {
-			BlockDeclaration currentModule=Global.currentJavaModule.blockDeclaration; // Class, Procedure, ...
+			BlockDeclaration currentModule=CompilationContext.current().currentJavaModule.blockDeclaration; // Class, Procedure, ...
 			String castIdent=meaning.declaredIn.getJavaIdentifier();
 			int n=meaning.declaredIn.rtBlockLevel;
 			if(n!=currentModule.rtBlockLevel)
@@ -284,7 +284,7 @@ public final class CallProcedure {
 						Declaration decl=var.meaning.declaredAs;
 						if(decl instanceof StandardProcedure) {
 							if(Util.equals(decl.identifier, "sourceline")) {
-								actualParameter=new Constant(Type.Integer,Global.sourceLineNumber);
+								actualParameter=new Constant(Type.Integer,CompilationContext.current().sourceLineNumber);
 								actualParameter.doChecking();
 							}
 						}
@@ -473,11 +473,16 @@ public final class CallProcedure {
 			    }
 			    else s.append(labQuant);
 		} else { // Simple Type/Ref/Text by Name
-		    String javaTypeClass=formalType.toJavaTypeClass();
+		    // Integer, Real, Character and Boolean use RTS_NAME_int etc. with getValue/putValue
+		    String nameClass=formalType.toJavaNameClass();
+		    String javaTypeClass=(nameClass!=null)?formalType.toJavaType():formalType.toJavaTypeClass();
+		    String get=(nameClass!=null)?"getValue":"get";
+		    String put=(nameClass!=null)?"putValue":"put";
+		    if(nameClass==null) nameClass="RTS_NAME<"+javaTypeClass+">";
 		    VariableExpression writeableVariable=apar.getWriteableVariable();
 		    if(writeableVariable!=null) {
-		    	s.append("new RTS_NAME<"+javaTypeClass+">()");
-		    	s.append("{ public "+javaTypeClass+" get() { return("+apar.get()+"); }");
+		    	s.append("new "+nameClass+"()");
+		    	s.append("{ public "+javaTypeClass+" "+get+"() { return("+apar.get()+"); }");
 		    	if(!(writeableVariable.meaning.declaredAs instanceof BlockDeclaration)) {
 		    		Type actualType=apar.type;
 		    		String rhs="("+actualType.toJavaType()+")x_";
@@ -485,14 +490,14 @@ public final class CallProcedure {
 		    			// --------------------------------------------------
 		    			// Generate something like:
 		    			//  
-		    			//  public Float put(Float x_) {
+		    			//  public float putValue(float x_) {
 		    			//     float y=x_; 
 		    			//	   n=(int) ( (float) y+0.5);
 		    			//	   return(y);
 		    			//  }
 		    			// --------------------------------------------------
 		    			String putValue=TypeConversion.mayBeConvert(actualType,writeableVariable.type,"y");
-		    			s.append(" public "+javaTypeClass+" put("+javaTypeClass+" x_)");
+		    			s.append(" public "+javaTypeClass+" "+put+"("+javaTypeClass+" x_)");
 		    			s.append("{ "+formalType.toJavaType()+" y=x_; ");
 		    			s.append(writeableVariable.toJavaCode()).append(putValue);
 		    			s.append("return(y); }");
@@ -500,18 +505,18 @@ public final class CallProcedure {
 		    			// --------------------------------------------------
 		    			// Generate something like:
 		    			//  
-		    			//  public Double put(Double x_) {
+		    			//  public double putValue(double x_) {
 		    			//	   return (r = (double) x_);
 		    			//  }
 		    			// --------------------------------------------------
-		    			s.append(" public "+javaTypeClass+" put("+javaTypeClass+" x_)"
+		    			s.append(" public "+javaTypeClass+" "+put+"("+javaTypeClass+" x_)"
 		    					+" { return("+apar.put(rhs)+"); }");
 		    		}
 		    	}
 		    	s.append(" }");
 		    } else {
-		    	s.append("new RTS_NAME<"+javaTypeClass+">()");
-		    	s.append("{ public "+javaTypeClass+" get() { return("+apar.get()+"); }");
+		    	s.append("new "+nameClass+"()");
+		    	s.append("{ public "+javaTypeClass+" "+get+"() { return("+apar.get()+"); }");
 		    	s.append(" }");
 		    }
 		}
@@ -8,7 +8,7 @@
 package simula.compiler.syntaxClass.expression;
 
 import simula.compiler.syntaxClass.Type;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
 
@@ -64,7 +64,7 @@ public final class ConditionalExpression extends Expression {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		condition.doChecking();
 		condition.backLink=this; // To ensure _RESULT from functions
 		Type cType = condition.type;
@@ -13,6 +13,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Util;
@@ -156,7 +157,7 @@ public final class Constant extends Expression implements Externalizable {
 	@Override
     public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		this.type.doChecking(Global.getCurrentScope());
 		SET_SEMANTICS_CHECKED();
 	}
@@ -13,6 +13,7 @@ import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.declaration.ClassDeclaration;
 import simula.compiler.syntaxClass.declaration.Declaration;
 import simula.compiler.syntaxClass.declaration.SimpleVariableDeclaration;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Meaning;
@@ -279,7 +280,7 @@ public abstract sealed class Expression extends SyntaxClass permits VariableExpr
 	private static Expression acceptRelation() {   // Metode-form      
 		Expression expr = acceptAdditiveOperation();
 		if(Parse.acceptRelationalOperator())   { 
-			KeyWord opr=Parse.prevToken.getKeyWord();
+			KeyWord opr=CompilationContext.current().prevToken.getKeyWord();
 			expr=new RelationalOperation(expr,opr,acceptAdditiveOperation());
 		}
 		return(expr);
@@ -296,7 +297,7 @@ public abstract sealed class Expression extends SyntaxClass permits VariableExpr
 	private static Expression acceptAdditiveOperation() {
 		Expression expr=acceptUNIMULDIV();
 		while(Parse.accept(KeyWord.PLUS,KeyWord.MINUS)) { 
-			KeyWord opr=Parse.prevToken.getKeyWord();
+			KeyWord opr=CompilationContext.current().prevToken.getKeyWord();
 			expr=ArithmeticExpression.create(expr,opr,acceptMULDIV());
 		}
 		return(expr);
@@ -312,7 +313,7 @@ public abstract sealed class Expression extends SyntaxClass permits VariableExpr
 	private static Expression acceptUNIMULDIV() {
 		Expression expr;
 		if(Parse.accept(KeyWord.PLUS,KeyWord.MINUS)) {
-			KeyWord opr=Parse.prevToken.getKeyWord();
+			KeyWord opr=CompilationContext.current().prevToken.getKeyWord();
 			if(opr==KeyWord.PLUS) expr=acceptMULDIV();
 			else expr=UnaryOperation.create(opr,acceptMULDIV());
 		} else expr = acceptMULDIV();
@@ -329,7 +330,7 @@ public abstract sealed class Expression extends SyntaxClass permits VariableExpr
 	private static Expression acceptMULDIV() {
 		Expression expr=acceptEXPON();
 		while(Parse.accept(KeyWord.MUL,KeyWord.DIV,KeyWord.INTDIV)) {
-			KeyWord opr=Parse.prevToken.getKeyWord();
+			KeyWord opr=CompilationContext.current().prevToken.getKeyWord();
 			expr=ArithmeticExpression.create(expr,opr,acceptEXPON());
 		}
 		return(expr);
@@ -376,11 +377,11 @@ public abstract sealed class Expression extends SyntaxClass permits VariableExpr
 		if(Option.TRACE_PARSE) Parse.TRACE("Expression: acceptExpression");
 		Expression expr=null;
 		if(Parse.accept(KeyWord.BEGPAR)) { expr = acceptExpression(); Parse.expect(KeyWord.ENDPAR); }
-		else if(Parse.accept(KeyWord.INTEGERKONST)) expr = new Constant(Type.Integer,Parse.prevToken.getValue());
-		else if(Parse.accept(KeyWord.REALKONST)) expr = Constant.createRealType(Parse.prevToken.getValue());
-		else if(Parse.accept(KeyWord.BOOLEANKONST)) expr = new Constant(Type.Boolean,Parse.prevToken.getValue());
-		else if(Parse.accept(KeyWord.CHARACTERKONST)) expr = new Constant(Type.Character,Parse.prevToken.getValue());
-		else if(Parse.accept(KeyWord.TEXTKONST)) expr = new Constant(Type.Text,Parse.prevToken.getValue());
+		else if(Parse.accept(KeyWord.INTEGERKONST)) expr = new Constant(Type.Integer,CompilationContext.current().prevToken.getValue());
+		else if(Parse.accept(KeyWord.REALKONST)) expr = Constant.createRealType(CompilationContext.current().prevToken.getValue());
+		else if(Parse.accept(KeyWord.BOOLEANKONST)) expr = new Constant(Type.Boolean,CompilationContext.current().prevToken.getValue());
+		else if(Parse.accept(KeyWord.CHARACTERKONST)) expr = new Constant(Type.Character,CompilationContext.current().prevToken.getValue());
+		else if(Parse.accept(KeyWord.TEXTKONST)) expr = new Constant(Type.Text,CompilationContext.current().prevToken.getValue());
 		else if(Parse.accept(KeyWord.NONE)) expr = new Constant(Type.Ref,null);
 		else if(Parse.accept(KeyWord.NOTEXT)) expr = new Constant(Type.Text,null);
 		else if(Parse.accept(KeyWord.NEW)) expr =ObjectGenerator.expectNew();
@@ -388,14 +389,14 @@ public abstract sealed class Expression extends SyntaxClass permits VariableExpr
 		else { String ident=Parse.acceptIdentifier();
 			if(ident!=null) expr=VariableExpression.expectVariable(ident);
 			else {
-				if(Option.TRACE_PARSE) Parse.TRACE("Expression: acceptBASICEXPR returns: NULL, prevKeyword="+Parse.prevToken.getKeyWord());
-				if(Parse.prevToken.getKeyWord()==KeyWord.SEMICOLON) Parse.skipMisplacedCurrentSymbol(); // Ad'Hoc
+				if(Option.TRACE_PARSE) Parse.TRACE("Expression: acceptBASICEXPR returns: NULL, prevKeyword="+CompilationContext.current().prevToken.getKeyWord());
+				if(CompilationContext.current().prevToken.getKeyWord()==KeyWord.SEMICOLON) Parse.skipMisplacedCurrentSymbol(); // Ad'Hoc
 				return(null);
 			}
 		}
 		// Så kan det komme en sekvens av postfikser, som bygger tre “oppover mot høyre”
 		while (Parse.acceptPostfixOprator()) {
-			KeyWord opr=Parse.prevToken.getKeyWord(); // opr == DOT || opr== IS || opr == IN || opr == QUA
+			KeyWord opr=CompilationContext.current().prevToken.getKeyWord(); // opr == DOT || opr== IS || opr == IN || opr == QUA
 			if (opr == KeyWord.DOT ) 
 				expr=new RemoteVariable(expr,expectVariable());
 			else {  // Vet at opr == IS or opr == IN or opr == QUA.  Alle skal ha et klassenavn etter seg
@@ -13,6 +13,7 @@ import simula.compiler.syntaxClass.declaration.ClassDeclaration;
 import simula.compiler.syntaxClass.declaration.ConnectionBlock;
 import simula.compiler.syntaxClass.declaration.Declaration;
 import simula.compiler.syntaxClass.declaration.DeclarationScope;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Meaning;
 import simula.compiler.utilities.Option;
@@ -87,7 +88,7 @@ public final class LocalObject extends Expression {
 	 */
 	static Expression expectThisIdentifier() {
 		if (Option.TRACE_PARSE)
-			Util.TRACE("Parse ThisObjectExpression, current=" + Parse.currentToken);
+			Util.TRACE("Parse ThisObjectExpression, current=" + CompilationContext.current().currentToken);
 		String classIdentifier = Parse.expectIdentifier();
 		Expression expr = new LocalObject(classIdentifier);
 		return(expr);
@@ -96,7 +97,7 @@ public final class LocalObject extends Expression {
 	@Override
 	public void doChecking() { 
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		if (Option.TRACE_CHECKER)
 			Util.TRACE("BEGIN LocalObject(" + toString()+").doChecking - Current Scope Chain: "+Global.getCurrentScope().edScopeChain());
 		Meaning meaning=Global.getCurrentScope().findMeaning(classIdentifier);
@@ -15,6 +15,7 @@ import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.declaration.ClassDeclaration;
 import simula.compiler.syntaxClass.declaration.Declaration;
 import simula.compiler.syntaxClass.declaration.Parameter;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Meaning;
@@ -92,7 +93,7 @@ public final class ObjectGenerator extends Expression {
 	 */
 	static Expression expectNew() {
 		if (Option.TRACE_PARSE)
-			Util.TRACE("Parse ObjectGenerator, current=" + Parse.currentToken);
+			Util.TRACE("Parse ObjectGenerator, current=" + CompilationContext.current().currentToken);
 		String classIdentifier = Parse.expectIdentifier();
 		Vector<Expression> params = new Vector<Expression>();
 		if (Parse.accept(KeyWord.BEGPAR)) {
@@ -111,7 +112,7 @@ public final class ObjectGenerator extends Expression {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (Option.TRACE_CHECKER)
 			Util.TRACE("BEGIN ObjectGenerator(" + classIdentifier + ").doChecking - Current Scope Chain: " + Global.getCurrentScope().edScopeChain());
 		meaning = Global.getCurrentScope().findMeaning(classIdentifier);
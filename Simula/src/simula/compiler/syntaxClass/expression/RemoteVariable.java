@@ -12,8 +12,8 @@ import simula.compiler.syntaxClass.declaration.ArrayDeclaration;
 import simula.compiler.syntaxClass.declaration.ClassDeclaration;
 import simula.compiler.syntaxClass.declaration.Parameter;
 import simula.compiler.syntaxClass.declaration.ProcedureDeclaration;
-import simula.compiler.syntaxClass.declaration.StandardClass;
 import simula.compiler.syntaxClass.declaration.VirtualSpecification;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Meaning;
@@ -87,7 +87,7 @@ public final class RemoteVariable extends Expression {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (Option.TRACE_CHECKER)
 			Util.TRACE("BEGIN RemoteVariable" + toString() + ".doChecking - Current Scope Chain: " + Global.getCurrentScope().edScopeChain());
 		this.type = doRemoteChecking(obj, var);
@@ -102,7 +102,7 @@ public final class RemoteVariable extends Expression {
 	 * @return the attribute's type
 	 */
 	private Type doRemoteChecking(final Expression obj, final Expression attr) {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		Type result;
 		obj.doChecking();
 		Type objType = obj.type;
@@ -158,7 +158,7 @@ public final class RemoteVariable extends Expression {
 		Type result;
 		if (attr instanceof VariableExpression var) { // Covers FunctionDesignator and SubscriptedVariable since they are subclasses
 			String ident = var.identifier;
-			Meaning remote = StandardClass.typeText.findMeaning(ident);
+			Meaning remote = CompilationContext.current().typeText.findMeaning(ident);
 			if (remote == null)
 				Util.error("RemoteVariable.doRemoteTextChecking: " + ident + " is not a Text attribute");
 			var.setRemotelyAccessed(remote);
@@ -7,7 +7,10 @@
  */
 package simula.compiler.syntaxClass.expression;
 
+import java.util.ArrayList;
+
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -72,6 +75,10 @@ import simula.compiler.utilities.Util;
  * evaluated before &amp;, thus the two expressions "T1 &amp; T2.sub(1,2) &amp; T3.main" and
  * "T1 &amp; (T2.sub(1,2)) &amp; (T3.main)" are equivalent.
  * <p>
+ * A chain of text concatenations "T1 &amp; T2 &amp; ... &amp; Tn" is parsed as nested TextExpressions.
+ * It is flattened into one call CONC(T1,T2,...,Tn), which evaluates all the text primaries before
+ * the result is sized and the frames are copied, as CONCATENATE_n does.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/syntaxClass/expression/TextExpression.java">
  * <b>Source File</b></a>.
@@ -113,7 +120,7 @@ public final class TextExpression extends Expression {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED()) return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (Option.TRACE_CHECKER)
 			Util.TRACE("BEGIN TextOperation" + toString() + ".doChecking - Current Scope Chain: " + Global.getCurrentScope().edScopeChain());
 		// TEXT & TEXT
@@ -139,7 +146,30 @@ public final class TextExpression extends Expression {
 	@Override
 	public String toJavaCode() {
 		ASSERT_SEMANTICS_CHECKED();
-		return ("CONC(" + lhs.get() + ',' + rhs.get() + ')');
+		ArrayList<Expression> operands = new ArrayList<Expression>();
+		addOperands(operands);
+		StringBuilder s = new StringBuilder("CONC(");
+		for (int i = 0; i < operands.size(); i++) {
+			if (i > 0)
+				s.append(',');
+			s.append(operands.get(i).get());
+		}
+		return (s.append(')').toString());
+	}
+
+	/**
+	 * Coding Utility: Add the text primaries of this concatenation chain, in lexical order.
+	 * @param operands the list of text primaries
+	 */
+	private void addOperands(final ArrayList<Expression> operands) {
+		if (lhs instanceof TextExpression textExpression)
+			textExpression.addOperands(operands);
+		else
+			operands.add(lhs);
+		if (rhs instanceof TextExpression textExpression)
+			textExpression.addOperands(operands);
+		else
+			operands.add(rhs);
 	}
 
 	@Override
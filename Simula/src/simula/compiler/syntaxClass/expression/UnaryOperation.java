@@ -8,6 +8,7 @@
 package simula.compiler.syntaxClass.expression;
 
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -90,7 +91,7 @@ final class UnaryOperation extends Expression {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		if (Option.TRACE_CHECKER)
 			Util.TRACE("BEGIN UnaryOperation" + toString() + ".doChecking - Current Scope Chain: " + Global.getCurrentScope().edScopeChain());
 		operand.doChecking();
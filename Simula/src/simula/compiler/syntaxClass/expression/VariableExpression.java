@@ -21,6 +21,7 @@ import simula.compiler.syntaxClass.declaration.Parameter;
 import simula.compiler.syntaxClass.declaration.ProcedureDeclaration;
 import simula.compiler.syntaxClass.declaration.StandardProcedure;
 import simula.compiler.syntaxClass.declaration.VirtualSpecification;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Meaning;
@@ -190,7 +191,7 @@ public final class VariableExpression extends Expression {
 	 */
 	public static VariableExpression expectVariable(final String ident) {
 		if (Option.TRACE_PARSE)
-			Util.TRACE("Parse Variable, current=" + Parse.currentToken + ", prev=" + Parse.prevToken);
+			Util.TRACE("Parse Variable, current=" + CompilationContext.current().currentToken + ", prev=" + CompilationContext.current().prevToken);
 		VariableExpression variable = new VariableExpression(ident);
 		if (Parse.accept(KeyWord.BEGPAR)) {
 			variable.params = new Vector<Expression>();
@@ -218,7 +219,7 @@ public final class VariableExpression extends Expression {
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		Declaration declaredAs = getMeaning().declaredAs;
 		if (declaredAs != null)
 			this.type = declaredAs.type;
@@ -418,7 +419,8 @@ public final class VariableExpression extends Expression {
 		StringBuilder s = new StringBuilder();
 		s.append(var);
 		char sep = '(';
-		// A.getELEMENT(i);
+		// A.getELEMENT(i,j); Java binds one to three indices to the fixed-arity
+		// getELEMENT, more than three to getELEMENT(int... x).
 		s.append(".getELEMENT");
 		for (Expression ix : checkedParams) {
 			String index = ix.toJavaCode();
@@ -443,7 +445,8 @@ public final class VariableExpression extends Expression {
 		StringBuilder s = new StringBuilder();
 		s.append(var);
 		char sep = '(';
-		// A.putELEMENT(rightPart,i);
+		// A.putELEMENT(A.index(i,j),rightPart); Java binds one to three indices
+		// to the fixed-arity index, more than three to index(int... x).
 		s.append(".putELEMENT(").append(var).append(".index");
 		for (Expression ix : checkedParams) {
 			String index = ix.toJavaCode();
@@ -541,11 +544,12 @@ public final class VariableExpression extends Expression {
 			case Simple:
 			case Label:
 				var = edIdentifierAccess(destination); // Kind: Simple/Label
+				boolean primitive = par.kind == Parameter.Kind.Simple && par.type.toJavaNameClass() != null;
 				if (!destination && par.mode == Parameter.Mode.name) {
-					s.append(var).append(".get()");
+					s.append(var).append(primitive ? ".getValue()" : ".get()");
 				} else if (rightPart != null) {
 					if (par.mode == Parameter.Mode.name) {
-						s.append(var + ".put(" + rightPart + ')');
+						s.append(var + (primitive ? ".putValue(" : ".put(") + rightPart + ')');
 					} else
 						s.append(var).append('=').append(rightPart);
 				} else {
@@ -557,7 +561,7 @@ public final class VariableExpression extends Expression {
 		case ContextFreeMethod:
 			// Standard Library Procedure
 			if (Util.equals(identifier, "sourceline"))
-				return ("" + Global.sourceLineNumber);
+				return ("" + CompilationContext.current().sourceLineNumber);
 			if (destination) {
 				return ("_RESULT=" + rightPart);
 			}
@@ -11,6 +11,7 @@ import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.TypeConversion;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Meaning;
@@ -128,17 +129,17 @@ public final class ActivationStatement extends Statement {
 	 */
 	ActivationStatement(final int line) {
 		super(line);
-		Token activator = Parse.prevToken;
+		Token activator = CompilationContext.current().prevToken;
 		REAC = activator.getKeyWord() == KeyWord.REACTIVATE;
 		if (Option.TRACE_PARSE) Parse.TRACE("Parse ActivationStatement");
 		object1 = Expression.expectExpression();
 		code = ActivationCode.direct;
 		if (Parse.accept(KeyWord.AT) || Parse.accept(KeyWord.DELAY)) {
-			code = (Parse.prevToken.getKeyWord() == KeyWord.AT) ? ActivationCode.at : ActivationCode.delay;
+			code = (CompilationContext.current().prevToken.getKeyWord() == KeyWord.AT) ? ActivationCode.at : ActivationCode.delay;
 			time = Expression.expectExpression();
 			if (Parse.accept(KeyWord.PRIOR)) prior = true;
 		} else if (Parse.accept(KeyWord.BEFORE) || Parse.accept(KeyWord.AFTER)) {
-			code = (Parse.prevToken.getKeyWord() == KeyWord.BEFORE) ? ActivationCode.before : ActivationCode.after;
+			code = (CompilationContext.current().prevToken.getKeyWord() == KeyWord.BEFORE) ? ActivationCode.before : ActivationCode.after;
 			object2 = Expression.expectExpression();
 		}
 		if (Option.TRACE_PARSE) Util.TRACE("Line "+lineNumber+": ActivationStatement: "+this);
@@ -14,7 +14,7 @@ import simula.compiler.syntaxClass.declaration.Declaration;
 import simula.compiler.syntaxClass.declaration.PrefixedBlockDeclaration;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.VariableExpression;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
 
@@ -90,7 +90,7 @@ public final class BlockStatement extends Statement {
 	
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		if(blockDeclaration.declarationKind!=Declaration.Kind.CompoundStatement) {
 			String staticLink=blockDeclaration.declaredIn.edCTX();
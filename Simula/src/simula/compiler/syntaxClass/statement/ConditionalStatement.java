@@ -11,7 +11,7 @@ import simula.compiler.GeneratedJavaClass;
 import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Expression;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -63,7 +63,7 @@ public final class ConditionalStatement extends Statement {
 		Parse.expect(KeyWord.THEN);
 		Statement elseStatement = null;
 		if (Parse.accept(KeyWord.ELSE)) {
-			thenStatement = new DummyStatement(Parse.currentToken.lineNumber);
+			thenStatement = new DummyStatement(CompilationContext.current().currentToken.lineNumber);
 			elseStatement = Statement.expectStatement();
 		} else {
 		    thenStatement = Statement.expectStatement();
@@ -106,7 +106,7 @@ public final class ConditionalStatement extends Statement {
 	
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass.code("if(_VALUE(" + condition.toJavaCode() + ")) {");
 		thenStatement.doJavaCoding();
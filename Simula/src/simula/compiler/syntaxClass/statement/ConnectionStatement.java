@@ -19,6 +19,7 @@ import simula.compiler.syntaxClass.declaration.SimpleVariableDeclaration;
 import simula.compiler.syntaxClass.expression.AssignmentOperation;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.VariableExpression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -113,11 +114,6 @@ public final class ConnectionStatement extends Statement {
 	 */
 	private final boolean hasWhenPart;
 	
-	/**
-	 * Utility to help generate unique identifiers to the inspected variable.
-	 */
-	private static int SEQU = 0;
-
 	/**
 	 * Create a new ConnectionStatement.
 	 * <p>
@@ -128,7 +124,7 @@ public final class ConnectionStatement extends Statement {
 		super(line);
 		if (Option.TRACE_PARSE)	Parse.TRACE("Parse ConnectionStatement");
 		objectExpression = Expression.expectExpression();
-		String ident = "_inspect_" + lineNumber + '_' + (SEQU++);
+		String ident = "_inspect_" + lineNumber + '_' + (CompilationContext.current().connectionSEQU++);
 		inspectedVariable = new VariableExpression(ident);
 		inspectVariableDeclaration = new SimpleVariableDeclaration(Type.Ref("RTObject"), ident);
 		DeclarationScope scope = Global.getCurrentScope();
@@ -319,7 +315,7 @@ public final class ConnectionStatement extends Statement {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		if (Option.TRACE_CHECKER)
 			Util.TRACE("BEGIN ConnectionStatement(" + toString() + ").doChecking - Current Scope Chain: " + Global.getCurrentScope().edScopeChain());
 		objectExpression.doChecking();
@@ -335,7 +331,7 @@ public final class ConnectionStatement extends Statement {
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass.code("{");
 		GeneratedJavaClass.debug("// BEGIN INSPECTION ");
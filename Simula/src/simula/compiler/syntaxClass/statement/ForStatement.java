@@ -19,6 +19,7 @@ import simula.compiler.syntaxClass.declaration.Parameter;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.TypeConversion;
 import simula.compiler.syntaxClass.expression.VariableExpression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -95,10 +96,11 @@ import simula.compiler.utilities.Util;
  * </pre>
  * 
  * <h2>Optimized For-Statement</h2>
- * However; most of the for-statements with only one for-list element are optimized.
+ * However; the ForList iterators are only used when a step-until element is used with a control
+ * variable which is not arithmetic, i.e. in erroneous programs. All other for-statements are
+ * compiled to plain Java loops without boxing.
  * <p>
- * Single for step-until statements are optimized when the step-expression is constant.
- * I.e. the following for-statements:
+ * Single for step-until statements with a constant step-expression, i.e. the following for-statements:
  * <pre>
  *           for i:=&lt;expr-1> step 1  until &lt;expr-2> do &lt;statements>
  *           for i:=&lt;expr-1> step -1 until &lt;expr-2> do &lt;statements>
@@ -109,8 +111,21 @@ import simula.compiler.utilities.Util;
  * <pre>
  *           for(i = &lt;expr-1>; i &lt;= &lt;expr-2>; i++) { &lt;statements> }
  *           for(i = &lt;expr-1>; i >= &lt;expr-2>; i--) { &lt;statements> }
- *           for(i = &lt;expr-1>; i &lt;= &lt;expr-2>; i=i+6) { &lt;statements> }
- *           for(i = &lt;expr-1>; i >= &lt;expr-2>; i=i-6) { &lt;statements> }
+ *           for(i = &lt;expr-1>; i &lt;= &lt;expr-2>; i=i+(6)) { &lt;statements> }
+ *           for(i = &lt;expr-1>; i >= &lt;expr-2>; i=i+(-6)) { &lt;statements> }
+ * </pre>
+ * When the step-expression is not constant, it is evaluated once before the first test and once
+ * before each increment, and the sign of the step decides the test:
+ * <pre>
+ *           for i:=&lt;expr-1> step &lt;expr-2> until &lt;expr-3> do &lt;statements>
+ * </pre>
+ * is compiled to:
+ * <pre>
+ *           { int _FD_12_0;
+ *             for(i = &lt;expr-1>, _FD_12_0 = &lt;expr-2>;
+ *                 (_FD_12_0 > 0) ? i &lt;= &lt;expr-3> : (_FD_12_0 == 0 || i >= &lt;expr-3>);
+ *                 _FD_12_0 = &lt;expr-2>, i = i + _FD_12_0) { &lt;statements> }
+ *           }
  * </pre>
  * The other kinds of single elements are optimized in these ways:
  * <pre>
@@ -127,6 +142,27 @@ import simula.compiler.utilities.Util;
  *                  i = &lt;expr>;
  *           }
  * </pre>
+ * A for-list with more than one element is compiled to a loop over a switch which assigns
+ * the next value to the control variable. E.g. the first example above:
+ * <pre>
+ *           for i:=1,6,13 step 6 until 66,i+1 while i &lt; 80 do j:=j+i;
+ * </pre>
+ * is compiled to:
+ * <pre>
+ *           { int _FE_12_0=1;
+ *             _FOR_12_0: while(true) {
+ *                 switch(_FE_12_0) {
+ *                     case 1: i=1; _FE_12_0=2; break;
+ *                     case 2: i=6; _FE_12_0=3; break;
+ *                     case 3: i=13; _FE_12_0=4; if(i&lt;=66) break; _FE_12_0=5; continue _FOR_12_0;
+ *                     case 4: i=i+(6); if(i&lt;=66) break; _FE_12_0=5; continue _FOR_12_0;
+ *                     case 5: i=(i+1); if(i&lt;80) break; _FE_12_0=6; continue _FOR_12_0;
+ *                     default: break _FOR_12_0;
+ *                 }
+ *                 j=j+i;
+ *             }
+ *           }
+ * </pre>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/syntaxClass/statement/ForStatement.java">
  * <b>Source File</b></a>.
@@ -168,7 +204,7 @@ public final class ForStatement extends Statement {
 		controlVariable = new VariableExpression(Parse.expectIdentifier());
 		if (!Parse.accept(KeyWord.ASSIGNVALUE))
 			Parse.expect(KeyWord.ASSIGNREF);
-		assignmentOperator = Parse.prevToken;
+		assignmentOperator = CompilationContext.current().prevToken;
 		do {
 			forList.add(expectForListElement());
 		} while (Parse.accept(KeyWord.COMMA));
@@ -205,7 +241,7 @@ public final class ForStatement extends Statement {
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())
 			return;
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		controlVariable.doChecking();
 		Type type = controlVariable.type; // Type of control variable
 		Declaration decl = controlVariable.meaning.declaredAs;
@@ -230,6 +266,52 @@ public final class ForStatement extends Statement {
 			return;
 		}
 
+		CompilationContext.current().sourceLineNumber = lineNumber;
+		ASSERT_SEMANTICS_CHECKED();
+		if (!controlVariable.type.isArithmeticType()) {
+			for (ForListElement elt : forList)
+				if (elt instanceof StepUntilElement) {
+					doForListCoding();
+					return;
+				}
+		}
+		doTypedLoopCoding();
+	}
+
+	/**
+	 * Coding Utility: Edit a for-list with more than one element as a Java loop over a switch.
+	 * See the example in the class description.
+	 */
+	private void doTypedLoopCoding() {
+		String ident = "_" + lineNumber + '_' + (CompilationContext.current().forSEQU++);
+		String state = "_FE" + ident;
+		String loop = "_FOR" + ident;
+		GeneratedJavaClass.code("{ int " + state + "=1;");
+		int caseNo = 1;
+		for (ForListElement elt : forList) {
+			String delta = (elt instanceof StepUntilElement stp) ? stp.edDeltaDeclaration(ident + '_' + caseNo) : null;
+			if (delta != null)
+				GeneratedJavaClass.code(delta);
+			caseNo = caseNo + elt.nCases();
+		}
+		GeneratedJavaClass.code(loop + ": while(true) {");
+		GeneratedJavaClass.code("switch(" + state + ") {");
+		caseNo = 1;
+		for (ForListElement elt : forList) {
+			elt.doCaseCoding(state, loop, caseNo);
+			caseNo = caseNo + elt.nCases();
+		}
+		GeneratedJavaClass.code("default: break " + loop + ";");
+		GeneratedJavaClass.code("}");
+		doStatement.doJavaCoding();
+		GeneratedJavaClass.code("}");
+		GeneratedJavaClass.code("}");
+	}
+
+	/**
+	 * Coding Utility: Edit the for-list by the ForList iterators in RTS_RTObject.
+	 */
+	private void doForListCoding() {
 		// ------------------------------------------------------------
 		// Example:
 		//
@@ -242,8 +324,6 @@ public final class ForStatement extends Statement {
 		//      // Statements ...
 		// }
 		// ------------------------------------------------------------
-		Global.sourceLineNumber = lineNumber;
-		ASSERT_SEMANTICS_CHECKED();
 		boolean refType = controlVariable.type.isReferenceType();
 		String CB = "CB_" + lineNumber;
 		GeneratedJavaClass.code("for(boolean " + CB + ":new ForList(");
@@ -302,6 +382,43 @@ public final class ForStatement extends Statement {
 		return (cvName);
 	}
 
+	/**
+	 * Coding Utility: Edit a value to be assigned to the control variable.
+	 * @param expr the value expression
+	 * @return the resulting Java source code
+	 */
+	private String edCastedValue(final Expression expr) {
+		String val = expr.toJavaCode();
+		if (expr.type != controlVariable.type) {
+			if (controlVariable.type == Type.Integer)
+				val = "(int)" + val;
+			else if (controlVariable.type == Type.Real)
+				val = "(float)" + val;
+			else if (controlVariable.type == Type.LongReal)
+				val = "(double)" + val;
+			else if (controlVariable.type.isReferenceType()) {
+				ClassDeclaration qual = controlVariable.type.getQual();
+				if (!(controlVariable.type.equals(expr.type)))
+					val = "(" + qual.getJavaIdentifier() + ")" + val;
+			}
+		}
+		return (val);
+	}
+
+	/**
+	 * Coding Utility: Edit the assignment of a value to the control variable.
+	 * <p>
+	 * A Text control variable with value assignment ( := ) is assigned by _ASGTXT.
+	 * @param expr the value expression
+	 * @return the resulting Java source code
+	 */
+	private String edAssignControlVariable(final Expression expr) {
+		String cv = controlVariable.toJavaCode();
+		if (controlVariable.type == Type.Text && assignmentOperator.getKeyWord() == KeyWord.ASSIGNVALUE)
+			return ("_ASGTXT(" + cv + "," + expr.toJavaCode() + ");");
+		return (cv + "=" + edCastedValue(expr) + ";");
+	}
+
 	@Override
 	public void print(final int indent) {
 		String spc = edIndent(indent);
@@ -385,25 +502,35 @@ public final class ForStatement extends Statement {
 		 */
 		public void doSimplifiedJavaCoding() {
 			String cv = controlVariable.toJavaCode();
-			String val = this.expr1.toJavaCode();
-			if (expr1.type != controlVariable.type) {
-				if (controlVariable.type == Type.Integer)
-					val = "(int)" + val;
-				else if (controlVariable.type == Type.Real)
-					val = "(float)" + val;
-				else if (controlVariable.type == Type.LongReal)
-					val = "(double)" + val;
-				else if (controlVariable.type.isReferenceType()) {
-					ClassDeclaration qual = controlVariable.type.getQual();
-					if (!(controlVariable.type.equals(this.expr1.type)))
-						val = "(" + qual.getJavaIdentifier() + ")" + val;
-				}
-			}
+			String val = edCastedValue(expr1);
 			GeneratedJavaClass.code(cv + "=" + val + "; {");
 			doStatement.doJavaCoding();
 			GeneratedJavaClass.code("}");
 		}
 
+		/**
+		 * Returns the number of switch cases used by this ForListElement.
+		 * @return the number of switch cases
+		 */
+		public int nCases() {
+			return (1);
+		}
+
+		/**
+		 * Edit the switch cases for this ForListElement.
+		 * <p>
+		 * Each case assigns the next value to the control variable and breaks out of the
+		 * switch to execute the controlled statement, or continues the loop with the next
+		 * element when this element is exhausted.
+		 * @param state the state variable's identifier
+		 * @param loop the loop's label
+		 * @param caseNo the first case number
+		 */
+		public void doCaseCoding(final String state, final String loop, final int caseNo) {
+			GeneratedJavaClass.code("case " + caseNo + ": " + edAssignControlVariable(expr1)
+				+ " " + state + "=" + (caseNo + 1) + "; break;");
+		}
+
 		@Override
 		public String toString() {
 			return ("" + expr1);
@@ -475,6 +602,12 @@ public final class ForStatement extends Statement {
 			GeneratedJavaClass.code("}");
 		}
 
+		@Override
+		public void doCaseCoding(final String state, final String loop, final int caseNo) {
+			GeneratedJavaClass.code("case " + caseNo + ": " + edAssignControlVariable(expr1) + " if("
+				+ expr2.toJavaCode() + ") break; " + state + "=" + (caseNo + 1) + "; continue " + loop + ";");
+		}
+
 		public String toString() {
 			return ("" + expr1 + " while " + expr2);
 		}
@@ -539,40 +672,110 @@ public final class ForStatement extends Statement {
 
 		@Override
 		public ForListElement isOptimizable() {
-			Number step = expr2.getNumber();
-			if (step == null)
+			if (!controlVariable.type.isArithmeticType())
 				return (null);
 			return (this);
 		}
 
+		/**
+		 * Returns the constant step, or null if the step-expression is not constant.
+		 * <p>
+		 * A step which is zero, or folded to zero like -0.5, is treated as not constant.
+		 * @return the constant step, or null
+		 */
+		private Number getConstantStep() {
+			Number step = expr2.getNumber();
+			if (step == null || step.doubleValue() == 0)
+				return (null);
+			return (step);
+		}
+
+		/**
+		 * Edit the declaration of the variable holding the step value when it is not constant.
+		 * @param ident unique part of the variable's identifier
+		 * @return the resulting Java source code, or null if the step is constant
+		 */
+		String edDeltaDeclaration(final String ident) {
+			if (getConstantStep() != null)
+				return (null);
+			delta = "_FD" + ident;
+			return (controlVariable.type.toJavaType() + " " + delta + ";");
+		}
+
+		/**
+		 * The step variable's identifier when the step is not constant.
+		 */
+		private String delta;
+
+		/**
+		 * Edit the test whether the control variable has passed the until value.
+		 * @param cv the control variable
+		 * @return the resulting Java source code
+		 */
+		private String edTest(final String cv) {
+			String until = expr3.toJavaCode();
+			Number step = getConstantStep();
+			if (step == null)
+				return ("(" + delta + ">0)?" + cv + "<=" + until + ":(" + delta + "==0||" + cv + ">=" + until + ")");
+			if (step.doubleValue() > 0)
+				return (cv + "<=" + until);
+			return (cv + ">=" + until);
+		}
+
+		/**
+		 * Edit the increment of the control variable.
+		 * <p>
+		 * A step which is not constant is evaluated into the step variable first. The two
+		 * assignments are separated by ", " in a for-update and by "; " in a switch case.
+		 * @param cv the control variable
+		 * @param separator the separator between the two assignments
+		 * @return the resulting Java source code
+		 */
+		private String edIncrement(final String cv, final String separator) {
+			Number step = getConstantStep();
+			if (step == null)
+				return (delta + "=" + expr2.toJavaCode() + separator + cv + "=" + cv + "+" + delta);
+			if (step.doubleValue() == 1 && controlVariable.type == Type.Integer)
+				return (cv + "++");
+			if (step.doubleValue() == -1 && controlVariable.type == Type.Integer)
+				return (cv + "--");
+			return (cv + "=" + cv + "+(" + expr2.toJavaCode() + ")");
+		}
+
+		@Override
+		public int nCases() {
+			return (2);
+		}
+
+		@Override
+		public void doCaseCoding(final String state, final String loop, final int caseNo) {
+			String cv = controlVariable.toJavaCode();
+			String exhausted = " break; " + state + "=" + (caseNo + 2) + "; continue " + loop + ";";
+			String init = cv + "=" + edCastedValue(expr1) + ";";
+			if (delta != null)
+				init = init + " " + delta + "=" + expr2.toJavaCode() + ";";
+			GeneratedJavaClass.code("case " + caseNo + ": " + init + " " + state + "=" + (caseNo + 1) + "; if("
+				+ edTest(cv) + ")" + exhausted);
+			GeneratedJavaClass.code("case " + (caseNo + 1) + ": " + edIncrement(cv, "; ") + "; if(" + edTest(cv) + ")" + exhausted);
+		}
+
 		@Override
 		public void doSimplifiedJavaCoding() {
-			int step = this.expr2.getNumber().intValue();
+			// ------------------------------------------------------------
+			// for(cv=expr1; cv<=expr3; cv=cv+step) { Statements ... }
+			// ------------------------------------------------------------
 			String cv = controlVariable.toJavaCode();
-			String stepClause, incrClause;
-			if (step >= 0) {
-				// ------------------------------------------------------------
-				// for(cv=expr1; cv<=expr3; cv=cv+step) { Statements ... }
-				// ------------------------------------------------------------
-				stepClause = cv + "<=" + this.expr3.toJavaCode() + ";";
-				if (step == 1)
-					incrClause = cv + "++";
-				else
-					incrClause = cv + "=" + cv + "+" + step;
-			} else {
-				// ------------------------------------------------------------
-				// for(cv=expr1; cv>=expr3; cv=cv+step) { Statements ... }
-				// ------------------------------------------------------------
-				stepClause = cv + ">=" + this.expr3.toJavaCode() + ";";
-				if (step == -1)
-					incrClause = cv + "--";
-				else
-					incrClause = cv + "=" + cv + step;
+			String init = cv + "=" + edCastedValue(expr1);
+			String declaration = edDeltaDeclaration("_" + lineNumber + '_' + (CompilationContext.current().forSEQU++));
+			if (declaration != null) {
+				GeneratedJavaClass.code("{ " + declaration);
+				init = init + ", " + delta + "=" + expr2.toJavaCode();
 			}
-			GeneratedJavaClass
-					.code("for(" + cv + "=" + this.expr1.toJavaCode() + ";" + stepClause + incrClause + ") {");
+			GeneratedJavaClass.code("for(" + init + "; " + edTest(cv) + "; " + edIncrement(cv, ", ") + ") {");
 			doStatement.doJavaCoding();
 			GeneratedJavaClass.code("}");
+			if (declaration != null)
+				GeneratedJavaClass.code("}");
 		}
 
 		@Override
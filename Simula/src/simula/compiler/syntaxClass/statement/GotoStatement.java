@@ -9,8 +9,15 @@ package simula.compiler.syntaxClass.statement;
 
 import simula.compiler.GeneratedJavaClass;
 import simula.compiler.syntaxClass.Type;
+import simula.compiler.syntaxClass.declaration.Declaration;
+import simula.compiler.syntaxClass.declaration.DeclarationScope;
+import simula.compiler.syntaxClass.declaration.LabelDeclaration;
+import simula.compiler.syntaxClass.declaration.VirtualSpecification;
 import simula.compiler.syntaxClass.expression.Expression;
+import simula.compiler.syntaxClass.expression.VariableExpression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
+import simula.compiler.utilities.Meaning;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
 
@@ -30,6 +37,14 @@ import simula.compiler.utilities.Util;
  * exception handling together with byte code engineering to re-introduce goto in the Java Language.
  * This is done by generating Java-code which is prepared for Byte Code Engineering.
  * <p>
+ * When the target is a local label of the block whose statements are being coded, no exception is
+ * thrown. The label index is set and control continues directly in the block's dispatch loop:
+ * <pre>
+ *     _JTX=index; if(_JTX>0) continue _LOOP;
+ * </pre>
+ * The test is always true, but is needed because Java does not allow statements after 'continue',
+ * and javac removes all code after 'if(true) continue'.
+ * <p>
  * See <a href="https://portablesimula.github.io/github.io/doc/SimulaRTS.pdf">Mapping Simula to Java (runtime design)</a> 
  * Sect. 6.1 Goto Statement
  * <p>
@@ -68,11 +83,39 @@ public final class GotoStatement extends Statement {
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber = lineNumber;
+		CompilationContext.current().sourceLineNumber = lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
   		Type type = label.type;
 		Util.ASSERT(type == Type.Label, "Invariant");
-		GeneratedJavaClass.code("_GOTO(" + label.toJavaCode() + ");","GOTO EVALUATED LABEL");
+		LabelDeclaration local = getLocalLabel();
+		if (local != null) {
+			GeneratedJavaClass.debug("if(RTS_COMMON.Option.GOTO_TRACING) TRACE_GOTO(\"DIRECT\"," + label.toJavaCode() + ");");
+			GeneratedJavaClass.code("_JTX=" + local.index + "; if(_JTX>0) continue _LOOP;", "GOTO LOCAL LABEL " + local.identifier);
+		} else
+			GeneratedJavaClass.code("_GOTO(" + label.toJavaCode() + ");","GOTO EVALUATED LABEL");
+	}
+
+	/**
+	 * Returns the target label if it is a local label of the block whose statements are being coded,
+	 * otherwise null.
+	 * <p>
+	 * Compound statements and connection blocks are coded inline in the enclosing block's
+	 * statements, and their labels are moved to that block.
+	 * @return the local target label or null
+	 */
+	private LabelDeclaration getLocalLabel() {
+		if (!(label instanceof VariableExpression var) || var.hasArguments())
+			return (null);
+		Meaning meaning = var.meaning;
+		if (!(meaning.declaredAs instanceof LabelDeclaration lab) || meaning.isConnected() || meaning.foundBehindInvisible)
+			return (null);
+		if (VirtualSpecification.getVirtualSpecification(lab) != null)
+			return (null);
+		DeclarationScope scope = Global.getCurrentScope();
+		while (scope.declarationKind == Declaration.Kind.CompoundStatement
+				|| scope.declarationKind == Declaration.Kind.ConnectionBlock)
+			scope = scope.declaredIn;
+		return ((scope == meaning.declaredIn) ? lab : null);
 	}
 
 	@Override
@@ -11,6 +11,7 @@ import java.util.Vector;
 
 import simula.compiler.CodeLine;
 import simula.compiler.syntaxClass.declaration.ClassDeclaration;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -45,16 +46,16 @@ public final class InnerStatement extends Statement {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		SET_SEMANTICS_CHECKED();
 	}
 	
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		ClassDeclaration cls=(ClassDeclaration)Global.getCurrentScope();
 		if(cls.code2==null) cls.code2=new Vector<CodeLine>();
-		Global.currentJavaModule.saveCode=cls.code2;
+		CompilationContext.current().currentJavaModule.saveCode=cls.code2;
 	}
 
 	@Override
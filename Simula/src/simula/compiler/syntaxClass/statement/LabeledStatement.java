@@ -12,6 +12,7 @@ import java.util.Vector;
 import simula.compiler.GeneratedJavaClass;
 import simula.compiler.syntaxClass.declaration.Declaration;
 import simula.compiler.syntaxClass.declaration.LabelDeclaration;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Meaning;
 import simula.compiler.utilities.Option;
@@ -78,7 +79,7 @@ public final class LabeledStatement extends Statement {
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass.code("{");
 		for (String label:labels) {
@@ -87,7 +88,7 @@ public final class LabeledStatement extends Statement {
 			String labelcode;
 			if(Option.USE_FILE_CLASS_API > 0) {
 				labelcode="_SIM_LABEL("+decl.index+");";
-				System.out.println("LabeledStatement.doJavaCoding: "+labelcode+" USED IN "+Global.currentJavaModule);
+				System.out.println("LabeledStatement.doJavaCoding: "+labelcode+" USED IN "+CompilationContext.current().currentJavaModule);
 			}
 			else labelcode="_LABEL("+decl.index+",\""+decl.identifier+"\");";
 			if(statement instanceof BlockStatement stat) {
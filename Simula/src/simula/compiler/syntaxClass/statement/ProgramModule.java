@@ -17,8 +17,8 @@ import simula.compiler.syntaxClass.declaration.ExternalDeclaration;
 import simula.compiler.syntaxClass.declaration.MaybeBlockDeclaration;
 import simula.compiler.syntaxClass.declaration.PrefixedBlockDeclaration;
 import simula.compiler.syntaxClass.declaration.ProcedureDeclaration;
-import simula.compiler.syntaxClass.declaration.StandardClass;
 import simula.compiler.syntaxClass.expression.VariableExpression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -82,8 +82,8 @@ public final class ProgramModule extends Statement {
 	 * @return the relative file name
 	 */
 	public String getRelativeAttributeFileName() {
-		if(module.declarationKind==Declaration.Kind.Class) return(Global.packetName+"/CLASS.AF");
-		if(module.declarationKind==Declaration.Kind.Procedure) return(Global.packetName+"/PROCEDURE.AF");
+		if(module.declarationKind==Declaration.Kind.Class) return(CompilationContext.current().packetName+"/CLASS.AF");
+		if(module.declarationKind==Declaration.Kind.Procedure) return(CompilationContext.current().packetName+"/PROCEDURE.AF");
 		else return(null);
 	}
 	  
@@ -107,14 +107,14 @@ public final class ProgramModule extends Statement {
 		sysout=new VariableExpression("sysout");
 		try	{
 			if(Option.TRACE_PARSE) Parse.TRACE("Parse Program");
-			Global.setScope(StandardClass.BASICIO);		    	// BASICIO Begin
+			Global.setScope(CompilationContext.current().BASICIO);		    	// BASICIO Begin
 			new ConnectionBlock(sysin,null)                     	//    Inspect sysin do
-			     .setClassDeclaration(StandardClass.Infile);
+			     .setClassDeclaration(CompilationContext.current().Infile);
 			new ConnectionBlock(sysout,null)                    	//    Inspect sysout do
-			     .setClassDeclaration(StandardClass.Printfile);
+			     .setClassDeclaration(CompilationContext.current().Printfile);
 			Global.getCurrentScope().sourceBlockLevel=0;
 			while(Parse.accept(KeyWord.EXTERNAL)) {
-				ExternalDeclaration.expectExternalHead(StandardClass.ENVIRONMENT.declarationList);
+				ExternalDeclaration.expectExternalHead(CompilationContext.current().ENVIRONMENT.declarationList);
 				Parse.expect(KeyWord.SEMICOLON);
 			}
 			String ident=Parse.acceptIdentifier();
@@ -133,7 +133,7 @@ public final class ProgramModule extends Statement {
 				Type type=Parse.acceptType();
 			    if(Parse.expect(KeyWord.PROCEDURE)) module=ProcedureDeclaration.expectProcedureDeclaration(type);
 			}
-			StandardClass.BASICIO.declarationList.add(module);
+			CompilationContext.current().BASICIO.declarationList.add(module);
 		
 			if(Option.verbose) Util.TRACE("ProgramModule: END NEW SimulaProgram: "+toString());
 		} catch(Throwable e) { Util.IERR("Impossible",e); }
@@ -11,6 +11,7 @@ import simula.compiler.GeneratedJavaClass;
 import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.expression.AssignmentOperation;
 import simula.compiler.syntaxClass.expression.Expression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -52,7 +53,7 @@ public final class StandaloneExpression extends Statement {
 		this.expression = expression;
 		if (Option.TRACE_PARSE) Util.TRACE("Line "+lineNumber+": StandaloneExpression: "+this);
 		while (Parse.accept(KeyWord.ASSIGNVALUE,KeyWord.ASSIGNREF)) { 
-			this.expression = new AssignmentOperation(this.expression, Parse.prevToken.getKeyWord(),expectStandaloneExpression());
+			this.expression = new AssignmentOperation(this.expression, CompilationContext.current().prevToken.getKeyWord(),expectStandaloneExpression());
 		}		
 	}
 
@@ -69,7 +70,7 @@ public final class StandaloneExpression extends Statement {
 	private static Expression expectStandaloneExpression() { 
 		Expression retExpr=Expression.expectExpression();
 		while (Parse.accept(KeyWord.ASSIGNVALUE,KeyWord.ASSIGNREF)) {
-			KeyWord opr=Parse.prevToken.getKeyWord();
+			KeyWord opr=CompilationContext.current().prevToken.getKeyWord();
 			retExpr=new AssignmentOperation(retExpr,opr,expectStandaloneExpression());
 		}
 		return retExpr;
@@ -78,7 +79,7 @@ public final class StandaloneExpression extends Statement {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		if (Option.TRACE_CHECKER) Util.TRACE("StandaloneExpression("+expression+").doChecking - Current Scope Chain: "+Global.getCurrentScope().edScopeChain());
 		expression.doChecking();
 		if(!expression.maybeStatement()) Util.error("Illegal/Missplaced Expression: "+expression);
@@ -88,7 +89,7 @@ public final class StandaloneExpression extends Statement {
 	
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		GeneratedJavaClass.code(toJavaCode() + ';');
 	}
 
@@ -17,6 +17,7 @@ import simula.compiler.syntaxClass.declaration.MaybeBlockDeclaration;
 import simula.compiler.syntaxClass.declaration.PrefixedBlockDeclaration;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.VariableExpression;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -73,9 +74,9 @@ public abstract sealed class Statement extends SyntaxClass permits InnerStatemen
 	 */
 	public static Statement expectStatement() {
 		Vector<String> labels = null;
-		int lineNumber=Parse.currentToken.lineNumber;
+		int lineNumber=CompilationContext.current().currentToken.lineNumber;
 		if (Option.TRACE_PARSE)
-			Util.TRACE("Statement.doParse: LabeledStatement: lineNumber="+lineNumber+", current=" + Parse.currentToken	+ ", prev=" + Parse.prevToken);
+			Util.TRACE("Statement.doParse: LabeledStatement: lineNumber="+lineNumber+", current=" + CompilationContext.current().currentToken	+ ", prev=" + CompilationContext.current().prevToken);
 		String ident = Parse.acceptIdentifier();
 		while (Parse.accept(KeyWord.COLON)) {
 			if (ident != null) {
@@ -99,10 +100,10 @@ public abstract sealed class Statement extends SyntaxClass permits InnerStatemen
 	 */
 	@SuppressWarnings("incomplete-switch")
 	private static Statement expectUnlabeledStatement() {
-		int lineNumber=Parse.currentToken.lineNumber;
+		int lineNumber=CompilationContext.current().currentToken.lineNumber;
 		if (Option.TRACE_PARSE)
-			Util.TRACE("Statement.doUnlabeledStatement: lineNumber="+lineNumber+", current=" + Parse.currentToken	+ ", prev=" + Parse.prevToken);
-		switch(Parse.currentToken.getKeyWord()) {
+			Util.TRACE("Statement.doUnlabeledStatement: lineNumber="+lineNumber+", current=" + CompilationContext.current().currentToken	+ ", prev=" + CompilationContext.current().prevToken);
+		switch(CompilationContext.current().currentToken.getKeyWord()) {
 		    case BEGIN: Parse.nextToken(); return (new MaybeBlockDeclaration(null).expectMaybeBlock(lineNumber));
 		    case IF:    Parse.nextToken(); return (new ConditionalStatement(lineNumber));
 		    case GOTO:  Parse.nextToken(); return (new GotoStatement(lineNumber));
@@ -137,7 +138,7 @@ public abstract sealed class Statement extends SyntaxClass permits InnerStatemen
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass.code(toJavaCode() + ';');
 	}
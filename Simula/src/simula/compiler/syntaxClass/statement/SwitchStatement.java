@@ -14,6 +14,7 @@ import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Expression;
 import simula.compiler.syntaxClass.expression.TypeConversion;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
@@ -256,7 +257,7 @@ public final class SwitchStatement extends Statement {
 	@Override
     public void doChecking() {
     	if(IS_SEMANTICS_CHECKED()) return;
-    	Global.sourceLineNumber=lineNumber;
+    	CompilationContext.current().sourceLineNumber=lineNumber;
     	if(Option.TRACE_CHECKER) Util.TRACE("BEGIN SwitchStatement("+toString()+").doChecking - Current Scope Chain: "+Global.getCurrentScope().edScopeChain());    
     	lowKey.doChecking(); hiKey.doChecking();
     	switchKey.doChecking();
@@ -278,7 +279,7 @@ public final class SwitchStatement extends Statement {
 	
 	@Override
     public void doJavaCoding() {
-    	Global.sourceLineNumber=lineNumber;
+    	CompilationContext.current().sourceLineNumber=lineNumber;
 	    ASSERT_SEMANTICS_CHECKED();
 	    StringBuilder sb=new StringBuilder();
 	    sb.append("if(").append(switchKey.toJavaCode()).append("<").append(lowKey.toJavaCode());
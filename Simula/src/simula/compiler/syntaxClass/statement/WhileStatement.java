@@ -5,7 +5,7 @@ import simula.compiler.parsing.Parse;
 import simula.compiler.syntaxClass.Type;
 import simula.compiler.syntaxClass.expression.Constant;
 import simula.compiler.syntaxClass.expression.Expression;
-import simula.compiler.utilities.Global;
+import simula.compiler.utilities.CompilationContext;
 import simula.compiler.utilities.KeyWord;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
@@ -44,7 +44,7 @@ public final class WhileStatement extends Statement {
 	 */
 	WhileStatement(int line) {
 		super(line);
-		if (Option.TRACE_PARSE)	Util.TRACE("Parse WhileStatement: line="+line+", current=" + Parse.currentToken);
+		if (Option.TRACE_PARSE)	Util.TRACE("Parse WhileStatement: line="+line+", current=" + CompilationContext.current().currentToken);
 		condition = Expression.expectExpression();
 		Parse.expect(KeyWord.DO);
 		doStatement = Statement.expectStatement();
@@ -54,7 +54,7 @@ public final class WhileStatement extends Statement {
 	@Override
 	public void doChecking() {
 		if (IS_SEMANTICS_CHECKED())	return;
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		condition.doChecking(); condition.backLink=this;
 		if (condition.type != Type.Boolean) Util.error("While condition is not Boolean");
 		doStatement.doChecking();
@@ -63,7 +63,7 @@ public final class WhileStatement extends Statement {
 
 	@Override
 	public void doJavaCoding() {
-		Global.sourceLineNumber=lineNumber;
+		CompilationContext.current().sourceLineNumber=lineNumber;
 		ASSERT_SEMANTICS_CHECKED();
 		GeneratedJavaClass.code("while(" + condition.toJavaCode() + ") {");
 		doStatement.doJavaCoding();
@@ -38,26 +38,39 @@ public class ClassFileTransform {
 		inpt.close();
 		if (Option.TRACE_REPAIRING_INPUT)
 			Util.TRACE("ClassFileTransform.doRepairSingleByteCode: Input=" + inputFileName);
-		Util.IERR("UN-COMMENT FOLLOWING LINES ...");
-//		ClassModel classModel = ClassFile.parse(bytes);
-		ClassFile cf = ClassFile.of();
-		ClassModel classModel = cf.parse(bytes);
-		
-		Predicate<MethodModel> filter = model -> (model.methodName().equalsString("_STM"));
-		ClassTransform transform = ClassTransform.transformingMethodBodies(filter, new SimulaCodeTransform());
-		if (transform != null) {
-//			byte[] bytes2 = classModel.transform(transform);
-			byte[] bytes2 = cf.transform(classModel, transform);
+		byte[] bytes2 = doRepairSingleByteCode(bytes);
+		if (bytes2 != bytes) {
 			if (Option.TRACE_REPAIRING_OUTPUT)
 				Util.TRACE("ClassFileTransform.doRepairSingleByteCode: Output=" + outputFileName);
 			FileOutputStream oupt = new FileOutputStream(outputFileName);
 			oupt.write(bytes2);
 			oupt.flush();
 			oupt.close();
-		} else
-			Util.IERR("ClassFileTransform.doRepairSingleByteCode: _STM Method not found");
+		}
 		if (Option.LIST_REPAIRED_INSTRUCTION_LIST)
 			Util.doListClassFile(outputFileName);
 	}
 
+	/**
+	 * Repair a single class file held in memory.
+	 * 
+	 * @param bytes the class file bytes as written by the Java compiler
+	 * @return the repaired class file bytes
+	 */
+	public static byte[] doRepairSingleByteCode(final byte[] bytes) {
+		Util.IERR("UN-COMMENT FOLLOWING LINES ...");
+//		ClassModel classModel = ClassFile.parse(bytes);
+		ClassFile cf = ClassFile.of();
+		ClassModel classModel = cf.parse(bytes);
+		
+		Predicate<MethodModel> filter = model -> (model.methodName().equalsString("_STM"));
+		ClassTransform transform = ClassTransform.transformingMethodBodies(filter, new SimulaCodeTransform());
+		if (transform == null) {
+			Util.IERR("ClassFileTransform.doRepairSingleByteCode: _STM Method not found");
+			return (bytes);
+		}
+//		return (classModel.transform(transform));
+		return (cf.transform(classModel, transform));
+	}
+
 }
@@ -0,0 +1,304 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.compiler.utilities;
+
+import java.io.File;
+import java.util.Hashtable;
+import java.util.Stack;
+import java.util.Vector;
+
+import simula.compiler.GeneratedJavaClass;
+import simula.compiler.byteCodeEngineering.JavaClassInfo;
+import simula.compiler.parsing.SimulaScanner;
+import simula.compiler.syntaxClass.declaration.DeclarationScope;
+import simula.compiler.syntaxClass.declaration.StandardClass;
+
+/**
+ * Compilation Context.
+ * <p>
+ * The state of a single compilation: The source file, the scanner and parser state, the scope stack,
+ * the standard classes, the generated Java classes and the error count. Each SimulaCompiler creates
+ * its own CompilationContext and binds it to the thread doing the compilation. The compiler reaches
+ * it through {@link #current()}, so several compilations may run at the same time in different threads.
+ * <p>
+ * The options in Option and the settings outputDir, extLib and packetName in Global are shared by all
+ * compilations. They are set by the command line, the editor or a test program before the compilation
+ * is started. The settings which may be changed by a compilation, or by a directive in the source text,
+ * are copied into the context when it is created.
+ * <p>
+ * A thread which has no compilation bound, e.g. the editor's event thread, gets its own context the
+ * first time it is needed.
+ * <p>
+ * Link to GitHub: <a href=
+ * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/utilities/CompilationContext.java"><b>Source File</b></a>.
+ */
+public final class CompilationContext {
+
+	/**
+	 * The context bound to each thread.
+	 */
+	private static final ThreadLocal<CompilationContext> CURRENT = new ThreadLocal<CompilationContext>();
+
+	/**
+	 * The output directory. Used by Java-Coding to save the generated .jar files.
+	 * <p>
+	 * Copied from Global.outputDir. If not set, the directory bin next to the source file is used.
+	 */
+	public File outputDir;
+
+	/**
+	 * The external library. Used by ExternalDeclaration.readAttributeFile
+	 * <p>
+	 * Copied from Global.extLib.
+	 */
+	public File extLib;
+
+	/**
+	 * Packet name used in generated .java files.
+	 * <p>
+	 * Copied from Global.packetName.
+	 */
+	public String packetName;
+
+	/**
+	 * Where to place generated .java files, or null.
+	 * <p>
+	 * Copied from Option.keepJava, may be set by the directive %KEEP_JAVA.
+	 */
+	public File keepJava;
+
+	/**
+	 * The selectors for conditional compilation.
+	 * <p>
+	 * Copied from SimulaScanner.selector, may be set by the directive %SELECT.
+	 */
+	public boolean[] selector;
+
+	/**
+	 * The set of external .jar files.
+	 */
+	public Vector<File> externalJarFiles;
+
+	/**
+	 * The fingerprints of the external modules, see {@link Fingerprint#DEPENDENCIES}.
+	 */
+	public Vector<String> dependencyFingerprints;
+
+	/**
+	 * The fingerprint of the source text, or null if unknown, e.g. when %INSERT is used.
+	 */
+	public String sourceFingerprint;
+
+	/**
+	 * The current source line number.
+	 */
+	public int sourceLineNumber;
+
+	/**
+	 * The source line number before scan basic. Used as the line number of new Tokens.
+	 */
+	public int lineNumberBeforeScanBasic;
+
+	/**
+	 * The source file's directory.
+	 */
+	public File sourceFileDir;
+
+	/**
+	 * The source file name.
+	 */
+	public String sourceFileName;
+
+	/**
+	 * The source file name without .sim
+	 */
+	public String sourceName;
+
+	/**
+	 * The insert name.
+	 */
+	public String insertName;
+
+	/**
+	 * Compiler state: True while Parsing
+	 */
+	public boolean duringParsing;
+
+	/**
+	 * Compiler state: True while Checking
+	 */
+	public boolean duringChecking;
+
+	/**
+	 * Compiler state: True while generating STM code
+	 */
+	public boolean duringSTM_Coding;
+
+	/**
+	 * The Simula temp directory
+	 */
+	public File simulaTempDir;
+
+	/**
+	 * Temp directory for generated .java files
+	 */
+	public File tempJavaFileDir;
+
+	/**
+	 * Temp directory for generated .class files
+	 */
+	public File tempClassFileDir;
+
+	/**
+	 * The SimulaScanner used by Parse.
+	 */
+	public SimulaScanner simulaScanner;
+
+	/**
+	 * The previous Token.
+	 */
+	public Token prevToken;
+
+	/**
+	 * The current Token.
+	 */
+	public Token currentToken;
+
+	/**
+	 * The saved Token used by Parse.saveCurrentToken.
+	 */
+	public Token savedToken;
+
+	/**
+	 * Indicate that endOfFile error is given
+	 */
+	public boolean endOfFileErrorGiven;
+
+	/**
+	 * The declaration scope stack.
+	 */
+	final Stack<DeclarationScope> scopeStack = new Stack<DeclarationScope>();
+
+	/**
+	 * Current declaration scope.
+	 * Maintained during Checking and Coding
+	 */
+	DeclarationScope currentScope;
+
+	/**
+	 * Current CompileTime Block level.
+	 */
+	int currentCTBlockLevel = 3;
+
+	/**
+	 * Current RunTime Block level. Maintained during Checking.
+	 */
+	public int currentRTBlockLevel;
+
+	/**
+	 * The type text.
+	 */
+	public StandardClass typeText;
+
+	/**
+	 * The Standard Class ENVIRONMENT.
+	 */
+	public StandardClass ENVIRONMENT;
+
+	/**
+	 * The Standard Class BASICIO.
+	 */
+	public StandardClass BASICIO;
+
+	/**
+	 * The Standard Class CLASS.
+	 */
+	public StandardClass CLASS;
+
+	/**
+	 * The Standard Class Infile.
+	 */
+	public StandardClass Infile;
+
+	/**
+	 * The Standard Class Printfile.
+	 */
+	public StandardClass Printfile;
+
+	/**
+	 * Current Java output Module. Maintained by JavaModule during Java Coding
+	 */
+	public GeneratedJavaClass currentJavaModule;
+
+	/**
+	 * The set of generated Java files
+	 */
+	public Vector<GeneratedJavaClass> generatedJavaClass;
+
+	/**
+	 * Previous source line number written to the generated Java files.
+	 */
+	public int prevLineNumber;
+
+	/**
+	 * The java class map. Used by ByteCodeEngineering
+	 */
+	public Hashtable<String, JavaClassInfo> javaClassMap;
+
+	/**
+	 * Utility to help generate unique identifiers to the inspected variable.
+	 */
+	public int connectionSEQU;
+
+	/**
+	 * Utility to help generate unique identifiers to the loop variables.
+	 */
+	public int forSEQU;
+
+	/**
+	 * Number of errors reported.
+	 */
+	public int nError;
+
+	/**
+	 * Create a new CompilationContext.
+	 * <p>
+	 * The settings outputDir, extLib, packetName, keepJava and the selectors are copied.
+	 */
+	public CompilationContext() {
+		outputDir = Global.outputDir;
+		extLib = Global.extLib;
+		packetName = Global.packetName;
+		keepJava = Option.keepJava;
+		selector = SimulaScanner.selector.clone();
+	}
+
+	/**
+	 * Returns the context bound to the current thread.
+	 * <p>
+	 * If no context is bound, a new one is created and bound.
+	 *
+	 * @return the current context
+	 */
+	public static CompilationContext current() {
+		CompilationContext context = CURRENT.get();
+		if (context == null) {
+			context = new CompilationContext();
+			CURRENT.set(context);
+		}
+		return (context);
+	}
+
+	/**
+	 * Bind this context to the current thread.
+	 */
+	public void bind() {
+		CURRENT.set(this);
+	}
+
+}
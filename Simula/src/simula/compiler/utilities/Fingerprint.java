@@ -0,0 +1,142 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.compiler.utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Fingerprints of separately compiled modules.
+ * <p>
+ * The .jar file of a compiled module carries these fingerprints in its manifest, next to SIMULA-INFO:
+ * <ul>
+ * <li>SIMULA-SOURCE: The source text and the options which influence the generated code.
+ * <li>SIMULA-INTERFACE: The attribute file, i.e. the serialized BlockDeclaration of a separately
+ * compiled class or procedure, and those of its external declarations.
+ * <li>SIMULA-BUILD: The contents of the packet directory, i.e. the classes of the module, the classes
+ * of the external modules which are copied into the .jar file, and the attribute file.
+ * <li>SIMULA-DEPENDENCIES: For each external module: Its name, interface fingerprint and build
+ * fingerprint, e.g. "pa:3f..:a1.. pb:..".
+ * </ul>
+ * The build driver uses them to skip a module when nothing it depends on has changed, see
+ * {@link simula.compiler.BuildDriver}. Each fingerprint is a SHA-256 digest in hexadecimal.
+ * <p>
+ * Link to GitHub: <a href=
+ * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/compiler/utilities/Fingerprint.java"><b>Source File</b></a>.
+ */
+public final class Fingerprint {
+
+	/** The manifest attribute holding the source fingerprint. */
+	public static final String SOURCE = "SIMULA-SOURCE";
+
+	/** The manifest attribute holding the interface fingerprint. */
+	public static final String INTERFACE = "SIMULA-INTERFACE";
+
+	/** The manifest attribute holding the build fingerprint. */
+	public static final String BUILD = "SIMULA-BUILD";
+
+	/** The manifest attribute holding the fingerprints of the external modules. */
+	public static final String DEPENDENCIES = "SIMULA-DEPENDENCIES";
+
+	/**
+	 * Default constructor.
+	 */
+	private Fingerprint() {
+	}
+
+	/**
+	 * Returns a new SHA-256 message digest.
+	 * @return a new message digest
+	 */
+	private static MessageDigest newDigest() {
+		try {
+			return (MessageDigest.getInstance("SHA-256"));
+		} catch (NoSuchAlgorithmException e) {
+			Util.IERR("SHA-256 is not available", e);
+			return (null);
+		}
+	}
+
+	/**
+	 * Returns the fingerprint of a byte array.
+	 * @param bytes the bytes
+	 * @return the fingerprint
+	 */
+	public static String of(final byte[] bytes) {
+		return (HexFormat.of().formatHex(newDigest().digest(bytes)));
+	}
+
+	/**
+	 * Returns the fingerprint of a source file compiled with the current options.
+	 * <p>
+	 * The options which influence the generated code, the packet name, the selectors and the
+	 * compiler release are included.
+	 * @param sourceFile the source file
+	 * @param packetName the packet name
+	 * @param selector the selectors for conditional compilation
+	 * @return the fingerprint, or null if the source file can't be read
+	 */
+	public static String ofSource(final File sourceFile, final String packetName, final boolean[] selector) {
+		try {
+			MessageDigest digest = newDigest();
+			digest.update(Files.readAllBytes(sourceFile.toPath()));
+			StringBuilder settings = new StringBuilder();
+			settings.append(Global.simulaReleaseID).append(';').append(packetName).append(';')
+					.append(Option.CaseSensitive).append(Option.EXTENSIONS).append(Option.SPORT)
+					.append(Option.GNERATE_LINE_CALLS).append(Option.keepJava != null).append(Option.USE_FILE_CLASS_API)
+					.append(';');
+			for (int i = 0; i < selector.length; i++)
+				if (selector[i])
+					settings.append((char) i);
+			digest.update(settings.toString().getBytes(StandardCharsets.UTF_8));
+			return (HexFormat.of().formatHex(digest.digest()));
+		} catch (IOException e) {
+			return (null);
+		}
+	}
+
+	/**
+	 * Returns the fingerprint of a set of .jar file entries.
+	 * @param entries the entry names and contents, sorted by name
+	 * @return the fingerprint
+	 */
+	public static String ofEntries(final SortedMap<String, byte[]> entries) {
+		MessageDigest digest = newDigest();
+		for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+			digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(entry.getValue());
+		}
+		return (HexFormat.of().formatHex(digest.digest()));
+	}
+
+	/**
+	 * Read the manifest of a .jar file.
+	 * @param jarFile the .jar file
+	 * @return the manifest, or null if the .jar file or its manifest can't be read
+	 */
+	public static Manifest readManifest(final File jarFile) {
+		if (jarFile == null || !jarFile.exists())
+			return (null);
+		try (JarFile jar = new JarFile(jarFile)) {
+			return (jar.getManifest());
+		} catch (IOException e) {
+			return (null);
+		}
+	}
+
+}
@@ -13,12 +13,10 @@ import java.io.FileOutputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayDeque;
 import java.util.Properties;
-import java.util.Stack;
 import java.util.Vector;
 
 import javax.swing.ImageIcon;
 
-import simula.compiler.GeneratedJavaClass;
 import simula.compiler.byteCodeEngineering.JavaClassInfo;
 import simula.compiler.syntaxClass.declaration.DeclarationScope;
 import simula.compiler.syntaxClass.declaration.StandardClass;
@@ -65,41 +63,11 @@ public final class Global {
 	 */
 	public static String simulaVersion;
 	
-	/**
-	 * The set of external .jar files.
-	 */
-	public static Vector<File> externalJarFiles;
-	
 	/**
 	 * The current Charset.
 	 */
 	public static Charset _CHARSET = Charset.defaultCharset();
 
-	/**
-	 * The current source line number.
-	 */
-	public static int sourceLineNumber;
-	
-	/**
-	 * The source file's directory.
-	 */
-	public static File sourceFileDir;
-	
-	/**
-	 * The source file name.
-	 */
-	public static String sourceFileName;
-	
-	/**
-	 * The source file name without .sim
-	 */
-	public static String sourceName;
-	
-	/**
-	 * The insert name.
-	 */
-	public static String insertName;
-	
 	/**
 	 * Where to find the Simula Runtime System.
 	 */
@@ -133,64 +101,34 @@ public final class Global {
 	
 	/**
 	 * The output directory. Used by Java-Coding to save the generated .jar files.
+	 * Copied to each CompilationContext.
 	 */
 	public static File outputDir;
 	
 	/**
 	 * The external library. Used by ExternalDeclaration.readAttributeFile
+	 * Copied to each CompilationContext.
 	 */
 	public static File extLib;
 
-	/**
-	 * Compiler state: True while Parsing
-	 */
-	public static boolean duringParsing;
-
-	/**
-	 * Compiler state: True while Checking
-	 */
-	public static boolean duringChecking;
-
-	/**
-	 * Compiler state: True while generating STM code
-	 */
-	public static boolean duringSTM_Coding;
-
-	/**
-	 * The Simula temp directory
-	 */
-	public static File simulaTempDir;
-	
-	/**
-	 * Temp directory for generated .java files
-	 */
-	public static File tempJavaFileDir;
-	
-	/**
-	 * Temp directory for generated .class files
-	 */
-	public static File tempClassFileDir;
-
 	/**
 	 * Packet name used in generated .java files.
+	 * Copied to each CompilationContext.
 	 * NOTE: Must be a single identifier.
 	 */
 	public static String packetName = "simprog";
 	
 	/**
-	 * Current Java output Module. Maintained by JavaModule during Java Coding
-	 */
-	public static GeneratedJavaClass currentJavaModule;
-	
-	/**
-	 * The set of generated Java files
+	 * The console
 	 */
-	public static Vector<GeneratedJavaClass> generatedJavaClass;
+	public static ConsolePanel console;
 
 	/**
-	 * The console
+	 * True when the compiler runs as a compile daemon, see simula.compiler.CompileDaemon.
+	 * <p>
+	 * The daemon is not terminated by an internal error.
 	 */
-	public static ConsolePanel console;
+	public static boolean compileDaemon;
 
 	/**
 	 * Default constructor.
@@ -199,14 +137,16 @@ public final class Global {
 	}
 
 	/**
-	 * Initiate Global variables.
+	 * Initiate the current CompilationContext.
 	 */
 	public static void initiate() {
+		CompilationContext context = CompilationContext.current();
 		JavaClassInfo.init();
-		duringParsing = true;
-		duringChecking = false;
-		duringSTM_Coding = false;
-		externalJarFiles = new Vector<File>();
+		context.duringParsing = true;
+		context.duringChecking = false;
+		context.duringSTM_Coding = false;
+		context.externalJarFiles = new Vector<File>();
+		context.dependencyFingerprints = new Vector<String>();
 		StandardClass.INITIATE();
 		String SIMULA_HOME = getSimulaProperty("simula.home", null);
 		if (SIMULA_HOME != null) {
@@ -220,24 +160,13 @@ public final class Global {
 		}
 	}
 
-	/**
-	 * The declaration scope stack.
-	 */
-	private static Stack<DeclarationScope> scopeStack = new Stack<DeclarationScope>();
-	
-	/**
-	 * Current declaration scope.
-	 * Maintained during Checking and Coding
-	 */
-	private static DeclarationScope currentScope = null; // Current Scope. Maintained during Checking and Coding
-
 	/**
 	 * Returns the current scope.
 	 * 
 	 * @return the current scope
 	 */
 	public static DeclarationScope getCurrentScope() {
-		return (currentScope);
+		return (CompilationContext.current().currentScope);
 	}
 
 	/**
@@ -246,26 +175,22 @@ public final class Global {
 	 * @param scope the new scope
 	 */
 	public static void setScope(DeclarationScope scope) {
-		currentScope = scope;
+		CompilationContext.current().currentScope = scope;
 	} // During Parsing
 
-	/**
-	 * Current CompileTime Block level.
-	 */
-	private static int currentCTBlockLevel = 3;
-
 	/**
 	 * During Checking and Coding: Enter declaration scope.
 	 * 
 	 * @param scope the new current scope
 	 */
 	public static void enterScope(DeclarationScope scope) {
-		scopeStack.push(currentScope);
-		currentScope = scope;
-		if (duringChecking) {
-			currentCTBlockLevel++;
+		CompilationContext context = CompilationContext.current();
+		context.scopeStack.push(context.currentScope);
+		context.currentScope = scope;
+		if (context.duringChecking) {
+			context.currentCTBlockLevel++;
 			if (scope.ctBlockLevel == 0) {
-				scope.ctBlockLevel = currentCTBlockLevel;
+				scope.ctBlockLevel = context.currentCTBlockLevel;
 			}
 		}
 	}
@@ -274,9 +199,10 @@ public final class Global {
 	 * During Checking and Coding: Exit declaration scope.
 	 */
 	public static void exitScope() {
-		currentScope = scopeStack.pop();
-		if (duringChecking)
-			currentCTBlockLevel--;
+		CompilationContext context = CompilationContext.current();
+		context.currentScope = context.scopeStack.pop();
+		if (context.duringChecking)
+			context.currentCTBlockLevel--;
 	}
 
 	/**
@@ -309,12 +235,20 @@ public final class Global {
 	 * @param dir a directory
 	 */
 	public static void trySetOutputDir(File dir) {
+		Global.outputDir = getWritableDir(dir);
+	}
+
+	/**
+	 * Returns the given directory if it can be written, otherwise a temp directory.
+	 * 
+	 * @param dir a directory
+	 * @return a writable directory
+	 */
+	public static File getWritableDir(File dir) {
 		dir.mkdirs();
 		if (dir.canWrite())
-			Global.outputDir = dir;
-		else {
-			Global.outputDir = getTempFileDir("simulaEditor/bin");
-		}
+			return (dir);
+		return (getTempFileDir("simulaEditor/bin"));
 	}
 
 	/**
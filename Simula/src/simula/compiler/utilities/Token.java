@@ -39,11 +39,6 @@ public final class Token implements Externalizable {
 	 */
 	public int lineNumber;
 
-	/**
-	 * The line number before scan basic.
-	 */
-	public static int lineNumberBeforeScanBasic;
-
 	/**
 	 * The style codes used by Simula Editor.
 	 */
@@ -69,7 +64,7 @@ public final class Token implements Externalizable {
 		this.text = text;
 		this.keyWord = keyWord;
 		this.value = value;
-		this.lineNumber = lineNumberBeforeScanBasic;
+		this.lineNumber = CompilationContext.current().lineNumberBeforeScanBasic;
 	}
 
 	/**
@@ -68,18 +68,13 @@ public final class Util {
 		return (answer);
 	}
 
-	/**
-	 * Number of error messages.
-	 */
-	public static int nError;
-
 	/**
 	 * Print a error message.
 	 * @param msg the message
 	 */
 	public static void error(final String msg) {
 		String err = edLINE(": Error: " + msg);
-		nError++;
+		CompilationContext.current().nError++;
 		printError(err);
 	}
 
@@ -89,7 +84,7 @@ public final class Util {
 	 */
 	public static void IERR(final String msg) {
 		String err = edLINE(": Internal error - " + msg);
-		nError++;
+		CompilationContext.current().nError++;
 		printError(err);
 		Thread.dumpStack();
 		FORCED_EXIT();
@@ -100,7 +95,7 @@ public final class Util {
 	 */
 	private static void FORCED_EXIT() {
 		System.out.println("FORCED EXIT");
-		if (Global.console == null) System.exit(-1);
+		if (Global.console == null && !Global.compileDaemon) System.exit(-1);
 	}
 
 	/**
@@ -110,7 +105,7 @@ public final class Util {
 	 */
 	public static void IERR(final String msg,final Throwable e) {
 		String err = edLINE(": Internal error - " + msg +"  "+ e);
-		nError++;
+		CompilationContext.current().nError++;
 		printError(err);
 		e.printStackTrace();
 		FORCED_EXIT();
@@ -133,8 +128,8 @@ public final class Util {
 	 * @return the resulting string
 	 */
 	private static String edLINE(String s) {		
-		String line = "LINE " + Global.sourceLineNumber + s;
-		if(Global.insertName!=null) line = Global.insertName + ':' + line;
+		String line = "LINE " + CompilationContext.current().sourceLineNumber + s;
+		if(CompilationContext.current().insertName!=null) line = CompilationContext.current().insertName + ':' + line;
 		return(line);
 	}
 
@@ -144,7 +139,7 @@ public final class Util {
 	 */
 	public static void TRACE(final String msg) {
 		if (Option.TRACING)
-			println("TRACE " + Global.sourceLineNumber + ": " + msg);
+			println("TRACE " + CompilationContext.current().sourceLineNumber + ": " + msg);
 	}
 
 	/**
@@ -563,7 +563,7 @@ public class EditorMenues extends JMenuBar {
 			Util.ASSERT(SimulaEditor.current!=null,"EditorMenues.doRunAction: Invariant-1");
 			String text=SimulaEditor.current.editTextPane.getText();
 			StringReader reader=new StringReader(text);
-			String name=(file!=null)?file.getPath():Global.tempJavaFileDir+"/unnamed.sim";
+			String name=(file!=null)?file.getPath():Global.getTempFileDir("simula/tmp/")+"/unnamed.sim";
 			if(file!=null) Option.RUNTIME_USER_DIR=Global.currentWorkspace.toString();
 			new Thread(new Runnable() {
 				public void run() {
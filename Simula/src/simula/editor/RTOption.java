@@ -35,6 +35,12 @@ public final class RTOption {
 	/** Runtime Option */ public static boolean GOTO_TRACING = false;// true;
 	/** Runtime Option */ public static boolean QPS_TRACING = false; // true;
 	/** Runtime Option */ public static boolean SML_TRACING = false; // true;
+	/** Runtime Option */ public static boolean DIRECT_HANDOFF = false; // true;
+	/** Runtime Option */ public static String SEQUENCING_SET; // tree, calendar or heap
+	/** Runtime Option */ public static String TRACE_FILE;
+	/** Runtime Option */ public static boolean MAPPED_DIRECTFILES = false; // true;
+	/** Runtime Option */ public static int DIRECTFILE_CACHE = 0; // Number of blocks
+	/** Runtime Option */ public static boolean WRITE_BEHIND = false; // true;
 	/** Runtime Option */ public static String SPORT_SOURCE_FILE;
 
 	/**
@@ -52,6 +58,12 @@ public final class RTOption {
 		RTOption.GOTO_TRACING = false;
 		RTOption.QPS_TRACING = false;
 		RTOption.SML_TRACING = false;
+		RTOption.DIRECT_HANDOFF = false;
+		RTOption.SEQUENCING_SET = null;
+		RTOption.TRACE_FILE = null;
+		RTOption.MAPPED_DIRECTFILES = false;
+		RTOption.DIRECTFILE_CACHE = 0;
+		RTOption.WRITE_BEHIND = false;
 		RTOption.SPORT_SOURCE_FILE = null;
 	}
 
@@ -66,6 +78,21 @@ public final class RTOption {
 		if(RTOption.GOTO_TRACING) args.add("-gotoTracing");
 		if(RTOption.QPS_TRACING) args.add("-qpsTracing");
 		if(RTOption.SML_TRACING) args.add("-smlTracing");
+		if(RTOption.DIRECT_HANDOFF) args.add("-directHandoff");
+		if(RTOption.SEQUENCING_SET!=null) {
+			args.add("-sequencingSet");
+			args.add(SEQUENCING_SET);
+		}
+		if(RTOption.TRACE_FILE!=null) {
+			args.add("-traceFile");
+			args.add(TRACE_FILE);
+		}
+		if(RTOption.MAPPED_DIRECTFILES) args.add("-mappedDirectfiles");
+		if(RTOption.DIRECTFILE_CACHE>0) {
+			args.add("-directfileCache");
+			args.add(""+DIRECTFILE_CACHE);
+		}
+		if(RTOption.WRITE_BEHIND) args.add("-writeBehind");
 		if(RTOption.SPORT_SOURCE_FILE!=null) {
 			args.add("-SPORT_SOURCE_FILE");
 			args.add(SPORT_SOURCE_FILE);
@@ -84,6 +111,9 @@ public final class RTOption {
         panel.add(checkBox("GOTO_TRACING"));
         panel.add(checkBox("QPS_TRACING"));
         panel.add(checkBox("SML_TRACING"));
+        panel.add(checkBox("DIRECT_HANDOFF"));
+        panel.add(checkBox("MAPPED_DIRECTFILES"));
+        panel.add(checkBox("WRITE_BEHIND"));
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
 		Util.optionDialog(panel,"Select Runtime Options",JOptionPane.OK_OPTION, JOptionPane.INFORMATION_MESSAGE,"Ok");
     }
@@ -116,6 +146,9 @@ public final class RTOption {
 		if(id.equalsIgnoreCase("GOTO_TRACING")) return(GOTO_TRACING); 
 		if(id.equalsIgnoreCase("QPS_TRACING")) return(QPS_TRACING); 
 		if(id.equalsIgnoreCase("SML_TRACING")) return(SML_TRACING); 
+		if(id.equalsIgnoreCase("DIRECT_HANDOFF")) return(DIRECT_HANDOFF); 
+		if(id.equalsIgnoreCase("MAPPED_DIRECTFILES")) return(MAPPED_DIRECTFILES); 
+		if(id.equalsIgnoreCase("WRITE_BEHIND")) return(WRITE_BEHIND); 
 		return(false);
 	}
 
@@ -131,6 +164,9 @@ public final class RTOption {
 		if(id.equalsIgnoreCase("GOTO_TRACING")) GOTO_TRACING=val; 
 		if(id.equalsIgnoreCase("QPS_TRACING")) QPS_TRACING=val; 
 		if(id.equalsIgnoreCase("SML_TRACING")) SML_TRACING=val; 
+		if(id.equalsIgnoreCase("DIRECT_HANDOFF")) DIRECT_HANDOFF=val; 
+		if(id.equalsIgnoreCase("MAPPED_DIRECTFILES")) MAPPED_DIRECTFILES=val; 
+		if(id.equalsIgnoreCase("WRITE_BEHIND")) WRITE_BEHIND=val; 
 	}
 
 }
\ No newline at end of file
@@ -113,6 +113,8 @@ public abstract class RTS_ARRAY {
 
 	/**
 	 * General method to calculate index to the ELT array.
+	 * <p>
+	 * Arrays of one to three dimensions are indexed by the fixed-arity methods below.
 	 * @param x the indicies
 	 * @return the calculated index
 	 */
@@ -120,13 +122,76 @@ public abstract class RTS_ARRAY {
 		int idx = 0;
 		for (int k = 0; k < x.length; k++) {
 			if (x[k] < lowerBound(k) || x[k] > upperBound(k))
-				throw new RTS_SimulaRuntimeError(
-						"Array index(" + (k + 1) + ") = " + x[k] + " is outside bounds " + BOUNDS[k]);
+				throw indexError(k, x[k]);
 			idx = idx + (x[k] * DOPE[k]);
 		}
 		return (idx - BASE);
 	}
 
+	/**
+	 * Calculate index to the ELT array of a one-dimensional array.
+	 * <p>
+	 * Java binds A.index(i) to this method, no index array is allocated.
+	 * @param i the index
+	 * @return the calculated index
+	 */
+	public int index(final int i) {
+		int x = i - BOUNDS[0].LB;
+		if (x < 0 || x >= BOUNDS[0].SIZE)
+			throw indexError(0, i);
+		return (x);
+	}
+
+	/**
+	 * Calculate index to the ELT array of a two-dimensional array.
+	 * <p>
+	 * Java binds A.index(i,j) to this method, no index array is allocated.
+	 * @param i the first index
+	 * @param j the second index
+	 * @return the calculated index
+	 */
+	public int index(final int i, final int j) {
+		int x = i - BOUNDS[0].LB;
+		if (x < 0 || x >= BOUNDS[0].SIZE)
+			throw indexError(0, i);
+		int y = j - BOUNDS[1].LB;
+		if (y < 0 || y >= BOUNDS[1].SIZE)
+			throw indexError(1, j);
+		return (x + y * DOPE[1]);
+	}
+
+	/**
+	 * Calculate index to the ELT array of a three-dimensional array.
+	 * <p>
+	 * Java binds A.index(i,j,k) to this method, no index array is allocated.
+	 * @param i the first index
+	 * @param j the second index
+	 * @param k the third index
+	 * @return the calculated index
+	 */
+	public int index(final int i, final int j, final int k) {
+		int x = i - BOUNDS[0].LB;
+		if (x < 0 || x >= BOUNDS[0].SIZE)
+			throw indexError(0, i);
+		int y = j - BOUNDS[1].LB;
+		if (y < 0 || y >= BOUNDS[1].SIZE)
+			throw indexError(1, j);
+		int z = k - BOUNDS[2].LB;
+		if (z < 0 || z >= BOUNDS[2].SIZE)
+			throw indexError(2, k);
+		return (x + y * DOPE[1] + z * DOPE[2]);
+	}
+
+	/**
+	 * Utility: Create the error thrown when an index is outside bounds.
+	 * @param k the dimension, starting at zero
+	 * @param x the index
+	 * @return the error to throw
+	 */
+	private RTS_SimulaRuntimeError indexError(final int k, final int x) {
+		return (new RTS_SimulaRuntimeError("Array index(" + (k + 1) + ") = " + x + " is outside bounds " + BOUNDS[k]));
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 */
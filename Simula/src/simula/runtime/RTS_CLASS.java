@@ -66,7 +66,7 @@ public abstract class RTS_CLASS extends RTS_BASICIO implements Runnable {
 		// Using Thread or Virtual Thread
 		this._CORUT = new RTS_Coroutine(this);
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE("START " + this.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.START, this, 0, () -> "START " + this.edObjectIdent());
 		swapCoroutines();
 	}
 
@@ -10,6 +10,8 @@ package simula.runtime;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.nio.charset.Charset;
+import java.util.function.Supplier;
+
 import javax.swing.JOptionPane;
 
 /**
@@ -98,6 +100,43 @@ public final class RTS_COMMON {
 		 */
 		public static boolean SML_TRACING = false;
 		
+		/**
+		 * Switch coroutines by a direct park/unpark hand-off instead of Semaphores.
+		 * Default: false.
+		 */
+		public static boolean DIRECT_HANDOFF = false;
+		
+		/**
+		 * The sequencing set implementation used by class Simulation: tree, calendar or heap.
+		 * Default: tree.
+		 */
+		public static String SEQUENCING_SET = "tree";
+		
+		/**
+		 * Debug: Record trace events in a binary ring buffer which is written to this file
+		 * when the program terminates, see RTS_TraceBuffer.
+		 * Default: null, trace events are edited and printed.
+		 */
+		public static String TRACE_FILE = null;
+		
+		/**
+		 * Memory map Directfiles and Directbytefiles, see RTS_MappedFile.
+		 * Default: false.
+		 */
+		public static boolean MAPPED_DIRECTFILES = false;
+		
+		/**
+		 * The number of blocks in the record cache of each Directfile, see RTS_RecordCache.
+		 * Default: 0, the records are not cached.
+		 */
+		public static int DIRECTFILE_CACHE = 0;
+		
+		/**
+		 * Write Outfiles and Printfile sysout by a writer thread, see RTS_WriteBehind.
+		 * Default: false.
+		 */
+		public static boolean WRITE_BEHIND = false;
+		
 		/**
 		 * Specify where Simula files (Outfile, Infile, ...) are written and read.
 		 * Default: User working directory. System.property("user.dir")
@@ -313,6 +352,23 @@ public final class RTS_COMMON {
 					RTS_COMMON.Option.QPS_TRACING = true;
 				else if (arg.equalsIgnoreCase("-smlTracing"))
 					RTS_COMMON.Option.SML_TRACING = true;
+				else if (arg.equalsIgnoreCase("-directHandoff"))
+					RTS_COMMON.Option.DIRECT_HANDOFF = true;
+				else if (arg.equalsIgnoreCase("-sequencingSet")) {
+					String name = args[++i].toLowerCase();
+					if (name.equals("tree") || name.equals("calendar") || name.equals("heap"))
+						RTS_COMMON.Option.SEQUENCING_SET = name;
+					else
+						error("Unknown sequencing set " + args[i] + ", expected tree, calendar or heap");
+				}
+				else if (arg.equalsIgnoreCase("-traceFile"))
+					RTS_COMMON.Option.TRACE_FILE = args[++i];
+				else if (arg.equalsIgnoreCase("-mappedDirectfiles"))
+					RTS_COMMON.Option.MAPPED_DIRECTFILES = true;
+				else if (arg.equalsIgnoreCase("-directfileCache"))
+					RTS_COMMON.Option.DIRECTFILE_CACHE = Integer.parseInt(args[++i]);
+				else if (arg.equalsIgnoreCase("-writeBehind"))
+					RTS_COMMON.Option.WRITE_BEHIND = true;
 				else if (arg.equalsIgnoreCase("-userDir"))
 					RTS_COMMON.Option.RUNTIME_USER_DIR = args[++i];
 
@@ -335,12 +391,42 @@ public final class RTS_COMMON {
 					error("multiple input files specified");
 			}
 		}
+		if (Option.DIRECT_HANDOFF && System.getProperty("jdk.virtualThreadScheduler.parallelism") == null) {
+			// Only one coroutine is running at a time; a single carrier thread avoids cross-core hand-offs.
+			System.setProperty("jdk.virtualThreadScheduler.parallelism", "1");
+		}
+		if (Option.TRACE_FILE != null)
+			RTS_TraceBuffer.open(Option.TRACE_FILE);
 		if (Option.VERBOSE) {
 			RTS_COMMON.println("Begin Execution of Simula Program using " + getJavaID());
 			listRuntimeOptions();
 		}
 	}
 
+	/**
+	 * Run the main program.
+	 * <p>
+	 * With the option -directHandoff the main program is run in a virtual thread
+	 * too. Every coroutine switch is then a hand-off between virtual threads.
+	 * @param program the main program
+	 */
+	public static void runMainProgram(final Runnable program) {
+		if (!Option.DIRECT_HANDOFF) {
+			program.run();
+			return;
+		}
+		// Until BPRG sets its own handler, fail the same way as the main Thread would.
+		Thread mainProgram = Thread.ofVirtual().uncaughtExceptionHandler((thread, e) -> {
+			e.printStackTrace();
+			System.exit(1);
+		}).start(program);
+		try {
+			mainProgram.join();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+	}
+
 	/**
 	 * Print synopsis of standard options
 	 */
@@ -355,6 +441,14 @@ public final class RTS_COMMON {
 				+ "  -gotoTracing          Debug: Trace goto statements\n"
 				+ "  -qpsTracing           Debug: Trace detach, resume and call\n"
 				+ "  -smlTracing           Debug: Trace Simulation events\n"
+				+ "  -directHandoff        Switch coroutines by direct park/unpark instead of Semaphores\n"
+				+ "  -sequencingSet <name> Select the Simulation sequencing set: tree, calendar or heap\n"
+				+ "                        Default: tree\n"
+				+ "  -traceFile <file>     Debug: Record trace events in a binary ring buffer written to <file>\n"
+				+ "  -mappedDirectfiles    Memory map Directfiles and Directbytefiles\n"
+				+ "  -directfileCache <n>  Cache the records of each Directfile in <n> blocks of about 4 KB\n"
+				+ "                        Default: 0, no cache\n"
+				+ "  -writeBehind          Write Outfiles and sysout by a writer thread\n"
 				+ "  -userDir <directory>  Specify where Simula files (Outfile, Infile, ...) are written and read\n"
 				+ "                        Default: User working directory. System.property(\"user.dir\")\n" + "");
 		System.exit(0);
@@ -406,6 +500,12 @@ public final class RTS_COMMON {
 		System.out.println("gotoTracing=" + Option.GOTO_TRACING);
 		System.out.println("qpsTracing=" + Option.QPS_TRACING);
 		System.out.println("smlTracing=" + Option.SML_TRACING);
+		System.out.println("directHandoff=" + Option.DIRECT_HANDOFF);
+		System.out.println("sequencingSet=" + Option.SEQUENCING_SET);
+		System.out.println("traceFile=" + Option.TRACE_FILE);
+		System.out.println("mappedDirectfiles=" + Option.MAPPED_DIRECTFILES);
+		System.out.println("directfileCache=" + Option.DIRECTFILE_CACHE);
+		System.out.println("writeBehind=" + Option.WRITE_BEHIND);
 		System.out.println("userDir=" + Option.RUNTIME_USER_DIR);
 	}
 
@@ -425,6 +525,7 @@ public final class RTS_COMMON {
 	 * @param msg the message to print
 	 */
 	static void printError(final String msg) {
+		RTS_WriteBehind.drainAll();
 		if (console != null)
 			console.writeError(msg + '\n');
 		else
@@ -450,6 +551,23 @@ public final class RTS_COMMON {
 		println(Thread.currentThread().toString() + ": " + msg);
 	}
 
+	/**
+	 * Utility: Trace an event.
+	 * <p>
+	 * Only called when the corresponding tracing option is on. If the trace buffer is enabled,
+	 * the event is recorded and the message is never edited. Otherwise the message is printed.
+	 * @param event the event, see RTS_TraceBuffer
+	 * @param obj the object concerned, or null
+	 * @param value the source line or zero
+	 * @param msg supplier of the trace message
+	 */
+	static void TRACE(final int event, final RTS_RTObject obj, final double value, final Supplier<String> msg) {
+		if (RTS_TraceBuffer.enabled())
+			RTS_TraceBuffer.record(event, obj, value);
+		else
+			TRACE(msg.get());
+	}
+
 	/**
 	 * Utility: Internal error.
 	 * @param msg an error message
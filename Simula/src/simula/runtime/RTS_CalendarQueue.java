@@ -0,0 +1,334 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Utility class CalendarQueue.
+ * <p>
+ * A sequencing set implemented as a calendar queue (R. Brown, CACM 31(10), 1988).
+ * <p>
+ * The event notices are kept in an array of buckets, each bucket is a sorted doubly linked list.
+ * An event notice with EVTIME t is placed in the bucket (t / width) modulo the number of buckets.
+ * The number of buckets is doubled or halved as the size of the set changes, and the bucket width is
+ * then recalculated from the separation of the first event notices.
+ * <p>
+ * Event notices with the same EVTIME are always in the same bucket, which makes 'follow' and 'precede'
+ * simple list operations.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_CalendarQueue.java"><b>Source File</b></a>.
+ */
+public final class RTS_CalendarQueue implements RTS_SequencingSet {
+
+	/**
+	 * The minimum number of buckets.
+	 */
+	private static final int MIN_BUCKETS = 2;
+
+	/**
+	 * The number of event notices sampled to calculate a new bucket width.
+	 */
+	private static final int WIDTH_SAMPLE = 25;
+
+	/**
+	 * Comparator used when the buckets are rebuilt.
+	 */
+	private static final Comparator<RTS_EVENT_NOTICE> RANK_ORDER = (a, b) -> Double.compare(a.rnk, b.rnk);
+
+	/**
+	 * The buckets. The length is a power of two.
+	 */
+	private RTS_EVENT_NOTICE[] bucket;
+
+	/**
+	 * bucket.length - 1
+	 */
+	private int mask;
+
+	/**
+	 * The bucket width.
+	 */
+	private double width;
+
+	/**
+	 * The number of event notices in this set.
+	 */
+	private int size;
+
+	/**
+	 * The first event notice, valid when 'firstValid' is true.
+	 */
+	private RTS_EVENT_NOTICE first;
+
+	/**
+	 * Signals that 'first' is valid.
+	 */
+	private boolean firstValid;
+
+	/**
+	 * A lower bound of the EVTIME of all members.
+	 */
+	private double lowBound;
+
+	/**
+	 * Create a new, empty CalendarQueue.
+	 */
+	public RTS_CalendarQueue() {
+		bucket = new RTS_EVENT_NOTICE[MIN_BUCKETS];
+		mask = MIN_BUCKETS - 1;
+		width = 1.0;
+		firstValid = true;
+	}
+
+	@Override
+	public RTS_EVENT_NOTICE first() {
+		if (!firstValid) {
+			first = search(lowBound, null);
+			firstValid = true;
+			if (first != null)
+				lowBound = first.rnk;
+		}
+		return (first);
+	}
+
+	@Override
+	public boolean empty() {
+		return (size == 0);
+	}
+
+	@Override
+	public RTS_EVENT_NOTICE suc(RTS_EVENT_NOTICE ev) {
+		RTS_EVENT_NOTICE nxt = ev.next;
+		if (nxt != null && nxt.rnk == ev.rnk)
+			return (nxt);
+		return (search(ev.rnk, ev));
+	}
+
+	@Override
+	public void into(RTS_EVENT_NOTICE ev, double time) {
+		out(ev);
+		ev.rnk = time;
+		int index = index(time);
+		RTS_EVENT_NOTICE prd = null;
+		RTS_EVENT_NOTICE nxt = bucket[index];
+		while (nxt != null && nxt.rnk <= time) {
+			prd = nxt;
+			nxt = nxt.next;
+		}
+		link(ev, index, prd, nxt);
+		if (firstValid && (first == null || time < first.rnk))
+			first = ev;
+		added(time);
+	}
+
+	@Override
+	public void intoPrior(RTS_EVENT_NOTICE ev, double time) {
+		out(ev);
+		ev.rnk = time;
+		int index = index(time);
+		RTS_EVENT_NOTICE prd = null;
+		RTS_EVENT_NOTICE nxt = bucket[index];
+		while (nxt != null && nxt.rnk < time) {
+			prd = nxt;
+			nxt = nxt.next;
+		}
+		link(ev, index, prd, nxt);
+		if (firstValid && (first == null || time <= first.rnk))
+			first = ev;
+		added(time);
+	}
+
+	@Override
+	public void follow(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE prd) {
+		out(ins);
+		ins.rnk = prd.rnk;
+		link(ins, index(prd.rnk), prd, prd.next);
+		added(prd.rnk);
+	}
+
+	@Override
+	public void precede(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE suc) {
+		out(ins);
+		ins.rnk = suc.rnk;
+		link(ins, index(suc.rnk), suc.prev, suc);
+		if (firstValid && first == suc)
+			first = ins;
+		added(suc.rnk);
+	}
+
+	@Override
+	public void out(RTS_EVENT_NOTICE ev) {
+		if (!ev.member)
+			return;
+		if (ev.prev != null)
+			ev.prev.next = ev.next;
+		else
+			bucket[index(ev.rnk)] = ev.next;
+		if (ev.next != null)
+			ev.next.prev = ev.prev;
+		ev.prev = null;
+		ev.next = null;
+		ev.member = false;
+		if (ev == first) {
+			first = null;
+			firstValid = (size == 1);
+		}
+		size--;
+		if (size < (bucket.length >> 1) && bucket.length > MIN_BUCKETS)
+			resize(bucket.length >> 1);
+	}
+
+	/**
+	 * Utility: Link 'ev' into the given bucket between 'prd' and 'nxt'.
+	 * @param ev the event notice
+	 * @param index the bucket index
+	 * @param prd the predecessor or null
+	 * @param nxt the successor or null
+	 */
+	private void link(final RTS_EVENT_NOTICE ev, final int index, final RTS_EVENT_NOTICE prd, final RTS_EVENT_NOTICE nxt) {
+		ev.prev = prd;
+		ev.next = nxt;
+		if (prd != null)
+			prd.next = ev;
+		else
+			bucket[index] = ev;
+		if (nxt != null)
+			nxt.prev = ev;
+		ev.member = true;
+	}
+
+	/**
+	 * Utility: Update size and lower bound after an insertion.
+	 * @param time the EVTIME of the new member
+	 */
+	private void added(final double time) {
+		if (size++ == 0 || time < lowBound)
+			lowBound = time;
+		if (size > (bucket.length << 1))
+			resize(bucket.length << 1);
+	}
+
+	/**
+	 * Utility: Returns the calendar window of the given time.
+	 * @param time the time
+	 * @return the calendar window
+	 */
+	private long window(final double time) {
+		return ((long) Math.floor(time / width));
+	}
+
+	/**
+	 * Utility: Returns the bucket index of the given time.
+	 * @param time the time
+	 * @return the bucket index
+	 */
+	private int index(final double time) {
+		return ((int) window(time) & mask);
+	}
+
+	/**
+	 * Utility: Search for the first member after 'ev', or the first member if 'ev' is null.
+	 * <p>
+	 * All members after 'ev' have EVTIME greater than 'from', or at least 'from' if 'ev' is null.
+	 * One year of windows is scanned starting at the window of 'from'. If nothing is found
+	 * the heads of all buckets are examined.
+	 * @param from the lower bound of EVTIME
+	 * @param ev the member to start after, or null
+	 * @return the member found, or null
+	 */
+	private RTS_EVENT_NOTICE search(final double from, final RTS_EVENT_NOTICE ev) {
+		if (size == 0)
+			return (null);
+		long w = window(from);
+		for (int i = 0; i < bucket.length; i++) {
+			RTS_EVENT_NOTICE x = candidate(bucket[(int) (w + i) & mask], from, ev);
+			if (x != null && window(x.rnk) == w + i)
+				return (x);
+		}
+		RTS_EVENT_NOTICE best = null;
+		for (RTS_EVENT_NOTICE head : bucket) {
+			RTS_EVENT_NOTICE x = candidate(head, from, ev);
+			if (x != null && (best == null || x.rnk < best.rnk))
+				best = x;
+		}
+		return (best);
+	}
+
+	/**
+	 * Utility: Returns the first event notice in a bucket that may follow 'ev'.
+	 * @param head the head of the bucket
+	 * @param from the lower bound of EVTIME
+	 * @param ev the member to start after, or null
+	 * @return the candidate, or null
+	 */
+	private static RTS_EVENT_NOTICE candidate(RTS_EVENT_NOTICE head, final double from, final RTS_EVENT_NOTICE ev) {
+		if (ev == null) {
+			while (head != null && head.rnk < from)
+				head = head.next;
+		} else {
+			while (head != null && head.rnk <= from)
+				head = head.next;
+		}
+		return (head);
+	}
+
+	/**
+	 * Utility: Rebuild the calendar with a new number of buckets and a new bucket width.
+	 * @param nBuckets the new number of buckets
+	 */
+	private void resize(final int nBuckets) {
+		RTS_EVENT_NOTICE[] all = new RTS_EVENT_NOTICE[size];
+		int n = 0;
+		for (RTS_EVENT_NOTICE x : bucket)
+			for (; x != null; x = x.next)
+				all[n++] = x;
+		// Stable sort: Event notices with equal EVTIME keep their order.
+		Arrays.sort(all, RANK_ORDER);
+
+		// New width: Three times the average separation of the first event notices,
+		// not counting separations larger than twice the average.
+		int k = Math.min(n, WIDTH_SAMPLE);
+		if (k > 1) {
+			double avg = (all[k - 1].rnk - all[0].rnk) / (k - 1);
+			double sum = 0;
+			int count = 0;
+			for (int i = 1; i < k; i++) {
+				double sep = all[i].rnk - all[i - 1].rnk;
+				if (sep <= 2 * avg) {
+					sum += sep;
+					count++;
+				}
+			}
+			double w = (count > 0) ? 3.0 * sum / count : 0;
+			if (w > 0 && !Double.isInfinite(w))
+				width = w;
+		}
+		bucket = new RTS_EVENT_NOTICE[nBuckets];
+		mask = nBuckets - 1;
+		RTS_EVENT_NOTICE[] tail = new RTS_EVENT_NOTICE[nBuckets];
+		for (int i = 0; i < n; i++) {
+			RTS_EVENT_NOTICE x = all[i];
+			int index = index(x.rnk);
+			x.next = null;
+			x.prev = tail[index];
+			if (x.prev != null)
+				x.prev.next = x;
+			else
+				bucket[index] = x;
+			tail[index] = x;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return ("CalendarQueue size=" + size + ", buckets=" + bucket.length + ", width=" + width);
+	}
+
+}
@@ -8,11 +8,13 @@
 package simula.runtime;
 
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Utility class Coroutine.
  *  <pre>
  *  Implementing Coroutines using Virtual Threads and Semaphores
+ *  or, with the runtime option -directHandoff, a direct park/unpark hand-off.
  *
  *  public class Coroutine implements Runnable {
  *      public Coroutine(Runnable target)
@@ -72,6 +74,21 @@ public class RTS_Coroutine implements Runnable {
 	 * Semaphore used to suspend/resume this coroutine's Thread
 	 */
 	private Semaphore semaphore = new Semaphore(0);
+
+	/**
+	 * The Thread running the main program. Used by the direct hand-off.
+	 */
+	private static Thread mainThread;
+
+	/**
+	 * Direct hand-off: Set when the main program Thread is released.
+	 */
+	private static volatile boolean mainReleased;
+
+	/**
+	 * Direct hand-off: Set when this coroutine's Thread is released.
+	 */
+	private volatile boolean released;
 	
 	/**
 	 * Used to propagate exceptions to caller.
@@ -131,6 +148,8 @@ public class RTS_Coroutine implements Runnable {
 			caller = current;
 		current = this;
 		callerThread = Thread.currentThread();
+		if (caller == null)
+			mainThread = callerThread;
 		if (targetThread == callerThread)
 			throw new IllegalStateException(this.toString() + ".run: Coroutine is already running");
 		if (targetThread == null) { // START VIRTUAL THREAD
@@ -176,13 +195,25 @@ public class RTS_Coroutine implements Runnable {
 	 * @param coroutine the given Coroutine
 	 */
 	private static void suspend(RTS_Coroutine coroutine) {
-		Semaphore semaphore = (coroutine == null) ? RTS_Coroutine.mainSemaphore : coroutine.semaphore;
-		try {
-			semaphore.acquire();
-		} catch (InterruptedException e) {
-			e.printStackTrace();
+		if (RTS_COMMON.Option.DIRECT_HANDOFF) {
+			if (coroutine == null) {
+				while (!mainReleased)
+					LockSupport.park();
+				mainReleased = false;
+			} else {
+				while (!coroutine.released)
+					LockSupport.park(coroutine);
+				coroutine.released = false;
+			}
+		} else {
+			Semaphore semaphore = (coroutine == null) ? RTS_Coroutine.mainSemaphore : coroutine.semaphore;
+			try {
+				semaphore.acquire();
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
 		}
-		// Continue here when the semaphore is released by 'resume'
+		// Continue here when released by 'resume'
 		if (_PENDING_EXCEPTION != null) {
 			RuntimeException t = _PENDING_EXCEPTION;
 			_PENDING_EXCEPTION = null;
@@ -198,8 +229,19 @@ public class RTS_Coroutine implements Runnable {
 	 * @param coroutine the given Coroutine
 	 */
 	private static void resume(RTS_Coroutine coroutine) {
-		Semaphore semaphore = (coroutine == null) ? RTS_Coroutine.mainSemaphore : coroutine.semaphore;
-		semaphore.release();
+		if (RTS_COMMON.Option.DIRECT_HANDOFF) {
+			// Set the flag before unpark, a wakeup that arrives early is then never lost.
+			if (coroutine == null) {
+				mainReleased = true;
+				LockSupport.unpark(mainThread);
+			} else {
+				coroutine.released = true;
+				LockSupport.unpark(coroutine.targetThread);
+			}
+		} else {
+			Semaphore semaphore = (coroutine == null) ? RTS_Coroutine.mainSemaphore : coroutine.semaphore;
+			semaphore.release();
+		}
 	}
 
 	@Override
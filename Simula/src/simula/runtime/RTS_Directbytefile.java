@@ -46,6 +46,12 @@ import java.nio.channels.FileLock;
  * <p>
  * In this implementation LOC is maintained by the underlying file system.
  * <p>
+ * With the runtime option -mappedDirectfiles the file is memory mapped, see {@link RTS_MappedFile}.
+ * Then LOC is maintained here, and "inbyte", "outbyte", "intext" and "outtext" transfer the bytes
+ * directly to or from the mapping without any system call.
+ * As for Directfile, a file opened with access mode PURGE is not mapped, and a file which is
+ * purged after it is mapped is deleted without being truncated first.
+ * <p>
  * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Directbytefile.java"><b>Source File</b></a>.
  * 
  * @author SIMULA Standards Group
@@ -76,6 +82,16 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	 * The RandomAccessFile used.
 	 */
 	private RandomAccessFile randomAccessFile;
+
+	/**
+	 * The memory mapping of the file, or null if the file is not memory mapped.
+	 */
+	private RTS_MappedFile mappedFile;
+
+	/**
+	 * LOC-1 when the file is memory mapped.
+	 */
+	private long position;
 	
 	/**
 	 * The FileLock
@@ -130,6 +146,8 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	public int location() {
 		if (!_OPEN)
 			return (0);
+		if (mappedFile != null)
+			return ((int) position + 1);
 		try {
 			long loc = randomAccessFile.getFilePointer();
 			return ((int) loc + 1);
@@ -188,6 +206,8 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 		_OPEN = true;
 		_BYTESIZE = _DEFAULT_BYTESIZE;
 		File file = doCreateAction();
+		RTS_Outbytefile.checkpointAll();
+		RTS_RecordCache.flushAll();
 		try {
 			String mode; // mode is one of "r", "rw", "rws", or "rwd"
 			if (_SYNCHRONOUS)
@@ -195,6 +215,9 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 			else
 				mode = (_CANREAD & !_CANWRITE) ? "r" : "rw";
 			randomAccessFile = new RandomAccessFile(file, mode);
+			if (RTS_COMMON.Option.MAPPED_DIRECTFILES && !_PURGE)
+				mappedFile = new RTS_MappedFile(randomAccessFile.getChannel(), !mode.equals("r"));
+			position = 0;
 			INITIAL_LAST_LOC = (_APPEND) ? lastloc() : -1;
 		} catch (IOException e) {
 			if(RTS_COMMON.Option.VERBOSE) e.printStackTrace();
@@ -221,8 +244,23 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 			return (false);
 		_MAXLOC = 0;
 		_OPEN = false;
+		boolean mapped = mappedFile != null;
+		boolean result = true;
+		if (mappedFile != null) {
+			try {
+				mappedFile.close();
+			} catch (RTS_SimulaRuntimeError e) {
+				if (RTS_COMMON.Option.VERBOSE)
+					e.printStackTrace();
+				result = false;
+			}
+			mappedFile = null;
+		}
 		try {
-			if (_PURGE) {
+			if (_PURGE && mapped) {
+				randomAccessFile.close();
+				doPurgeAction(); // A mapped file is not truncated, see RTS_Directfile
+			} else if (_PURGE) {
 				randomAccessFile.setLength(0);
 				randomAccessFile.close();
 				File file = new File(FILE_NAME.edText().trim());
@@ -238,7 +276,7 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 			return (false);
 		}
 		_OPEN = false;
-		return (true);
+		return (result);
 	}
 
 	/**
@@ -273,6 +311,8 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	public void locate(final int p) {
 		if (p < 1 | p > _MAXLOC)
 			throw new RTS_SimulaRuntimeError("Parameter out of range");
+		else if (mappedFile != null)
+			position = p - 1;
 		else
 			try {
 				randomAccessFile.seek(p - 1);
@@ -299,6 +339,8 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	public int lastloc() {
 		if (!_OPEN)
 			throw new RTS_SimulaRuntimeError("file closed");
+		if (mappedFile != null)
+			return ((int) mappedFile.length());
 		try {
 			// the length of this file, measured in bytes.
 			long length = randomAccessFile.length();
@@ -337,7 +379,13 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 			throw new RTS_SimulaRuntimeError("file closed");
 		// LOC is maintained by the underlying file system.
 		// if (_LOC <= lastloc())
-
+		if (mappedFile != null) {
+			int b = mappedFile.get(position);
+			if (b < 0)
+				return (0);
+			position = position + 1;
+			return (b);
+		}
 		try {
 			int b = randomAccessFile.read();
 			return (b == -1) ? 0 : b;
@@ -389,6 +437,13 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 		// else
 		// LOC is maintained by the underlying file system.
 		// if (_LOC > _MAXLOC) error("file overflow");
+		if (mappedFile != null) {
+			mappedFile.write(position, b);
+			position = position + 1;
+			if (_SYNCHRONOUS)
+				mappedFile.force();
+			return;
+		}
 		try {
 			randomAccessFile.write(b);
 		} catch (IOException e) {
@@ -414,8 +469,10 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	 */
 	public boolean checkpoint() {
 		try {
+			if (mappedFile != null)
+				mappedFile.force();
 			randomAccessFile.getChannel().force(true);
-		} catch (IOException e) {
+		} catch (IOException | RTS_SimulaRuntimeError e) {
 			if(RTS_COMMON.Option.VERBOSE) e.printStackTrace();
 			return (false);
 		}
@@ -506,6 +563,8 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 			return (-2);
 		}
 		_LOCKED = true;
+		if (mappedFile != null)
+			mappedFile.refresh(); // Another program may have changed the file
 		return (0);
 	}
 
@@ -549,11 +608,21 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	 * end intext;
 	 * </pre>
 	 * 
+	 * When the file is memory mapped the bytes are transferred from the mapping directly into the text frame.
+	 * 
 	 * @param t the argument text
 	 * @return the resulting text
 	 */
 	public RTS_TXT intext(final RTS_TXT t) {
 		RTS_TXT.setpos(t, 1);
+		if (mappedFile != null && RTS_TXT.more(t) && !endfile()) {
+			if (!_CANREAD)
+				throw new RTS_SimulaRuntimeError("Directbytefile: inbyte failed - 'canread' is false");
+			RTS_TXT.checkAssignable(t);
+			int n = mappedFile.read(position, t.OBJ.MAIN, t.START + t.POS, t.LENGTH - t.POS);
+			position = position + n;
+			t.POS = t.POS + n;
+		}
 		while (RTS_TXT.more(t) & (!endfile())) {
 			RTS_TXT.putchar(t, (char) inbyte());
 		}
@@ -573,10 +642,22 @@ public class RTS_Directbytefile extends RTS_Bytefile {
 	 * end outtext;
 	 * </pre>
 	 * 
+	 * When the file is memory mapped the characters are transferred from the text frame directly into the mapping.
+	 * 
 	 * @param t the argument text
 	 */
 	public void outtext(final RTS_TXT t) {
 		RTS_TXT.setpos(t, 1);
+		if (mappedFile != null && RTS_TXT.more(t) && _CANWRITE && _OPEN && location() > INITIAL_LAST_LOC) {
+			int n = 0; // Number of legal byte values
+			while (n < t.LENGTH && t.OBJ.MAIN[t.START + n] <= _MAXBYTE)
+				n = n + 1;
+			mappedFile.write(position, t.OBJ.MAIN, t.START, n);
+			position = position + n;
+			t.POS = n;
+			if (_SYNCHRONOUS)
+				mappedFile.force();
+		}
 		while (RTS_TXT.more(t)) {
 			outbyte((int) RTS_TXT.getchar(t));
 		}
@@ -57,6 +57,19 @@ import java.nio.channels.FileLock;
  * The variable LOC is defined to represent such ordinal numbers. When the file
  * is closed, the value of LOC is zero.
  * <p>
+ * With the runtime option -mappedDirectfiles the file is memory mapped, see {@link RTS_MappedFile}.
+ * Then "locate", "inimage", "outimage" and "deleteimage" transfer the image directly to or from
+ * the mapping, one byte per character, without any system call.
+ * A file opened with access mode PURGE is not mapped, because the mapping is only released when
+ * it is garbage collected, and a mapped file can't be truncated or deleted on all systems.
+ * If PURGE is given after the file is mapped, the file is deleted without being truncated first.
+ * Where the system can't delete it while it is mapped, e.g. on Windows, a warning is given.
+ * <p>
+ * With the runtime option -directfileCache the records are cached, see {@link RTS_RecordCache}.
+ * Then "inimage" is served from the cache, and "outimage" and "deleteimage" are written back
+ * to the file a block at a time. The cache is flushed by "close", "checkpoint" and "unlock",
+ * and emptied by "lock".
+ * <p>
  * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Directfile.java"><b>Source File</b></a>.
  * 
  * @author SIMULA Standards Group
@@ -97,6 +110,16 @@ public class RTS_Directfile extends RTS_Imagefile {
 	 * The RandomAccessFile used.
 	 */
 	private RandomAccessFile randomAccessFile;
+
+	/**
+	 * The memory mapping of the file, or null if the file is not memory mapped.
+	 */
+	private RTS_MappedFile mappedFile;
+
+	/**
+	 * The record cache of the file, or null if the records are not cached.
+	 */
+	private RTS_RecordCache cache;
 	
 	/**
 	 * The FileLock
@@ -188,6 +211,7 @@ public class RTS_Directfile extends RTS_Imagefile {
 		_OPEN = true;
 		_RECORDSIZE = RTS_TXT.length(image);
 		setpos(1);
+		RTS_RecordCache.flushAll();
 		try {
 			String mode = "rws"; // mode is one of "r", "rw", "rws", or "rwd"
 			if (_SYNCHRONOUS)
@@ -195,6 +219,10 @@ public class RTS_Directfile extends RTS_Imagefile {
 			else
 				mode = (_CANREAD & !_CANWRITE) ? "r" : "rw";
 			randomAccessFile = new RandomAccessFile(file, mode);
+			if (RTS_COMMON.Option.MAPPED_DIRECTFILES && !_PURGE)
+				mappedFile = new RTS_MappedFile(randomAccessFile.getChannel(), !mode.equals("r"));
+			else if (RTS_COMMON.Option.DIRECTFILE_CACHE > 0 && _RECORDSIZE > 0)
+				cache = new RTS_RecordCache(randomAccessFile.getChannel(), _RECORDSIZE, RTS_COMMON.Option.DIRECTFILE_CACHE);
 			if (_APPEND)
 				INITIAL_LAST_LOC = lastloc();
 		} catch (IOException e) {
@@ -230,8 +258,25 @@ public class RTS_Directfile extends RTS_Imagefile {
 			unlock();
 		_LOC = 0;
 		_MAXLOC = 0;
+		boolean mapped = mappedFile != null;
+		boolean result = true;
+		try {
+			if (mappedFile != null)
+				mappedFile.close();
+			if (cache != null)
+				cache.close();
+		} catch (RTS_SimulaRuntimeError e) {
+			if (RTS_COMMON.Option.VERBOSE)
+				e.printStackTrace();
+			result = false;
+		}
+		mappedFile = null;
+		cache = null;
 		try {
-			if (_PURGE) {
+			if (_PURGE && mapped) {
+				randomAccessFile.close();
+				doPurgeAction(); // A mapped file is not truncated, see the class description
+			} else if (_PURGE) {
 				randomAccessFile.setLength(0);
 				randomAccessFile.close();
 				File file = new File(FILE_NAME.edText().trim());
@@ -250,7 +295,7 @@ public class RTS_Directfile extends RTS_Imagefile {
 		}
 		_OPEN = false;
 		_ENDFILE = true;
-		return (true);
+		return (result);
 	}
 
 	/**
@@ -287,7 +332,7 @@ public class RTS_Directfile extends RTS_Imagefile {
 	public void locate(final int p) {
 		if (p < 1 | p > _MAXLOC)
 			throw new RTS_SimulaRuntimeError("Locate: Parameter out of range");
-		else
+		else if (mappedFile == null && cache == null)
 			try {
 				randomAccessFile.seek((p - 1) * _RECORDSIZE);
 			} catch (IOException e) {
@@ -313,6 +358,10 @@ public class RTS_Directfile extends RTS_Imagefile {
 	public int lastloc() {
 		if (!_OPEN)
 			throw new RTS_SimulaRuntimeError("file closed");
+		if (mappedFile != null)
+			return ((int) (mappedFile.length() / _RECORDSIZE));
+		if (cache != null)
+			return ((int) (cache.length() / _RECORDSIZE));
 		try {
 			// the length of this file, measured in bytes.
 			long length = randomAccessFile.length();
@@ -390,7 +439,17 @@ public class RTS_Directfile extends RTS_Imagefile {
 		if (_LOC > lastloc())
 			RTS_TXT.putchar(image, (char) 25);
 		// else if(external image does not exists) fill=(char)0;
-		else
+		else if (mappedFile != null || cache != null) {
+			RTS_TXT.checkAssignable(image);
+			image.POS = (mappedFile != null)
+					? mappedFile.read((long) (_LOC - 1) * _RECORDSIZE, image.OBJ.MAIN, image.START, _RECORDSIZE)
+					: cache.read(_LOC, image.OBJ.MAIN, image.START);
+			if (image.POS < _RECORDSIZE) {
+				_LOC = lastloc() + 1; // ENDFILE = true;
+				fill = (char) 0;
+				nextSetpos = RTS_TXT.length(image) + 1;
+			}
+		} else
 			try {
 				while (RTS_TXT.more(image)) {
 					int b = randomAccessFile.read();
@@ -445,11 +504,28 @@ public class RTS_Directfile extends RTS_Imagefile {
 					+ INITIAL_LAST_LOC + ")" + " - The file " + FILE_NAME.edText() + " was opend with APPEND");
 		if (!_CANWRITE)
 			throw new RTS_SimulaRuntimeError("Directfile: outimage failed - 'canwrite' is false");
-		try {
-			randomAccessFile.write(image.edText().getBytes());
-		} catch (IOException e) {
-			throw new RTS_SimulaRuntimeError("Outimage failed", e);
-		}
+		if (mappedFile != null) {
+			if (image != null) {
+				if (image.LENGTH != _RECORDSIZE)
+					throw new RTS_SimulaRuntimeError("Directfile image length changed");
+				mappedFile.write((long) (_LOC - 1) * _RECORDSIZE, image.OBJ.MAIN, image.START, image.LENGTH);
+			}
+			if (_SYNCHRONOUS)
+				mappedFile.force();
+		} else if (cache != null) {
+			if (image != null) {
+				if (image.LENGTH != _RECORDSIZE)
+					throw new RTS_SimulaRuntimeError("Directfile image length changed");
+				cache.write(_LOC, image.OBJ.MAIN, image.START);
+			}
+			if (_SYNCHRONOUS)
+				cache.flush();
+		} else
+			try {
+				randomAccessFile.write(image.edText().getBytes());
+			} catch (IOException e) {
+				throw new RTS_SimulaRuntimeError("Outimage failed", e);
+			}
 		locate(_LOC + 1);
 		_ASGTXT(image, null);
 		setpos(1);
@@ -493,12 +569,21 @@ public class RTS_Directfile extends RTS_Imagefile {
 							+ ") <= initial lastloc(" + INITIAL_LAST_LOC + ")");
 		if (!_CANWRITE)
 			throw new RTS_SimulaRuntimeError("Directfile: deleteimage failed - 'canwrite' is false");
-		try {
-			for (int i = 0; i < _RECORDSIZE; i++)
-				randomAccessFile.write(0);
-		} catch (IOException e) {
-			throw new RTS_SimulaRuntimeError("deleteimage failed", e);
-		}
+		if (mappedFile != null) {
+			mappedFile.write((long) (_LOC - 1) * _RECORDSIZE, null, 0, _RECORDSIZE);
+			if (_SYNCHRONOUS)
+				mappedFile.force();
+		} else if (cache != null) {
+			cache.write(_LOC, null, 0);
+			if (_SYNCHRONOUS)
+				cache.flush();
+		} else
+			try {
+				for (int i = 0; i < _RECORDSIZE; i++)
+					randomAccessFile.write(0);
+			} catch (IOException e) {
+				throw new RTS_SimulaRuntimeError("deleteimage failed", e);
+			}
 		locate(_LOC + 1);
 		return (true);
 
@@ -520,8 +605,12 @@ public class RTS_Directfile extends RTS_Imagefile {
 	 */
 	public boolean checkpoint() {
 		try {
+			if (mappedFile != null)
+				mappedFile.force();
+			if (cache != null)
+				cache.flush();
 			randomAccessFile.getChannel().force(true);
-		} catch (IOException e) {
+		} catch (IOException | RTS_SimulaRuntimeError e) {
     		if(RTS_COMMON.Option.VERBOSE) e.printStackTrace();
 			return (false);
 		}
@@ -612,6 +701,10 @@ public class RTS_Directfile extends RTS_Imagefile {
 			return (-2);
 		}
 		_LOCKED = fileLock != null;
+		if (mappedFile != null)
+			mappedFile.refresh(); // Another program may have changed the file
+		if (cache != null)
+			cache.invalidate(); // Another program may have changed the file
 		return (0);
 	}
 
@@ -17,9 +17,45 @@ package simula.runtime;
 */
 public final class RTS_EVENT_NOTICE extends RTS_Ranking {
 	/**
-	 * The owning process.
+	 * The owning process. Reassigned when the event notice is reused.
 	 */
-	final RTS_Process PROC;
+	RTS_Process PROC;
+
+	/**
+	 * Signals membership of a RTS_CalendarQueue or a RTS_PairingHeap.
+	 */
+	boolean member;
+
+	/**
+	 * Calendar queue: Previous in bucket. Pairing heap: Left sibling, or parent if leftmost child.
+	 */
+	RTS_EVENT_NOTICE prev;
+
+	/**
+	 * Calendar queue: Next in bucket. Pairing heap: Right sibling.
+	 * Not a member: Next in the free list of RTS_Simulation.
+	 */
+	RTS_EVENT_NOTICE next;
+
+	/**
+	 * Pairing heap: Leftmost child.
+	 */
+	RTS_EVENT_NOTICE child;
+
+	/**
+	 * Pairing heap: Previous event notice with the same key.
+	 */
+	RTS_EVENT_NOTICE cprev;
+
+	/**
+	 * Pairing heap: Next event notice with the same key.
+	 */
+	RTS_EVENT_NOTICE cnext;
+
+	/**
+	 * Pairing heap: Sequence number used to order event notices with equal EVTIME.
+	 */
+	long seq;
 
 	/**
 	 * Create a new _EVENT_NOTICE.
@@ -153,6 +153,11 @@ public class RTS_File extends RTS_CLASS {
 	 */
 	protected Charset _CHARSET = Charset.defaultCharset();
 
+	/**
+	 * The size of the character and byte buffers used when reading or writing an external file.
+	 */
+	public static final int BUFFER_SIZE = 1 << 16;
+
 	/**
 	 * The default BYTESIXE is 8 in this implementation.
 	 */
@@ -466,16 +471,24 @@ public class RTS_File extends RTS_CLASS {
 		return (false);
 	}
 
+	/**
+	 * Returns the external file. A relative FILENAME is relative to the runtime user directory.
+	 * @return the File
+	 */
+	private File getFile() {
+		File file = new File(FILE_NAME.edText());
+		if (!file.isAbsolute() && RTS_COMMON.Option.RUNTIME_USER_DIR.length() > 0)
+			file = new File(RTS_COMMON.Option.RUNTIME_USER_DIR + '/' + FILE_NAME.edText());
+		return (file);
+	}
+
 	/**
 	 * Do the Create action.
 	 * @return the File 
 	 */
 	protected File doCreateAction() {
-		File file = new File(FILE_NAME.edText());
+		File file = getFile();
 		try {
-			if (!file.isAbsolute() && RTS_COMMON.Option.RUNTIME_USER_DIR.length() > 0) {
-				file = new File(RTS_COMMON.Option.RUNTIME_USER_DIR + '/' + FILE_NAME.edText());
-			}
 			switch (_CREATE) {
 			case NA -> {
 			}
@@ -519,7 +532,7 @@ public class RTS_File extends RTS_CLASS {
 	 */
 	protected void doPurgeAction() {
 		try {
-			File file = new File(FILE_NAME.edText().trim());
+			File file = getFile();
 			if (_PURGE) {
 				if (!file.delete()) {
 					RTS_COMMON.printWarning("Purge " + this.getClass().getSimpleName() + " \"" + file.getName()
@@ -45,6 +45,11 @@ package simula.runtime;
  *
  */
 public class RTS_Head extends RTS_Linkage {
+	/**
+	 * The number of members in this set. Maintained by RTS_Link.
+	 */
+	int CARDINAL = 0;
+
 	/**
 	 * Construct a new set(Head) with no members.
 	 * <p>
@@ -97,25 +102,29 @@ public class RTS_Head extends RTS_Linkage {
 
 	/**
 	 * The integer procedure "cardinal" counts the number of members in a set.
+	 * <p>
+	 * The count is maintained by into, follow, precede and out, so cardinal is O(1).
 	 * 
 	 * @return the number of members in this set
 	 */
 	public int cardinal() {
-		int i = 0;
-		RTS_Link ptr = first();
-		while (ptr != null) {
-			i = i + 1;
-			ptr = ptr.suc();
-		}
-		return (i);
+		return (CARDINAL);
 	}
 
 	/**
 	 * The procedure "clear" removes all members from the set.
+	 * <p>
+	 * The members are unlinked in one pass, the head is then made empty.
 	 */
 	public void clear() {
-		for (RTS_Link x = first(); x != null; x = first())
-			x.out();
-
+		RTS_Linkage x = SUC;
+		while (x != this) {
+			RTS_Linkage next = x.SUC;
+			x.SUC = x.PRED = null;
+			((RTS_Link) x).HEAD = null;
+			x = next;
+		}
+		SUC = PRED = this;
+		CARDINAL = 0;
 	}
 }
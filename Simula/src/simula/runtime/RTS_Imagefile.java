@@ -59,6 +59,17 @@ public class RTS_Imagefile extends RTS_File {
 	 */
 	protected boolean _ENDFILE = true;
 
+	/**
+	 * Text frame used by outint, outfix, outreal and outfrac to edit an item before it is output.
+	 * It is null while it is in use, so that a redefined outimage may call these procedures.
+	 */
+	private RTS_TXT _ITEM;
+
+	/**
+	 * Text used by inint, inreal and infrac to refer the rest of image.
+	 */
+	private RTS_TXT _REST;
+
 	// Constructor
 	/**
 	 * Create a new _Imagefile.
@@ -171,6 +182,68 @@ public class RTS_Imagefile extends RTS_File {
 		return (result);
 	}
 
+	/**
+	 * Utility procedure _ITEM.
+	 * <p>
+	 * Returns a blank text of length n to edit an item into. It is the same as
+	 * blanks(n), except that the text frame is reused.
+	 * 
+	 * @param n the length of the item
+	 * @return the text to edit the item into
+	 */
+	private RTS_TXT _ITEM(final int n) {
+		RTS_TXT T = _ITEM;
+		if (n <= 0 || T == null || T.OBJ.SIZE < n)
+			return (blanks(n));
+		_ITEM = null;
+		T.LENGTH = n;
+		T.POS = 0;
+		return (T);
+	}
+
+	/**
+	 * Utility procedure _OUTITEM.
+	 * <p>
+	 * Output the item edited into T without leading and trailing blanks.
+	 * It is the same as
+	 * <pre>
+	 *     if w = 0 then outtext(T.edText().trim()) else _ASGSTR(_FIELD(-w), T.edText().trim());
+	 * </pre>
+	 * The characters are copied from the text frame of T, and it is released for reuse by _ITEM.
+	 * 
+	 * @param T the text containing the edited item
+	 * @param w the width of editing field, w &lt;= 0
+	 */
+	private void _OUTITEM(final RTS_TXT T, final int w) {
+		int start = T.START;
+		int end = T.START + T.LENGTH;
+		if (T.OBJ != null) {
+			char[] main = T.OBJ.MAIN;
+			while (start < end && main[start] <= ' ')
+				start++;
+			while (end > start && main[end - 1] <= ' ')
+				end--;
+		}
+		int n = end - start;
+		if (w == 0) {
+			if ((pos() > 1) && (n > length() - pos() + 1))
+				outimage();
+			for (int i = start; i < end; i++)
+				outchar(T.OBJ.MAIN[i]);
+		} else {
+			RTS_TXT F = _FIELD(-w);
+			if (n > F.LENGTH)
+				throw (new RTS_SimulaRuntimeError(
+						"RHS too long in text value assignment: RHS.length=" + F.LENGTH + ", LHS.length=" + n));
+			for (int i = 0; i < n; i++)
+				F.OBJ.MAIN[F.START + i] = T.OBJ.MAIN[start + i];
+			for (int i = n; i < F.LENGTH; i++)
+				F.OBJ.MAIN[F.START + i] = ' ';
+		}
+		if (T.LENGTH > 0 && (_ITEM == null || _ITEM.OBJ.SIZE < T.OBJ.SIZE))
+			_ITEM = T;
+	}
+
 	/**
 	 * Procedure outint.
 	 * <p>
@@ -210,13 +283,9 @@ public class RTS_Imagefile extends RTS_File {
 	 */
 	public void outint(final int i, final int w) {
 		if (w <= 0) {
-			RTS_TXT T = blanks(20);
+			RTS_TXT T = _ITEM(20);
 			RTS_TXT.putint(T, i);
-			String S = T.edText().trim();
-			if (w == 0)
-				outtext(S);
-			else
-				_ASGSTR(_FIELD(-w), S);
+			_OUTITEM(T, w);
 		} else
 			RTS_TXT.putint(_FIELD(w), i);
 	}
@@ -236,13 +305,9 @@ public class RTS_Imagefile extends RTS_File {
 	}
 	public void outfix(final double r, final int n, final int w) {
 		if (w <= 0) {
-			RTS_TXT T = blanks(n + 10);
+			RTS_TXT T = _ITEM(n + 10);
 			RTS_TXT.putfix(T, r, n);
-			String S = T.edText().trim();
-			if (w == 0)
-				outtext(S);
-			else
-				_ASGSTR(_FIELD(-w), S);
+			_OUTITEM(T, w);
 		} else
 			RTS_TXT.putfix(_FIELD(w), r, n);
 	}
@@ -259,13 +324,9 @@ public class RTS_Imagefile extends RTS_File {
 	 */
 	public void outreal(final double r, final int n, final int w) {
 		if (w <= 0) {
-			RTS_TXT T = blanks(n + 10);
+			RTS_TXT T = _ITEM(n + 10);
 			RTS_TXT.putreal(T, r, n);
-			String S = T.edText().trim();
-			if (w == 0)
-				outtext(S);
-			else
-				_ASGSTR(_FIELD(-w), S);
+			_OUTITEM(T, w);
 		} else
 			RTS_TXT.putreal(_FIELD(w), r, n);
 	}
@@ -282,13 +343,9 @@ public class RTS_Imagefile extends RTS_File {
 	 */
 	public void outreal(final float r, final int n, final int w) {
 		if (w <= 0) {
-			RTS_TXT T = blanks(n + 10);
+			RTS_TXT T = _ITEM(n + 10);
 			RTS_TXT.putreal(T, r, n);
-			String S = T.edText().trim();
-			if (w == 0)
-				outtext(S);
-			else
-				_ASGSTR(_FIELD(-w), S);
+			_OUTITEM(T, w);
 		} else
 			RTS_TXT.putreal(_FIELD(w), r, n);
 	}
@@ -305,13 +362,9 @@ public class RTS_Imagefile extends RTS_File {
 	 */
 	public void outfrac(final int i, final int n, final int w) {
 		if (w <= 0) {
-			RTS_TXT T = blanks(n + 10);
+			RTS_TXT T = _ITEM(n + 10);
 			RTS_TXT.putfrac(T, i, n);
-			String S = T.edText().trim();
-			if (w == 0)
-				outtext(S);
-			else
-				_ASGSTR(_FIELD(-w), S);
+			_OUTITEM(T, w);
 		} else
 			RTS_TXT.putfrac(_FIELD(w), i, n);
 	}
@@ -449,12 +502,21 @@ public class RTS_Imagefile extends RTS_File {
 
 	/**
 	 * Starting at pos return the rest of image.
+	 * <p>
+	 * The same text object is returned each time.
 	 * @return the rest of image
 	 */
 	private RTS_TXT ImageRest() {
 		if (lastitem())
 			throw new RTS_SimulaRuntimeError("Attempt to read past EOF");
-		return (RTS_TXT.sub(image, pos(), length() - pos() + 1));
+		RTS_TXT T = _REST;
+		if (T == null)
+			T = _REST = new RTS_TXT();
+		T.OBJ = image.OBJ; // The same as image.sub(pos,length-pos+1)
+		T.START = image.START + pos() - 1;
+		T.LENGTH = length() - pos() + 1;
+		T.POS = 0;
+		return (T);
 	}
 
 	/**
@@ -8,10 +8,10 @@
 package simula.runtime;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * System class Inbytefile.
@@ -36,6 +36,10 @@ import java.io.InputStream;
  * Variable "ENDFILE" is true if there are no more bytes to read. The procedure
  * "endfile" returns the value of ENDFILE.
  * <p>
+ * The file is read from a FileChannel into a byte buffer of {@link #BUFFER_SIZE} bytes, so
+ * "inbyte" reads from the buffer and not by a system call for each byte. "intext" fills the
+ * text frame by bulk transfers from the buffer.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Inbytefile.java"><b>Source File</b></a>.
  * 
@@ -46,9 +50,14 @@ import java.io.InputStream;
 public class RTS_Inbytefile extends RTS_Bytefile {
 	
 	/**
-	 * The InputStream used.
+	 * The FileChannel used.
+	 */
+	private FileChannel channel;
+
+	/**
+	 * The byte buffer. The bytes between position and limit are not yet read.
 	 */
-	private InputStream inputStream;
+	private ByteBuffer buffer;
 	
 	/**
 	 * The variable ENDFILE.
@@ -108,14 +117,19 @@ public class RTS_Inbytefile extends RTS_Bytefile {
 			if (selected != null)
 				file = selected;
 		}
+		RTS_Outbytefile.checkpointAll();
+		RTS_RecordCache.flushAll();
 		try {
-			inputStream = new FileInputStream(file);
-		} catch (FileNotFoundException e) {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		} catch (IOException e) {
 			_OPEN = false;
 			// _RT.BREAK("INBYTEFILE.OPEN: "+FILE_NAME.edText()+", Returns "+_OPEN);
     		if(RTS_COMMON.Option.VERBOSE) e.printStackTrace();
 			return (false);
 		}
+		if (buffer == null)
+			buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.clear().flip();
 		_OPEN = true;
 		_ENDFILE = false;
 		_BYTESIZE = _DEFAULT_BYTESIZE;
@@ -140,6 +154,12 @@ public class RTS_Inbytefile extends RTS_Bytefile {
 		if (_OPEN) {
 			_OPEN = false;
 			_ENDFILE = true;
+			try {
+				channel.close();
+			} catch (IOException e) {
+				if (RTS_COMMON.Option.VERBOSE)
+					e.printStackTrace();
+			}
 			doPurgeAction();
 			return (true);
 		}
@@ -166,17 +186,29 @@ public class RTS_Inbytefile extends RTS_Bytefile {
 	public int inbyte() {
 		if (_ENDFILE)
 			throw new RTS_SimulaRuntimeError(FILE_NAME.edText() + ": File not opened or attempt to read past EOF");
+		if (!buffer.hasRemaining() && !fill("Inbyte")) {
+			_ENDFILE = true;
+			return (0);
+		}
+		return (buffer.get() & 0xFF);
+	}
+
+	/**
+	 * Refill the byte buffer from the FileChannel.
+	 * @param ident identifier used in error message
+	 * @return false if there are no more bytes to read
+	 * @throws RTS_SimulaRuntimeError if the read operation fail
+	 */
+	private boolean fill(final String ident) {
 		try {
-			// read a single byte
-			int b = inputStream.read();
-			// _RT.TRACE("InbyteFile.inbyte: read byte: +" + b);
-			if (b == -1) {
-				_ENDFILE = true;
-				return (0);
-			}
-			return (b);
+			buffer.clear();
+			int n = 0;
+			while (n == 0)
+				n = channel.read(buffer);
+			buffer.flip();
+			return (n > 0);
 		} catch (IOException e) {
-			throw new RTS_SimulaRuntimeError("Inbyte failed", e);
+			throw new RTS_SimulaRuntimeError(ident + " failed", e);
 		}
 	}
 
@@ -206,14 +238,33 @@ public class RTS_Inbytefile extends RTS_Bytefile {
 	 * 
 	 * The procedure "intext" fills the frame of the parameter "t" with successive
 	 * input bytes.
+	 * <p>
+	 * The bytes are transferred from the byte buffer directly into the text frame,
+	 * a buffer at a time.
 	 * 
 	 * @param t the text frame to fill
 	 * @return the text frame
 	 */
 	public RTS_TXT intext(final RTS_TXT t) {
 		RTS_TXT.setpos(t, 1);
-		while (RTS_TXT.more(t) & (!_ENDFILE)) {
-			RTS_TXT.putchar(t, (char) inbyte());
+		if (RTS_TXT.more(t) && !_ENDFILE) {
+			RTS_TXT.checkAssignable(t);
+			char[] main = t.OBJ.MAIN;
+			while (t.POS < t.LENGTH && !_ENDFILE) {
+				if (!buffer.hasRemaining() && !fill("Intext")) {
+					main[t.START + t.POS++] = 0; // putchar(char(inbyte)) at end of file
+					_ENDFILE = true;
+					break;
+				}
+				int n = Math.min(t.LENGTH - t.POS, buffer.remaining());
+				byte[] b = buffer.array();
+				int p = buffer.arrayOffset() + buffer.position();
+				int k = t.START + t.POS;
+				for (int i = 0; i < n; i++)
+					main[k + i] = (char) (b[p + i] & 0xFF);
+				buffer.position(buffer.position() + n);
+				t.POS = t.POS + n;
+			}
 		}
 		if (_ENDFILE) {
 			RTS_TXT.setpos(t, RTS_TXT.pos(t) - 1);
@@ -7,12 +7,16 @@
  */
 package simula.runtime;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 
 /**
  * System class Infile.
@@ -44,6 +48,10 @@ import java.io.Reader;
  * external file is exhausted (i.e. "end of file" has been encountered). The
  * procedure "endfile" gives access to the value of ENDFILE.
  * <p>
+ * An external file is read from a FileChannel in chunks of {@link #BUFFER_SIZE} bytes, which are
+ * decoded into a character buffer of the same size. Each line is transferred from the character
+ * buffer directly into the text frame of "image", no String is edited.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Infile.java"><b>Source File</b></a>.
  * 
@@ -54,9 +62,69 @@ import java.io.Reader;
 public class RTS_Infile extends RTS_Imagefile {
 	
 	/**
-	 * The BufferedReader used.
+	 * The Reader used when reading from sysin, otherwise null.
+	 */
+	private Reader reader;
+
+	/**
+	 * The FileChannel used when reading an external file, otherwise null.
+	 */
+	private FileChannel channel;
+
+	/**
+	 * The decoder used when reading an external file.
+	 */
+	private CharsetDecoder decoder;
+
+	/**
+	 * The bytes read from the FileChannel, not yet decoded.
+	 */
+	private ByteBuffer bytes;
+
+	/**
+	 * The FileChannel is exhausted.
+	 */
+	private boolean endOfInput;
+
+	/**
+	 * The decoder is flushed after the FileChannel is exhausted.
+	 */
+	private boolean flushed;
+
+	/**
+	 * The character buffer.
+	 */
+	private char[] cbuf;
+
+	/**
+	 * The character buffer as a CharBuffer, used by the decoder.
+	 */
+	private CharBuffer chars;
+
+	/**
+	 * Index of the next character in cbuf.
+	 */
+	private int nextChar;
+
+	/**
+	 * Number of characters in cbuf.
+	 */
+	private int nChars;
+
+	/**
+	 * The line buffer used by inimage. The line is transferred to image when it is known to fit.
+	 */
+	private char[] line;
+
+	/**
+	 * The last line ended with CR. Skip a LF at the start of the next line.
 	 */
-	private BufferedReader lineReader;
+	private boolean skipLF;
+
+	/**
+	 * The rest of the current line is not yet read, after a partial inrecord.
+	 */
+	private boolean rest;
 
 	// Constructor
 	/**
@@ -112,7 +180,8 @@ public class RTS_Infile extends RTS_Imagefile {
 		_ASGTXT(image, null); // image := NOTEXT;
 		setpos(length() + 1);
 
-		Reader reader;
+		reader = null;
+		channel = null;
 		if (FILE_NAME.edText().equalsIgnoreCase("#sysin")) {
 			if (RTS_COMMON.console != null)
 				reader = RTS_COMMON.console.getReader();
@@ -125,16 +194,28 @@ public class RTS_Infile extends RTS_Imagefile {
 				if (selected != null)
 					file = selected;
 			}
+			RTS_RecordCache.flushAll();
 			try {
-				reader = new FileReader(file, _CHARSET);
+				channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
 			} catch (IOException e) {
 				if (RTS_COMMON.Option.VERBOSE)
 					e.printStackTrace();
 				_OPEN = false;
 				return (false);
 			}
+			decoder = _CHARSET.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			bytes = ByteBuffer.allocate(BUFFER_SIZE).flip();
+			endOfInput = false;
+			flushed = false;
 		}
-		lineReader = new BufferedReader(reader);
+		if (cbuf == null) {
+			cbuf = new char[BUFFER_SIZE];
+			chars = CharBuffer.wrap(cbuf);
+		}
+		nextChar = nChars = 0;
+		skipLF = false;
+		rest = false;
 		_OPEN = true;
 		return (true);
 	}
@@ -163,10 +244,10 @@ public class RTS_Infile extends RTS_Imagefile {
 	public boolean close() {
 		if (!_OPEN)
 			return (false);
-		if (!FILE_NAME.edText().equalsIgnoreCase("#sysin"))
+		if (channel != null)
 			try {
-				if (lineReader != null)
-					lineReader.close();
+				channel.close();
+				channel = null;
 			} catch (IOException e) {
 				if (RTS_COMMON.Option.VERBOSE)
 					e.printStackTrace();
@@ -226,13 +307,14 @@ public class RTS_Infile extends RTS_Imagefile {
 		if (!_OPEN || _ENDFILE)
 			throw new RTS_SimulaRuntimeError(FILE_NAME.edText() + ": File not opened or attempt to read past EOF");
 		try {
-			String line = (rest != null) ? rest : lineReader.readLine();
-			rest = null;
-			if (line != null) {
-				if (line.length() > RTS_TXT.length(image))
+			int length = RTS_TXT.length(image);
+			int n = readLine(image, false);
+			if (n >= 0) {
+				if (n > length)
 					throw new RTS_SimulaRuntimeError(FILE_NAME.edText() + ": Image too short: input.length="
-							+ line.length() + ", image.length=" + RTS_TXT.length(image));
-				_ASGSTR(image, line);
+							+ n + ", image.length=" + length);
+				for (int i = n; i < length; i++)
+					image.OBJ.MAIN[image.START + i] = ' ';
 			} else {
 				_ASGSTR(image, "" + (char) 25);
 				_ENDFILE = true;
@@ -286,30 +368,127 @@ public class RTS_Infile extends RTS_Imagefile {
 			throw new RTS_SimulaRuntimeError(FILE_NAME.edText() + ": File not opened or attempt to read past EOF");
 		try {
 			RTS_TXT.setpos(image, 1);
-			String line = (rest != null) ? rest : lineReader.readLine();
-			rest = null;
-			if (line != null) {
-				if (line.length() > RTS_TXT.length(image)) { // Return partial image
-					rest = line.substring(RTS_TXT.length(image));
-					line = line.substring(0, RTS_TXT.length(image));
-				}
-				RTS_TXT LINE = new RTS_TXT(line);
-				while (RTS_TXT.more(LINE))
-					RTS_TXT.putchar(image, RTS_TXT.getchar(LINE));
-			} else {
+			int n = readLine(image, true);
+			if (n >= 0)
+				RTS_TXT.setpos(image, n + 1);
+			else {
 				RTS_TXT.putchar(image, (char) 25);
 				_ENDFILE = true;
 			}
 		} catch (IOException e) {
 			throw new RTS_SimulaRuntimeError("Inrecord failed", e);
 		}
-		return (rest != null);
+		return (rest);
 	}
-	
+
 	/**
-	 * Utility variable
+	 * Read the next line, or the rest of it after a partial inrecord, into the text frame of image.
+	 * <p>
+	 * A line is terminated by LF, CR or CR LF, or by the end of the file, like BufferedReader.readLine.
+	 * If partial, the characters are transferred directly into the text frame, and the reading stops
+	 * when it is full. The rest of the line is left for the next inimage or inrecord.
+	 * <p>
+	 * Otherwise the line is read into the line buffer, and transferred to the text frame only if it
+	 * fits. So image is left unchanged when inimage fails with "Image too short".
+	 * 
+	 * @param image the image
+	 * @param partial true: read a partial line if the line is longer than image
+	 * @return number of characters in the line, or -1 at end of file
+	 * @throws IOException if the reading fail
+	 */
+	private int readLine(final RTS_TXT image, final boolean partial) throws IOException {
+		char[] main = (image == null || image.OBJ == null) ? null : image.OBJ.MAIN;
+		int start = (main == null) ? 0 : image.START;
+		int length = (main == null) ? 0 : image.LENGTH;
+		if (partial || length == 0)
+			return (readChars(main, start, length, partial));
+		if (line == null || line.length < length)
+			line = new char[length];
+		int n = readChars(line, 0, length, false);
+		if (n > 0 && n <= length)
+			System.arraycopy(line, 0, main, start, n);
+		return (n);
+	}
+
+	/**
+	 * Read the next line, or the rest of it after a partial inrecord, into a character array.
+	 * <p>
+	 * Characters beyond the given length are counted but not transferred, unless partial.
+	 * 
+	 * @param main the character array
+	 * @param start the index of the first character in main
+	 * @param length the number of characters available in main
+	 * @param partial true: stop reading when main is full
+	 * @return number of characters in the line, or -1 at end of file
+	 * @throws IOException if the reading fail
 	 */
-	private String rest = null;
+	private int readChars(final char[] main, final int start, final int length, final boolean partial) throws IOException {
+		boolean started = rest;
+		int n = 0; // Number of characters in the line
+		rest = false;
+		while (true) {
+			if (nextChar >= nChars && !fill())
+				return ((started) ? n : -1);
+			if (skipLF) {
+				skipLF = false;
+				if (cbuf[nextChar] == '\n') {
+					nextChar++;
+					continue;
+				}
+			}
+			started = true;
+			int i = nextChar;
+			while (i < nChars) {
+				char c = cbuf[i];
+				if (c == '\n' || c == '\r') {
+					nextChar = i + 1;
+					skipLF = (c == '\r');
+					return (n);
+				}
+				if (n < length)
+					main[start + n] = c;
+				else if (partial) {
+					nextChar = i;
+					rest = true;
+					return (n);
+				}
+				n++;
+				i++;
+			}
+			nextChar = i;
+		}
+	}
+
+	/**
+	 * Read more characters into the character buffer.
+	 * 
+	 * @return false at end of file
+	 * @throws IOException if the reading fail
+	 */
+	private boolean fill() throws IOException {
+		nextChar = nChars = 0;
+		if (reader != null) {
+			int n;
+			do {
+				n = reader.read(cbuf, 0, cbuf.length);
+			} while (n == 0);
+			if (n > 0)
+				nChars = n;
+		} else {
+			chars.clear();
+			while (chars.position() == 0 && !flushed) {
+				if (!endOfInput) {
+					bytes.compact();
+					endOfInput = channel.read(bytes) < 0;
+					bytes.flip();
+				}
+				if (decoder.decode(bytes, chars, endOfInput).isUnderflow() && endOfInput)
+					flushed = decoder.flush(chars).isUnderflow();
+			}
+			nChars = chars.position();
+		}
+		return (nChars > 0);
+	}
 
 
 }
@@ -56,6 +56,11 @@ package simula.runtime;
  */
 public class RTS_Link extends RTS_Linkage {
 
+	/**
+	 * The set(Head) of which this Link is a member, or null.
+	 */
+	RTS_Head HEAD = null;
+
 	// Constructor
 	/**
 	 * Create a new _Link.
@@ -82,6 +87,8 @@ public class RTS_Link extends RTS_Linkage {
 			SUC.PRED = PRED;
 			PRED.SUC = SUC;
 			SUC = PRED = ((RTS_Linkage) (null));
+			HEAD.CARDINAL--;
+			HEAD = null;
 		}
 	}
 
@@ -106,6 +113,8 @@ public class RTS_Link extends RTS_Linkage {
 				PRED = x;
 				SUC = x.SUC;
 				SUC.PRED = x.SUC = (RTS_Linkage) this;
+				HEAD = headOf(x);
+				HEAD.CARDINAL++;
 			}
 		}
 	}
@@ -131,6 +140,8 @@ public class RTS_Link extends RTS_Linkage {
 				SUC = x;
 				PRED = x.PRED;
 				PRED.SUC = x.PRED = (RTS_Linkage) this;
+				HEAD = headOf(x);
+				HEAD.CARDINAL++;
 			}
 		}
 	}
@@ -149,4 +160,13 @@ public class RTS_Link extends RTS_Linkage {
 	public void into(final RTS_Head S) {
 		precede(S);
 	}
+
+	/**
+	 * Utility: Returns the set(Head) of a linkage which is a member of a set or a set head.
+	 * @param x the linkage
+	 * @return the set(Head)
+	 */
+	private static RTS_Head headOf(final RTS_Linkage x) {
+		return ((x instanceof RTS_Head head) ? head : ((RTS_Link) x).HEAD);
+	}
 }
@@ -0,0 +1,318 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Utility class MappedFile.
+ * <p>
+ * The memory mapping of a Directfile or Directbytefile, used when the runtime option
+ * -mappedDirectfiles is given. Reading and writing within the file is done directly in
+ * the mapping, each character is one byte.
+ * <p>
+ * The mapping never extends the file. Bytes written beyond the end of the file are collected in
+ * a tail buffer of {@link RTS_File#BUFFER_SIZE} bytes, which is written to the FileChannel when it
+ * is full, when it is read, by {@link #force()} and when the file is closed. The mapping grows by
+ * remapping the whole file the next time an access falls outside it. The length of the file is kept
+ * here, it is refreshed from the FileChannel by {@link #refresh()} when the file is locked.
+ * <p>
+ * A file larger than 2 GB can't be mapped.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_MappedFile.java"><b>Source File</b></a>.
+ */
+public final class RTS_MappedFile {
+
+	/**
+	 * The FileChannel of the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The file is open for writing.
+	 */
+	private final boolean writable;
+
+	/**
+	 * The current mapping. It covers the bytes 0 .. capacity-1 of the file.
+	 */
+	private MappedByteBuffer map;
+
+	/**
+	 * The length of the file, in bytes, including the tail buffer.
+	 */
+	private long length;
+
+	/**
+	 * The length of the file on the FileChannel, in bytes.
+	 */
+	private long fileSize;
+
+	/**
+	 * The tail buffer, bytes to be written at tailStart and beyond the end of the file.
+	 */
+	private final byte[] tail = new byte[RTS_File.BUFFER_SIZE];
+
+	/**
+	 * The position of the first byte in the tail buffer.
+	 */
+	private long tailStart;
+
+	/**
+	 * The number of bytes in the tail buffer.
+	 */
+	private int tailLength;
+
+	/**
+	 * The mapping is written after the last force.
+	 */
+	private boolean dirty;
+
+	/**
+	 * Scratch buffer used to widen or narrow between characters and bytes.
+	 */
+	private byte[] bytes = new byte[256];
+
+	/**
+	 * Create a new memory mapping of the given FileChannel.
+	 * @param channel the FileChannel
+	 * @param writable true if the file is open for writing
+	 * @throws IOException if the mapping fails
+	 */
+	RTS_MappedFile(final FileChannel channel, final boolean writable) throws IOException {
+		this.channel = channel;
+		this.writable = writable;
+		this.fileSize = channel.size();
+		this.length = fileSize;
+		remap();
+	}
+
+	/**
+	 * Returns the length of the file, in bytes.
+	 * @return the length of the file
+	 */
+	long length() {
+		return (length);
+	}
+
+	/**
+	 * Reread the length of the file from the FileChannel, and remap if the file has shrunk.
+	 * Used when the file is locked, another program may have changed it.
+	 * @throws RTS_SimulaRuntimeError if the operation fail
+	 */
+	void refresh() {
+		flushTail();
+		try {
+			fileSize = channel.size();
+		} catch (IOException e) {
+			throw new RTS_SimulaRuntimeError("I/O Error on file", e);
+		}
+		length = fileSize;
+		if (length < map.capacity())
+			remap();
+	}
+
+	/**
+	 * Write the tail buffer and map the whole file.
+	 * @throws RTS_SimulaRuntimeError if the operation fail
+	 */
+	private void remap() {
+		flushTail();
+		if (fileSize > Integer.MAX_VALUE)
+			throw new RTS_SimulaRuntimeError("File too large to be memory mapped: " + fileSize + " bytes");
+		try {
+			if (dirty)
+				map.force();
+			dirty = false;
+			map = channel.map((writable) ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, fileSize);
+		} catch (IOException e) {
+			throw new RTS_SimulaRuntimeError("I/O Error on file", e);
+		}
+	}
+
+	/**
+	 * Returns the byte at the given position, or -1 if the position is at or beyond the end of the file.
+	 * @param pos the position
+	 * @return the byte at the given position, or -1
+	 */
+	int get(final long pos) {
+		if (pos >= length)
+			return (-1);
+		if (pos >= map.capacity())
+			remap();
+		return (map.get((int) pos) & 0xFF);
+	}
+
+	/**
+	 * Read bytes from the given position into a character array, one character per byte.
+	 * The read stops at the end of the file.
+	 * @param pos the position
+	 * @param dst the character array
+	 * @param off offset in dst
+	 * @param n the number of bytes to read
+	 * @return the number of bytes read
+	 */
+	int read(final long pos, final char[] dst, final int off, final int n) {
+		int m = (int) Math.max(0, Math.min(n, length - pos));
+		if (m == 0)
+			return (0);
+		if (pos + m > map.capacity())
+			remap();
+		byte[] b = scratch(m);
+		map.get((int) pos, b, 0, m);
+		for (int i = 0; i < m; i++)
+			dst[off + i] = (char) (b[i] & 0xFF);
+		return (m);
+	}
+
+	/**
+	 * Write one byte at the given position.
+	 * @param pos the position
+	 * @param b the byte
+	 */
+	void write(final long pos, final int b) {
+		if (pos < fileSize) {
+			if (pos >= map.capacity())
+				remap();
+			map.put((int) pos, (byte) b);
+			dirty = true;
+		} else if (tailLength > 0 && pos == tailStart + tailLength && tailLength < tail.length) {
+			tail[tailLength++] = (byte) b;
+			length = Math.max(length, pos + 1);
+		} else {
+			byte[] s = scratch(1);
+			s[0] = (byte) b;
+			writeTail(pos, s, 0, 1);
+		}
+	}
+
+	/**
+	 * Write characters at the given position, one byte per character.
+	 * @param pos the position
+	 * @param src the character array, or null to write NUL bytes
+	 * @param off offset in src
+	 * @param n the number of characters
+	 */
+	void write(final long pos, final char[] src, final int off, final int n) {
+		byte[] b = scratch(n);
+		for (int i = 0; i < n; i++)
+			b[i] = (src == null) ? 0 : (byte) src[off + i];
+		put(pos, b, 0, n);
+	}
+
+	/**
+	 * Write bytes at the given position. The part within the file is written in the mapping.
+	 * @param pos the position
+	 * @param b the bytes
+	 * @param off offset in b
+	 * @param n the number of bytes
+	 */
+	private void put(final long pos, final byte[] b, final int off, final int n) {
+		int m = (int) Math.max(0, Math.min(n, fileSize - pos)); // The part within the file
+		if (m > 0) {
+			if (pos + m > map.capacity())
+				remap();
+			map.put((int) pos, b, off, m);
+			dirty = true;
+		}
+		if (m < n)
+			writeTail(pos + m, b, off + m, n - m);
+	}
+
+	/**
+	 * Write bytes beyond the end of the file. They are appended to the tail buffer if they
+	 * follow the bytes in it, otherwise the tail buffer is written first. Writing the tail
+	 * buffer may extend the file beyond the position, then the bytes are written by put.
+	 * @param pos the position
+	 * @param b the bytes
+	 * @param off offset in b
+	 * @param n the number of bytes
+	 */
+	private void writeTail(final long pos, final byte[] b, final int off, final int n) {
+		if (tailLength > 0 && (pos != tailStart + tailLength || tailLength + n > tail.length))
+			flushTail();
+		if (pos < fileSize) {
+			put(pos, b, off, n);
+			return;
+		}
+		if (tailLength == 0)
+			tailStart = pos;
+		if (n > tail.length)
+			writeChannel(pos, b, off, n);
+		else {
+			System.arraycopy(b, off, tail, tailLength, n);
+			tailLength = tailLength + n;
+		}
+		length = Math.max(length, pos + n);
+	}
+
+	/**
+	 * Write the tail buffer to the FileChannel.
+	 */
+	private void flushTail() {
+		if (tailLength > 0) {
+			int n = tailLength;
+			tailLength = 0;
+			writeChannel(tailStart, tail, 0, n);
+		}
+	}
+
+	/**
+	 * Write bytes beyond the end of the file to the FileChannel.
+	 * @param pos the position
+	 * @param b the bytes
+	 * @param off offset in b
+	 * @param n the number of bytes
+	 * @throws RTS_SimulaRuntimeError if the operation fail
+	 */
+	private void writeChannel(final long pos, final byte[] b, final int off, final int n) {
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(b, off, n);
+			long p = pos;
+			while (buf.hasRemaining())
+				p = p + channel.write(buf, p);
+		} catch (IOException e) {
+			throw new RTS_SimulaRuntimeError("I/O Error on file", e);
+		}
+		fileSize = Math.max(fileSize, pos + n);
+	}
+
+	/**
+	 * Returns the scratch buffer, at least n bytes.
+	 * @param n the minimum size
+	 * @return the scratch buffer
+	 */
+	private byte[] scratch(final int n) {
+		if (bytes.length < n)
+			bytes = new byte[Math.max(n, 2 * bytes.length)];
+		return (bytes);
+	}
+
+	/**
+	 * Write the tail buffer and the changes made in the mapping to the file.
+	 */
+	void force() {
+		flushTail();
+		if (dirty)
+			map.force();
+		dirty = false;
+	}
+
+	/**
+	 * Release the mapping. The file is unmapped when the mapping is garbage collected, so it
+	 * can't be truncated or deleted by the close of the file. See PURGE in {@link RTS_Directfile}.
+	 */
+	void close() {
+		force();
+		map = null;
+	}
+
+}
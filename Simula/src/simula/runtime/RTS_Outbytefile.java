@@ -8,10 +8,11 @@
 package simula.runtime;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 
 
 /**
@@ -32,6 +33,13 @@ import java.io.OutputStream;
  * An object of the class "outbytefile" is used to represent a sequential output
  * file of bytes.
  * <p>
+ * The bytes are collected in a byte buffer of {@link #BUFFER_SIZE} bytes and written to a
+ * FileChannel when the buffer is full, by "checkpoint" and by "close". "outtext" transfers the
+ * text frame into the buffer in bulk. With the access mode SYNCHRONOUS the buffer is written
+ * after each "outbyte", "out2byte" and "outtext". The buffers of all open Outbytefiles are also written
+ * when an Inbytefile or Directbytefile is opened and at program end, so the bytes output so far are
+ * always visible to the program itself.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Outbytefile.java"><b>Source File</b></a>.
  * 
@@ -42,9 +50,19 @@ import java.io.OutputStream;
 public class RTS_Outbytefile extends RTS_Bytefile {
 	
 	/**
-	 * The OutputStream used.
+	 * The FileChannel used.
+	 */
+	private FileChannel channel;
+
+	/**
+	 * The byte buffer. The bytes between 0 and position are not yet written.
 	 */
-	private OutputStream outputStream;
+	private ByteBuffer buffer;
+
+	/**
+	 * The open Outbytefiles.
+	 */
+	private static final ArrayList<RTS_Outbytefile> openFiles = new ArrayList<RTS_Outbytefile>();
 
 	// Constructor
 	/**
@@ -84,12 +102,17 @@ public class RTS_Outbytefile extends RTS_Bytefile {
 			return (false);
 		File file = doCreateAction();
 		try {
-			outputStream = new FileOutputStream(file, _APPEND);
-		} catch (FileNotFoundException e) {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+					(_APPEND) ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException e) {
 			if (RTS_COMMON.Option.VERBOSE)
 				e.printStackTrace();
 			return (false);
 		}
+		if (buffer == null)
+			buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.clear();
+		openFiles.add(this);
 		_OPEN = true;
 		_BYTESIZE = _DEFAULT_BYTESIZE;
 		return (true);
@@ -110,6 +133,18 @@ public class RTS_Outbytefile extends RTS_Bytefile {
 	public boolean close() {
 		if (_OPEN) {
 			_OPEN = false;
+			openFiles.remove(this);
+			try {
+				try {
+					flush("close");
+				} finally {
+					channel.close();
+				}
+			} catch (IOException | RTS_SimulaRuntimeError e) {
+				if (RTS_COMMON.Option.VERBOSE)
+					e.printStackTrace();
+				return (false);
+			}
 			doPurgeAction();
 			return (true);
 		}
@@ -132,12 +167,34 @@ public class RTS_Outbytefile extends RTS_Bytefile {
 			throw new RTS_SimulaRuntimeError("file closed");
 		if (b < 0 || b > _MAXBYTE)
 			throw new RTS_SimulaRuntimeError("Illegal byte value");
+		if (!buffer.hasRemaining())
+			flush("outbyte");
+		buffer.put((byte) b);
+		if (_SYNCHRONOUS)
+			flush("outbyte");
+	}
+
+	/**
+	 * Perform checkpoint on all open Outbytefiles.
+	 */
+	static void checkpointAll() {
+		for (RTS_Outbytefile file : openFiles)
+			file.checkpoint();
+	}
+
+	/**
+	 * Write the contents of the byte buffer to the FileChannel.
+	 * @param ident identifier used in error message
+	 * @throws RTS_SimulaRuntimeError if the write operation fail
+	 */
+	private void flush(final String ident) {
 		try {
-			outputStream.write(b);
-			if (_SYNCHRONOUS)
-				outputStream.flush();
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
 		} catch (IOException e) {
-			throw new RTS_SimulaRuntimeError("outbyte failed", e);
+			throw new RTS_SimulaRuntimeError(ident + " failed", e);
 		}
 	}
 
@@ -153,16 +210,12 @@ public class RTS_Outbytefile extends RTS_Bytefile {
 	public void out2byte(final int b) {
 		if (!_OPEN)
 			throw new RTS_SimulaRuntimeError("file closed");
-		try {
-			int hi = b >> 8;
-			int lo = b & 0xFF;
-			outputStream.write(hi);
-			outputStream.write(lo);
-			if (_SYNCHRONOUS)
-				outputStream.flush();
-		} catch (IOException e) {
-			throw new RTS_SimulaRuntimeError("out2byte failed", e);
-		}
+		if (buffer.remaining() < 2)
+			flush("out2byte");
+		buffer.put((byte) (b >> 8));
+		buffer.put((byte) b);
+		if (_SYNCHRONOUS)
+			flush("out2byte");
 	}
 
 	/**
@@ -174,20 +227,34 @@ public class RTS_Outbytefile extends RTS_Bytefile {
 	 *       while t.more do outbyte(rank(t.getchar))
 	 * end outtext;
 	 * </pre>
+	 * <p>
+	 * The characters are transferred from the text frame directly into the byte buffer,
+	 * a buffer at a time.
 	 * 
 	 * @param t the argument text
+	 * @throws RTS_SimulaRuntimeError if the operations fail
 	 */
 	public void outtext(final RTS_TXT t) {
 		RTS_TXT.setpos(t, 1);
-		while (RTS_TXT.more(t)) {
-			try {
-				outputStream.write((int) RTS_TXT.getchar(t));
-				if (_SYNCHRONOUS)
-					outputStream.flush();
-			} catch (IOException e) {
-				throw new RTS_SimulaRuntimeError("outtext failed", e);
-			}
+		if (!RTS_TXT.more(t))
+			return;
+		if (!_OPEN)
+			throw new RTS_SimulaRuntimeError("file closed");
+		char[] main = t.OBJ.MAIN;
+		while (t.POS < t.LENGTH) {
+			if (!buffer.hasRemaining())
+				flush("outtext");
+			int n = Math.min(t.LENGTH - t.POS, buffer.remaining());
+			byte[] b = buffer.array();
+			int p = buffer.arrayOffset() + buffer.position();
+			int k = t.START + t.POS;
+			for (int i = 0; i < n; i++)
+				b[p + i] = (byte) main[k + i];
+			buffer.position(buffer.position() + n);
+			t.POS = t.POS + n;
 		}
+		if (_SYNCHRONOUS)
+			flush("outtext");
 	}
 
 	/**
@@ -202,9 +269,11 @@ public class RTS_Outbytefile extends RTS_Bytefile {
 	 * @return true:ok, false:error
 	 */
 	public boolean checkpoint() {
+		if (!_OPEN)
+			return (false);
 		try {
-			outputStream.flush();
-		} catch (IOException e) {
+			flush("checkpoint");
+		} catch (RTS_SimulaRuntimeError e) {
 			if (RTS_COMMON.Option.VERBOSE)
 				e.printStackTrace();
 			return (false);
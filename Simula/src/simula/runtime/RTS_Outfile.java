@@ -7,11 +7,15 @@
  */
 package simula.runtime;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 
 /**
  * System class Outfile.
@@ -39,6 +43,14 @@ import java.io.Writer;
  * An object of the class "outfile" is used to represent an image-oriented
  * sequential output file.
  * <p>
+ * The image is written directly from the characters of its text frame, no String is edited.
+ * An external file is written through a character buffer and an encoder buffer of {@link #BUFFER_SIZE}
+ * characters and bytes to a FileChannel, so the encoder is invoked once per buffer and not once per image.
+ * <p>
+ * With the runtime option -writeBehind the file is written by a writer thread, see {@link RTS_WriteBehind}.
+ * Then "outimage" only copies the image into a buffer, also when the file is SYNCHRONOUS, and "checkpoint"
+ * and "close" wait until the output is written. A write error is reported by the next operation on the file.
+ * <p>
  * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Outfile.java"><b>Source File</b></a>.
  * 
  * @author SIMULA Standards Group
@@ -102,13 +114,20 @@ public class RTS_Outfile extends RTS_Imagefile {
 		else {
 			File file = doCreateAction();
 			try {
-				writer = new FileWriter(file, _CHARSET, _APPEND);
+				FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+						StandardOpenOption.CREATE,
+						(_APPEND) ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+				writer = new BufferedWriter(Channels.newWriter(channel, _CHARSET.newEncoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE), BUFFER_SIZE), BUFFER_SIZE);
 			} catch (IOException e) {
 				if (RTS_COMMON.Option.VERBOSE)
 					e.printStackTrace();
 				return (false);
 			}
 		}
+		if (RTS_COMMON.Option.WRITE_BEHIND)
+			writer = new RTS_WriteBehind(writer, FILE_NAME.edText());
 		return (true);
 	}
 
@@ -184,7 +203,7 @@ public class RTS_Outfile extends RTS_Imagefile {
 	 */
 	@Override
 	public void outimage() {
-		writeImage("Outimage", (image == null) ? "\n" : (image.edStripedText() + '\n'), true);
+		writeImage("Outimage", (image == null) ? 0 : image.strippedLength(), true, true);
 	}
 
 	/**
@@ -192,14 +211,18 @@ public class RTS_Outfile extends RTS_Imagefile {
 	 * <p>
 	 * Redefined in PrintFile
 	 * @param ident identifier used in error message
-	 * @param img the image to output
+	 * @param length the number of characters from the start of the image to output
+	 * @param newline true if a line terminator should follow the image
 	 * @param blank true if the image should be blank-filled after the output operation
 	 */
-	protected void writeImage(String ident, String img, boolean blank) {
+	protected void writeImage(final String ident, final int length, final boolean newline, final boolean blank) {
 		if (!_OPEN)
 			throw new RTS_SimulaRuntimeError("File not opened");
 		try {
-			writer.write(img);
+			if (length > 0)
+				writer.write(image.OBJ.MAIN, image.START, length);
+			if (newline)
+				writer.write('\n');
 			if (_SYNCHRONOUS)
 				writer.flush();
 		} catch (IOException e) {
@@ -229,7 +252,7 @@ public class RTS_Outfile extends RTS_Imagefile {
 	 * @throws RTS_SimulaRuntimeError if the operation fail
 	 */
 	public void outrecord() {
-		writeImage("Outrecord", (image == null) ? "\n" : (image.edTextToPos() + '\n'), false);
+		writeImage("Outrecord", (image == null) ? 0 : image.POS, true, false);
 	}
 
 	/**
@@ -258,7 +281,7 @@ public class RTS_Outfile extends RTS_Imagefile {
 	 * @throws RTS_SimulaRuntimeError if the operation fail
 	 */
 	public void breakoutimage() {
-		writeImage("BreakOutimage", (image == null) ? "" : (image.edTextToPos()), true);
+		writeImage("BreakOutimage", (image == null) ? 0 : image.POS, false, true);
 	}
 
 	/**
@@ -276,7 +299,10 @@ public class RTS_Outfile extends RTS_Imagefile {
 	 */
 	public boolean checkpoint() {
 		try {
-			writer.flush();
+			if (writer instanceof RTS_WriteBehind writeBehind)
+				writeBehind.drain();
+			else
+				writer.flush();
 		} catch (IOException e) {
 			if (RTS_COMMON.Option.VERBOSE)
 				e.printStackTrace();
@@ -7,17 +7,38 @@
  */
 package simula.runtime;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 /**
 * Procedure quantity.
+ * <p>
+ * A formal or virtual procedure is called by creating an instance of its procedure class
+ * by the constructor &lt;Procedure>(RTS_RTObject SL). A method handle to this constructor
+ * is looked up once per procedure class and cached.
  * <p>
  * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_PRCQNT.java"><b>Source File</b></a>.
 *  
 * @author Øystein Myhre Andersen
 */
 public final class RTS_PRCQNT {
+
+	/**
+	 * The constructor &lt;Procedure>(RTS_RTObject SL) of each procedure class, typed (RTS_RTObject)RTS_PROCEDURE.
+	 */
+	private static final ClassValue<MethodHandle> CONSTRUCTOR = new ClassValue<MethodHandle>() {
+		@Override
+		protected MethodHandle computeValue(final Class<?> procedure) {
+			try {
+				MethodHandle constr = MethodHandles.publicLookup().findConstructor(procedure,
+						MethodType.methodType(void.class, RTS_RTObject.class));
+				return (constr.asType(MethodType.methodType(RTS_PROCEDURE.class, RTS_RTObject.class)));
+			} catch (ReflectiveOperationException e) {
+				throw new RTS_SimulaRuntimeError("RTS_PRCQNT.CPF: FATAL error (1) - Impossible situation - " + e, e);
+			}
+		}
+	};
 	
 	/**
 	 * Static link.
@@ -47,16 +68,9 @@ public final class RTS_PRCQNT {
 	 */
 	public RTS_PROCEDURE CPF() {
 		try {
-			// Get 'default' constructor: <Procedure>(_RTObject SL);
-			Constructor<?> constr = procedure.getConstructor(new Class[] { RTS_RTObject.class });
-			Object obj = constr.newInstance(staticLink);
-			return ((RTS_PROCEDURE) obj);
-		} catch (InvocationTargetException e) {
-			Throwable targetException = e.getTargetException();
-			if (targetException instanceof RuntimeException) {
-				throw (RuntimeException) targetException; // RE-THROW TargetException
-			}
-			throw new RTS_SimulaRuntimeError("RTS_PRCQNT.CPF: FATAL error (1) - Impossible situation - " + e, e);
+			return ((RTS_PROCEDURE) CONSTRUCTOR.get(procedure).invokeExact(staticLink));
+		} catch (RuntimeException e) {
+			throw (e);
 		} catch (Throwable e) {
 			throw new RTS_SimulaRuntimeError("RTS_PRCQNT.CPF: FATAL error (2) - Impossible situation - " + e, e);
 		}
@@ -56,6 +56,71 @@ public abstract class RTS_PROCEDURE extends RTS_BASICIO {
 		return (this);
 	}
 
+	/**
+	 * Sets next procedure parameter value, an int value.
+	 * <p>
+	 * This method is virtual and is redefined in procedure blocks with arithmetic
+	 * parameters by value, to avoid boxing. By default the value is boxed.
+	 * 
+	 * @param val Procedure's Parameter Value
+	 * @return this object
+	 */
+	public RTS_PROCEDURE setPar(final int val) {
+		return (setPar((Object) val));
+	}
+
+	/**
+	 * Sets next procedure parameter value, a float value.
+	 * <p>
+	 * This method is virtual and is redefined in procedure blocks with arithmetic
+	 * parameters by value, to avoid boxing. By default the value is boxed.
+	 * 
+	 * @param val Procedure's Parameter Value
+	 * @return this object
+	 */
+	public RTS_PROCEDURE setPar(final float val) {
+		return (setPar((Object) val));
+	}
+
+	/**
+	 * Sets next procedure parameter value, a double value.
+	 * <p>
+	 * This method is virtual and is redefined in procedure blocks with arithmetic
+	 * parameters by value, to avoid boxing. By default the value is boxed.
+	 * 
+	 * @param val Procedure's Parameter Value
+	 * @return this object
+	 */
+	public RTS_PROCEDURE setPar(final double val) {
+		return (setPar((Object) val));
+	}
+
+	/**
+	 * Sets next procedure parameter value, a char value.
+	 * <p>
+	 * This method is virtual and is redefined in procedure blocks with character
+	 * parameters by value, to avoid boxing. By default the value is boxed.
+	 * 
+	 * @param val Procedure's Parameter Value
+	 * @return this object
+	 */
+	public RTS_PROCEDURE setPar(final char val) {
+		return (setPar((Object) val));
+	}
+
+	/**
+	 * Sets next procedure parameter value, a boolean value.
+	 * <p>
+	 * This method is virtual and is redefined in procedure blocks with boolean
+	 * parameters by value, to avoid boxing. By default the value is boxed.
+	 * 
+	 * @param val Procedure's Parameter Value
+	 * @return this object
+	 */
+	public RTS_PROCEDURE setPar(final boolean val) {
+		return (setPar((Object) val));
+	}
+
 	/**
 	 * Deliver the result from the Simula procedure.
 	 * <p>
@@ -0,0 +1,283 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+/**
+ * Utility class PairingHeap.
+ * <p>
+ * A sequencing set implemented as a pairing heap (Fredman, Sedgewick, Sleator and Tarjan, 1986).
+ * <p>
+ * The key of an event notice is the pair (EVTIME, seq). 'into' assigns increasing sequence numbers
+ * and 'intoPrior' assigns decreasing sequence numbers, so that all keys are different and equal
+ * EVTIMEs are ranked in the right order.
+ * <p>
+ * Event notices inserted by 'follow' or 'precede' are not in the heap themselves. They are linked into
+ * a cluster of event notices sharing the key of the cluster leader, which is the one in the heap.
+ * <p>
+ * The heap is represented as a binary tree: 'child' is the leftmost child, 'next' is the right sibling
+ * and 'prev' is the left sibling, or the parent if leftmost.
+ * <p>
+ * 'first', 'into', 'intoPrior' and 'precede' are O(1), 'out' is O(log n) amortized.
+ * 'suc' is O(1) within a cluster, otherwise it is a pruned search of the heap.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_PairingHeap.java"><b>Source File</b></a>.
+ */
+public final class RTS_PairingHeap implements RTS_SequencingSet {
+
+	/**
+	 * The root of the heap.
+	 */
+	private RTS_EVENT_NOTICE root;
+
+	/**
+	 * The last sequence number used by 'into'.
+	 */
+	private long lastSeq;
+
+	/**
+	 * The last sequence number used by 'intoPrior'.
+	 */
+	private long firstSeq;
+
+	/**
+	 * Create a new, empty PairingHeap.
+	 */
+	public RTS_PairingHeap() {}
+
+	@Override
+	public RTS_EVENT_NOTICE first() {
+		return (root);
+	}
+
+	@Override
+	public boolean empty() {
+		return (root == null);
+	}
+
+	@Override
+	public RTS_EVENT_NOTICE suc(RTS_EVENT_NOTICE ev) {
+		if (ev.cnext != null)
+			return (ev.cnext);
+		RTS_EVENT_NOTICE leader = ev;
+		while (leader.cprev != null)
+			leader = leader.cprev;
+		RTS_EVENT_NOTICE best = null;
+		RTS_EVENT_NOTICE x = root;
+		while (x != null) {
+			if (less(leader, x) && (best == null || less(x, best)))
+				best = x;
+			// All descendants of x are greater than x.
+			if (x.child != null && (best == null || less(x, best)))
+				x = x.child;
+			else
+				x = walk(x);
+		}
+		return (best);
+	}
+
+	@Override
+	public void into(RTS_EVENT_NOTICE ev, double time) {
+		out(ev);
+		ev.rnk = time;
+		ev.seq = ++lastSeq;
+		insert(ev);
+	}
+
+	@Override
+	public void intoPrior(RTS_EVENT_NOTICE ev, double time) {
+		out(ev);
+		ev.rnk = time;
+		ev.seq = --firstSeq;
+		insert(ev);
+	}
+
+	@Override
+	public void follow(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE prd) {
+		out(ins);
+		ins.rnk = prd.rnk;
+		ins.cprev = prd;
+		ins.cnext = prd.cnext;
+		if (prd.cnext != null)
+			prd.cnext.cprev = ins;
+		prd.cnext = ins;
+		ins.member = true;
+	}
+
+	@Override
+	public void precede(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE suc) {
+		out(ins);
+		ins.rnk = suc.rnk;
+		ins.cprev = suc.cprev;
+		ins.cnext = suc;
+		if (suc.cprev != null)
+			suc.cprev.cnext = ins;
+		else {
+			ins.seq = suc.seq;
+			replace(suc, ins);
+		}
+		suc.cprev = ins;
+		ins.member = true;
+	}
+
+	@Override
+	public void out(RTS_EVENT_NOTICE ev) {
+		if (!ev.member)
+			return;
+		ev.member = false;
+		if (ev.cprev != null) {
+			ev.cprev.cnext = ev.cnext;
+			if (ev.cnext != null)
+				ev.cnext.cprev = ev.cprev;
+		} else if (ev.cnext != null) {
+			RTS_EVENT_NOTICE leader = ev.cnext;
+			leader.cprev = null;
+			leader.seq = ev.seq;
+			replace(ev, leader);
+		} else if (ev == root) {
+			root = mergePairs(ev.child);
+		} else {
+			if (ev.prev.child == ev)
+				ev.prev.child = ev.next;
+			else
+				ev.prev.next = ev.next;
+			if (ev.next != null)
+				ev.next.prev = ev.prev;
+			root = meld(root, mergePairs(ev.child));
+		}
+		ev.cprev = null;
+		ev.cnext = null;
+		ev.child = null;
+		ev.next = null;
+		ev.prev = null;
+	}
+
+	/**
+	 * Utility: Insert 'ev' into the heap as a new single cluster.
+	 * @param ev the event notice
+	 */
+	private void insert(final RTS_EVENT_NOTICE ev) {
+		ev.member = true;
+		root = meld(root, ev);
+	}
+
+	/**
+	 * Utility: Returns true if the key of 'a' is less than the key of 'b'.
+	 * @param a the first event notice
+	 * @param b the second event notice
+	 * @return true if a &lt; b
+	 */
+	private static boolean less(final RTS_EVENT_NOTICE a, final RTS_EVENT_NOTICE b) {
+		return (a.rnk < b.rnk || (a.rnk == b.rnk && a.seq < b.seq));
+	}
+
+	/**
+	 * Utility: Meld two heaps.
+	 * @param a the first heap or null
+	 * @param b the second heap or null
+	 * @return the new root
+	 */
+	private static RTS_EVENT_NOTICE meld(RTS_EVENT_NOTICE a, RTS_EVENT_NOTICE b) {
+		if (a == null)
+			return (b);
+		if (b == null)
+			return (a);
+		if (less(b, a)) {
+			RTS_EVENT_NOTICE t = a;
+			a = b;
+			b = t;
+		}
+		b.next = a.child;
+		if (a.child != null)
+			a.child.prev = b;
+		b.prev = a;
+		a.child = b;
+		return (a);
+	}
+
+	/**
+	 * Utility: Two pass pairing of a list of siblings.
+	 * @param first the leftmost sibling or null
+	 * @return the new root
+	 */
+	private static RTS_EVENT_NOTICE mergePairs(RTS_EVENT_NOTICE first) {
+		// First pass: meld pairs from left to right. The results are linked in reverse order.
+		RTS_EVENT_NOTICE pairs = null;
+		while (first != null) {
+			RTS_EVENT_NOTICE a = first;
+			RTS_EVENT_NOTICE b = a.next;
+			first = (b == null) ? null : b.next;
+			a.next = null;
+			a.prev = null;
+			if (b != null) {
+				b.next = null;
+				b.prev = null;
+				a = meld(a, b);
+			}
+			a.next = pairs;
+			pairs = a;
+		}
+		// Second pass: meld from right to left.
+		RTS_EVENT_NOTICE result = null;
+		while (pairs != null) {
+			RTS_EVENT_NOTICE a = pairs;
+			pairs = a.next;
+			a.next = null;
+			result = meld(result, a);
+		}
+		return (result);
+	}
+
+	/**
+	 * Utility: Let 'nw' take the place of 'old' in the heap.
+	 * @param old the event notice in the heap
+	 * @param nw the replacing event notice
+	 */
+	private void replace(final RTS_EVENT_NOTICE old, final RTS_EVENT_NOTICE nw) {
+		nw.child = old.child;
+		nw.next = old.next;
+		nw.prev = old.prev;
+		if (old.child != null)
+			old.child.prev = nw;
+		if (old.next != null)
+			old.next.prev = nw;
+		if (old.prev != null) {
+			if (old.prev.child == old)
+				old.prev.child = nw;
+			else
+				old.prev.next = nw;
+		}
+		if (root == old)
+			root = nw;
+		old.child = null;
+		old.next = null;
+		old.prev = null;
+	}
+
+	/**
+	 * Utility: Returns the next node in a preorder walk of the binary tree when
+	 * the subtree below 'x.child' is done or skipped.
+	 * @param x the current node
+	 * @return the next node, or null
+	 */
+	private static RTS_EVENT_NOTICE walk(RTS_EVENT_NOTICE x) {
+		if (x.next != null)
+			return (x.next);
+		for (RTS_EVENT_NOTICE p = x.prev; p != null; p = x.prev) {
+			if (p.child == x && p.next != null)
+				return (p.next);
+			x = p;
+		}
+		return (null);
+	}
+
+	@Override
+	public String toString() {
+		return ("PairingHeap");
+	}
+
+}
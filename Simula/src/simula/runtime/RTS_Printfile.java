@@ -63,6 +63,9 @@ import java.io.PrintWriter;
  * The variable PAGE indicates the ordinal number of the current page. Its value
  * may be retrieved by means of procedure "page".
  * <p>
+ * With the runtime option -writeBehind the Printfile "#sysout" is written by a writer thread when
+ * no runtime console is used, see {@link RTS_WriteBehind}.
+ * <p>
  * Link to GitHub: <a href=
  * "https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_Printfile.java"><b>Source File</b></a>.
  * 
@@ -168,6 +171,8 @@ public class RTS_Printfile extends RTS_Outfile {
 		if (FILE_NAME.edText().equalsIgnoreCase("#sysout")) {
 			if (RTS_COMMON.console != null)
 				writer = RTS_COMMON.console.getWriter();
+			else if (RTS_COMMON.Option.WRITE_BEHIND)
+				writer = new RTS_WriteBehind(new PrintWriter(System.out, true, _CHARSET), fileName);
 			else
 				writer = new PrintWriter(System.out, true, _CHARSET);
 		} else if (fileName.toUpperCase().startsWith("CONSOLE: ")) {
@@ -374,14 +379,17 @@ public class RTS_Printfile extends RTS_Outfile {
 	}
 
 	@Override
-	protected void writeImage(String ident, String img, boolean blank) {
+	protected void writeImage(final String ident, final int length, final boolean newline, final boolean blank) {
 		// Used by Outimage, OutRecord and BreakOutimage in Outfile
 		if (!_OPEN)
 			throw new RTS_SimulaRuntimeError("File not opened");
 		if (_LINE > _LINES_PER_PAGE)
 			eject(1);
-		try { // String line=(image==null)?nl:(image.edStripedText()+nl);
-			writer.write(img);
+		try {
+			if (length > 0)
+				writer.write(image.OBJ.MAIN, image.START, length);
+			if (newline)
+				writer.write('\n');
 			if (_SPACING > 1) {
 				for (int i = 1; i < _SPACING; i++)
 					writer.write("\n");
@@ -140,7 +140,7 @@ public class RTS_Process extends RTS_Link {
 		if (idle())
 			return (null);
 		RTS_EVENT_NOTICE suc;
-		suc = (RTS_EVENT_NOTICE) RTS_Ranking.SUC(EVENT);
+		suc = ((RTS_Simulation) _SL).sqs.suc(EVENT);
 		if (suc == null)
 			return (null);
 		return (suc.PROC);
@@ -158,7 +158,7 @@ public abstract class RTS_RTObject {
 	/**
 	 * Constructor
 	 * 
-	 * @param SL Static Link, may be null when creating CONTEXT, TEXTOBJ and TXTREF
+	 * @param SL Static Link, may be null when creating CONTEXT and TXTREF
 	 */
 	public RTS_RTObject(final RTS_RTObject SL) {
 		if (SL != null) {
@@ -238,6 +238,18 @@ public abstract class RTS_RTObject {
 	 * 
 	 * Here we see that the 'put' method is not redefined so that any attempt to
 	 * assign a new value to this name parameter will result in an error message.
+	 * <p>
+	 * Name parameters of type integer, real, long real, character and boolean use the
+	 * subclasses {@link RTS_NAME_int}, {@link RTS_NAME_float}, {@link RTS_NAME_double},
+	 * {@link RTS_NAME_char} and {@link RTS_NAME_boolean} instead. They define 'getValue'
+	 * and 'putValue' with the primitive Java type so that a name parameter is read and
+	 * written without boxing:
+	 * 
+	 * <pre>
+	 *	 void P(RTS_NAME_int k) {
+	 *	 	k.putValue(k.getValue() + 1); // E.g: k=k+1
+	 *	 }
+	 * </pre>
 	 *
 	 * @param <T> the type of the parameter
 	 */
@@ -270,6 +282,196 @@ public abstract class RTS_RTObject {
 		}
 	}
 
+	/**
+	 * Name parameter of type integer.
+	 * <p>
+	 * A RTS_NAME&lt;Integer> which is read and written without boxing. See {@link RTS_NAME}.
+	 */
+	public abstract class RTS_NAME_int extends RTS_NAME<Integer> {
+		/**
+		 * Construct a RTS_NAME_int object
+		 */
+		public RTS_NAME_int() {
+		}
+
+		/**
+		 * Evaluate and get the value of a name parameter
+		 * @return the value 
+		 */
+		public abstract int getValue();
+
+		/**
+		 * Write back into a name parameter
+		 * @param x the value to be written
+		 * @return the value written
+		 */
+		public int putValue(final int x) {
+			throw new RTS_SimulaRuntimeError("Illegal assignment. Name parameter is not a variable");
+		}
+
+		@Override
+		public final Integer get() {
+			return (getValue());
+		}
+
+		@Override
+		public final Integer put(final Integer x) {
+			return (putValue(x));
+		}
+	}
+
+	/**
+	 * Name parameter of type real.
+	 * <p>
+	 * A RTS_NAME&lt;Float> which is read and written without boxing. See {@link RTS_NAME}.
+	 */
+	public abstract class RTS_NAME_float extends RTS_NAME<Float> {
+		/**
+		 * Construct a RTS_NAME_float object
+		 */
+		public RTS_NAME_float() {
+		}
+
+		/**
+		 * Evaluate and get the value of a name parameter
+		 * @return the value 
+		 */
+		public abstract float getValue();
+
+		/**
+		 * Write back into a name parameter
+		 * @param x the value to be written
+		 * @return the value written
+		 */
+		public float putValue(final float x) {
+			throw new RTS_SimulaRuntimeError("Illegal assignment. Name parameter is not a variable");
+		}
+
+		@Override
+		public final Float get() {
+			return (getValue());
+		}
+
+		@Override
+		public final Float put(final Float x) {
+			return (putValue(x));
+		}
+	}
+
+	/**
+	 * Name parameter of type long real.
+	 * <p>
+	 * A RTS_NAME&lt;Double> which is read and written without boxing. See {@link RTS_NAME}.
+	 */
+	public abstract class RTS_NAME_double extends RTS_NAME<Double> {
+		/**
+		 * Construct a RTS_NAME_double object
+		 */
+		public RTS_NAME_double() {
+		}
+
+		/**
+		 * Evaluate and get the value of a name parameter
+		 * @return the value 
+		 */
+		public abstract double getValue();
+
+		/**
+		 * Write back into a name parameter
+		 * @param x the value to be written
+		 * @return the value written
+		 */
+		public double putValue(final double x) {
+			throw new RTS_SimulaRuntimeError("Illegal assignment. Name parameter is not a variable");
+		}
+
+		@Override
+		public final Double get() {
+			return (getValue());
+		}
+
+		@Override
+		public final Double put(final Double x) {
+			return (putValue(x));
+		}
+	}
+
+	/**
+	 * Name parameter of type character.
+	 * <p>
+	 * A RTS_NAME&lt;Character> which is read and written without boxing. See {@link RTS_NAME}.
+	 */
+	public abstract class RTS_NAME_char extends RTS_NAME<Character> {
+		/**
+		 * Construct a RTS_NAME_char object
+		 */
+		public RTS_NAME_char() {
+		}
+
+		/**
+		 * Evaluate and get the value of a name parameter
+		 * @return the value 
+		 */
+		public abstract char getValue();
+
+		/**
+		 * Write back into a name parameter
+		 * @param x the value to be written
+		 * @return the value written
+		 */
+		public char putValue(final char x) {
+			throw new RTS_SimulaRuntimeError("Illegal assignment. Name parameter is not a variable");
+		}
+
+		@Override
+		public final Character get() {
+			return (getValue());
+		}
+
+		@Override
+		public final Character put(final Character x) {
+			return (putValue(x));
+		}
+	}
+
+	/**
+	 * Name parameter of type boolean.
+	 * <p>
+	 * A RTS_NAME&lt;Boolean> which is read and written without boxing. See {@link RTS_NAME}.
+	 */
+	public abstract class RTS_NAME_boolean extends RTS_NAME<Boolean> {
+		/**
+		 * Construct a RTS_NAME_boolean object
+		 */
+		public RTS_NAME_boolean() {
+		}
+
+		/**
+		 * Evaluate and get the value of a name parameter
+		 * @return the value 
+		 */
+		public abstract boolean getValue();
+
+		/**
+		 * Write back into a name parameter
+		 * @param x the value to be written
+		 * @return the value written
+		 */
+		public boolean putValue(final boolean x) {
+			throw new RTS_SimulaRuntimeError("Illegal assignment. Name parameter is not a variable");
+		}
+
+		@Override
+		public final Boolean get() {
+			return (getValue());
+		}
+
+		@Override
+		public final Boolean put(final Boolean x) {
+			return (putValue(x));
+		}
+	}
+
 	// ************************************************************
 	// *** ARRAY OBJECTS
 	// ************************************************************
@@ -349,6 +551,36 @@ public abstract class RTS_RTObject {
 			return (ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public int getELEMENT(int i) {
+			return (ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public int getELEMENT(int i, int j) {
+			return (ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public int getELEMENT(int i, int j, int k) {
+			return (ELTS[index(i, j, k)]);
+		}
+
 		/**
 		 * Abstract method redefined for all subclaRTS_BOUNDS;type>_ARRAY
 		 * @return a copy of this RTS_INTEGER_ARRAY
@@ -403,6 +635,36 @@ public abstract class RTS_RTObject {
 			return (ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public char getELEMENT(int i) {
+			return (ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public char getELEMENT(int i, int j) {
+			return (ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public char getELEMENT(int i, int j, int k) {
+			return (ELTS[index(i, j, k)]);
+		}
+
 		/**
 		 * Abstract method redefined for all subclass &lt;type>_ARRAY
 		 * @return a copy of this RTS_CHARACTER_ARRAY
@@ -457,6 +719,36 @@ public abstract class RTS_RTObject {
 			return (ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public boolean getELEMENT(int i) {
+			return (ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public boolean getELEMENT(int i, int j) {
+			return (ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public boolean getELEMENT(int i, int j, int k) {
+			return (ELTS[index(i, j, k)]);
+		}
+
 		/**
 		 * Abstract method redefined for all subclass &lt;type>_ARRAY
 		 * @return a copy of this RTS_BOOLEAN_ARRAY
@@ -539,6 +831,36 @@ public abstract class RTS_RTObject {
 			return (ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public float getELEMENT(int i) {
+			return (ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public float getELEMENT(int i, int j) {
+			return (ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public float getELEMENT(int i, int j, int k) {
+			return (ELTS[index(i, j, k)]);
+		}
+
 		/**
 		 * Abstract method redefined for all subclass &lt;type>_ARRAY
 		 * @return a copy of this RTS_REAL_ARRAY
@@ -598,6 +920,36 @@ public abstract class RTS_RTObject {
 			return (ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public double getELEMENT(int i) {
+			return (ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public double getELEMENT(int i, int j) {
+			return (ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public double getELEMENT(int i, int j, int k) {
+			return (ELTS[index(i, j, k)]);
+		}
+
 		/**
 		 * Abstract method redefined for all subclass &lt;type>_ARRAY
 		 * @return a copy of this RTS_LONG_REAL_ARRAY
@@ -658,6 +1010,36 @@ public abstract class RTS_RTObject {
 			return (ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public RTS_TXT getELEMENT(int i) {
+			return (ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public RTS_TXT getELEMENT(int i, int j) {
+			return (ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public RTS_TXT getELEMENT(int i, int j, int k) {
+			return (ELTS[index(i, j, k)]);
+		}
+
 		/**
 		 * Abstract method redefined for all subclass &lt;type>_ARRAY
 		 * @return a copy of this TEXT_ARRAY
@@ -713,6 +1095,36 @@ public abstract class RTS_RTObject {
 			return ((T) ELTS[index(x)]);
 		}
 
+		/**
+		 * This method will return a value from ELTS of a one-dimensional array
+		 * @param i the index
+		 * @return the value loaded
+		 */
+		public T getELEMENT(int i) {
+			return ((T) ELTS[index(i)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a two-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @return the value loaded
+		 */
+		public T getELEMENT(int i, int j) {
+			return ((T) ELTS[index(i, j)]);
+		}
+
+		/**
+		 * This method will return a value from ELTS of a three-dimensional array
+		 * @param i the first index
+		 * @param j the second index
+		 * @param k the third index
+		 * @return the value loaded
+		 */
+		public T getELEMENT(int i, int j, int k) {
+			return ((T) ELTS[index(i, j, k)]);
+		}
+
 		@Override
 		public RTS_REF_ARRAY<T> COPY() {
 			RTS_REF_ARRAY<T> copy = new RTS_REF_ARRAY<T>(BOUNDS);
@@ -788,6 +1200,8 @@ public abstract class RTS_RTObject {
 	 * @return an Integer value
 	 */
 	public int intValue(Object par) {
+		if (par instanceof RTS_NAME_int npar)
+			return (npar.getValue());
 		if (par instanceof RTS_NAME<?> npar)
 			par = npar.get();
 		if (par instanceof RTS_PRCQNT proc)
@@ -815,6 +1229,8 @@ public abstract class RTS_RTObject {
 	 * @return a Float value
 	 */
 	public float floatValue(Object par) {
+		if (par instanceof RTS_NAME_float npar)
+			return (npar.getValue());
 		if (par instanceof RTS_NAME<?> npar)
 			par = npar.get();
 		if (par instanceof RTS_PRCQNT proc)
@@ -842,6 +1258,8 @@ public abstract class RTS_RTObject {
 	 * @return a Double value
 	 */
 	public double doubleValue(Object par) {
+		if (par instanceof RTS_NAME_double npar)
+			return (npar.getValue());
 		if (par instanceof RTS_NAME<?> npar)
 			par = npar.get();
 		if (par instanceof RTS_PRCQNT proc)
@@ -855,6 +1273,159 @@ public abstract class RTS_RTObject {
 		throw new ClassCastException("Incompatible Types: double," + par.getClass().getSimpleName());
 	}
 
+	/**
+	 * Utility method to support Parameter Transmission in case of Formal/Virtual Procedure Call.
+	 * <p>
+	 * Returns the Integer name parameter as a RTS_NAME_int. Any other name parameter,
+	 * e.g. an actual parameter of another type, is wrapped in a RTS_NAME_int which converts the value.
+	 * <p>
+	 * See {@link simula.compiler.syntaxClass.declaration.ProcedureDeclaration#doCodePrepareFormal() simula.compiler.declaration.ProcedureDeclaration#doCodePrepareFormal}
+	 * @param par an Object
+	 * @return a RTS_NAME_int value
+	 */
+	public RTS_NAME_int intName(final Object par) {
+		if (par instanceof RTS_NAME_int npar)
+			return (npar);
+		final RTS_NAME<?> npar = (RTS_NAME<?>) par;
+		return (new RTS_NAME_int() {
+			public int getValue() {
+				return (intValue(npar));
+			}
+
+			public int putValue(final int x) {
+				putName(npar, x);
+				return (x);
+			}
+		});
+	}
+
+	/**
+	 * Utility method to support Parameter Transmission in case of Formal/Virtual Procedure Call.
+	 * <p>
+	 * Returns the Float name parameter as a RTS_NAME_float. Any other name parameter,
+	 * e.g. an actual parameter of another type, is wrapped in a RTS_NAME_float which converts the value.
+	 * <p>
+	 * See {@link simula.compiler.syntaxClass.declaration.ProcedureDeclaration#doCodePrepareFormal() simula.compiler.declaration.ProcedureDeclaration#doCodePrepareFormal}
+	 * @param par an Object
+	 * @return a RTS_NAME_float value
+	 */
+	public RTS_NAME_float floatName(final Object par) {
+		if (par instanceof RTS_NAME_float npar)
+			return (npar);
+		final RTS_NAME<?> npar = (RTS_NAME<?>) par;
+		return (new RTS_NAME_float() {
+			public float getValue() {
+				return (floatValue(npar));
+			}
+
+			public float putValue(final float x) {
+				putName(npar, x);
+				return (x);
+			}
+		});
+	}
+
+	/**
+	 * Utility method to support Parameter Transmission in case of Formal/Virtual Procedure Call.
+	 * <p>
+	 * Returns the Double name parameter as a RTS_NAME_double. Any other name parameter,
+	 * e.g. an actual parameter of another type, is wrapped in a RTS_NAME_double which converts the value.
+	 * <p>
+	 * See {@link simula.compiler.syntaxClass.declaration.ProcedureDeclaration#doCodePrepareFormal() simula.compiler.declaration.ProcedureDeclaration#doCodePrepareFormal}
+	 * @param par an Object
+	 * @return a RTS_NAME_double value
+	 */
+	public RTS_NAME_double doubleName(final Object par) {
+		if (par instanceof RTS_NAME_double npar)
+			return (npar);
+		final RTS_NAME<?> npar = (RTS_NAME<?>) par;
+		return (new RTS_NAME_double() {
+			public double getValue() {
+				return (doubleValue(npar));
+			}
+
+			public double putValue(final double x) {
+				putName(npar, x);
+				return (x);
+			}
+		});
+	}
+
+	/**
+	 * Utility method to support Parameter Transmission in case of Formal/Virtual Procedure Call.
+	 * <p>
+	 * Returns the Character name parameter as a RTS_NAME_char. Any other name parameter,
+	 * e.g. an actual parameter of another type, is wrapped in a RTS_NAME_char which converts the value.
+	 * <p>
+	 * See {@link simula.compiler.syntaxClass.declaration.ProcedureDeclaration#doCodePrepareFormal() simula.compiler.declaration.ProcedureDeclaration#doCodePrepareFormal}
+	 * @param par an Object
+	 * @return a RTS_NAME_char value
+	 */
+	public RTS_NAME_char charName(final Object par) {
+		if (par instanceof RTS_NAME_char npar)
+			return (npar);
+		final RTS_NAME<?> npar = (RTS_NAME<?>) par;
+		return (new RTS_NAME_char() {
+			public char getValue() {
+				return ((Character) objectValue(npar));
+			}
+
+			public char putValue(final char x) {
+				putName(npar, x);
+				return (x);
+			}
+		});
+	}
+
+	/**
+	 * Utility method to support Parameter Transmission in case of Formal/Virtual Procedure Call.
+	 * <p>
+	 * Returns the Boolean name parameter as a RTS_NAME_boolean. Any other name parameter,
+	 * e.g. an actual parameter of another type, is wrapped in a RTS_NAME_boolean which converts the value.
+	 * <p>
+	 * See {@link simula.compiler.syntaxClass.declaration.ProcedureDeclaration#doCodePrepareFormal() simula.compiler.declaration.ProcedureDeclaration#doCodePrepareFormal}
+	 * @param par an Object
+	 * @return a RTS_NAME_boolean value
+	 */
+	public RTS_NAME_boolean booleanName(final Object par) {
+		if (par instanceof RTS_NAME_boolean npar)
+			return (npar);
+		final RTS_NAME<?> npar = (RTS_NAME<?>) par;
+		return (new RTS_NAME_boolean() {
+			public boolean getValue() {
+				return ((Boolean) objectValue(npar));
+			}
+
+			public boolean putValue(final boolean x) {
+				putName(npar, x);
+				return (x);
+			}
+		});
+	}
+
+	/**
+	 * Write back into a name parameter of any type. Numeric values are converted
+	 * to the type of the name parameter.
+	 * @param npar the name parameter
+	 * @param x the value to be written
+	 */
+	@SuppressWarnings("unchecked")
+	private static void putName(final RTS_NAME<?> npar, final Object x) {
+		if (x instanceof Number num) {
+			if (npar instanceof RTS_NAME_int n) {
+				n.putValue((num instanceof Integer i) ? i : (int) Math.round(num.doubleValue()));
+				return;
+			} else if (npar instanceof RTS_NAME_float n) {
+				n.putValue(num.floatValue());
+				return;
+			} else if (npar instanceof RTS_NAME_double n) {
+				n.putValue(num.doubleValue());
+				return;
+			}
+		}
+		((RTS_NAME<Object>) npar).put(x);
+	}
+
 	// *******************************************************
 	// *** FRAMEWORK for for-list iteration
 	// *******************************************************
@@ -874,6 +1445,9 @@ public abstract class RTS_RTObject {
 	 * All parameters to these classes are transferred 'by name'.
 	 * This is done to ensure that all expressions are evaluated in the right order.
 	 * The assignment to the 'control variable' is done within the various for-elements when the 'next' method is invoked.
+	 * <p>
+	 * The compiler now codes for-statements as plain Java loops, see ForStatement. The ForList is only
+	 * used as a fallback for step-until elements with a control variable which is not arithmetic.
 	 *
 	 */
 	public final class ForList implements Iterable<Boolean> {
@@ -1276,15 +1850,39 @@ public abstract class RTS_RTObject {
 	 * @param T2 the second text to be concatenated
 	 * @return  the concatenated text
 	 */
-	public RTS_TXT CONC(RTS_TXT T1, RTS_TXT T2) {
-		if (T1 == null)
-			T1 = NOTEXT;
-		if (T2 == null)
-			T2 = NOTEXT;
-		RTS_TXT U = blanks(RTS_TXT.length(T1) + RTS_TXT.length(T2));
-		_ASGTXT(RTS_TXT.sub(U, 1, RTS_TXT.length(T1)), T1);
-		_ASGTXT(RTS_TXT.sub(U, 1 + RTS_TXT.length(T1), RTS_TXT.length(T2)), T2);
-		return (U);
+	public RTS_TXT CONC(final RTS_TXT T1, final RTS_TXT T2) {
+		return (CONC(new RTS_TXT[] { T1, T2 }));
+	}
+
+	/**
+	 * The text concatenation "T1 &amp; T2 &amp; ... &amp; Tn".
+	 * <p>
+	 * The result is sized once, and each frame is copied into it by System.arraycopy.
+	 * The new main frame is not blank-filled and no sub texts are created.
+	 * 
+	 * @param T the texts to be concatenated
+	 * @return  the concatenated text
+	 */
+	public RTS_TXT CONC(final RTS_TXT... T) {
+		int n = 0;
+		for (RTS_TXT t : T)
+			n = n + RTS_TXT.length(t);
+		if (n == 0)
+			return (NOTEXT);
+		char[] main = new char[n];
+		int p = 0;
+		for (RTS_TXT t : T) {
+			if (t != null && t.LENGTH > 0) {
+				System.arraycopy(t.OBJ.MAIN, t.START, main, p, t.LENGTH);
+				p = p + t.LENGTH;
+			}
+		}
+		RTS_TXT textRef = new RTS_TXT();
+		textRef.START = 0; // Note: Counting from zero in this implementation
+		textRef.LENGTH = n;
+		textRef.POS = 0; // Note: Counting from zero in this implementation
+		textRef.OBJ = new RTS_TEXTOBJ(main, false);
+		return (textRef);
 	}
 
 	/**
@@ -1624,6 +2222,10 @@ public abstract class RTS_RTObject {
 	// ************************************************************
 	/**
 	 * This class represent a Simula Label quantity
+	 * <p>
+	 * A label quantity is created when its block is entered and thrown by each
+	 * non-local goto to it. It is immutable and has no stack trace, so neither
+	 * creating nor throwing it walks the stack.
 	 *
 	 */
 	@SuppressWarnings("serial")
@@ -1650,6 +2252,7 @@ public abstract class RTS_RTObject {
 		 * @param identifier label identifier
 		 */
 		public RTS_LABEL(final RTS_RTObject _SL, final int index, final String identifier) {
+			super(null, null, false, false);
 			this._SL = _SL;
 			this.index = index;
 			this.identifier = identifier;
@@ -1819,7 +2422,7 @@ public abstract class RTS_RTObject {
 		Thread.currentThread().setUncaughtExceptionHandler(new UncaughtExceptionHandler(this));
 		RTS_COMMON.progamIdent = ident;
 		if (RTS_COMMON.Option.BLOCK_TRACING)
-			RTS_COMMON.TRACE("Begin Execution of Simula Program: " + ident);
+			RTS_COMMON.TRACE(RTS_TraceBuffer.BEGIN_PROGRAM, this, 0, () -> "Begin Execution of Simula Program: " + ident);
 		if (_SYSIN == null) {
 			if (RTS_COMMON.Option.USE_CONSOLE) {
 				RTS_COMMON.console = new RTS_ConsolePanel();
@@ -1849,7 +2452,7 @@ public abstract class RTS_RTObject {
 		_CORUT = _DL._CORUT;
 		_STATE = OperationalState.attached;
 		if (RTS_COMMON.Option.BLOCK_TRACING)
-			RTS_COMMON.TRACE("BEGIN " + edObjectAttributes());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.BEGIN_BLOCK, this, 0, () -> "BEGIN " + edObjectAttributes());
 		if (_SL == null) {
 			throw new RTS_SimulaRuntimeError("NONE-CHECK FAILED: Remote Call on Procedure x.proc, x==none");
 		}
@@ -1888,7 +2491,7 @@ public abstract class RTS_RTObject {
 		switch (_STATE) {
 		case attached -> {
 			if (RTS_COMMON.Option.BLOCK_TRACING)
-				RTS_COMMON.TRACE("END ATTACHED BLOCK " + edObjectAttributes());
+				RTS_COMMON.TRACE(RTS_TraceBuffer.END_BLOCK, this, 0, () -> "END ATTACHED BLOCK " + edObjectAttributes());
 			_STATE = OperationalState.terminated;
 			_CUR = _DL; // Make the dynamic enclosure the new current instance.
 		}
@@ -1909,11 +2512,11 @@ public abstract class RTS_RTObject {
 			_CUR = main._DL;
 			main._DL = dl;
 			if (RTS_COMMON.Option.BLOCK_TRACING)
-				RTS_COMMON.TRACE("END COMPONENT " + edObjectAttributes());
+				RTS_COMMON.TRACE(RTS_TraceBuffer.END_BLOCK, this, 0, () -> "END COMPONENT " + edObjectAttributes());
 		}
 		case terminatingProcess -> {
 			if (RTS_COMMON.Option.BLOCK_TRACING)
-				RTS_COMMON.TRACE("TERMINATING PROCESS " + edObjectAttributes());
+				RTS_COMMON.TRACE(RTS_TraceBuffer.END_BLOCK, this, 0, () -> "TERMINATING PROCESS " + edObjectAttributes());
 			_STATE = OperationalState.terminated;
 			_CORUT = null; // Leave it to the GarbageCollector
 			return; // Let this Continuation R.I.P.
@@ -1922,7 +2525,7 @@ public abstract class RTS_RTObject {
 		}
 		if (_CUR == null || _CUR == _CTX) {
 			if (RTS_COMMON.Option.BLOCK_TRACING)
-				RTS_COMMON.TRACE("PROGRAM PASSES THROUGH FINAL END " + edObjectAttributes());
+				RTS_COMMON.TRACE(RTS_TraceBuffer.END_BLOCK, this, 0, () -> "PROGRAM PASSES THROUGH FINAL END " + edObjectAttributes());
 			endProgram(0);
 		} else {
 			if (this._CORUT != null && this.isDetachUsed()) {
@@ -2024,7 +2627,7 @@ public abstract class RTS_RTObject {
 		this._STATE = OperationalState.detached;
 
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE("DETACH " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.DETACH, this, 0, () -> "DETACH " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
 		RTS_Coroutine.detach();
 	}
 
@@ -2042,11 +2645,12 @@ public abstract class RTS_RTObject {
 	 */
 	public void detach(int sourceLine) {
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE("LINE " + sourceLine + ": BEGIN DETACH " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.DETACH, this, sourceLine,
+					() -> "LINE " + sourceLine + ": BEGIN DETACH " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
 		detach();
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE("LINE " + sourceLine + ": DETACH(" + this.edObjectIdent() + ") CONTINUE IN "
-					+ _CUR.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.DETACH, _CUR, sourceLine,
+					() -> "LINE " + sourceLine + ": DETACH(" + this.edObjectIdent() + ") CONTINUE IN " + _CUR.edObjectIdent());
 	}
 
 
@@ -2107,11 +2711,12 @@ public abstract class RTS_RTObject {
 	 */
 	public void call(final RTS_RTObject ins, int sourceLine) {
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE("LINE " + sourceLine + ": BEGIN CALL " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.CALL, ins, sourceLine,
+					() -> "LINE " + sourceLine + ": BEGIN CALL " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
 		call(ins);
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE(
-					"LINE " + sourceLine + ": CALL(" + this.edObjectIdent() + ") CONTINUE IN " + _CUR.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.CALL, _CUR, sourceLine,
+					() -> "LINE " + sourceLine + ": CALL(" + this.edObjectIdent() + ") CONTINUE IN " + _CUR.edObjectIdent());
 	}
 
 
@@ -2167,7 +2772,8 @@ public abstract class RTS_RTObject {
 	 */
 	public void resume(final RTS_RTObject ins, int sourceLine) {
 		if (RTS_COMMON.Option.QPS_TRACING)
-			RTS_COMMON.TRACE("LINE " + sourceLine + ": BEGIN RESUME " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
+			RTS_COMMON.TRACE(RTS_TraceBuffer.RESUME, ins, sourceLine,
+					() -> "LINE " + sourceLine + ": BEGIN RESUME " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
 		resume(ins);
 	}
 
@@ -2206,7 +2812,7 @@ public abstract class RTS_RTObject {
 			ins._DL = mainSL;
 			ins._STATE = OperationalState.resumed;
 			if (RTS_COMMON.Option.QPS_TRACING)
-				RTS_COMMON.TRACE("RESUME " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
+				RTS_COMMON.TRACE(RTS_TraceBuffer.RESUME, ins, 0, () -> "RESUME " + this.edObjectIdent() + " ==> " + _CUR.edObjectIdent());
 			if (doSwap)
 				swapCoroutines();
 		}
@@ -2233,6 +2839,9 @@ public abstract class RTS_RTObject {
 		// _SYSIN.close();
 		// _SYSOUT.close();
 		_SYSOUT.outimage();
+		RTS_Outbytefile.checkpointAll();
+		RTS_RecordCache.flushAll();
+		RTS_WriteBehind.drainAll();
 		long timeUsed = System.currentTimeMillis() - startTimeMs;
 		if (RTS_COMMON.Option.VERBOSE) {
 			RTS_COMMON.println("\nEnd program: " + RTS_COMMON.progamIdent);
@@ -2242,6 +2851,9 @@ public abstract class RTS_RTObject {
 			RTS_COMMON.println(" -  Memory(used=" + runtime.totalMemory() + ",free=" + runtime.freeMemory() + ')');
 			RTS_COMMON.println(" -  nProcessors=" + runtime.availableProcessors());
 			RTS_COMMON.println(" -  Elapsed Time Approximately " + timeUsed / 1000 + " sec.");
+			String cacheStatistics = RTS_RecordCache.statistics();
+			if (cacheStatistics != null)
+				RTS_COMMON.println(" -  " + cacheStatistics);
 		} else if (RTS_COMMON.numberOfEditOverflows > 0)
 			RTS_COMMON.println("End program: WARNING " + RTS_COMMON.numberOfEditOverflows + " EditOverflows");
 		if (RTS_COMMON.console == null) {
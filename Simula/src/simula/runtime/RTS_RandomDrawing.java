@@ -8,6 +8,7 @@
 package simula.runtime;
 
 import simula.runtime.RTS_RTObject.RTS_NAME;
+import simula.runtime.RTS_RTObject.RTS_NAME_int;
 
 /**
  * Utility class RandomDrawing.
@@ -79,16 +80,23 @@ public abstract class RTS_RandomDrawing {
 	 *         0.0 and 1.0
 	 */
 	public static double basicDRAW(final RTS_NAME<Integer> U) {
-		long seed = U.get();
+		RTS_NAME_int iU = (U instanceof RTS_NAME_int n) ? n : null; // Avoid boxing
+		long seed = (iU != null) ? iU.getValue() : U.get();
 		if (seed == 0)
 			seed = System.currentTimeMillis();
 		if (seed > 0) {
 			seed = ((seed | 1) * MULTIPLIER) % TWO_POW_31;
-			U.put((int) seed);
+			if (iU != null)
+				iU.putValue((int) seed);
+			else
+				U.put((int) seed);
 			return (((double) seed) / TWO_POW_31M1D);
 		} else { // Antithetic drawing
 			seed = (((-seed) | 1) * MULTIPLIER) % TWO_POW_31;
-			U.put((int) -seed);
+			if (iU != null)
+				iU.putValue((int) -seed);
+			else
+				U.put((int) -seed);
 			return (1.0d - ((double) seed) / TWO_POW_31M1D);
 		}
 	}
@@ -0,0 +1,79 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+/**
+ * Utility class RankingSet.
+ * <p>
+ * The default sequencing set. It is the balanced tree {@link RTS_Ranking}.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_RankingSet.java"><b>Source File</b></a>.
+ */
+public final class RTS_RankingSet implements RTS_SequencingSet {
+
+	/**
+	 * The head of the tree.
+	 */
+	private final RTS_Ranking head;
+
+	/**
+	 * Create a new, empty RankingSet.
+	 */
+	public RTS_RankingSet() {
+		head = new RTS_Ranking();
+		head.bl = head;
+		head.ll = head;
+		head.rl = head;
+	}
+
+	@Override
+	public RTS_EVENT_NOTICE first() {
+		return ((RTS_EVENT_NOTICE) RTS_Ranking.FIRST(head));
+	}
+
+	@Override
+	public boolean empty() {
+		return (RTS_Ranking.EMPTY(head));
+	}
+
+	@Override
+	public RTS_EVENT_NOTICE suc(RTS_EVENT_NOTICE ev) {
+		return ((RTS_EVENT_NOTICE) RTS_Ranking.SUC(ev));
+	}
+
+	@Override
+	public void into(RTS_EVENT_NOTICE ev, double time) {
+		RTS_Ranking.INTO(ev, head, time);
+	}
+
+	@Override
+	public void intoPrior(RTS_EVENT_NOTICE ev, double time) {
+		RTS_Ranking.INTO_PRIOR(ev, head, time);
+	}
+
+	@Override
+	public void follow(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE prd) {
+		RTS_Ranking.FOLLOW(ins, prd);
+	}
+
+	@Override
+	public void precede(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE suc) {
+		RTS_Ranking.PRECEDE(ins, suc);
+	}
+
+	@Override
+	public void out(RTS_EVENT_NOTICE ev) {
+		RTS_Ranking.OUT(ev);
+	}
+
+	@Override
+	public String toString() {
+		return ("RankingSet");
+	}
+
+}
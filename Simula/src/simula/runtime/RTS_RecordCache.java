@@ -0,0 +1,296 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class RecordCache.
+ * <p>
+ * An LRU cache of the records of a Directfile, used when the runtime option -directfileCache
+ * is given. The file is divided into blocks of whole records, about {@link #BLOCK_SIZE} bytes each.
+ * At most the given number of blocks is kept in memory, the least recently used block is evicted
+ * when another block is needed.
+ * <p>
+ * "inimage" is served from the cached block, which is read from the file the first time it is used.
+ * "outimage" and "deleteimage" update the cached block, and the updated part of a block is written
+ * back to the file as one write when the block is evicted, or by {@link #flush()} at "close",
+ * "checkpoint" and "unlock". The cache is flushed and emptied by {@link #invalidate()} when the file
+ * is locked, another program may have changed it. The caches of files not closed are flushed at the
+ * end of the program, and when another file is opened.
+ * <p>
+ * The length of the file, including records not yet written back, is kept here.
+ * Each character is one byte.
+ * <p>
+ * The number of hits, misses and write-backs of all Directfile caches are shown at the end of
+ * the program when the runtime option -verbose is given.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_RecordCache.java"><b>Source File</b></a>.
+ */
+public final class RTS_RecordCache {
+
+	/**
+	 * The preferred size of a block in bytes. A block holds at least one record.
+	 */
+	public static final int BLOCK_SIZE = 4096;
+
+	/**
+	 * Statistics: Number of records found in the cache.
+	 */
+	static long hits;
+
+	/**
+	 * Statistics: Number of records not found in the cache.
+	 */
+	static long misses;
+
+	/**
+	 * Statistics: Number of blocks written back to the file.
+	 */
+	static long writeBacks;
+
+	/**
+	 * The open record caches.
+	 */
+	private static final ArrayList<RTS_RecordCache> openCaches = new ArrayList<RTS_RecordCache>();
+
+	/**
+	 * A cached block.
+	 */
+	private static final class Block {
+		/**
+		 * The contents of the block.
+		 */
+		final byte[] data;
+
+		/**
+		 * The first byte in data not yet written back.
+		 */
+		int dirtyFrom;
+
+		/**
+		 * The byte after the last one in data not yet written back. No bytes if dirtyTo &lt;= dirtyFrom.
+		 */
+		int dirtyTo;
+
+		/**
+		 * Create a new block.
+		 * @param size the block size in bytes
+		 */
+		Block(final int size) {
+			data = new byte[size];
+		}
+	}
+
+	/**
+	 * The FileChannel of the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The record size in bytes.
+	 */
+	private final int recordSize;
+
+	/**
+	 * The number of records in a block.
+	 */
+	private final int recordsPerBlock;
+
+	/**
+	 * The cached blocks in LRU order, indexed by block number.
+	 */
+	private final LinkedHashMap<Integer, Block> blocks;
+
+	/**
+	 * The length of the file, in bytes, including bytes not yet written back.
+	 */
+	private long length;
+
+	/**
+	 * Create a new record cache.
+	 * @param channel the FileChannel of the file
+	 * @param recordSize the record size in bytes
+	 * @param maxBlocks the maximum number of cached blocks
+	 * @throws IOException if the file length can't be read
+	 */
+	RTS_RecordCache(final FileChannel channel, final int recordSize, final int maxBlocks) throws IOException {
+		this.channel = channel;
+		this.recordSize = recordSize;
+		this.recordsPerBlock = Math.max(1, BLOCK_SIZE / recordSize);
+		this.length = channel.size();
+		this.blocks = new LinkedHashMap<Integer, Block>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Integer, Block> eldest) {
+				if (size() <= maxBlocks)
+					return (false);
+				writeBack(eldest.getKey(), eldest.getValue());
+				return (true);
+			}
+		};
+		openCaches.add(this);
+	}
+
+	/**
+	 * Returns the length of the file, in bytes.
+	 * @return the length of the file
+	 */
+	long length() {
+		return (length);
+	}
+
+	/**
+	 * Read the record at the given location into a character array, one character per byte.
+	 * The read stops at the end of the file.
+	 * @param loc the location, 1..
+	 * @param dst the character array
+	 * @param off offset in dst
+	 * @return the number of bytes read
+	 */
+	int read(final int loc, final char[] dst, final int off) {
+		long pos = (long) (loc - 1) * recordSize;
+		int n = (int) Math.max(0, Math.min(recordSize, length - pos));
+		if (n == 0)
+			return (0);
+		byte[] data = block(loc).data;
+		int p = ((loc - 1) % recordsPerBlock) * recordSize;
+		for (int i = 0; i < n; i++)
+			dst[off + i] = (char) (data[p + i] & 0xFF);
+		return (n);
+	}
+
+	/**
+	 * Write the record at the given location, one byte per character.
+	 * @param loc the location, 1..
+	 * @param src the character array, or null to write NUL bytes
+	 * @param off offset in src
+	 */
+	void write(final int loc, final char[] src, final int off) {
+		Block block = block(loc);
+		int p = ((loc - 1) % recordsPerBlock) * recordSize;
+		for (int i = 0; i < recordSize; i++)
+			block.data[p + i] = (src == null) ? 0 : (byte) src[off + i];
+		if (block.dirtyTo <= block.dirtyFrom) {
+			block.dirtyFrom = p;
+			block.dirtyTo = p + recordSize;
+		} else {
+			block.dirtyFrom = Math.min(block.dirtyFrom, p);
+			block.dirtyTo = Math.max(block.dirtyTo, p + recordSize);
+		}
+		length = Math.max(length, (long) loc * recordSize);
+	}
+
+	/**
+	 * Returns the block containing the record at the given location, reading it if it is not cached.
+	 * @param loc the location, 1..
+	 * @return the block
+	 * @throws RTS_SimulaRuntimeError if the read operation fail
+	 */
+	private Block block(final int loc) {
+		int index = (loc - 1) / recordsPerBlock;
+		Block block = blocks.get(index);
+		if (block != null) {
+			hits++;
+			return (block);
+		}
+		misses++;
+		block = new Block(recordsPerBlock * recordSize);
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(block.data);
+			long pos = (long) index * block.data.length;
+			while (buf.hasRemaining()) {
+				int n = channel.read(buf, pos + buf.position());
+				if (n < 0)
+					break; // The rest of the block is beyond the end of the file
+			}
+		} catch (IOException e) {
+			throw new RTS_SimulaRuntimeError("Directfile: read failed", e);
+		}
+		blocks.put(index, block);
+		return (block);
+	}
+
+	/**
+	 * Write the updated part of a block back to the file.
+	 * @param index the block number
+	 * @param block the block
+	 * @throws RTS_SimulaRuntimeError if the write operation fail
+	 */
+	private void writeBack(final int index, final Block block) {
+		if (block.dirtyTo <= block.dirtyFrom)
+			return;
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(block.data, block.dirtyFrom, block.dirtyTo - block.dirtyFrom);
+			long pos = (long) index * block.data.length;
+			while (buf.hasRemaining())
+				channel.write(buf, pos + buf.position());
+		} catch (IOException e) {
+			throw new RTS_SimulaRuntimeError("Directfile: write failed", e);
+		}
+		block.dirtyFrom = block.dirtyTo = 0;
+		writeBacks++;
+	}
+
+	/**
+	 * Write all updated blocks back to the file.
+	 */
+	void flush() {
+		for (Map.Entry<Integer, Block> entry : blocks.entrySet())
+			writeBack(entry.getKey(), entry.getValue());
+	}
+
+	/**
+	 * Write all updated blocks back to the file and close the cache.
+	 */
+	void close() {
+		openCaches.remove(this);
+		flush();
+	}
+
+	/**
+	 * Write all updated blocks of all open record caches back to their files.
+	 */
+	static void flushAll() {
+		for (RTS_RecordCache cache : openCaches)
+			cache.flush();
+	}
+
+	/**
+	 * Write all updated blocks back to the file, empty the cache and reread the length of the file.
+	 * @throws RTS_SimulaRuntimeError if the operation fail
+	 */
+	void invalidate() {
+		flush();
+		blocks.clear();
+		try {
+			length = channel.size();
+		} catch (IOException e) {
+			throw new RTS_SimulaRuntimeError("Directfile: I/O Error on file", e);
+		}
+	}
+
+	/**
+	 * Returns the hit rate statistics of all Directfile caches.
+	 * @return the statistics, or null if no cache is used
+	 */
+	static String statistics() {
+		long n = hits + misses;
+		if (n == 0)
+			return (null);
+		return ("Directfile cache: hits=" + hits + ", misses=" + misses + ", hit rate="
+				+ String.format("%.1f", 100.0 * hits / n) + "%, write-backs=" + writeBacks);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+/**
+ * Interface SequencingSet.
+ * <p>
+ * The sequencing set (SQS) of class Simulation. The members are event notices
+ * ranked according to increasing value of EVTIME. Event notices with the same
+ * EVTIME are ranked first in, first out, unless they are inserted with
+ * 'intoPrior', 'follow' or 'precede'.
+ * <p>
+ * The implementation is selected by the runtime option -sequencingSet:
+ * <ul>
+ * <li>tree &nbsp; &nbsp; The balanced tree RTS_Ranking (default)</li>
+ * <li>calendar &nbsp; A calendar queue, see {@link RTS_CalendarQueue}</li>
+ * <li>heap &nbsp; &nbsp; A pairing heap, see {@link RTS_PairingHeap}</li>
+ * </ul>
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_SequencingSet.java"><b>Source File</b></a>.
+ */
+public interface RTS_SequencingSet {
+
+	/**
+	 * Create a new sequencing set as selected by the runtime option -sequencingSet.
+	 * @return a new, empty sequencing set
+	 */
+	public static RTS_SequencingSet create() {
+		return (switch (RTS_COMMON.Option.SEQUENCING_SET) {
+			case "calendar" -> new RTS_CalendarQueue();
+			case "heap" -> new RTS_PairingHeap();
+			case "tree" -> new RTS_RankingSet();
+			default -> throw new RTS_SimulaRuntimeError("Unknown sequencing set " + RTS_COMMON.Option.SEQUENCING_SET);
+		});
+	}
+
+	/**
+	 * Returns the first event notice, or null if this set is empty.
+	 * @return the first event notice
+	 */
+	public RTS_EVENT_NOTICE first();
+
+	/**
+	 * Returns true if this set is empty.
+	 * @return true if this set is empty
+	 */
+	public boolean empty();
+
+	/**
+	 * Returns the successor of the given member, or null if it is the last.
+	 * @param ev the given member
+	 * @return the successor of the given member
+	 */
+	public RTS_EVENT_NOTICE suc(RTS_EVENT_NOTICE ev);
+
+	/**
+	 * Insert 'ev' with the given EVTIME after all members with EVTIME less than or equal to 'time'.
+	 * <p>
+	 * If 'ev' is already a member, it is removed first.
+	 * @param ev the event notice
+	 * @param time the new EVTIME
+	 */
+	public void into(RTS_EVENT_NOTICE ev, double time);
+
+	/**
+	 * Insert 'ev' with the given EVTIME before all members with EVTIME greater than or equal to 'time'.
+	 * <p>
+	 * If 'ev' is already a member, it is removed first.
+	 * @param ev the event notice
+	 * @param time the new EVTIME
+	 */
+	public void intoPrior(RTS_EVENT_NOTICE ev, double time);
+
+	/**
+	 * Insert 'ins' immediately after the member 'prd', with the EVTIME of 'prd'.
+	 * <p>
+	 * If 'ins' is already a member, it is removed first.
+	 * @param ins the event notice to insert
+	 * @param prd the member to follow
+	 */
+	public void follow(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE prd);
+
+	/**
+	 * Insert 'ins' immediately before the member 'suc', with the EVTIME of 'suc'.
+	 * <p>
+	 * If 'ins' is already a member, it is removed first.
+	 * @param ins the event notice to insert
+	 * @param suc the member to precede
+	 */
+	public void precede(RTS_EVENT_NOTICE ins, RTS_EVENT_NOTICE suc);
+
+	/**
+	 * Remove 'ev' from this set. No effect if 'ev' is not a member.
+	 * @param ev the event notice
+	 */
+	public void out(RTS_EVENT_NOTICE ev);
+
+}
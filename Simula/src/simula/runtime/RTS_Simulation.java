@@ -7,6 +7,8 @@
  */
 package simula.runtime;
 
+import java.util.function.Supplier;
+
 /**
  * System class Simulation.
  * <p>
@@ -101,7 +103,22 @@ public class RTS_Simulation extends RTS_Simset {
 	/**
 	 * The sequencing set.
 	 */
-	final RTS_Ranking sqs;
+	final RTS_SequencingSet sqs;
+
+	/**
+	 * The maximum number of event notices kept in the free list.
+	 */
+	private static final int MAX_FREE_EVENTS = 1024;
+
+	/**
+	 * Free list of event notices, linked through 'next'.
+	 */
+	private RTS_EVENT_NOTICE freeEvents;
+
+	/**
+	 * The number of event notices in the free list.
+	 */
+	private int nFreeEvents;
 	
 	/**
 	 * The main program.
@@ -114,14 +131,11 @@ public class RTS_Simulation extends RTS_Simset {
 	 */
 	public RTS_Simulation(RTS_RTObject SL) {
 		super(SL);
-		sqs = new RTS_Ranking();// ("MAIN");
-		sqs.bl = sqs;
-		sqs.ll = sqs;
-		sqs.rl = sqs;
+		sqs = RTS_SequencingSet.create();
 
 		main_1 = (RTS_MAIN_PROGRAM) new RTS_MAIN_PROGRAM((RTS_Simulation) _CUR)._START();
 		main_1.EVENT = new RTS_EVENT_NOTICE(0, main_1);
-		RTS_Ranking.INTO(main_1.EVENT, sqs, 0);
+		sqs.into(main_1.EVENT, 0);
 	}
 
 	@Override
@@ -135,7 +149,7 @@ public class RTS_Simulation extends RTS_Simset {
 	 * @return the first event in the SQS
 	 */
 	private RTS_EVENT_NOTICE SQS_FIRST() {
-		return ((RTS_EVENT_NOTICE) this.sqs.bl);
+		return (this.sqs.first());
 	}
 
 //	private _EVENT_NOTICE SQS_LAST() {
@@ -185,25 +199,19 @@ public class RTS_Simulation extends RTS_Simset {
 	 * 			end if
 	 * 		end hold;
 	 * </pre>
-	 * @param time holding time
+	 * @param T holding time
 	 */
-	public void hold(double time) {
-		SIM_TRACE("Hold " + time);
+	public void hold(final double T) {
+		if (RTS_COMMON.Option.SML_TRACING)
+			SIM_TRACE(RTS_TraceBuffer.HOLD, current(), () -> "Hold " + T);
 		RTS_Process x = current();
-		if (time > 0) {
-			time = x.evtime() + time;
-			x.EVENT.SET_EVTIME(time);
-		} else
-			time = x.evtime();
-
-		RTS_Ranking suc = RTS_Ranking.SUC(x.EVENT);
-		if (suc != null) {
-			if (suc.rnk <= time) {
-				RTS_Ranking.INTO(x.EVENT, sqs, time);
-				// simblk.cur:=suc;
-				resume(current());
-			}
-		}
+		double time = (T > 0) ? x.evtime() + T : x.evtime();
+
+		// Rank the event notice after all with EVTIME <= time.
+		// If some other event notice is now first: resume it.
+		sqs.into(x.EVENT, time);
+		if (sqs.first() != x.EVENT)
+			resume(current());
 	}
 
 	/**
@@ -222,9 +230,11 @@ public class RTS_Simulation extends RTS_Simset {
 	 */
 	public void passivate() {
 		RTS_Process nxtcur = passivate1();
-		SIM_TRACE("END Passivate Resume[" + nxtcur.edObjectIdent() + ']');
+		if (RTS_COMMON.Option.SML_TRACING)
+			SIM_TRACE(RTS_TraceBuffer.RESUME, nxtcur, () -> "END Passivate Resume[" + nxtcur.edObjectIdent() + ']');
 		resume(nxtcur);
-		SIM_TRACE("END Passivate AFTER Resume[" + nxtcur.edObjectIdent() + ']');
+		if (RTS_COMMON.Option.SML_TRACING)
+			SIM_TRACE(RTS_TraceBuffer.RESUME, nxtcur, () -> "END Passivate AFTER Resume[" + nxtcur.edObjectIdent() + ']');
 	}
 
 	/**
@@ -233,12 +243,14 @@ public class RTS_Simulation extends RTS_Simset {
 	 */
 	RTS_Process passivate1() { // Used directly by Process_.TERMINATE
 		RTS_Process cur = current();
-		SIM_TRACE("Passivate " + cur.edObjectIdent());
+		if (RTS_COMMON.Option.SML_TRACING)
+			SIM_TRACE(RTS_TraceBuffer.PASSIVATE, cur, () -> "Passivate " + cur.edObjectIdent());
 		if (cur != null) {
-			RTS_Ranking.OUT(cur.EVENT);
+			sqs.out(cur.EVENT);
+			freeEvent(cur.EVENT);
 			cur.EVENT = null;
 		}
-		if (RTS_Ranking.EMPTY(sqs))
+		if (sqs.empty())
 			throw new RTS_SimulaRuntimeError("Cancel,Passivate or Wait empties SQS");
 
 		RTS_Process nxtcur = current();
@@ -255,7 +267,8 @@ public class RTS_Simulation extends RTS_Simset {
 	 * @param S the head of the set
 	 */
 	public void wait(final RTS_Head S) {
-		SIM_TRACE("Wait in Queue " + S);
+		if (RTS_COMMON.Option.SML_TRACING)
+			SIM_TRACE(RTS_TraceBuffer.WAIT, current(), () -> "Wait in Queue " + S);
 		current().into(S);
 		passivate();
 	}
@@ -277,11 +290,13 @@ public class RTS_Simulation extends RTS_Simset {
 	 * @param x the argument process
 	 */
 	public void cancel(final RTS_Process x) {
-		SIM_TRACE("Cancel " + x);
+		if (RTS_COMMON.Option.SML_TRACING)
+			SIM_TRACE(RTS_TraceBuffer.CANCEL, x, () -> "Cancel " + x);
 		if (x == current())
 			passivate();
 		else if (x != null && x.EVENT != null) {
-			RTS_Ranking.OUT(x.EVENT);
+			sqs.out(x.EVENT);
+			freeEvent(x.EVENT);
 			x.EVENT = null;
 		}
 	}
@@ -307,6 +322,12 @@ public class RTS_Simulation extends RTS_Simset {
 	 * @param d argument d
 	 */
 	public void accum(final RTS_NAME<Double> a, final RTS_NAME<Double> b, final RTS_NAME<Double> c, final double d) {
+		if (a instanceof RTS_NAME_double da && b instanceof RTS_NAME_double db && c instanceof RTS_NAME_double dc) {
+			da.putValue(da.getValue() + (dc.getValue() * (time() - db.getValue())));
+			db.putValue(time());
+			dc.putValue(dc.getValue() + d);
+			return;
+		}
 		a.put(a.get() + (c.get() * (time() - b.get())));
 		b.put(time());
 		c.put(c.get() + d);
@@ -319,29 +340,59 @@ public class RTS_Simulation extends RTS_Simset {
 	 */
 	public void ActivateDirect(final boolean REAC, final RTS_Process X) {
 		if (X == null)
-			TRACE_ACTIVATE(REAC, "none");
+			TRACE_ACTIVATE(REAC, X, () -> "none");
 		else if (X._STATE == OperationalState.terminated)
-			TRACE_ACTIVATE(REAC, "terminated process");
+			TRACE_ACTIVATE(REAC, X, () -> "terminated process");
 		else if (X.EVENT != null && !REAC)
-			TRACE_ACTIVATE(REAC, "scheduled process");
+			TRACE_ACTIVATE(REAC, X, () -> "scheduled process");
 		else {
-			TRACE_ACTIVATE(REAC, X.edObjectIdent());
-			RTS_Process z;
-			RTS_EVENT_NOTICE EV = null;
-			if (REAC)
-				EV = X.EVENT;
-			else if (X.EVENT != null)
-				return;
-			z = current();
-			X.EVENT = new RTS_EVENT_NOTICE(time(), X);
+			if (RTS_COMMON.Option.SML_TRACING)
+				TRACE_ACTIVATE(REAC, X, () -> X.edObjectIdent());
+			RTS_Process z = current();
 			// X.EVENT.precede(FIRSTEV());
-			RTS_Ranking.INTO(X.EVENT, sqs, X.EVENT.rnk);
-			removeEvent(EV);
+			sqs.into(newEvent(X), time());
 			if (z != current())
 				resume(current());
 		}
 	}
 
+	/**
+	 * Utility: Returns the event notice to be used when X is (re)activated.
+	 * <p>
+	 * A scheduled process keeps its event notice, it is just ranked anew in SQS.
+	 * Otherwise an event notice is taken from the free list, or allocated.
+	 * @param X the Process to activate
+	 * @return the event notice, assigned to X.EVENT
+	 */
+	private RTS_EVENT_NOTICE newEvent(final RTS_Process X) {
+		RTS_EVENT_NOTICE EV = X.EVENT;
+		if (EV == null) {
+			EV = freeEvents;
+			if (EV != null) {
+				freeEvents = EV.next;
+				EV.next = null;
+				EV.PROC = X;
+				nFreeEvents--;
+			} else
+				EV = new RTS_EVENT_NOTICE(time(), X);
+			X.EVENT = EV;
+		}
+		return (EV);
+	}
+
+	/**
+	 * Utility: Return an event notice which is no longer in SQS to the free list.
+	 * @param EV the event notice
+	 */
+	private void freeEvent(final RTS_EVENT_NOTICE EV) {
+		if (nFreeEvents < MAX_FREE_EVENTS) {
+			EV.PROC = null;
+			EV.next = freeEvents;
+			freeEvents = EV;
+			nFreeEvents++;
+		}
+	}
+
 	/**
 	 * Utility: Remove event from SQS
 	 * @param EV the event
@@ -350,8 +401,9 @@ public class RTS_Simulation extends RTS_Simset {
 	private void removeEvent(RTS_EVENT_NOTICE EV) {
 		if (EV != null) {
 			// EV.out();
-			RTS_Ranking.OUT(EV);
-			if (RTS_Ranking.EMPTY(sqs))
+			sqs.out(EV);
+			freeEvent(EV);
+			if (sqs.empty())
 				throw new RTS_SimulaRuntimeError("(Re)Activate empties SQS.");
 		}
 	}
@@ -374,30 +426,22 @@ public class RTS_Simulation extends RTS_Simset {
 	 * @param T the activation time
 	 * @param PRIO indicates priority
 	 */
-	public void ActivateAt(final boolean REAC, final RTS_Process X, double T, final boolean PRIO) {
+	public void ActivateAt(final boolean REAC, final RTS_Process X, final double T, final boolean PRIO) {
 		if (X == null)
-			TRACE_ACTIVATE(REAC, "none");
+			TRACE_ACTIVATE(REAC, X, () -> "none");
 		else if (X._STATE == OperationalState.terminated)
-			TRACE_ACTIVATE(REAC, "terminated process");
+			TRACE_ACTIVATE(REAC, X, () -> "terminated process");
 		else if (X.EVENT != null && !REAC)
-			TRACE_ACTIVATE(REAC, "scheduled process");
+			TRACE_ACTIVATE(REAC, X, () -> "scheduled process");
 		else {
-			TRACE_ACTIVATE(REAC, X.edObjectIdent() + " at " + T + ((PRIO) ? "prior" : ""));
-			RTS_Process z;
-			RTS_EVENT_NOTICE EV = null;
-			if (REAC)
-				EV = X.EVENT;
-			else if (X.EVENT != null)
-				return;
-			z = current();
-			if (T < time())
-				T = time();
-			X.EVENT = new RTS_EVENT_NOTICE(T, X);
+			if (RTS_COMMON.Option.SML_TRACING)
+				TRACE_ACTIVATE(REAC, X, () -> X.edObjectIdent() + " at " + T + ((PRIO) ? "prior" : ""));
+			RTS_Process z = current();
+			double evtime = (T < time()) ? time() : T;
 			if (PRIO)
-				RTS_Ranking.INTO_PRIOR(X.EVENT, sqs, T);
+				sqs.intoPrior(newEvent(X), evtime);
 			else
-				RTS_Ranking.INTO(X.EVENT, sqs, T);
-			removeEvent(EV);
+				sqs.into(newEvent(X), evtime);
 			if (z != current())
 				resume(current());
 		}
@@ -432,41 +476,32 @@ public class RTS_Simulation extends RTS_Simset {
 	 */
 	private void ACTIVATE3(final boolean REAC, final RTS_Process X, final boolean BEFORE, final RTS_Process Y) {
 		if (X == null)
-			TRACE_ACTIVATE(REAC, " none");
+			TRACE_ACTIVATE(REAC, X, () -> " none");
 		else if (X._STATE == OperationalState.terminated)
-			TRACE_ACTIVATE(REAC, " terminated process");
+			TRACE_ACTIVATE(REAC, X, () -> " terminated process");
 		else if (X.EVENT != null && !REAC)
-			TRACE_ACTIVATE(REAC, " scheduled process");
+			TRACE_ACTIVATE(REAC, X, () -> " scheduled process");
 		else if (X == Y)
-			TRACE_ACTIVATE(REAC, " before/after itself");
+			TRACE_ACTIVATE(REAC, X, () -> " before/after itself");
 		else {
-			TRACE_ACTIVATE(REAC, X.edObjectIdent() + ((BEFORE) ? " BEFORE " : " AFTER ") + Y.edObjectIdent());
-			RTS_Process z;
-			RTS_EVENT_NOTICE EV = null;
-			if (REAC)
-				EV = X.EVENT;
-			else if (X.EVENT != null)
-				return;
-			z = current();
-			if (Y == null || Y.EVENT == null)
+			if (RTS_COMMON.Option.SML_TRACING)
+				TRACE_ACTIVATE(REAC, X, () -> X.edObjectIdent() + ((BEFORE) ? " BEFORE " : " AFTER ") + Y.edObjectIdent());
+			RTS_Process z = current();
+			if (Y == null || Y.EVENT == null) {
+				RTS_EVENT_NOTICE EV = X.EVENT;
 				X.EVENT = null;
-			else {
-				if (X == Y)
-					return; // reactivate X before/after X;
-				double EVTIME = Y.EVENT.EVTIME();
-				X.EVENT = new RTS_EVENT_NOTICE(EVTIME, X);
-				if (BEFORE)
-					RTS_Ranking.FOLLOW(X.EVENT, Y.EVENT);
-				else
-					RTS_Ranking.PRECEDE(X.EVENT, Y.EVENT);
-			}
-			removeEvent(EV);
+				removeEvent(EV);
+			} else if (BEFORE)
+				sqs.precede(newEvent(X), Y.EVENT);
+			else
+				sqs.follow(newEvent(X), Y.EVENT);
 			if (z != current()) {
 				RTS_Process nxtcur = current();
-				SIM_TRACE("END ACTIVATE3 Resume[" + nxtcur.edObjectIdent() + ']');
+				if (RTS_COMMON.Option.SML_TRACING)
+					SIM_TRACE(RTS_TraceBuffer.RESUME, nxtcur, () -> "END ACTIVATE3 Resume[" + nxtcur.edObjectIdent() + ']');
 				resume(nxtcur);
-			} else
-				SIM_TRACE("END ACTIVATE3 Continue[" + z.edObjectIdent() + ']');
+			} else if (RTS_COMMON.Option.SML_TRACING)
+				SIM_TRACE(RTS_TraceBuffer.RESUME, z, () -> "END ACTIVATE3 Continue[" + z.edObjectIdent() + ']');
 
 		}
 	}
@@ -478,21 +513,35 @@ public class RTS_Simulation extends RTS_Simset {
 	/**
 	 * Utility: Trace (re)activate
 	 * @param REAC true if Reactivate
-	 * @param msg trace message
+	 * @param X the Process to activate, or null
+	 * @param msg supplier of the trace message
 	 */
-	private void TRACE_ACTIVATE(final boolean REAC, final String msg) {
-		String act = (REAC) ? "REACTIVATE " : "ACTIVATE ";
-		SIM_TRACE(act + msg);
+	private void TRACE_ACTIVATE(final boolean REAC, final RTS_Process X, final Supplier<String> msg) {
+		if (RTS_COMMON.Option.SML_TRACING) {
+			if (REAC)
+				SIM_TRACE(RTS_TraceBuffer.REACTIVATE, X, () -> "REACTIVATE " + msg.get());
+			else
+				SIM_TRACE(RTS_TraceBuffer.ACTIVATE, X, () -> "ACTIVATE " + msg.get());
+		}
 	}
 
 	/**
 	 * Utility: Trace Simulation event
-	 * @param msg the event message
+	 * <p>
+	 * If the trace buffer is enabled, the event is recorded with the simulated time,
+	 * and the message is never edited.
+	 * @param event the event, see RTS_TraceBuffer
+	 * @param obj the object concerned, or null
+	 * @param msg supplier of the event message
 	 */
-	private void SIM_TRACE(final String msg) {
+	private void SIM_TRACE(final int event, final RTS_RTObject obj, final Supplier<String> msg) {
 		if (RTS_COMMON.Option.SML_TRACING) {
-			Thread thread = Thread.currentThread();
-			RTS_COMMON.println(thread.toString() + ": Time=" + time() + "  " + msg + ", SQS=" + sqs);
+			if (RTS_TraceBuffer.enabled())
+				RTS_TraceBuffer.record(event, obj, time());
+			else {
+				Thread thread = Thread.currentThread();
+				RTS_COMMON.println(thread.toString() + ": Time=" + time() + "  " + msg.get() + ", SQS=" + sqs);
+			}
 		}
 	}
 
@@ -52,13 +52,17 @@ package simula.runtime;
  * <p>
  * Note: <b>In this implementation the characters in MAIN are indexed 0 through SIZE-1.</b>
  * <p>
+ * A text object is not a block instance. It is a standalone class without the attributes of
+ * RTS_RTObject, so each text frame created by blanks, copy, concatenation or a text constant only
+ * holds SIZE, CONST and MAIN.
+ * <p>
  * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_TEXTOBJ.java"><b>Source File</b></a>.
  * 
  * @author SIMULA Standards Group
  * @author Øystein Myhre Andersen
  *
  */
-public final class RTS_TEXTOBJ extends RTS_RTObject {
+public final class RTS_TEXTOBJ {
 	/**
 	 * Number of characters in the text object.
 	 */
@@ -78,7 +82,6 @@ public final class RTS_TEXTOBJ extends RTS_RTObject {
 	 * @param cnst true if this text object is constant
 	 */
 	RTS_TEXTOBJ(final int size, final boolean cnst) {
-		super(null);
 		// Parameter assignment to locals
 		SIZE = size;
 		CONST = cnst;
@@ -87,12 +90,22 @@ public final class RTS_TEXTOBJ extends RTS_RTObject {
 		fill(' ');
 	}
 
+	/**
+	 * Create a new TEXTOBJ with the given characters.
+	 * @param main the characters, not copied
+	 * @param cnst true if this text object is constant
+	 */
+	RTS_TEXTOBJ(final char[] main, final boolean cnst) {
+		CONST = cnst;
+		MAIN = main;
+		SIZE = MAIN.length;
+	}
+
 	/**
 	 * Create a new TEXTOBJ with initial text.
 	 * @param s the initial text value
 	 */
 	RTS_TEXTOBJ(final String s) {
-		super(null);
 		CONST = true;
 		MAIN = s.toCharArray();
 		SIZE = MAIN.length;
@@ -115,10 +128,9 @@ public final class RTS_TEXTOBJ extends RTS_RTObject {
 	 * @return the resulting String
 	 */
 	String edText(final int start, final int length) {
-		StringBuilder s = new StringBuilder();
-		for (int i = start; i < (start + length); i++)
-			s.append(MAIN[i]);
-		return (s.toString());
+		if (length <= 0)
+			return ("");
+		return (new String(MAIN, start, length));
 	}
 
 	@Override
@@ -9,6 +9,8 @@ package simula.runtime;
 
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
 
 /**
  * The type text.
@@ -47,10 +49,6 @@ import java.text.DecimalFormat;
  *
  */
 public final class RTS_TXT {
-	/**
-	 * Unicode minus sign = 8722 = 0x2212
-	 */
-	private static final int UNICODE_MINUS_SIGN = 8722; // 0x2212
 	/**
 	 * The Text object referred.
 	 */
@@ -107,24 +105,18 @@ public final class RTS_TXT {
 	}
 
 	/**
-	 * Utility: Edit stripped text into a String.
-	 * @return the resulting String
+	 * Utility: Returns the length of this text without trailing blanks.
+	 * <p>
+	 * Used by outimage to write the stripped image directly from the text frame.
+	 * @return the stripped length
 	 */
-	String edStripedText() {
+	int strippedLength() {
 		if (OBJ == null)
-			return ("");
-		RTS_TXT stp = RTS_TXT.strip(this);
-		if (stp == null)
-			return ("");
-		return (stp.OBJ.edText(START, stp.LENGTH));
-	}
-
-	/**
-	 * Utility: Edit text until current pos into a String.
-	 * @return the resulting String
-	 */
-	String edTextToPos() {
-		return (OBJ.edText(START, POS));
+			return (0);
+		int n = LENGTH;
+		while (n > 0 && OBJ.MAIN[START + n - 1] == ' ')
+			n = n - 1;
+		return (n);
 	}
 
 	/**
@@ -260,7 +252,7 @@ public final class RTS_TXT {
 	 * @param T the given text reference
 	 * @throws RTS_SimulaRuntimeError if assignment is illegal
 	 */
-	private static void checkAssignable(RTS_TXT T) {
+	static void checkAssignable(RTS_TXT T) {
 		if (T == null || T.OBJ == null)
 			throw new RTS_SimulaRuntimeError("Illegal Text T.put...  T==NOTEXT");
 		if (T.OBJ.CONST) {
@@ -430,9 +422,56 @@ public final class RTS_TXT {
 	 * @return the resulting real
 	 */
 	public static int getint(final RTS_TXT T) {
-		String item = getIntegerItem(T);
-		int res = Integer.parseInt(item);
-		return (res);
+		boolean negative = skipSignPart(T);
+		long res = 0;
+		int nDigits = 0;
+		while (T.POS < T.LENGTH) { // DIGITS
+			char c = T.OBJ.MAIN[T.START + T.POS];
+			if (c < '0' || c > '9') {
+				if (Character.isDigit(c)) // Other digits are left to Integer.parseInt
+					return (Integer.parseInt(getIntegerItem(T)));
+				break;
+			}
+			if (res <= 0x80000000L)
+				res = res * 10 + (c - '0');
+			nDigits++;
+			T.POS++;
+		}
+		if (negative)
+			res = -res;
+		if (nDigits == 0 || res > Integer.MAX_VALUE || res < Integer.MIN_VALUE) // Let Integer.parseInt throw the exception
+			return (Integer.parseInt(getIntegerItem(T)));
+		return ((int) res);
+	}
+
+	/**
+	 * Skip the SIGN-PART of a numeric item.
+	 * <pre>
+	 * SIGN-PART = BLANKS [ SIGN ] BLANKS
+	 * </pre>
+	 * The scanning starts at the beginning of T and T.POS is left at the first character after the SIGN-PART.
+	 * 
+	 * @param T the input text
+	 * @return true if the sign is minus
+	 */
+	private static boolean skipSignPart(final RTS_TXT T) {
+		char c = 0;
+		T.POS = 0;
+		while (T.POS < T.LENGTH) { // SKIP BLANKS
+			c = T.OBJ.MAIN[T.START + T.POS];
+			if (c != ' ')
+				break;
+			T.POS++;
+		}
+		if (c == '+' || c == '-') {
+			T.POS++;
+			while (T.POS < T.LENGTH) { // SKIP BLANKS
+				if (T.OBJ.MAIN[T.START + T.POS] != ' ')
+					break;
+				T.POS++;
+			}
+		}
+		return (c == '-');
 	}
 
 	/**
@@ -546,11 +585,179 @@ public final class RTS_TXT {
 	 * @return the resulting real
 	 */
 	public static double getreal(final RTS_TXT T) {
-		String item = getRealItem(T);
-		double res = Double.parseDouble(item);
+		boolean negative = skipSignPart(T);
+		long mantissa = 0; // The first 19 significant digits, unsigned
+		int nDigits = 0; // Number of digits, including leading zeros
+		int nSignificant = 0; // Number of significant digits in mantissa
+		boolean truncated = false; // Nonzero digits after the first 19
+		int exp10 = 0; // Decimal exponent of mantissa
+		int state = 0; // 0:INTEGER PART, 1:FRACTION, 2:LOWTEN, 3:EXPONENT SIGN, 4:EXPONENT DIGITS, 5:ILLEGAL
+		boolean expNegative = false;
+		int exponent = 0;
+		while (T.POS < T.LENGTH) { // The same characters as getRealItem
+			char c = T.OBJ.MAIN[T.START + T.POS];
+			if (c >= '0' && c <= '9') {
+				if (state < 2) {
+					nDigits++;
+					if (nSignificant < 19) {
+						if (c != '0' || nSignificant > 0) {
+							mantissa = mantissa * 10 + (c - '0');
+							nSignificant++;
+						}
+						if (state == 1)
+							exp10--;
+					} else {
+						if (c != '0')
+							truncated = true;
+						if (state == 0)
+							exp10++;
+					}
+				} else if (state < 5) {
+					state = 4;
+					if (exponent < 100000)
+						exponent = exponent * 10 + (c - '0');
+				}
+			} else if (Character.isDigit(c))
+				state = 5; // Other digits are left to Double.parseDouble
+			else if (c == RTS_ENVIRONMENT.CURRENTDECIMALMARK)
+				state = (state == 0) ? 1 : 5;
+			else if (c == '+' || c == '-') {
+				if (state == 2) {
+					state = 3;
+					expNegative = (c == '-');
+				} else
+					state = 5;
+			} else if (c == RTS_ENVIRONMENT.CURRENTLOWTEN)
+				state = (state < 2 && nDigits > 0) ? 2 : 5;
+			else
+				break;
+			T.POS++;
+		}
+		if (nDigits > 0 && (state < 2 || state == 4)) {
+			double res = decimalToDouble(mantissa, exp10 + ((expNegative) ? -exponent : exponent), truncated);
+			if (!Double.isNaN(res))
+				return ((negative) ? -res : res);
+		}
+		return (Double.parseDouble(getRealItem(T)));
+	}
+
+	/**
+	 * Real De-edit Utility: Convert a decimal number to the nearest double.
+	 * <p>
+	 * The mantissa is the first 19 significant digits of the number, and if truncated
+	 * there are more nonzero digits after them. If both the mantissa and the power of ten
+	 * are exact in double, the result is computed by one multiplication or division, which
+	 * is correctly rounded. Otherwise the algorithm of Daniel Lemire, "Number Parsing at a
+	 * Gigabyte per Second", is used. It is correctly rounded when it gives a result.
+	 * 
+	 * @param mantissa the mantissa, unsigned
+	 * @param exp10 the decimal exponent
+	 * @param truncated true if nonzero digits were truncated from the mantissa
+	 * @return the nearest double, or NaN if it must be computed by Double.parseDouble
+	 */
+	private static double decimalToDouble(final long mantissa, final int exp10, final boolean truncated) {
+		if (mantissa == 0)
+			return (0.0d);
+		if (!truncated && mantissa > 0 && mantissa <= 0x1p53) {
+			if (exp10 >= 0 && exp10 < POWER_OF_TEN.length)
+				return (mantissa * POWER_OF_TEN[exp10]);
+			if (exp10 < 0 && -exp10 < POWER_OF_TEN.length)
+				return (mantissa / POWER_OF_TEN[-exp10]);
+		}
+		double res = PowersOfTen128.eiselLemire(mantissa, exp10);
+		if (truncated && res != PowersOfTen128.eiselLemire(mantissa + 1, exp10))
+			return (Double.NaN);
 		return (res);
 	}
 
+	/**
+	 * Real De-edit Utility: 128-bit approximations of the powers of ten.
+	 * <p>
+	 * The table is computed when it is first used. Each power of ten is
+	 * normalized to a 128-bit mantissa, rounded down.
+	 */
+	private static final class PowersOfTen128 {
+		/**
+		 * The smallest power of ten in the table.
+		 */
+		private static final int MIN_EXP10 = -342;
+
+		/**
+		 * The largest power of ten in the table.
+		 */
+		private static final int MAX_EXP10 = 308;
+
+		/**
+		 * The table. High and low 64 bits of the mantissa of 10**e at index 2*(e-MIN_EXP10).
+		 */
+		private static final long[] TABLE = new long[2 * (MAX_EXP10 - MIN_EXP10 + 1)];
+
+		static {
+			for (int e = MIN_EXP10; e <= MAX_EXP10; e++) {
+				java.math.BigInteger m;
+				if (e >= 0) {
+					m = java.math.BigInteger.TEN.pow(e);
+					int shift = m.bitLength() - 128;
+					m = (shift > 0) ? m.shiftRight(shift) : m.shiftLeft(-shift);
+				} else {
+					java.math.BigInteger p = java.math.BigInteger.TEN.pow(-e);
+					m = java.math.BigInteger.ONE.shiftLeft(127 + p.bitLength()).divide(p);
+				}
+				TABLE[2 * (e - MIN_EXP10)] = m.shiftRight(64).longValue();
+				TABLE[2 * (e - MIN_EXP10) + 1] = m.longValue();
+			}
+		}
+
+		/**
+		 * The Eisel-Lemire algorithm.
+		 * <p>
+		 * Computes mantissa*10**exp10 correctly rounded, or gives up if the result is too close to
+		 * a tie to be decided with 128 bits, or if it is subnormal, zero or infinite.
+		 * 
+		 * @param mantissa a nonzero mantissa, unsigned
+		 * @param exp10 the decimal exponent
+		 * @return the nearest double, or NaN if the algorithm gives up
+		 */
+		private static double eiselLemire(long mantissa, final int exp10) {
+			if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10)
+				return (Double.NaN);
+			int clz = Long.numberOfLeadingZeros(mantissa);
+			mantissa = mantissa << clz;
+			long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz; // 217706/2**16 ~ log2(10)
+			long powHi = TABLE[2 * (exp10 - MIN_EXP10)];
+			long powLo = TABLE[2 * (exp10 - MIN_EXP10) + 1];
+			long xHi = Math.unsignedMultiplyHigh(mantissa, powHi);
+			long xLo = mantissa * powHi;
+			if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + mantissa, mantissa) < 0) {
+				// Wider approximation
+				long yHi = Math.unsignedMultiplyHigh(mantissa, powLo);
+				long yLo = mantissa * powLo;
+				long mergedHi = xHi;
+				long mergedLo = xLo + yHi;
+				if (Long.compareUnsigned(mergedLo, xLo) < 0)
+					mergedHi++;
+				if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0
+						&& Long.compareUnsigned(yLo + mantissa, mantissa) < 0)
+					return (Double.NaN);
+				xHi = mergedHi;
+				xLo = mergedLo;
+			}
+			long msb = xHi >>> 63;
+			long retMantissa = xHi >>> (msb + 9); // 54 bits
+			retExp2 = retExp2 - (1 ^ msb);
+			if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1)
+				return (Double.NaN); // Half-way ambiguity
+			retMantissa = (retMantissa + (retMantissa & 1)) >>> 1; // 53 bits
+			if ((retMantissa >>> 53) > 0) {
+				retMantissa = retMantissa >>> 1;
+				retExp2++;
+			}
+			if (retExp2 <= 0 || retExp2 >= 0x7FF)
+				return (Double.NaN);
+			return (Double.longBitsToDouble((retExp2 << 52) | (retMantissa & 0x000FFFFFFFFFFFFFL)));
+		}
+	}
+
 	/**
 	 * Scan the input text for a fraction item.
 	 * <pre>
@@ -631,18 +838,168 @@ public final class RTS_TXT {
 	 * @return the resulting integer
 	 */
 	public static int getfrac(final RTS_TXT T) {
-		return (Integer.parseInt(getFracItem(T)));
+		boolean negative = skipSignPart(T);
+		long res = 0;
+		int nDigits = 0;
+		int lastDigPos = T.POS;
+		while (T.POS < T.LENGTH) { // The same characters as getFracItem
+			char c = T.OBJ.MAIN[T.START + T.POS];
+			if (c >= '0' && c <= '9') {
+				if (res <= 0x80000000L)
+					res = res * 10 + (c - '0');
+				nDigits++;
+				lastDigPos = T.POS;
+			} else if (Character.isDigit(c)) // Other digits are left to Integer.parseInt
+				return (Integer.parseInt(getFracItem(T)));
+			else if (c != RTS_ENVIRONMENT.CURRENTDECIMALMARK && c != ' ')
+				break;
+			T.POS++;
+		}
+		T.POS = lastDigPos + 1;
+		if (negative)
+			res = -res;
+		if (nDigits == 0 || res > Integer.MAX_VALUE || res < Integer.MIN_VALUE) // Let Integer.parseInt throw the exception
+			return (Integer.parseInt(getFracItem(T)));
+		return ((int) res);
 	}
 
 	/**
-	 * Put the result of putReal type operation into the text T.
+	 * Powers of ten which are exact as double.
+	 */
+	private static final double[] POWER_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * Real Edit Utility: The value a*10**k rounded to an integer.
+	 * <p>
+	 * The product, or quotient if k&lt;0, is computed in double together with its exact
+	 * rounding error by Math.fma, and an exact tie is rounded to even, or up if halfUp.
+	 * <p>
+	 * DecimalFormat rounds the shortest decimal digits of a, those of Double.toString, and these
+	 * may look like a tie when a is not. E.g. putfix(5.0E-4,3) gives 0.000 although the double
+	 * 5.0E-4 is a little above the tie. When the product is inexact and within two ulps of a tie
+	 * the rounding is therefore left to DecimalFormat. Otherwise, as long as the result is less
+	 * than 2**52, this is the same as DecimalFormat rounding the decimal digits of a.
+	 * 
+	 * @param a a non-negative value
+	 * @param k the power of ten
+	 * @param halfUp true if an exact tie is rounded up
+	 * @return the rounded value, or -1 if it can't be computed here
+	 */
+	private static long scaledRound(final double a, final int k, final boolean halfUp) {
+		double p, err;
+		if (k >= 0) {
+			if (k >= POWER_OF_TEN.length)
+				return (-1);
+			double f = POWER_OF_TEN[k];
+			p = a * f;
+			if (!(p < 0x1p52))
+				return (-1); // Also NaN and Infinity
+			err = Math.fma(a, f, -p);
+		} else {
+			if (-k >= POWER_OF_TEN.length)
+				return (-1);
+			double f = POWER_OF_TEN[-k];
+			p = a / f;
+			if (!(p < 0x1p52))
+				return (-1);
+			err = Math.fma(-p, f, a);
+		}
+		if (p < 0.25)
+			return (0);
+		double floor = Math.floor(p);
+		double d = (p - floor) - 0.5;
+		if (err != 0 && Math.abs(d) <= 2 * Math.ulp(p))
+			return (-1); // Close to a tie, see above
+		long res = (long) floor;
+		if (d > 0 || (d == 0 && err == 0 && (halfUp || (res & 1) != 0)))
+			res = res + 1;
+		return (res);
+	}
+
+	/**
+	 * Edit a numeric item into the text T.
+	 * <p>
+	 * The item is written directly into the text frame, right-adjusted and preceded by blanks.
+	 * If the text frame is too short to contain the resulting numeric item, the
+	 * text frame into which the number was to be edited is filled with asterisks.
+	 * The final value of the position indicator of X is X.length+1.
+	 * 
 	 * @param T the text reference
-	 * @param output the result of putReal
+	 * @param negative true if the item has a minus sign
+	 * @param digits the digits of the item as a non-negative integer
+	 * @param fraction number of digits after the decimal mark
+	 * @param exponent true if the item has an exponent
+	 * @param exp the exponent
+	 * @param expDigits minimum number of digits in the exponent
 	 */
-	private static void putRealResult(final RTS_TXT T, String output) {
-		if (RTS_ENVIRONMENT.CURRENTDECIMALMARK != ',')
-			output = output.replace(',', RTS_ENVIRONMENT.CURRENTDECIMALMARK);
-		putResult(T, output);
+	private static void putItem(final RTS_TXT T, final boolean negative, long digits, final int fraction,
+			final boolean exponent, final int exp, final int expDigits) {
+		checkAssignable(T);
+		int nDigits = 1;
+		for (long v = digits / 10; v > 0; v = v / 10)
+			nDigits++;
+		int length = Math.max(nDigits, fraction + 1);
+		if (fraction > 0)
+			length++;
+		if (negative)
+			length++;
+		int e = Math.abs(exp);
+		int eDigits = 1;
+		for (int v = e / 10; v > 0; v = v / 10)
+			eDigits++;
+		eDigits = Math.max(eDigits, expDigits);
+		if (exponent)
+			length = length + 2 + eDigits;
+		char[] main = T.OBJ.MAIN;
+		if (length > T.LENGTH) {
+			RTS_COMMON.numberOfEditOverflows++;
+			for (int j = 0; j < T.LENGTH; j = j + 1)
+				main[T.START + j] = '*';
+		} else {
+			int p = T.START + T.LENGTH;
+			if (exponent) {
+				for (int j = 0; j < eDigits; j = j + 1) {
+					main[--p] = (char) ('0' + e % 10);
+					e = e / 10;
+				}
+				main[--p] = (exp < 0) ? '-' : '+';
+				main[--p] = RTS_ENVIRONMENT.CURRENTLOWTEN;
+			}
+			for (int j = 0; j < fraction; j = j + 1) {
+				main[--p] = (char) ('0' + digits % 10);
+				digits = digits / 10;
+			}
+			if (fraction > 0)
+				main[--p] = RTS_ENVIRONMENT.CURRENTDECIMALMARK;
+			do {
+				main[--p] = (char) ('0' + digits % 10);
+				digits = digits / 10;
+			} while (digits > 0);
+			if (negative)
+				main[--p] = '-';
+			while (p > T.START)
+				main[--p] = ' ';
+		}
+		T.POS = T.LENGTH;
+	}
+
+	/**
+	 * Put the result of putfix or putreal edited by DecimalFormat into the text T.
+	 * <p>
+	 * Used for values which can't be edited exactly by putItem, like NaN, Infinity and
+	 * very large or very small values.
+	 * 
+	 * @param T the text reference
+	 * @param pattern the DecimalFormat pattern
+	 * @param r the value to be edited
+	 */
+	private static void putFormatted(final RTS_TXT T, final String pattern, final double r) {
+		DecimalFormat myFormatter = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+		myFormatter.setRoundingMode(RoundingMode.HALF_EVEN); // Java Default
+		String output = myFormatter.format(r);
+		output = addPlussExponent(output);
+		putResult(T, output.replace('.', RTS_ENVIRONMENT.CURRENTDECIMALMARK));
 	}
 
 	/**
@@ -657,21 +1014,16 @@ public final class RTS_TXT {
 	 */
 	private static void putResult(RTS_TXT T, final String s) {
 		checkAssignable(T);
-		char[] c = s.toCharArray();
-		if (c.length > T.LENGTH) {
+		int m = s.length() - 1;
+		if (s.length() > T.LENGTH) {
 			RTS_COMMON.numberOfEditOverflows++;
 			for (int j = 0; j < T.LENGTH; j = j + 1)
 				T.OBJ.MAIN[T.START + j] = '*';
 		} else {
-			int m = c.length - 1;
 			for (int j = T.LENGTH - 1; j >= 0; j = j - 1) {
-				char k = (m >= 0) ? c[m--] : ' ';
-				if (Character.toUpperCase(k) == 'E')
+				char k = (m >= 0) ? s.charAt(m--) : ' ';
+				if (k == 'E')
 					k = RTS_ENVIRONMENT.CURRENTLOWTEN;
-				if (k == 160)
-					k = ' '; // String formatted with NumberFormat
-								// may have non-breaking space
-								// (hexa code : A0 and unicode 160).
 				T.OBJ.MAIN[T.START + j] = k;
 			}
 		}
@@ -688,7 +1040,7 @@ public final class RTS_TXT {
 	 * @param i the integer value to be edited
 	 */
 	public static void putint(final RTS_TXT T, final int i) {
-		putResult(T, "" + i);
+		putItem(T, i < 0, Math.abs((long) i), 0, false, 0, 0);
 	}
 
 	/**
@@ -710,15 +1062,15 @@ public final class RTS_TXT {
 			putint(T, (int) (r + 0.5));
 			return;
 		}
+		long digits = scaledRound(Math.abs(r), n, false);
+		if (digits >= 0) {
+			putItem(T, r < 0, digits, n, false, 0, 0);
+			return;
+		}
 		StringBuilder pattern = new StringBuilder("##0.");
 		while ((n--) > 0)
 			pattern.append('0');
-		DecimalFormat myFormatter = new DecimalFormat(pattern.toString());
-		if (r == -0.0)
-			r = 0.0; // NOTE: Java har både +0.0 og -0.0
-		String output = myFormatter.format(r);
-		output = output.replace((char) UNICODE_MINUS_SIGN, '-');
-		putRealResult(T, output);
+		putFormatted(T, pattern.toString(), r);
 	}
 
 	/**
@@ -739,18 +1091,8 @@ public final class RTS_TXT {
 			throw new RTS_SimulaRuntimeError("putreal(r,n) - n < 0");
 		if (r == -0.0d)
 			r = 0.0d;
-		StringBuilder pattern = new StringBuilder("0");
-		if (n > 1)
-			pattern.append('.');
-		while ((n--) > 1)
-			pattern.append('0');
-		pattern.append("E000");
-		DecimalFormat myFormatter = new DecimalFormat(pattern.toString());
-		myFormatter.setRoundingMode(RoundingMode.HALF_EVEN); // Java Default
-		String output = myFormatter.format(r);
-		output = output.replace((char) UNICODE_MINUS_SIGN, '-');
-		output = addPlussExponent(output);
-		putRealResult(T, output);
+		if (!putReal(T, r, n, 3))
+			putFormatted(T, realPattern(n, "E000"), r);
 	}
 
 	/**
@@ -767,18 +1109,65 @@ public final class RTS_TXT {
 			throw new RTS_SimulaRuntimeError("putreal(r,n) - n < 0");
 		if (r == -0.0f)
 			r = 0.0f;
+		if (!putReal(T, r, n, 2))
+			putFormatted(T, realPattern(n, "E00"), r);
+	}
+
+	/**
+	 * Real Edit Utility: Edit a REAL ITEM into the text T.
+	 * <p>
+	 * The mantissa is rounded to max(n,1) significant digits. Values which
+	 * can't be edited exactly here are left to DecimalFormat.
+	 * <p>
+	 * DecimalFormat gets the digits of an integral value, less than 2**63, without knowing
+	 * that they are exact, and rounds an exact tie up in that case. This is done here as well
+	 * for integral values up to 2**58, where the digits are those of the integer.
+	 * 
+	 * @param T the text reference
+	 * @param r the value to be edited
+	 * @param n the number of digits after decimal sign
+	 * @param expDigits minimum number of digits in the exponent
+	 * @return true if the item was edited
+	 */
+	private static boolean putReal(final RTS_TXT T, final double r, final int n, final int expDigits) {
+		int m = (n > 1) ? n : 1; // Number of significant digits
+		double a = Math.abs(r);
+		if (a == 0) {
+			putItem(T, false, 0, m - 1, true, 0, expDigits);
+			return (true);
+		}
+		if (m > 15 || !(a >= Double.MIN_NORMAL && a <= Double.MAX_VALUE))
+			return (false);
+		if (a >= 0x1p58 && a == Math.rint(a))
+			return (false);
+		boolean halfUp = a == Math.rint(a);
+		long high = (long) POWER_OF_TEN[m];
+		int exp = (int) Math.floor(Math.log10(a));
+		long digits = scaledRound(a, m - 1 - exp, halfUp);
+		if (digits >= high) // Rounded up to 10**m, or log10 was one too small
+			digits = scaledRound(a, m - 1 - (++exp), halfUp);
+		else if (digits >= 0 && digits < high / 10)
+			digits = scaledRound(a, m - 1 - (--exp), halfUp);
+		if (digits < high / 10 || digits >= high)
+			return (false);
+		putItem(T, r < 0, digits, m - 1, true, exp, expDigits);
+		return (true);
+	}
+
+	/**
+	 * Real Edit Utility: The DecimalFormat pattern used by putreal.
+	 * @param n the number of digits after decimal sign
+	 * @param exponent the exponent part of the pattern
+	 * @return the pattern
+	 */
+	private static String realPattern(int n, final String exponent) {
 		StringBuilder pattern = new StringBuilder("0");
 		if (n > 1)
 			pattern.append('.');
 		while ((n--) > 1)
 			pattern.append('0');
-		pattern.append("E00");
-		DecimalFormat myFormatter = new DecimalFormat(pattern.toString());
-		myFormatter.setRoundingMode(RoundingMode.HALF_EVEN); // Java Default
-		String output = myFormatter.format(r);
-		output = output.replace((char) UNICODE_MINUS_SIGN, '-');
-		output = addPlussExponent(output);
-		putRealResult(T, output);
+		pattern.append(exponent);
+		return (pattern.toString());
 	}
 
 	/**
@@ -787,7 +1176,6 @@ public final class RTS_TXT {
 	 * @return the resulting string
 	 */
 	private static String addPlussExponent(String s) {
-		s = s.replace((char) UNICODE_MINUS_SIGN, '-');
 		String[] part = s.split("E");
 		if (part.length == 2) {
 			if (!(part[1].startsWith("-")))
@@ -815,7 +1203,7 @@ public final class RTS_TXT {
 		int r; // Remaining digits in current group
 		int p; // Next available position in item
 		int c; // Current digit (numerical)
-		char[] item = new char[T.LENGTH];
+		char[] item = (T.OBJ == null) ? null : T.OBJ.MAIN; // The item is edited directly into T
 
 		if (n <= 0)
 			r = 3;
@@ -827,33 +1215,41 @@ public final class RTS_TXT {
 
 		v = Math.abs(val);
 		d = 0;
-		p = item.length - 1;
-		try {
-			while ((v > 0) || (d < n)) {
-				c = v % 10;
-				v = v / 10;
-				if (r == 0) {
-					r = 3;
-					if (d != n)
-						item[p--] = ' ';
+		p = T.LENGTH - 1; // Positions before the frame are counted but not written
+		while ((v > 0) || (d < n)) {
+			c = v % 10;
+			v = v / 10;
+			if (r == 0) {
+				r = 3;
+				if (d != n) {
+					if (p >= 0)
+						item[T.START + p] = ' ';
+					p--;
 				}
-				item[p--] = (char) (c + '0');
-				r = r - 1;
-				d = d + 1;
-				if (d == n)
-					item[p--] = RTS_ENVIRONMENT.CURRENTDECIMALMARK;
 			}
-			if (val < 0)
-				item[p--] = '-';
-			while (p >= 0)
-				item[p--] = ' ';
-		} catch (ArrayIndexOutOfBoundsException e) {
-			RTS_COMMON.numberOfEditOverflows++;
-			for (int i = 0; i < item.length; i++)
-				item[i] = '*';
+			if (p >= 0)
+				item[T.START + p] = (char) (c + '0');
+			p--;
+			r = r - 1;
+			d = d + 1;
+			if (d == n) {
+				if (p >= 0)
+					item[T.START + p] = RTS_ENVIRONMENT.CURRENTDECIMALMARK;
+				p--;
+			}
+		}
+		if (val < 0) {
+			if (p >= 0)
+				item[T.START + p] = '-';
+			p--;
 		}
-		for (int i = 0; i < item.length; i++)
-			T.OBJ.MAIN[T.START + i] = item[i];
+		if (p < -1) {
+			RTS_COMMON.numberOfEditOverflows++;
+			for (int i = 0; i < T.LENGTH; i++)
+				item[T.START + i] = '*';
+		} else
+			while (p >= 0)
+				item[T.START + p--] = ' ';
 	}
 
 }
@@ -0,0 +1,224 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Utility class TraceBuffer.
+ * <p>
+ * A binary ring buffer of trace events. It is used instead of the textual trace when
+ * the runtime option -traceFile is given together with -smlTracing, -qpsTracing or -blockTracing.
+ * <p>
+ * Each event is recorded as a fixed size record, no trace string is edited.
+ * The ring buffer keeps the last {@link #CAPACITY} events, and is written to the
+ * trace file when the program terminates. The file may be listed by:
+ * <pre>
+ *     java -cp simula.jar simula.runtime.RTS_TraceBuffer traceFile
+ * </pre>
+ * File format (java.io.DataOutput):
+ * <pre>
+ *     "SIMTRACE" version:int
+ *     nClasses:int { className:UTF }
+ *     nEvents:long nRecords:int
+ *     { nanoTime:long event:int classIndex:int objectId:int threadId:long value:double }
+ * </pre>
+ * The value is the simulated time for Simulation events, otherwise the source line or zero.
+ * <p>
+ * Events are recorded by one coroutine at the time, the hand-off between coroutines
+ * makes the buffer visible to the next one.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_TraceBuffer.java"><b>Source File</b></a>.
+ */
+public final class RTS_TraceBuffer {
+	/** Event: Begin Simula program */ public static final int BEGIN_PROGRAM = 1;
+	/** Event: Begin block */ public static final int BEGIN_BLOCK = 2;
+	/** Event: End block */ public static final int END_BLOCK = 3;
+	/** Event: Start coroutine */ public static final int START = 4;
+	/** Event: Detach */ public static final int DETACH = 5;
+	/** Event: Call */ public static final int CALL = 6;
+	/** Event: Resume */ public static final int RESUME = 7;
+	/** Event: Hold */ public static final int HOLD = 8;
+	/** Event: Passivate */ public static final int PASSIVATE = 9;
+	/** Event: Wait */ public static final int WAIT = 10;
+	/** Event: Cancel */ public static final int CANCEL = 11;
+	/** Event: Activate */ public static final int ACTIVATE = 12;
+	/** Event: Reactivate */ public static final int REACTIVATE = 13;
+
+	/**
+	 * The event names, indexed by event.
+	 */
+	private static final String[] EVENT_NAME = { "?", "BEGIN_PROGRAM", "BEGIN_BLOCK", "END_BLOCK", "START", "DETACH",
+			"CALL", "RESUME", "HOLD", "PASSIVATE", "WAIT", "CANCEL", "ACTIVATE", "REACTIVATE" };
+
+	/**
+	 * The number of events kept in the ring buffer. A power of two.
+	 */
+	public static final int CAPACITY = 1 << 16;
+
+	/**
+	 * The number of longs in one record.
+	 */
+	private static final int RECORD_SIZE = 4;
+
+	/**
+	 * File format version.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * The ring buffer, null if not enabled.
+	 */
+	private static long[] ring;
+
+	/**
+	 * The total number of events recorded.
+	 */
+	private static long nEvents;
+
+	/**
+	 * The start time in nanoseconds.
+	 */
+	private static long startTime;
+
+	/**
+	 * The trace file name.
+	 */
+	private static String traceFileName;
+
+	/**
+	 * Class index of the traced objects' classes.
+	 */
+	private static final HashMap<Class<?>, Integer> classIndex = new HashMap<Class<?>, Integer>();
+
+	/**
+	 * Class names indexed by class index.
+	 */
+	private static final ArrayList<String> classNames = new ArrayList<String>();
+
+	/**
+	 * Default constructor.
+	 */
+	private RTS_TraceBuffer() {}
+
+	/**
+	 * Enable the trace buffer. The buffer is written to the file when the program terminates.
+	 * @param fileName the trace file name
+	 */
+	static void open(final String fileName) {
+		if (ring == null) {
+			ring = new long[CAPACITY * RECORD_SIZE];
+			startTime = System.nanoTime();
+			Runtime.getRuntime().addShutdownHook(new Thread(RTS_TraceBuffer::dump));
+		}
+		traceFileName = fileName;
+	}
+
+	/**
+	 * Returns true if the trace buffer is enabled.
+	 * @return true if the trace buffer is enabled
+	 */
+	static boolean enabled() {
+		return (ring != null);
+	}
+
+	/**
+	 * Record an event.
+	 * @param event the event
+	 * @param obj the object concerned, or null
+	 * @param value the simulated time, source line or zero
+	 */
+	static void record(final int event, final RTS_RTObject obj, final double value) {
+		int cls = -1;
+		int id = 0;
+		if (obj != null) {
+			Integer index = classIndex.get(obj.getClass());
+			if (index == null) {
+				index = classNames.size();
+				classNames.add(obj.getClass().getSimpleName());
+				classIndex.put(obj.getClass(), index);
+			}
+			cls = index;
+			id = System.identityHashCode(obj);
+		}
+		int i = (int) (nEvents++ & (CAPACITY - 1)) * RECORD_SIZE;
+		ring[i] = System.nanoTime() - startTime;
+		ring[i + 1] = ((long) event << 32) | (cls & 0xFFFFFFFFL);
+		ring[i + 2] = ((long) id << 32) | (Thread.currentThread().threadId() & 0xFFFFFFFFL);
+		ring[i + 3] = Double.doubleToRawLongBits(value);
+	}
+
+	/**
+	 * Write the ring buffer to the trace file, oldest event first.
+	 */
+	static synchronized void dump() {
+		if (ring == null)
+			return;
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(traceFileName)))) {
+			out.writeBytes("SIMTRACE");
+			out.writeInt(VERSION);
+			out.writeInt(classNames.size());
+			for (String name : classNames)
+				out.writeUTF(name);
+			int n = (int) Math.min(nEvents, CAPACITY);
+			out.writeLong(nEvents);
+			out.writeInt(n);
+			for (long k = nEvents - n; k < nEvents; k++) {
+				int i = (int) (k & (CAPACITY - 1)) * RECORD_SIZE;
+				out.writeLong(ring[i]);
+				out.writeInt((int) (ring[i + 1] >>> 32));
+				out.writeInt((int) ring[i + 1]);
+				out.writeInt((int) (ring[i + 2] >>> 32));
+				out.writeLong(ring[i + 2] & 0xFFFFFFFFL);
+				out.writeDouble(Double.longBitsToDouble(ring[i + 3]));
+			}
+		} catch (IOException e) {
+			System.err.println("Simula: Unable to write trace file " + traceFileName + ": " + e);
+		}
+	}
+
+	/**
+	 * List a trace file on System.out.
+	 * @param args the trace file name
+	 * @throws IOException if the trace file can't be read
+	 */
+	public static void main(final String[] args) throws IOException {
+		try (DataInputStream inpt = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))) {
+			byte[] magic = new byte[8];
+			inpt.readFully(magic);
+			if (!"SIMTRACE".equals(new String(magic)) || inpt.readInt() != VERSION)
+				throw new IOException("Not a Simula trace file: " + args[0]);
+			String[] names = new String[inpt.readInt()];
+			for (int i = 0; i < names.length; i++)
+				names[i] = inpt.readUTF();
+			long total = inpt.readLong();
+			int n = inpt.readInt();
+			System.out.println("Simula trace file " + args[0] + ": " + n + " of " + total + " events");
+			for (int i = 0; i < n; i++) {
+				long nanos = inpt.readLong();
+				int event = inpt.readInt();
+				int cls = inpt.readInt();
+				int id = inpt.readInt();
+				long thread = inpt.readLong();
+				double value = inpt.readDouble();
+				String name = (event > 0 && event < EVENT_NAME.length) ? EVENT_NAME[event] : ("EVENT#" + event);
+				String obj = (cls < 0) ? "none" : (names[cls] + '#' + Integer.toHexString(id));
+				System.out.println(String.format("%12d  thread %-6d %-13s %-30s %s", nanos, thread, name, obj, value));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,311 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package simula.runtime;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Utility class WriteBehind.
+ * <p>
+ * A Writer used by Outfile and Printfile when the runtime option -writeBehind is given.
+ * The characters written are copied into a ring of {@link #RING_SIZE} pooled buffers of
+ * {@link RTS_File#BUFFER_SIZE} characters, which are written to the underlying Writer by a
+ * dedicated writer thread. The Simula program only waits when all buffers are in use.
+ * <p>
+ * "flush" does not wait, it asks the writer thread to take the partly filled buffer as soon as it
+ * has written the buffers before it. Thus lines flushed while the writer thread is busy are written
+ * together. {@link #drain()} waits until all characters are written and flushed, it is used by
+ * "checkpoint", "close", before a runtime error message is printed and at the end of the program.
+ * <p>
+ * An IOException in the writer thread is kept, and thrown by the next write, flush, drain or close.
+ * <p>
+ * Link to GitHub: <a href="https://github.com/portablesimula/SimulaCompiler/blob/master/Simula/src/simula/runtime/RTS_WriteBehind.java"><b>Source File</b></a>.
+ */
+public final class RTS_WriteBehind extends Writer {
+
+	/**
+	 * The number of buffers in the ring.
+	 */
+	public static final int RING_SIZE = 8;
+
+	/**
+	 * A buffer in the ring.
+	 */
+	private static final class Buffer {
+		/**
+		 * The characters.
+		 */
+		final char[] chars = new char[RTS_File.BUFFER_SIZE];
+
+		/**
+		 * The number of characters in the buffer.
+		 */
+		int length;
+	}
+
+	/**
+	 * The open WriteBehind writers.
+	 */
+	private static final ArrayList<RTS_WriteBehind> openWriters = new ArrayList<RTS_WriteBehind>();
+
+	/**
+	 * The underlying Writer.
+	 */
+	private final Writer out;
+
+	/**
+	 * The writer thread.
+	 */
+	private final Thread thread;
+
+	/**
+	 * The buffer being filled by the Simula program.
+	 */
+	private Buffer current;
+
+	/**
+	 * The buffers filled, to be written by the writer thread.
+	 */
+	private final ArrayDeque<Buffer> full = new ArrayDeque<Buffer>();
+
+	/**
+	 * The free buffers.
+	 */
+	private final ArrayDeque<Buffer> free = new ArrayDeque<Buffer>();
+
+	/**
+	 * The writer thread is writing a buffer.
+	 */
+	private boolean busy;
+
+	/**
+	 * The writer thread should take the current buffer when the full buffers are written.
+	 */
+	private boolean flushRequested;
+
+	/**
+	 * The writer is closed.
+	 */
+	private boolean closed;
+
+	/**
+	 * The first IOException in the writer thread, not yet thrown.
+	 */
+	private IOException error;
+
+	/**
+	 * Create a new WriteBehind writer, and start its writer thread.
+	 * @param out the underlying Writer
+	 * @param name the name of the writer thread
+	 */
+	RTS_WriteBehind(final Writer out, final String name) {
+		this.out = out;
+		for (int i = 1; i < RING_SIZE; i++)
+			free.add(new Buffer());
+		current = new Buffer();
+		thread = new Thread(this::writeLoop, "WriteBehind: " + name);
+		thread.setDaemon(true);
+		thread.start();
+		synchronized (openWriters) {
+			openWriters.add(this);
+		}
+	}
+
+	@Override
+	public synchronized void write(final char[] cbuf, final int off, final int len) throws IOException {
+		checkError();
+		int p = off;
+		int n = len;
+		while (n > 0) {
+			if (current.length == current.chars.length)
+				handOff();
+			int m = Math.min(n, current.chars.length - current.length);
+			System.arraycopy(cbuf, p, current.chars, current.length, m);
+			current.length = current.length + m;
+			p = p + m;
+			n = n - m;
+		}
+	}
+
+	@Override
+	public synchronized void write(final int c) throws IOException {
+		checkError();
+		if (current.length == current.chars.length)
+			handOff();
+		current.chars[current.length++] = (char) c;
+	}
+
+	@Override
+	public synchronized void write(final String str, final int off, final int len) throws IOException {
+		checkError();
+		int p = off;
+		int n = len;
+		while (n > 0) {
+			if (current.length == current.chars.length)
+				handOff();
+			int m = Math.min(n, current.chars.length - current.length);
+			str.getChars(p, p + m, current.chars, current.length);
+			current.length = current.length + m;
+			p = p + m;
+			n = n - m;
+		}
+	}
+
+	/**
+	 * Give the current buffer to the writer thread and take a free one, waiting if there is none.
+	 * @throws IOException if the wait is interrupted
+	 */
+	private void handOff() throws IOException {
+		full.add(current);
+		notifyAll();
+		while (free.isEmpty())
+			await();
+		current = free.poll();
+	}
+
+	/**
+	 * Ask the writer thread to write the characters written so far. Does not wait.
+	 * @throws IOException if the writer thread has failed
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		checkError();
+		if (current.length > 0) {
+			flushRequested = true;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Wait until all characters written so far are written and flushed by the writer thread.
+	 * @throws IOException if the writer thread has failed
+	 */
+	public synchronized void drain() throws IOException {
+		if (current.length > 0)
+			flushRequested = true;
+		notifyAll();
+		while (error == null && (busy || flushRequested || !full.isEmpty()))
+			await();
+		checkError();
+	}
+
+	/**
+	 * Drain and close the writer, and close the underlying Writer.
+	 * @throws IOException if the writer thread has failed, or the underlying Writer can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (openWriters) {
+			openWriters.remove(this);
+		}
+		try {
+			drain();
+		} finally {
+			synchronized (this) {
+				closed = true;
+				notifyAll();
+			}
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				throw new IOException("Close interrupted", e);
+			}
+			out.close();
+		}
+	}
+
+	/**
+	 * Drain all open WriteBehind writers. Used at the end of the program.
+	 */
+	static void drainAll() {
+		RTS_WriteBehind[] writers;
+		synchronized (openWriters) {
+			writers = openWriters.toArray(new RTS_WriteBehind[0]);
+		}
+		for (RTS_WriteBehind writer : writers) {
+			try {
+				writer.drain();
+			} catch (IOException e) {
+				RTS_COMMON.printWarning("Write behind failed: " + e);
+			}
+		}
+	}
+
+	/**
+	 * Throw the IOException from the writer thread, if any.
+	 * @throws IOException the IOException from the writer thread
+	 */
+	private void checkError() throws IOException {
+		if (error != null) {
+			IOException e = error;
+			error = null;
+			throw new IOException("Write behind failed", e);
+		}
+	}
+
+	/**
+	 * Wait until notified.
+	 * @throws IOException if the wait is interrupted
+	 */
+	private void await() throws IOException {
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			throw new IOException("Write behind interrupted", e);
+		}
+	}
+
+	/**
+	 * The writer thread: write the full buffers, and the current buffer when flush is requested.
+	 */
+	private void writeLoop() {
+		while (true) {
+			Buffer buffer;
+			synchronized (this) {
+				while (full.isEmpty() && !flushRequested && !closed)
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				if (!full.isEmpty())
+					buffer = full.poll();
+				else if (flushRequested) {
+					flushRequested = false;
+					if (current.length == 0) {
+						notifyAll();
+						continue;
+					}
+					buffer = current;
+					current = free.poll();
+				} else
+					return; // Closed and drained
+				busy = true;
+			}
+			try {
+				out.write(buffer.chars, 0, buffer.length);
+				out.flush();
+			} catch (IOException e) {
+				synchronized (this) {
+					if (error == null)
+						error = e;
+				}
+			}
+			synchronized (this) {
+				buffer.length = 0;
+				free.add(buffer);
+				busy = false;
+				notifyAll();
+			}
+		}
+	}
+
+}
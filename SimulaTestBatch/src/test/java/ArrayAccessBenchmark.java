@@ -0,0 +1,142 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.lang.management.ManagementFactory;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_RTObject;
+
+/**
+ * Array access benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program multiplying
+ * two long real matrices:
+ * <pre>
+ *     for i := 1 step 1 until N do for j := 1 step 1 until N do begin
+ *         s := 0;
+ *         for k := 1 step 1 until N do s := s + A(i,k) * B(k,j);
+ *         C(i,j) := s;
+ *     end;
+ * </pre>
+ * It compares the fixed-arity accessors, A.getELEMENT(i,k) and C.index(i,j), with the
+ * varargs accessors used before, here forced by passing an explicit index array.
+ * Time and bytes allocated per multiplication are measured with com.sun.management.ThreadMXBean.
+ * <p>
+ * In this small loop C2 may remove the index arrays by escape analysis once it is hot, which
+ * it seldom can in large generated methods. Run with -XX:-DoEscapeAnalysis to see the cost there.
+ */
+public final class ArrayAccessBenchmark extends RTS_BASICIO {
+	private static final int N = 200;
+	private static final int ROUNDS = 5;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	public ArrayAccessBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("ArrayAccessBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		RTS_LONG_REAL_ARRAY A = new RTS_LONG_REAL_ARRAY(new RTS_BOUNDS(1, N), new RTS_BOUNDS(1, N));
+		RTS_LONG_REAL_ARRAY B = new RTS_LONG_REAL_ARRAY(new RTS_BOUNDS(1, N), new RTS_BOUNDS(1, N));
+		RTS_LONG_REAL_ARRAY C = new RTS_LONG_REAL_ARRAY(new RTS_BOUNDS(1, N), new RTS_BOUNDS(1, N));
+		for (int i = 1; i <= N; i++)
+			for (int j = 1; j <= N; j++) {
+				A.putELEMENT(A.index(i, j), i + j);
+				B.putELEMENT(B.index(i, j), i - j);
+			}
+		System.out.println("N=" + N + "           ms/multiply  bytes/multiply");
+		for (int r = 0; r < ROUNDS; r++) {
+			report("varargs:      ", false, A, B, C);
+			report("fixed-arity:  ", true, A, B, C);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new ArrayAccessBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Measure and print one matrix multiplication.
+	 * @param title the title
+	 * @param fixed true: use the fixed-arity accessors
+	 * @param A left operand
+	 * @param B right operand
+	 * @param C the result
+	 */
+	private static void report(final String title, final boolean fixed, final RTS_LONG_REAL_ARRAY A,
+			final RTS_LONG_REAL_ARRAY B, final RTS_LONG_REAL_ARRAY C) {
+		long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		long startTime = System.nanoTime();
+		if (fixed)
+			multiplyFixed(A, B, C);
+		else
+			multiplyVarargs(A, B, C);
+		long timeUsed = System.nanoTime() - startTime;
+		bytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+		if (C.getELEMENT(N, N) != expected(N, N))
+			throw new RuntimeException("C(N,N)=" + C.getELEMENT(N, N));
+		System.out.println(String.format("%s %14.3f %15d", title, timeUsed / 1e6, bytes));
+	}
+
+	/**
+	 * Matrix multiply using the fixed-arity accessors.
+	 * @param A left operand
+	 * @param B right operand
+	 * @param C the result
+	 */
+	private static void multiplyFixed(final RTS_LONG_REAL_ARRAY A, final RTS_LONG_REAL_ARRAY B,
+			final RTS_LONG_REAL_ARRAY C) {
+		for (int i = 1; i <= N; i++)
+			for (int j = 1; j <= N; j++) {
+				double s = 0;
+				for (int k = 1; k <= N; k++)
+					s = s + A.getELEMENT(i, k) * B.getELEMENT(k, j);
+				C.putELEMENT(C.index(i, j), s);
+			}
+	}
+
+	/**
+	 * Matrix multiply using the varargs accessors.
+	 * @param A left operand
+	 * @param B right operand
+	 * @param C the result
+	 */
+	private static void multiplyVarargs(final RTS_LONG_REAL_ARRAY A, final RTS_LONG_REAL_ARRAY B,
+			final RTS_LONG_REAL_ARRAY C) {
+		for (int i = 1; i <= N; i++)
+			for (int j = 1; j <= N; j++) {
+				double s = 0;
+				for (int k = 1; k <= N; k++)
+					s = s + A.getELEMENT(new int[] { i, k }) * B.getELEMENT(new int[] { k, j });
+				C.putELEMENT(C.index(new int[] { i, j }), s);
+			}
+	}
+
+	/**
+	 * Returns the expected element C(i,j).
+	 * @param i the first index
+	 * @param j the second index
+	 * @return the expected element
+	 */
+	private static double expected(final int i, final int j) {
+		double s = 0;
+		for (int k = 1; k <= N; k++)
+			s = s + (i + k) * (k - j);
+		return (s);
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Inbytefile;
+import simula.runtime.RTS_Outbytefile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Bytefile throughput benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program copying a binary file:
+ * <pre>
+ *     ref(Outbytefile) o; ref(Inbytefile) f;
+ *     for i := 1 step 1 until BYTES do o.outbyte(...);
+ *     while not f.endfile do b := f.inbyte;
+ *     o.outtext(t); t :- f.intext(t);
+ * </pre>
+ * It compares outbyte and inbyte, which write and read a byte buffer in front of a FileChannel,
+ * with the former outbyte and inbyte, which did one write or read call on an unbuffered
+ * FileOutputStream or FileInputStream for each byte. It also measures outtext and intext,
+ * which transfer the whole text frame in bulk. Throughput is reported in MB/s.
+ */
+public final class BytefileBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 3;
+	private static final int BYTES = 4 * 1024 * 1024;
+	private static final int WIDTH = 4096;
+
+	public BytefileBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("BytefileBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		try {
+			File file = File.createTempFile("BytefileBenchmark", ".bin");
+			file.deleteOnExit();
+			double mb = (double) BYTES / (1024 * 1024);
+			System.out.println(String.format("%.1f MB                     MB/s", mb));
+			for (int r = 0; r < ROUNDS; r++) {
+				long startTime = System.nanoTime();
+				writeFormer(file);
+				report("former outbyte:      ", mb, System.nanoTime() - startTime, readFormer(file));
+
+				startTime = System.nanoTime();
+				long sum = readFormer(file);
+				report("former inbyte:       ", mb, System.nanoTime() - startTime, sum);
+
+				startTime = System.nanoTime();
+				writeOutbytefile(file, false);
+				report("Outbytefile.outbyte: ", mb, System.nanoTime() - startTime, readFormer(file));
+
+				startTime = System.nanoTime();
+				sum = readInbytefile(file, false);
+				report("Inbytefile.inbyte:   ", mb, System.nanoTime() - startTime, sum);
+
+				startTime = System.nanoTime();
+				writeOutbytefile(file, true);
+				report("Outbytefile.outtext: ", mb, System.nanoTime() - startTime, readFormer(file));
+
+				startTime = System.nanoTime();
+				sum = readInbytefile(file, true);
+				report("Inbytefile.intext:   ", mb, System.nanoTime() - startTime, sum);
+				System.out.println();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new BytefileBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Returns the byte at the given index.
+	 * @param i the index
+	 * @return the byte at the given index
+	 */
+	private static int byteAt(final int i) {
+		return ((i * 31 + (i >> 12)) & 0xFF);
+	}
+
+	/**
+	 * Print one measurement and check the checksum of the bytes read.
+	 * @param title the title
+	 * @param mb megabytes transferred
+	 * @param timeUsed nanoseconds used
+	 * @param sum the checksum of the bytes read
+	 */
+	private static void report(final String title, final double mb, final long timeUsed, final long sum) {
+		long expected = 0;
+		for (int i = 0; i < BYTES; i++)
+			expected = expected * 31 + byteAt(i);
+		if (sum != expected)
+			throw new RuntimeException("sum=" + sum + ", expected=" + expected);
+		System.out.println(String.format("%s %10.1f", title, mb / (timeUsed / 1e9)));
+	}
+
+	/**
+	 * Write the file by Outbytefile.outbyte or Outbytefile.outtext.
+	 * @param file the file
+	 * @param outtext true: use outtext, otherwise outbyte
+	 */
+	private void writeOutbytefile(final File file, final boolean outtext) {
+		file.delete();
+		RTS_Outbytefile o = new RTS_Outbytefile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		o.open();
+		if (outtext) {
+			RTS_TXT t = blanks(WIDTH);
+			for (int i = 0; i < BYTES; i = i + WIDTH) {
+				RTS_TXT.setpos(t, 1);
+				for (int k = 0; k < WIDTH; k++)
+					RTS_TXT.putchar(t, (char) byteAt(i + k));
+				o.outtext(t);
+			}
+		} else {
+			for (int i = 0; i < BYTES; i++)
+				o.outbyte(byteAt(i));
+		}
+		o.close();
+	}
+
+	/**
+	 * Read the file by Inbytefile.inbyte or Inbytefile.intext.
+	 * @param file the file
+	 * @param intext true: use intext, otherwise inbyte
+	 * @return the checksum of the bytes read
+	 */
+	private long readInbytefile(final File file, final boolean intext) {
+		RTS_Inbytefile f = new RTS_Inbytefile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		f.open();
+		long sum = 0;
+		if (intext) {
+			RTS_TXT t = blanks(WIDTH);
+			while (!f.endfile()) {
+				RTS_TXT s = f.intext(t);
+				while (RTS_TXT.more(s))
+					sum = sum * 31 + RTS_TXT.getchar(s);
+			}
+		} else {
+			while (true) {
+				int b = f.inbyte();
+				if (f.endfile())
+					break;
+				sum = sum * 31 + b;
+			}
+		}
+		f.close();
+		return (sum);
+	}
+
+	/**
+	 * Write the file the way the former outbyte did.
+	 * @param file the file
+	 * @throws IOException if the file can't be written
+	 */
+	private static void writeFormer(final File file) throws IOException {
+		try (OutputStream outputStream = new FileOutputStream(file, false)) {
+			for (int i = 0; i < BYTES; i++)
+				outputStream.write(byteAt(i));
+		}
+	}
+
+	/**
+	 * Read the file the way the former inbyte did.
+	 * @param file the file
+	 * @return the checksum of the bytes read
+	 * @throws IOException if the file can't be read
+	 */
+	private static long readFormer(final File file) throws IOException {
+		long sum = 0;
+		try (InputStream inputStream = new FileInputStream(file)) {
+			int b;
+			while ((b = inputStream.read()) != -1)
+				sum = sum * 31 + b;
+		}
+		return (sum);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Vector;
+
+import simula.compiler.CompileDaemon;
+
+/**
+ * Compile daemon benchmark.
+ * <p>
+ * Compiles the simtst suite of the test batch with the options -nowarn and -noexec in three ways:
+ * <ul>
+ * <li>Cold: A new Java VM for each compilation, i.e. java -jar simula.jar [options] file
+ * <li>Connect: A new Java VM for each compilation, which lets the compile daemon do it, i.e.
+ * java -jar simula.jar -connect port [options] file
+ * <li>Daemon: This Java VM sends each compilation to the compile daemon through CompileDaemon.connect.
+ * </ul>
+ * The compile daemon is started by java -jar simula.jar -daemon port. The wall-clock time for the suite
+ * and per compilation is reported, and the exit value of each compilation is compared.
+ * <p>
+ * Arguments: [releaseHome [sourceDir]] where releaseHome contains simula.jar and sourceDir contains
+ * SimulaTest.sim and simtst*.sim.
+ */
+public final class CompileDaemonBenchmark {
+	private static final int PORT = 4711;
+	private static final File releaseHome = new File("C:/GitHub/Binaries/Simula-2.0");
+	private static final File sourceDir = new File("C:/GitHub/SimulaCompiler/SimulaTestBatch/src/simulaTestBatch");
+
+	public static void main(String[] args) throws Exception {
+		File simulaJar = new File((args.length > 0) ? new File(args[0]) : releaseHome, "simula.jar");
+		File srcDir = (args.length > 1) ? new File(args[1]) : sourceDir;
+		String java = new File(System.getProperty("java.home"), "bin/java").toString();
+
+		Vector<File> files = new Vector<File>();
+		files.add(new File(srcDir, "SimulaTest.sim"));
+		String[] names = srcDir.list((dir, name) -> name.startsWith("simtst") && name.endsWith(".sim"));
+		Arrays.sort(names);
+		for (String name : names)
+			files.add(new File(srcDir, name));
+		File outputDir = Files.createTempDirectory("CompileDaemonBenchmark").toFile();
+
+		Process daemon = new ProcessBuilder(java, "-Djava.awt.headless=true", "-jar", simulaJar.toString(), "-daemon",
+				"" + PORT).redirectErrorStream(true).start();
+		BufferedReader daemonOutput = new BufferedReader(new InputStreamReader(daemon.getInputStream()));
+		long startTime = System.nanoTime();
+		for (String line = daemonOutput.readLine(); line != null; line = daemonOutput.readLine()) {
+			if (line.startsWith("Simula compile daemon listening"))
+				break;
+		}
+		System.out.println(String.format("Daemon start-up with warm-up: %d ms", (System.nanoTime() - startTime) / 1_000_000));
+		new Thread(() -> daemonOutput.lines().forEach(line -> {})).start();
+
+		try {
+			int[][] exitValue = new int[3][files.size()];
+			String[] title = { "Cold:   ", "Connect:", "Daemon: " };
+			for (int mode = 0; mode < 3; mode++) {
+				startTime = System.nanoTime();
+				for (int i = 0; i < files.size(); i++) {
+					String[] options = { "-nowarn", "-noexec", "-output", outputDir.toString(), files.get(i).toString() };
+					exitValue[mode][i] = switch (mode) {
+						case 0 -> run(options, java, "-Djava.awt.headless=true", "-jar", simulaJar.toString());
+						case 1 -> run(options, java, "-jar", simulaJar.toString(), "-connect", "" + PORT);
+						default -> CompileDaemon.connect(PORT, options);
+					};
+				}
+				long timeUsed = System.nanoTime() - startTime;
+				int nFailed = 0;
+				for (int i = 0; i < files.size(); i++) {
+					if (exitValue[mode][i] != 0)
+						nFailed++;
+					if (exitValue[mode][i] != exitValue[0][i])
+						System.out.println("Different exit value: " + files.get(i));
+				}
+				System.out.println(String.format("%s %4d compilations %6d ms %8.1f ms/compilation  %d failed", title[mode],
+						files.size(), timeUsed / 1_000_000, timeUsed / 1_000_000.0 / files.size(), nFailed));
+			}
+		} finally {
+			CompileDaemon.connect(PORT, new String[] { "-shutdown" });
+			daemon.waitFor();
+			for (File f : outputDir.listFiles())
+				f.delete();
+			outputDir.delete();
+		}
+	}
+
+	/**
+	 * Run a command in a new process, the output is discarded.
+	 * @param options the Simula options, added to the command
+	 * @param command the command
+	 * @return the exit value
+	 * @throws IOException if the command fails
+	 * @throws InterruptedException if interrupted
+	 */
+	private static int run(final String[] options, final String... command) throws IOException, InterruptedException {
+		Vector<String> cmds = new Vector<String>(Arrays.asList(command));
+		cmds.addAll(Arrays.asList(options));
+		Process process = new ProcessBuilder(cmds).redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+		return (process.waitFor());
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.lang.management.ManagementFactory;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Text concatenation benchmark.
+ * <p>
+ * Written the same way as the Java code generated for Simula programs building texts:
+ * <pre>
+ *     t :- a &amp; b &amp; c &amp; d;                                           ! chain of 4 ;
+ *     t :- notext; for i := 1 step 1 until 100 do t :- t &amp; "item, ";  ! growing text ;
+ * </pre>
+ * It compares the n-ary CONC, which sizes the result once and copies each frame by System.arraycopy,
+ * with the former CONC, which called blanks and assigned two sub texts, and which was nested for a
+ * chain. Operations per second and bytes allocated per operation are reported.
+ */
+public final class ConcatenationBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 3;
+	private static final int CHAINS = 2_000_000;
+	private static final int LOOPS = 20_000;
+	private static final int ITEMS = 100;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	/**
+	 * Keeps the last text alive.
+	 */
+	static RTS_TXT last;
+
+	public ConcatenationBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("ConcatenationBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		RTS_TXT a = new RTS_TXT("Report ");
+		RTS_TXT b = new RTS_TXT("line ");
+		RTS_TXT c = new RTS_TXT("number ");
+		RTS_TXT d = new RTS_TXT("0123456789");
+		RTS_TXT item = new RTS_TXT("item, ");
+		for (int r = 0; r < ROUNDS; r++) {
+			long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			long startTime = System.nanoTime();
+			for (int i = 0; i < CHAINS; i++)
+				last = formerCONC(formerCONC(formerCONC(a, b), c), d);
+			report("former a & b & c & d:  ", CHAINS, System.nanoTime() - startTime,
+					threadMXBean.getCurrentThreadAllocatedBytes() - bytes);
+			check(last, "Report line number 0123456789");
+
+			bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			startTime = System.nanoTime();
+			for (int i = 0; i < CHAINS; i++)
+				last = CONC(a, b, c, d);
+			report("CONC(a,b,c,d):         ", CHAINS, System.nanoTime() - startTime,
+					threadMXBean.getCurrentThreadAllocatedBytes() - bytes);
+			check(last, "Report line number 0123456789");
+
+			bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			startTime = System.nanoTime();
+			for (int i = 0; i < LOOPS; i++) {
+				RTS_TXT t = NOTEXT;
+				for (int k = 0; k < ITEMS; k++)
+					t = formerCONC(t, item);
+				last = t;
+			}
+			report("former t :- t & item:  ", LOOPS, System.nanoTime() - startTime,
+					threadMXBean.getCurrentThreadAllocatedBytes() - bytes);
+
+			bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			startTime = System.nanoTime();
+			for (int i = 0; i < LOOPS; i++) {
+				RTS_TXT t = NOTEXT;
+				for (int k = 0; k < ITEMS; k++)
+					t = CONC(t, item);
+				last = t;
+			}
+			report("CONC(t,item):          ", LOOPS, System.nanoTime() - startTime,
+					threadMXBean.getCurrentThreadAllocatedBytes() - bytes);
+			check(last, "item, ".repeat(ITEMS));
+			System.out.println();
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new ConcatenationBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Print one measurement.
+	 * @param title the title
+	 * @param n the number of operations
+	 * @param timeUsed nanoseconds used
+	 * @param bytes bytes allocated
+	 */
+	private static void report(final String title, final int n, final long timeUsed, final long bytes) {
+		System.out.println(String.format("%s %12d ops/sec %10.1f bytes/op", title, n * 1_000_000_000L / timeUsed,
+				(double) bytes / n));
+	}
+
+	/**
+	 * Check the result.
+	 * @param t the text
+	 * @param expected the expected value
+	 */
+	private static void check(final RTS_TXT t, final String expected) {
+		if (!_TXTREL_EQ(t, new RTS_TXT(expected)))
+			throw new RuntimeException("Wrong result: " + t);
+	}
+
+	/**
+	 * The former text concatenation.
+	 * @param T1 the first text to be concatenated
+	 * @param T2 the second text to be concatenated
+	 * @return  the concatenated text
+	 */
+	private static RTS_TXT formerCONC(RTS_TXT T1, RTS_TXT T2) {
+		if (T1 == null)
+			T1 = NOTEXT;
+		if (T2 == null)
+			T2 = NOTEXT;
+		RTS_TXT U = blanks(RTS_TXT.length(T1) + RTS_TXT.length(T2));
+		_ASGTXT(RTS_TXT.sub(U, 1, RTS_TXT.length(T1)), T1);
+		_ASGTXT(RTS_TXT.sub(U, 1 + RTS_TXT.length(T1), RTS_TXT.length(T2)), T2);
+		return (U);
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Coroutine;
+
+/**
+ * Coroutine switch benchmark.
+ * <p>
+ * Measures switches per second between the main program and a coroutine,
+ * first using the Semaphore based coroutines, then using the direct hand-off
+ * selected by the runtime option -directHandoff.
+ * <p>
+ * Both are started through RTS_COMMON.runMainProgram, the same way as a
+ * compiled Simula program.
+ */
+public final class CoroutineBenchmark {
+	private static final int WARMUP = 5;
+	private static final int ROUNDS = 5;
+	private static final int SWITCHES = 1_000_000;
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(new String[0]);
+		RTS_COMMON.runMainProgram(() -> report("Semaphore:      "));
+		RTS_COMMON.setRuntimeOptions(new String[] { "-directHandoff" });
+		RTS_COMMON.runMainProgram(() -> report("Direct Handoff: "));
+	}
+
+	/**
+	 * Measure and print the best of ROUNDS after WARMUP rounds.
+	 * @param title the title
+	 */
+	private static void report(final String title) {
+		for (int i = 0; i < WARMUP; i++)
+			measure();
+		long best = 0;
+		for (int i = 0; i < ROUNDS; i++)
+			best = Math.max(best, measure());
+		System.out.println(title + best + " switches/sec");
+	}
+
+	/**
+	 * Run SWITCHES coroutine switches and return switches per second.
+	 * @return switches per second
+	 */
+	private static long measure() {
+		final int n = SWITCHES / 2;
+		RTS_Coroutine coroutine = new RTS_Coroutine(new Runnable() {
+			public void run() {
+				for (int i = 1; i < n; i++)
+					RTS_Coroutine.detach();
+			}
+		});
+		long startTime = System.nanoTime();
+		for (int i = 0; i < n; i++)
+			coroutine.run();
+		long timeUsed = System.nanoTime() - startTime;
+		return (SWITCHES * 1_000_000_000L / timeUsed);
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Directbytefile;
+import simula.runtime.RTS_Directfile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Directfile and Directbytefile random access benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program updating a keyed file:
+ * <pre>
+ *     ref(Directfile) f; f :- new Directfile("..."); f.setaccess("CREATE"); f.open(blanks(80));
+ *     for i := 1 step 1 until OPERATIONS do begin
+ *         f.locate(randint(1, RECORDS, u)); f.inimage; ... image ... ;
+ *         f.locate(randint(1, RECORDS, u)); f.outtext(...); f.outimage;
+ *     end;
+ * </pre>
+ * and the same with Directbytefile locate, inbyte and outbyte. It compares the default mode, which
+ * seeks and reads or writes each byte by a RandomAccessFile, with the memory mapped mode selected by
+ * the runtime option -mappedDirectfiles. Directfile is also run with the record cache selected by the
+ * runtime option -directfileCache, with {@link #CACHE_BLOCKS} blocks. Operations per second are reported.
+ * <p>
+ * All modes execute the same operations, and the results and files are compared.
+ */
+public final class DirectfileBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 3;
+	private static final int RECORDS = 10_000;
+	private static final int RECORDSIZE = 80;
+	private static final int OPERATIONS = 100_000;
+	private static final int CACHE_BLOCKS = 64;
+
+	public DirectfileBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("DirectfileBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		try {
+			File file = File.createTempFile("DirectfileBenchmark", ".dat");
+			file.deleteOnExit();
+			System.out.println(String.format("%d records, %d operations      ops/s", RECORDS, OPERATIONS));
+			for (int r = 0; r < ROUNDS; r++) {
+				long[] time = new long[3];
+				long[] sum = new long[3];
+				byte[][] contents = new byte[3][];
+				for (int mode = 0; mode < 3; mode++) {
+					RTS_COMMON.Option.MAPPED_DIRECTFILES = mode == 1;
+					RTS_COMMON.Option.DIRECTFILE_CACHE = (mode == 2) ? CACHE_BLOCKS : 0;
+					file.delete();
+					long startTime = System.nanoTime();
+					sum[mode] = runDirectfile(file);
+					time[mode] = System.nanoTime() - startTime;
+					contents[mode] = Files.readAllBytes(file.toPath());
+				}
+				RTS_COMMON.Option.DIRECTFILE_CACHE = 0;
+				check("Directfile", sum, contents);
+				report("Directfile inimage/outimage:     ", time);
+
+				time = new long[2];
+				sum = new long[2];
+				contents = new byte[2][];
+				for (int mode = 0; mode < 2; mode++) {
+					RTS_COMMON.Option.MAPPED_DIRECTFILES = mode == 1;
+					file.delete();
+					long startTime = System.nanoTime();
+					sum[mode] = runDirectbytefile(file);
+					time[mode] = System.nanoTime() - startTime;
+					contents[mode] = Files.readAllBytes(file.toPath());
+				}
+				check("Directbytefile", sum, contents);
+				report("Directbytefile inbyte/outbyte:   ", time);
+				System.out.println();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new DirectfileBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Check that all modes gave the same result.
+	 * @param title the title
+	 * @param sum the checksums of the data read
+	 * @param contents the resulting files
+	 */
+	private static void check(final String title, final long[] sum, final byte[][] contents) {
+		for (int mode = 1; mode < sum.length; mode++)
+			if (sum[0] != sum[mode] || !Arrays.equals(contents[0], contents[mode]))
+				throw new RuntimeException(title + ": the modes differ");
+	}
+
+	/**
+	 * Print one measurement.
+	 * @param title the title
+	 * @param time nanoseconds used by the default, the mapped and the cached mode
+	 */
+	private static void report(final String title, final long[] time) {
+		String line = String.format("%s default %10.0f   mapped %10.0f", title, OPERATIONS / (time[0] / 1e9),
+				OPERATIONS / (time[1] / 1e9));
+		if (time.length > 2)
+			line = line + String.format("   cached %10.0f", OPERATIONS / (time[2] / 1e9));
+		System.out.println(line);
+	}
+
+	/**
+	 * Write all records, then read and write records at random locations.
+	 * @param file the file
+	 * @return the checksum of the records read
+	 */
+	private long runDirectfile(final File file) {
+		RTS_Directfile f = new RTS_Directfile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		f.setaccess(new RTS_TXT("CREATE"));
+		f.open(blanks(RECORDSIZE));
+		RTS_TXT record = new RTS_TXT("Record 0123456789 abcdefghijklmnopqrstuvwxyz");
+		for (int i = 1; i <= RECORDS; i++) {
+			f.outtext(record);
+			f.outint(i, 10);
+			f.outimage();
+		}
+		Random random = new Random(4711);
+		long sum = 0;
+		for (int i = 0; i < OPERATIONS; i++) {
+			int loc = 1 + random.nextInt(RECORDS + 10);
+			f.locate(loc);
+			f.inimage();
+			while (RTS_TXT.more(f.image))
+				sum = sum * 31 + RTS_TXT.getchar(f.image);
+			f.locate(1 + random.nextInt(RECORDS + 10));
+			f.outtext(record);
+			f.outint(i, 10);
+			f.outimage();
+		}
+		sum = sum * 31 + f.lastloc();
+		f.close();
+		return (sum);
+	}
+
+	/**
+	 * Write all bytes, then read and write bytes at random locations.
+	 * @param file the file
+	 * @return the checksum of the bytes read
+	 */
+	private long runDirectbytefile(final File file) {
+		RTS_Directbytefile f = new RTS_Directbytefile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		f.setaccess(new RTS_TXT("CREATE"));
+		f.open();
+		int size = RECORDS * RECORDSIZE;
+		for (int i = 0; i < size; i++)
+			f.outbyte(i & 0xFF);
+		Random random = new Random(4711);
+		long sum = 0;
+		for (int i = 0; i < OPERATIONS; i++) {
+			f.locate(1 + random.nextInt(size + 10));
+			sum = sum * 31 + f.inbyte() + f.location();
+			f.locate(1 + random.nextInt(size + 10));
+			f.outbyte(i & 0xFF);
+		}
+		sum = sum * 31 + f.lastloc();
+		f.close();
+		return (sum);
+	}
+
+}
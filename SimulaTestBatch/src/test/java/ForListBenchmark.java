@@ -0,0 +1,120 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_RTObject;
+
+/**
+ * For-list benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program with a for-list
+ * of more than one element and a step which is not constant:
+ * <pre>
+ *     for i := 0, 1 step k until N do s := s + i;
+ * </pre>
+ * It compares the ForList iterators, which box each value of the control variable, with
+ * the loop over a switch which ForStatement now generates.
+ */
+public final class ForListBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final int N = 10_000_000;
+
+	int i;
+	int k = 1;
+	long s;
+
+	public ForListBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("ForListBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		long expected = (long) N * (N + 1) / 2;
+		for (int r = 0; r < ROUNDS; r++) {
+			s = 0;
+			long startTime = System.nanoTime();
+			for (boolean CB_1 : new ForList(
+					new SingleElt<Number>(new RTS_NAME<Number>() {
+						public Number put(Number x_) {
+							i = x_.intValue();
+							return (x_);
+						};
+
+						public Number get() {
+							return ((Number) i);
+						}
+					}, new RTS_NAME<Number>() {
+						public Number get() {
+							return (0);
+						}
+					}), new StepUntil(new RTS_NAME<Number>() {
+						public Number put(Number x_) {
+							i = x_.intValue();
+							return (x_);
+						};
+
+						public Number get() {
+							return ((Number) i);
+						}
+					}, new RTS_NAME<Number>() {
+						public Number get() {
+							return (1);
+						}
+					}, new RTS_NAME<Number>() {
+						public Number get() {
+							return (k);
+						}
+					}, new RTS_NAME<Number>() {
+						public Number get() {
+							return (N);
+						}
+					}))) {
+				if (!CB_1)
+					continue;
+				s = s + i;
+			}
+			long iterator = System.nanoTime() - startTime;
+			if (s != expected)
+				throw new RuntimeException("s=" + s);
+
+			s = 0;
+			startTime = System.nanoTime();
+			{
+				int _FE_1_0 = 1;
+				int _FD_1_0_2;
+				_FOR_1_0: while (true) {
+					switch (_FE_1_0) {
+						case 1: i = 0; _FE_1_0 = 2; break;
+						case 2: i = 1; _FD_1_0_2 = k; _FE_1_0 = 3; if ((_FD_1_0_2 > 0) ? i <= N : (_FD_1_0_2 == 0 || i >= N)) break; _FE_1_0 = 4; continue _FOR_1_0;
+						case 3: _FD_1_0_2 = k; i = i + _FD_1_0_2; if ((_FD_1_0_2 > 0) ? i <= N : (_FD_1_0_2 == 0 || i >= N)) break; _FE_1_0 = 4; continue _FOR_1_0;
+						default: break _FOR_1_0;
+					}
+					s = s + i;
+				}
+			}
+			long loop = System.nanoTime() - startTime;
+			if (s != expected)
+				throw new RuntimeException("s=" + s);
+
+			System.out.println(String.format("ForList iterators %7.2f ns/iteration   switch loop %7.2f ns/iteration",
+					(double) iterator / N, (double) loop / N));
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new ForListBenchmark(_CTX)._STM());
+	}
+
+}
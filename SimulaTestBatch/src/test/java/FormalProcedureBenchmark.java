@@ -0,0 +1,150 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.lang.reflect.Constructor;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_PRCQNT;
+import simula.runtime.RTS_PROCEDURE;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_SimulaRuntimeError;
+
+/**
+ * Formal procedure call benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program calling
+ * a virtual procedure specified 'real procedure f(x,k); real x; integer k;':
+ * <pre>
+ *     for i := 1 step 1 until N do s := s + f(i, 2);
+ * </pre>
+ * It compares calls through RTS_PRCQNT.CPF and the typed setPar with
+ * the former calls, which got the constructor by reflection and boxed each parameter.
+ */
+public final class FormalProcedureBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final int CALLS = 5_000_000;
+
+	public FormalProcedureBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("FormalProcedureBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		RTS_PRCQNT f = new RTS_PRCQNT(this, F.class);
+		double expected = (double) CALLS * (CALLS + 1);
+		for (int r = 0; r < ROUNDS; r++) {
+			long startTime = System.nanoTime();
+			double s = 0;
+			for (int i = 1; i <= CALLS; i++)
+				s = s + doubleValue(reflectiveCPF(this, F.class).setPar((Object) (float) i).setPar((Object) 2)._ENT()._RESULT());
+			long reflective = System.nanoTime() - startTime;
+			if (s != expected)
+				throw new RuntimeException("s=" + s);
+
+			startTime = System.nanoTime();
+			s = 0;
+			for (int i = 1; i <= CALLS; i++)
+				s = s + doubleValue(f.CPF().setPar((float) i).setPar(2)._ENT()._RESULT());
+			long cached = System.nanoTime() - startTime;
+			if (s != expected)
+				throw new RuntimeException("s=" + s);
+
+			System.out.println(String.format("reflection+boxing %7.1f ns/call   method handle+typed setPar %7.1f ns/call",
+					(double) reflective / CALLS, (double) cached / CALLS));
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new FormalProcedureBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * The former RTS_PRCQNT.CPF.
+	 * @param staticLink the static link
+	 * @param procedure the procedure class
+	 * @return the procedure instance
+	 */
+	private static RTS_PROCEDURE reflectiveCPF(final RTS_RTObject staticLink, final Class<?> procedure) {
+		try {
+			Constructor<?> constr = procedure.getConstructor(new Class[] { RTS_RTObject.class });
+			return ((RTS_PROCEDURE) constr.newInstance(staticLink));
+		} catch (Exception e) {
+			throw new RTS_SimulaRuntimeError("reflectiveCPF: " + e, e);
+		}
+	}
+
+	/**
+	 * Procedure f: real procedure f(x,k); real x; integer k; f := x * k;
+	 */
+	public static final class F extends RTS_PROCEDURE {
+		public float _RESULT;
+
+		@Override
+		public Object _RESULT() {
+			return (_RESULT);
+		}
+
+		public float p_x;
+		public int p_k;
+
+		@Override
+		public F setPar(Object param) {
+			try {
+				switch (_nParLeft--) {
+					case 2: p_x = floatValue(param); break;
+					case 1: p_k = intValue(param); break;
+					default: throw new RTS_SimulaRuntimeError("Too many parameters");
+				}
+			} catch (ClassCastException e) {
+				throw new RTS_SimulaRuntimeError("Wrong type of parameter: " + param, e);
+			}
+			return (this);
+		}
+
+		@Override
+		public F setPar(int param) {
+			switch (_nParLeft) {
+				case 2: p_x = (float) param; break;
+				case 1: p_k = (int) param; break;
+				default: return (setPar((Object) param));
+			}
+			_nParLeft--;
+			return (this);
+		}
+
+		@Override
+		public F setPar(float param) {
+			switch (_nParLeft) {
+				case 2: p_x = (float) param; break;
+				case 1: p_k = (int) param; break;
+				default: return (setPar((Object) param));
+			}
+			_nParLeft--;
+			return (this);
+		}
+
+		public F(RTS_RTObject _SL) {
+			super(_SL, 2);
+		}
+
+		@Override
+		public F _STM() {
+			_RESULT = p_x * p_k;
+			EBLK();
+			return (this);
+		}
+	}
+
+}
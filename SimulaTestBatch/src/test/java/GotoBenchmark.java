@@ -0,0 +1,170 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_PROCEDURE;
+import simula.runtime.RTS_RTObject;
+
+/**
+ * Goto benchmark.
+ * <p>
+ * Written the same way as the Java code generated for the goto patterns of simtst26 and simtst31,
+ * with the jump table made by byte code engineering written as a switch:
+ * <pre>
+ *     procedure count(n); integer n;
+ *     begin integer k;
+ *     L: k := k + 1;
+ *        if k &lt; n then goto L;
+ *     end;
+ *     procedure fail; goto E;
+ * </pre>
+ * It measures:
+ * <ul>
+ * <li>a local goto by throwing and catching the label, as it was coded before</li>
+ * <li>a local goto by continuing the block's dispatch loop directly</li>
+ * <li>a non-local goto out of a procedure, which throws the stackless label</li>
+ * <li>the creation of a label, done each time its block is entered, compared with
+ * the creation of a RuntimeException with a stack trace, which is what it cost before</li>
+ * </ul>
+ */
+public final class GotoBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final int GOTOS = 10_000_000;
+	private static final int CALLS = 1_000_000;
+
+	final RTS_LABEL _LABEL_E = new RTS_LABEL(this, 1, "E");
+
+	public GotoBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("GotoBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		GotoBenchmark _THIS = (GotoBenchmark) _CUR;
+		for (int r = 0; r < ROUNDS; r++) {
+			long startTime = System.nanoTime();
+			new Count(_CUR, GOTOS, false);
+			long thrown = System.nanoTime() - startTime;
+
+			startTime = System.nanoTime();
+			new Count(_CUR, GOTOS, true);
+			long direct = System.nanoTime() - startTime;
+
+			startTime = System.nanoTime();
+			for (int i = 0; i < CALLS; i++) {
+				try {
+					new Fail(_CUR);
+				} catch (RTS_LABEL q) {
+					_CUR = _THIS;
+					if (q != _LABEL_E)
+						throw (q);
+				}
+			}
+			long nonLocal = System.nanoTime() - startTime;
+
+			Object sink = null;
+			startTime = System.nanoTime();
+			for (int i = 0; i < CALLS; i++)
+				sink = new RTS_LABEL(this, 1, "L");
+			long label = System.nanoTime() - startTime;
+			startTime = System.nanoTime();
+			for (int i = 0; i < CALLS; i++)
+				sink = new RuntimeException();
+			long stackTrace = System.nanoTime() - startTime;
+			if (sink == null)
+				throw new RuntimeException();
+
+			System.out.println(String.format(
+					"local goto: thrown %6.1f ns, direct %5.1f ns   non-local goto %6.1f ns   label creation %5.1f ns, with stack trace %6.1f ns",
+					(double) thrown / GOTOS, (double) direct / GOTOS, (double) nonLocal / CALLS, (double) label / CALLS,
+					(double) stackTrace / CALLS));
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new GotoBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Procedure count. Counts to n by a local goto.
+	 */
+	static final class Count extends RTS_PROCEDURE {
+		final RTS_LABEL _LABEL_L = new RTS_LABEL(this, 1, "L");
+		final int p_n;
+		final boolean direct;
+		int k;
+
+		Count(RTS_RTObject _SL, int n, boolean direct) {
+			super(_SL);
+			this.p_n = n;
+			this.direct = direct;
+			BBLK();
+			_STM();
+		}
+
+		@Override
+		public Count _STM() {
+			Count _THIS = (Count) _CUR;
+			_LOOP: while (_JTX >= 0) {
+				try {
+					switch (_JTX) { // Made by byte code engineering from _JUMPTABLE(_JTX) and _LABEL(1,"L")
+						case 0:
+						case 1:
+							k = k + 1;
+							if (k < p_n) {
+								if (direct) {
+									_JTX = 1;
+									if (_JTX > 0)
+										continue _LOOP;
+								} else
+									_GOTO(_LABEL_L);
+							}
+					}
+					break _LOOP;
+				} catch (RTS_LABEL q) {
+					_CUR = _THIS;
+					if (q._SL != _CUR) {
+						_CUR._STATE = OperationalState.terminated;
+						throw (q);
+					}
+					_JTX = q.index;
+					continue _LOOP;
+				}
+			}
+			EBLK();
+			return (this);
+		}
+	}
+
+	/**
+	 * Procedure fail. Leaves by a goto to the label E of the main program.
+	 */
+	static final class Fail extends RTS_PROCEDURE {
+
+		Fail(RTS_RTObject _SL) {
+			super(_SL);
+			BBLK();
+			_STM();
+		}
+
+		@Override
+		public Fail _STM() {
+			_GOTO(((GotoBenchmark) (_CUR._SL))._LABEL_E);
+			EBLK();
+			return (this);
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Head;
+import simula.runtime.RTS_Link;
+import simula.runtime.RTS_RTObject;
+
+/**
+ * Head cardinal and clear benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program using Simset.
+ * For sets of 10^3 to 10^5 members it compares:
+ * <ul>
+ * <li>cardinal, which is maintained incrementally, with counting the members by first/suc</li>
+ * <li>clear, which unlinks in bulk, with removing the members one by one by first.out</li>
+ * </ul>
+ */
+public final class HeadCardinalBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final long CALLS = 10_000_000L;
+
+	public HeadCardinalBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("HeadCardinalBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		System.out.println("         N   cardinal/sec   suc-walk/sec    clear(ms)  out-loop(ms)");
+		for (int n = 1_000; n <= 100_000; n *= 10) {
+			RTS_Head head = (RTS_Head) new RTS_Head(_CUR)._STM();
+			RTS_Link[] links = new RTS_Link[n];
+			for (int i = 0; i < n; i++)
+				links[i] = (RTS_Link) new RTS_Link(_CUR)._STM();
+			fill(head, links);
+
+			long cardinal = 0, walk = 0;
+			double clear = Double.MAX_VALUE, outLoop = Double.MAX_VALUE;
+			for (int r = 0; r < ROUNDS; r++) {
+				cardinal = Math.max(cardinal, cardinalPerSec(head, CALLS));
+				walk = Math.max(walk, walkPerSec(head, Math.max(10, CALLS / n / 10)));
+
+				long startTime = System.nanoTime();
+				head.clear();
+				clear = Math.min(clear, (System.nanoTime() - startTime) / 1e6);
+				fill(head, links);
+
+				startTime = System.nanoTime();
+				for (RTS_Link x = head.first(); x != null; x = head.first())
+					x.out();
+				outLoop = Math.min(outLoop, (System.nanoTime() - startTime) / 1e6);
+				fill(head, links);
+			}
+			System.out.println(String.format("%10d %14d %14d %12.3f %13.3f", n, cardinal, walk, clear, outLoop));
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new HeadCardinalBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Put all links into the head.
+	 * @param head the head
+	 * @param links the links
+	 */
+	private static void fill(final RTS_Head head, final RTS_Link[] links) {
+		for (RTS_Link link : links)
+			link.into(head);
+		if (head.cardinal() != links.length)
+			throw new RuntimeException("cardinal=" + head.cardinal() + ", expected " + links.length);
+	}
+
+	/**
+	 * Returns cardinal calls per second.
+	 * @param head the head
+	 * @param calls the number of calls
+	 * @return calls per second
+	 */
+	private static long cardinalPerSec(final RTS_Head head, final long calls) {
+		long sum = 0;
+		long startTime = System.nanoTime();
+		for (long i = 0; i < calls; i++)
+			sum += head.cardinal();
+		long timeUsed = System.nanoTime() - startTime;
+		if (sum != calls * head.cardinal())
+			throw new RuntimeException("cardinal");
+		return (calls * 1_000_000_000L / Math.max(1, timeUsed));
+	}
+
+	/**
+	 * Returns member counts per second by walking first/suc, the former cardinal.
+	 * @param head the head
+	 * @param calls the number of counts
+	 * @return counts per second
+	 */
+	private static long walkPerSec(final RTS_Head head, final long calls) {
+		long sum = 0;
+		long startTime = System.nanoTime();
+		for (long i = 0; i < calls; i++) {
+			for (RTS_Link ptr = head.first(); ptr != null; ptr = ptr.suc())
+				sum++;
+		}
+		long timeUsed = System.nanoTime() - startTime;
+		if (sum != calls * head.cardinal())
+			throw new RuntimeException("walk");
+		return (calls * 1_000_000_000L / Math.max(1, timeUsed));
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.lang.management.ManagementFactory;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Process;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_Simulation;
+
+/**
+ * Hold allocation benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program with a
+ * Simulation block. The main program of the Simulation block has N passive
+ * processes scheduled far ahead and runs the steady-state loops:
+ * <ul>
+ * <li>hold(1)</li>
+ * <li>hold(1) and reactivate a scheduled process</li>
+ * <li>hold(1), cancel a process and activate it again</li>
+ * </ul>
+ * The main program stays first in SQS, so there are no coroutine switches and all
+ * work is done by the main thread. Bytes allocated per loop are measured with
+ * com.sun.management.ThreadMXBean, and should be zero for each sequencing set.
+ */
+public final class HoldAllocationBenchmark extends RTS_BASICIO {
+	private static final int N = 1000;
+	private static final int WARMUP = 200_000;
+	private static final int LOOPS = 1_000_000;
+	private static final String[] SEQUENCING_SETS = { "tree", "calendar", "heap" };
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	public HoldAllocationBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("HoldAllocationBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		for (String sequencingSet : SEQUENCING_SETS) {
+			RTS_COMMON.Option.SEQUENCING_SET = sequencingSet;
+			new Sim(_CUR)._START();
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new HoldAllocationBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * A Simulation block measuring the steady-state loops.
+	 */
+	static final class Sim extends RTS_Simulation {
+		final P[] proc = new P[N];
+
+		@Override
+		public boolean isQPSystemBlock() {
+			return (true);
+		}
+
+		@Override
+		public boolean isDetachUsed() {
+			return (true);
+		}
+
+		Sim(RTS_RTObject staticLink) {
+			super(staticLink);
+		}
+
+		@Override
+		public Sim _STM() {
+			for (int i = 0; i < N; i++) {
+				proc[i] = (P) new P(_CUR)._START();
+				ActivateAt(false, proc[i], 1e9 + i, false);
+			}
+			report("hold:                 ", 0);
+			report("hold+reactivate:      ", 1);
+			report("hold+cancel/activate: ", 2);
+			EBLK();
+			return (this);
+		}
+
+		/**
+		 * Measure and print one steady-state loop.
+		 * @param title the title
+		 * @param kind the kind of loop
+		 */
+		private void report(final String title, final int kind) {
+			run(kind, WARMUP);
+			long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			long startTime = System.nanoTime();
+			run(kind, LOOPS);
+			long timeUsed = System.nanoTime() - startTime;
+			bytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+			System.out.println(String.format("%-9s %s %10d loops/sec %8.3f bytes/loop", RTS_COMMON.Option.SEQUENCING_SET,
+					title, LOOPS * 1_000_000_000L / timeUsed, (double) bytes / LOOPS));
+		}
+
+		/**
+		 * Run a steady-state loop.
+		 * @param kind the kind of loop
+		 * @param loops the number of loops
+		 */
+		private void run(final int kind, final int loops) {
+			for (int i = 0; i < loops; i++) {
+				hold(1);
+				P p = proc[i % N];
+				switch (kind) {
+					case 1 -> ActivateAt(true, p, time() + 1e9, false);
+					case 2 -> {
+						cancel(p);
+						ActivateAt(false, p, time() + 1e9, false);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * A process which is never activated before the end of the Simulation block.
+	 */
+	static final class P extends RTS_Process {
+
+		@Override
+		public boolean isDetachUsed() {
+			return (true);
+		}
+
+		P(RTS_RTObject staticLink) {
+			super(staticLink);
+		}
+
+		@Override
+		public P _STM() {
+			detach();
+			terminate();
+			EBLK();
+			return (this);
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Infile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Inimage and inrecord throughput benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program reading a large text file:
+ * <pre>
+ *     ref(Infile) f; f :- new Infile("..."); f.open(blanks(132));
+ *     f.inimage; while not f.endfile do begin ... ; f.inimage end;
+ *     f.close;
+ * </pre>
+ * It compares Infile.inimage and Infile.inrecord, which transfer each line from a decoded character buffer
+ * directly into the image, with the former inimage, which read a String per line by BufferedReader.readLine
+ * and copied it into the image. Throughput is reported in MB/s together with the bytes allocated per line.
+ * <p>
+ * The file is {@link #MEGABYTES} MB. Set it to 1024 to read a 1 GB file.
+ */
+public final class InimageBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 3;
+	private static final int MEGABYTES = 256;
+	private static final int WIDTH = 132;
+	private static final String LINE = "Report line: 0123456789 abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789 ...";
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	public InimageBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("InimageBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		try {
+			File file = File.createTempFile("InimageBenchmark", ".txt");
+			file.deleteOnExit();
+			long lines = (long) MEGABYTES * 1024 * 1024 / (LINE.length() + 1);
+			try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+				for (long i = 0; i < lines; i++) {
+					writer.write(LINE, 0, LINE.length() - (int) (i % 7));
+					writer.write('\n');
+				}
+			}
+			double mb = (double) file.length() / (1024 * 1024);
+			System.out.println(String.format("%d lines, %.1f MB          MB/s  bytes/line", lines, mb));
+			for (int r = 0; r < ROUNDS; r++) {
+				long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+				long startTime = System.nanoTime();
+				long n = readFormer(file);
+				report("former inimage:  ", mb, System.nanoTime() - startTime,
+						threadMXBean.getCurrentThreadAllocatedBytes() - bytes, n, lines);
+
+				bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+				startTime = System.nanoTime();
+				n = readInfile(file, false);
+				report("Infile.inimage:  ", mb, System.nanoTime() - startTime,
+						threadMXBean.getCurrentThreadAllocatedBytes() - bytes, n, lines);
+
+				bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+				startTime = System.nanoTime();
+				n = readInfile(file, true);
+				report("Infile.inrecord: ", mb, System.nanoTime() - startTime,
+						threadMXBean.getCurrentThreadAllocatedBytes() - bytes, n, lines);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new InimageBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Print one measurement and check the number of lines read.
+	 * @param title the title
+	 * @param mb megabytes read
+	 * @param timeUsed nanoseconds used
+	 * @param bytes bytes allocated
+	 * @param n number of lines read
+	 * @param lines number of lines in the file
+	 */
+	private static void report(final String title, final double mb, final long timeUsed, final long bytes,
+			final long n, final long lines) {
+		if (n != lines)
+			throw new RuntimeException("lines read=" + n);
+		System.out.println(String.format("%s %14.1f %11d", title, mb / (timeUsed / 1e9), bytes / lines));
+	}
+
+	/**
+	 * Read the file by Infile.inimage or Infile.inrecord.
+	 * @param file the file
+	 * @param inrecord true: use inrecord, otherwise inimage
+	 * @return number of lines read
+	 */
+	private long readInfile(final File file, final boolean inrecord) {
+		RTS_Infile f = new RTS_Infile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		f.open(blanks(WIDTH));
+		long n = 0;
+		while (true) {
+			if (inrecord)
+				f.inrecord();
+			else
+				f.inimage();
+			if (f.endfile())
+				break;
+			n++;
+		}
+		f.close();
+		return (n);
+	}
+
+	/**
+	 * Read the file the way the former inimage did.
+	 * @param file the file
+	 * @return number of lines read
+	 * @throws IOException if the file can't be read
+	 */
+	private static long readFormer(final File file) throws IOException {
+		RTS_TXT image = blanks(WIDTH);
+		long n = 0;
+		try (BufferedReader reader = new BufferedReader(new FileReader(file, Charset.defaultCharset()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				_ASGSTR(image, line);
+				n++;
+			}
+		}
+		return (n);
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.lang.management.ManagementFactory;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_RTObject;
+
+/**
+ * Name parameter benchmark, Jensen's device.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program:
+ * <pre>
+ *     long real procedure sum(k, lo, hi, term); name k, term; integer k, lo, hi; long real term;
+ *     begin long real s; k := lo;
+ *        while k &lt;= hi do begin s := s + term; k := k + 1 end;
+ *        sum := s
+ *     end;
+ *     ...  sum(i, 1, N, A(i) * B(i)) ...
+ * </pre>
+ * It compares the primitive name parameters RTS_NAME_int and RTS_NAME_double with
+ * RTS_NAME&lt;Integer> and RTS_NAME&lt;Double> used before, which boxed each read and write.
+ * Time and bytes allocated per call of sum are measured with com.sun.management.ThreadMXBean.
+ * <p>
+ * Here sum is called with one pair of thunk classes only, and C2 may inline them and remove the
+ * boxes by escape analysis once it is hot. In a program with many calls of sum it can't.
+ * Run with -XX:-DoEscapeAnalysis to see the cost there.
+ */
+public final class JensenBenchmark extends RTS_BASICIO {
+	private static final int N = 1_000;
+	private static final int ROUNDS = 5;
+	private static final int CALLS = 2_000;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	int i;
+	final RTS_LONG_REAL_ARRAY A = new RTS_LONG_REAL_ARRAY(new RTS_BOUNDS(1, N));
+	final RTS_LONG_REAL_ARRAY B = new RTS_LONG_REAL_ARRAY(new RTS_BOUNDS(1, N));
+
+	public JensenBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("JensenBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		for (int k = 1; k <= N; k++) {
+			A.putELEMENT(A.index(k), k);
+			B.putELEMENT(B.index(k), 1.0d / k);
+		}
+		System.out.println("N=" + N + "             ns/term      bytes/call");
+		for (int r = 0; r < ROUNDS; r++) {
+			report("RTS_NAME<T>:   ", false);
+			report("RTS_NAME_int:  ", true);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new JensenBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Measure and print CALLS calls of sum.
+	 * @param title the title
+	 * @param primitive true: use the primitive name parameters
+	 */
+	private void report(final String title, final boolean primitive) {
+		long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		long startTime = System.nanoTime();
+		double s = 0;
+		for (int c = 0; c < CALLS; c++) {
+			if (primitive)
+				s = s + sum(new RTS_NAME_int() {
+					public int getValue() {
+						return (i);
+					}
+
+					public int putValue(int x_) {
+						return (i = (int) x_);
+					}
+				}, 1, N, new RTS_NAME_double() {
+					public double getValue() {
+						return ((A.getELEMENT(i) * (B.getELEMENT(i))));
+					}
+				});
+			else
+				s = s + sumBoxed(new RTS_NAME<Integer>() {
+					public Integer get() {
+						return (i);
+					}
+
+					public Integer put(Integer x_) {
+						return (i = (int) x_);
+					}
+				}, 1, N, new RTS_NAME<Double>() {
+					public Double get() {
+						return ((A.getELEMENT(i) * (B.getELEMENT(i))));
+					}
+				});
+		}
+		long timeUsed = System.nanoTime() - startTime;
+		bytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+		if (s != (double) CALLS * N)
+			throw new RuntimeException("s=" + s);
+		System.out.println(String.format("%s %12.2f %15d", title, (double) timeUsed / CALLS / N, bytes / CALLS));
+	}
+
+	/**
+	 * Procedure sum with primitive name parameters.
+	 * @param k the controlled variable by name
+	 * @param lo lower limit
+	 * @param hi upper limit
+	 * @param term the term by name
+	 * @return the sum
+	 */
+	private static double sum(final RTS_NAME_int k, final int lo, final int hi, final RTS_NAME_double term) {
+		double s = 0;
+		k.putValue(lo);
+		while (k.getValue() <= hi) {
+			s = s + term.getValue();
+			k.putValue(k.getValue() + 1);
+		}
+		return (s);
+	}
+
+	/**
+	 * Procedure sum with boxed name parameters, as coded before.
+	 * @param k the controlled variable by name
+	 * @param lo lower limit
+	 * @param hi upper limit
+	 * @param term the term by name
+	 * @return the sum
+	 */
+	private static double sumBoxed(final RTS_NAME<Integer> k, final int lo, final int hi, final RTS_NAME<Double> term) {
+		double s = 0;
+		k.put(lo);
+		while (k.get() <= hi) {
+			s = s + term.get();
+			k.put(k.get() + 1);
+		}
+		return (s);
+	}
+
+}
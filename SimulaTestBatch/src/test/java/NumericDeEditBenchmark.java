@@ -0,0 +1,181 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Infile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Numeric de-editing benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program reading a file of numbers:
+ * <pre>
+ *     i := t.getint; x := t.getreal;
+ *     while not f.endfile do begin i := f.inint; x := f.inreal; ... end;
+ * </pre>
+ * It compares getint and getreal, which scan and convert the item in place, with the former
+ * de-editing, which copied the item into a StringBuilder and converted the String by Integer.parseInt
+ * or Double.parseDouble. It also measures inint and inreal from an Infile. Time and bytes allocated
+ * per call are measured with com.sun.management.ThreadMXBean.
+ * <p>
+ * Before each measurement the results are compared with the former de-editing.
+ */
+public final class NumericDeEditBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final int CALLS = 1_000_000;
+	private static final int LINES = 200_000;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	private final RTS_TXT[] ints = new RTS_TXT[1024];
+	private final RTS_TXT[] reals = new RTS_TXT[1024];
+
+	public NumericDeEditBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("NumericDeEditBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		java.util.Random random = new java.util.Random(4711);
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = new RTS_TXT("  " + (random.nextInt(2_000_000) - 1_000_000) + " ");
+			double x = random.nextGaussian() * Math.pow(10, random.nextInt(9) - 3);
+			reals[i] = new RTS_TXT(" " + ((i % 2 == 0) ? String.format("%.6f", x) : Double.toString(x).replace('E', '&')));
+		}
+		for (int k = 0; k < ints.length; k++) {
+			if (RTS_TXT.getint(ints[k]) != Integer.parseInt(formerItem(ints[k], false)))
+				throw new RuntimeException("getint: " + ints[k]);
+			if (RTS_TXT.getreal(reals[k]) != Double.parseDouble(formerItem(reals[k], true)))
+				throw new RuntimeException("getreal: " + reals[k]);
+		}
+		try {
+			File file = File.createTempFile("NumericDeEditBenchmark", ".txt");
+			file.deleteOnExit();
+			try (Writer writer = new FileWriter(file)) {
+				for (int i = 0; i < LINES; i++) {
+					int k = i & 1023;
+					writer.write(formerItem(ints[k], false) + " " + formerItem(reals[k], true).replace('E', '&') + '\n');
+				}
+			}
+			System.out.println(String.format("%d calls       former ns/call  bytes/call     new ns/call  bytes/call", CALLS));
+			for (int r = 0; r < ROUNDS; r++) {
+				report("getint   ", false);
+				report("getreal  ", true);
+				reportInfile(file);
+				System.out.println();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new NumericDeEditBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Measure and print getint or getreal, the former and the new.
+	 * @param title the title
+	 * @param real true: getreal, otherwise getint
+	 */
+	private void report(final String title, final boolean real) {
+		RTS_TXT[] items = (real) ? reals : ints;
+		double sum = 0;
+		long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		long startTime = System.nanoTime();
+		for (int i = 0; i < CALLS; i++) {
+			String item = formerItem(items[i & 1023], real);
+			sum = sum + ((real) ? Double.parseDouble(item) : Integer.parseInt(item));
+		}
+		long formerTime = System.nanoTime() - startTime;
+		long formerBytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+
+		bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		startTime = System.nanoTime();
+		for (int i = 0; i < CALLS; i++)
+			sum = sum - ((real) ? RTS_TXT.getreal(items[i & 1023]) : RTS_TXT.getint(items[i & 1023]));
+		long newTime = System.nanoTime() - startTime;
+		long newBytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+		if (Math.abs(sum) > 1e-3)
+			throw new RuntimeException("sum=" + sum);
+		System.out.println(String.format("%s %22.1f %11d %15.1f %11d", title, (double) formerTime / CALLS,
+				formerBytes / CALLS, (double) newTime / CALLS, newBytes / CALLS));
+	}
+
+	/**
+	 * Measure and print inint and inreal from an Infile.
+	 * @param file the file to read
+	 */
+	private void reportInfile(final File file) {
+		RTS_Infile f = new RTS_Infile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		f.open(blanks(80));
+		long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		long startTime = System.nanoTime();
+		long n = 0;
+		while (!f.lastitem()) {
+			f.inint();
+			f.inreal();
+			n = n + 2;
+		}
+		long timeUsed = System.nanoTime() - startTime;
+		bytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+		f.close();
+		if (n != 2 * LINES)
+			throw new RuntimeException("n=" + n);
+		System.out.println(String.format("inint/inreal %50.1f %11d", (double) timeUsed / n, bytes / n));
+	}
+
+	/**
+	 * The former getIntegerItem and getRealItem.
+	 * @param T the text
+	 * @param real true: getRealItem, otherwise getIntegerItem
+	 * @return the item
+	 */
+	private static String formerItem(final RTS_TXT T, final boolean real) {
+		StringBuilder sb = new StringBuilder();
+		RTS_TXT.setpos(T, 1);
+		char c = ' ';
+		while (RTS_TXT.more(T) && (c = RTS_TXT.getchar(T)) == ' ')
+			; // SKIP BLANKS
+		if (c == '+' || c == '-') {
+			sb.append(c);
+			while (RTS_TXT.more(T) && (c = RTS_TXT.getchar(T)) == ' ')
+				; // SKIP BLANKS
+		}
+		while (c != ' ') {
+			if (Character.isDigit(c))
+				sb.append(c);
+			else if (real && (c == '.' || c == '+' || c == '-'))
+				sb.append(c);
+			else if (real && c == '&')
+				sb.append('E');
+			else
+				break;
+			if (!RTS_TXT.more(T))
+				break;
+			c = RTS_TXT.getchar(T);
+		}
+		return (sb.toString());
+	}
+
+}
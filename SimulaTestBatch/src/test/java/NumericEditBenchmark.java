@@ -0,0 +1,281 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Outfile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Numeric editing benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program writing a statistics report:
+ * <pre>
+ *     t.putint(i); t.putfix(x, 3); t.putreal(x, 7); t.putfrac(i, 3);
+ *     f.outint(i, 0); f.outfix(x, 3, 0); ...
+ * </pre>
+ * It compares putint, putfix, putreal and putfrac, which edit the digits directly into the text frame,
+ * with the former editing through String concatenation and a new DecimalFormat for each call.
+ * It also measures outint, outfix and outreal with w=0, which edited the item into blanks(20) and output
+ * a trimmed String before. Time and bytes allocated per call are measured with com.sun.management.ThreadMXBean.
+ * <p>
+ * Before each measurement the results are compared with the former editing.
+ */
+public final class NumericEditBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final int CALLS = 1_000_000;
+	private static final int WIDTH = 20;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	private final int[] ints = new int[1024];
+	private final double[] reals = new double[1024];
+	private final RTS_TXT T = blanks(WIDTH);
+	private final char[] former = new char[WIDTH];
+
+	public NumericEditBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("NumericEditBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		java.util.Random random = new java.util.Random(4711);
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = random.nextInt(2_000_000) - 1_000_000;
+			reals[i] = random.nextGaussian() * Math.pow(10, random.nextInt(9) - 3);
+		}
+		check();
+		System.out.println(String.format("%d calls              former ns/call  bytes/call     new ns/call  bytes/call", CALLS));
+		for (int r = 0; r < ROUNDS; r++) {
+			for (int op = 0; op < 4; op++)
+				report(op);
+			reportOut();
+			System.out.println();
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new NumericEditBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Measure and print one editing procedure, the former and the new.
+	 * @param op 0:putint, 1:putfix, 2:putreal, 3:putfrac
+	 */
+	private void report(final int op) {
+		String[] title = { "putint(i)     ", "putfix(x,3)   ", "putreal(x,7)  ", "putfrac(i,3)  " };
+		long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		long startTime = System.nanoTime();
+		for (int i = 0; i < CALLS; i++)
+			edit(op, i & 1023, true);
+		long formerTime = System.nanoTime() - startTime;
+		long formerBytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+
+		bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+		startTime = System.nanoTime();
+		for (int i = 0; i < CALLS; i++)
+			edit(op, i & 1023, false);
+		long newTime = System.nanoTime() - startTime;
+		long newBytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+		System.out.println(String.format("%s %22.1f %11d %15.1f %11d", title[op], (double) formerTime / CALLS,
+				formerBytes / CALLS, (double) newTime / CALLS, newBytes / CALLS));
+	}
+
+	/**
+	 * Measure and print outint, outfix and outreal with w=0 to an Outfile.
+	 */
+	private void reportOut() {
+		try {
+			File file = File.createTempFile("NumericEditBenchmark", ".txt");
+			file.deleteOnExit();
+			RTS_Outfile f = new RTS_Outfile(_CUR, new RTS_TXT(file.getPath()))._STM();
+			f.open(blanks(132));
+			long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			long startTime = System.nanoTime();
+			for (int i = 0; i < CALLS; i++) {
+				int k = i & 1023;
+				f.outint(ints[k], 0);
+				f.outfix(reals[k], 3, 0);
+				f.outreal(reals[k], 7, 0);
+				f.outchar(' ');
+			}
+			long timeUsed = System.nanoTime() - startTime;
+			bytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+			f.close();
+			file.delete();
+			System.out.println(String.format("outint/outfix/outreal(...,0) %39.1f %11d", (double) timeUsed / CALLS / 3,
+					bytes / CALLS / 3));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Edit one item.
+	 * @param op 0:putint, 1:putfix, 2:putreal, 3:putfrac
+	 * @param k index of the value
+	 * @param useFormer true: the former editing, otherwise the new
+	 */
+	private void edit(final int op, final int k, final boolean useFormer) {
+		if (useFormer) {
+			switch (op) {
+				case 0 -> formerResult("" + ints[k]);
+				case 1 -> formerResult(formerFormat("##0.000", reals[k]));
+				case 2 -> formerResult(formerFormat("0.000000E000", reals[k]));
+				default -> formerPutfrac(ints[k], 3);
+			}
+		} else {
+			switch (op) {
+				case 0 -> RTS_TXT.putint(T, ints[k]);
+				case 1 -> RTS_TXT.putfix(T, reals[k], 3);
+				case 2 -> RTS_TXT.putreal(T, reals[k], 7);
+				default -> RTS_TXT.putfrac(T, ints[k], 3);
+			}
+		}
+	}
+
+	/**
+	 * Check that the new editing gives the same result as the former.
+	 */
+	private void check() {
+		for (int op = 0; op < 4; op++) {
+			for (int k = 0; k < ints.length; k++) {
+				edit(op, k, true);
+				edit(op, k, false);
+				String result = new String(former);
+				if (!result.equals(edText()))
+					throw new RuntimeException("op=" + op + ": former \"" + result + "\", new \"" + edText() + '"');
+			}
+		}
+		checkTies();
+	}
+
+	/**
+	 * Check putfix and putreal with values whose shortest decimal digits end in a 5 at the rounding
+	 * position, e.g. putfix(5.0E-4,3) which DecimalFormat edits to 0.000.
+	 */
+	private void checkTies() {
+		long[] mantissas = { 5, 15, 25, 45, 125, 995, 12345 };
+		for (int n = 1; n <= 15; n++) {
+			String fixPattern = "##0." + "0".repeat(n);
+			String realPattern = ((n > 1) ? "0." + "0".repeat(n - 1) : "0") + "E000";
+			for (long m : mantissas) {
+				for (double r : new double[] { Double.parseDouble(m + "E-" + (n + 1)), -Double.parseDouble(m + "E-" + (n + 1)) }) {
+					formerResult(formerFormat(fixPattern, r));
+					RTS_TXT.putfix(T, r, n);
+					checkTie("putfix", r, n);
+					if (n + 7 <= WIDTH) { // The former editing truncated the item
+						formerResult(formerFormat(realPattern, r));
+						RTS_TXT.putreal(T, r, n);
+						checkTie("putreal", r, n);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compare the new editing in T with the former editing in the array former.
+	 * @param name the editing procedure
+	 * @param r the value
+	 * @param n the number of digits
+	 */
+	private void checkTie(final String name, final double r, final int n) {
+		String result = new String(former);
+		if (!result.equals(edText()))
+			throw new RuntimeException(name + "(" + r + "," + n + "): former \"" + result + "\", new \"" + edText() + '"');
+	}
+
+	/**
+	 * Returns the contents of T.
+	 * @return the contents of T
+	 */
+	private String edText() {
+		RTS_TXT.setpos(T, 1);
+		StringBuilder s = new StringBuilder();
+		while (RTS_TXT.more(T))
+			s.append(RTS_TXT.getchar(T));
+		return (s.toString());
+	}
+
+	/**
+	 * The former putfix and putreal editing by DecimalFormat.
+	 * @param pattern the DecimalFormat pattern
+	 * @param r the value
+	 * @return the edited value
+	 */
+	private static String formerFormat(final String pattern, final double r) {
+		DecimalFormat myFormatter = new DecimalFormat(pattern);
+		myFormatter.setRoundingMode(RoundingMode.HALF_EVEN);
+		String output = myFormatter.format(r).replace((char) 8722, '-');
+		String[] part = output.split("E");
+		if (part.length == 2 && !(part[1].startsWith("-")))
+			output = part[0] + "E+" + part[1];
+		return (output.replace(',', '.'));
+	}
+
+	/**
+	 * The former putResult, edits into the array former.
+	 * @param s the edited value
+	 */
+	private void formerResult(final String s) {
+		char[] c = s.toCharArray();
+		int m = c.length - 1;
+		for (int j = WIDTH - 1; j >= 0; j = j - 1) {
+			char k = (m >= 0) ? c[m--] : ' ';
+			former[j] = (k == 'E') ? '&' : k;
+		}
+	}
+
+	/**
+	 * The former putfrac, edits into the array former.
+	 * @param val the value
+	 * @param n number of digits after a decimal mark
+	 */
+	private void formerPutfrac(final int val, final int n) {
+		char[] item = new char[WIDTH];
+		int r = (n % 3 == 0) ? 3 : n % 3;
+		int v = Math.abs(val);
+		int d = 0;
+		int p = item.length - 1;
+		while ((v > 0) || (d < n)) {
+			int c = v % 10;
+			v = v / 10;
+			if (r == 0) {
+				r = 3;
+				if (d != n)
+					item[p--] = ' ';
+			}
+			item[p--] = (char) (c + '0');
+			r = r - 1;
+			d = d + 1;
+			if (d == n)
+				item[p--] = '.';
+		}
+		if (val < 0)
+			item[p--] = '-';
+		while (p >= 0)
+			item[p--] = ' ';
+		System.arraycopy(item, 0, former, 0, WIDTH);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Outfile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Outimage throughput benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program writing a report:
+ * <pre>
+ *     ref(Outfile) f; f :- new Outfile("..."); f.open(blanks(132));
+ *     for i := 1 step 1 until LINES do begin f.outtext(LINE); f.outimage end;
+ *     f.close;
+ * </pre>
+ * It compares Outfile.outimage, which writes the stripped image directly from its text frame,
+ * with the former outimage, which edited the stripped image into a String by a StringBuilder,
+ * appended a newline and wrote it by a FileWriter. Throughput is reported in MB/s of output
+ * characters together with the bytes allocated per line.
+ */
+public final class OutimageBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 5;
+	private static final int LINES = 1_000_000;
+	private static final int WIDTH = 132;
+	private static final String LINE = "Report line: 0123456789 abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789 ...";
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	public OutimageBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("OutimageBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		try {
+			File file = File.createTempFile("OutimageBenchmark", ".txt");
+			file.deleteOnExit();
+			double mb = (double) LINES * (LINE.length() + 1) / (1024 * 1024);
+			System.out.println(String.format("%d lines, %.1f MB          MB/s  bytes/line", LINES, mb));
+			for (int r = 0; r < ROUNDS; r++) {
+				long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+				long startTime = System.nanoTime();
+				writeFormer(file);
+				report("former outimage:  ", mb, System.nanoTime() - startTime,
+						threadMXBean.getCurrentThreadAllocatedBytes() - bytes, file);
+
+				bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+				startTime = System.nanoTime();
+				writeOutfile(file);
+				report("Outfile.outimage: ", mb, System.nanoTime() - startTime,
+						threadMXBean.getCurrentThreadAllocatedBytes() - bytes, file);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new OutimageBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Print one measurement and check the file length.
+	 * @param title the title
+	 * @param mb megabytes written
+	 * @param timeUsed nanoseconds used
+	 * @param bytes bytes allocated
+	 * @param file the file written
+	 */
+	private static void report(final String title, final double mb, final long timeUsed, final long bytes,
+			final File file) {
+		if (file.length() != (long) LINES * (LINE.length() + 1))
+			throw new RuntimeException("file length=" + file.length());
+		System.out.println(String.format("%s %14.1f %11d", title, mb / (timeUsed / 1e9), bytes / LINES));
+	}
+
+	/**
+	 * Write the file by Outfile.outimage.
+	 * @param file the file
+	 */
+	private void writeOutfile(final File file) {
+		file.delete();
+		RTS_Outfile f = new RTS_Outfile(_CUR, new RTS_TXT(file.getPath()))._STM();
+		f.open(blanks(WIDTH));
+		RTS_TXT line = new RTS_TXT(LINE);
+		for (int i = 0; i < LINES; i++) {
+			f.outtext(line);
+			f.outimage();
+		}
+		f.close();
+	}
+
+	/**
+	 * Write the file the way the former outimage did.
+	 * @param file the file
+	 * @throws IOException if the file can't be written
+	 */
+	private static void writeFormer(final File file) throws IOException {
+		char[] image = new char[WIDTH];
+		try (Writer writer = new FileWriter(file, Charset.defaultCharset(), false)) {
+			for (int i = 0; i < LINES; i++) {
+				java.util.Arrays.fill(image, ' ');
+				LINE.getChars(0, LINE.length(), image, 0);
+				int n = WIDTH; // RTS_TXT.strip
+				while (image[n - 1] == ' ')
+					n = n - 1;
+				StringBuilder s = new StringBuilder(); // RTS_TEXTOBJ.edText
+				for (int k = 0; k < n; k++)
+					s.append(image[k]);
+				writer.write(s.toString() + '\n');
+			}
+		}
+	}
+
+}
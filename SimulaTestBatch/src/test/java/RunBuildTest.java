@@ -0,0 +1,289 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Vector;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import simula.compiler.BuildDriver;
+import simula.compiler.utilities.Global;
+import simula.compiler.utilities.Option;
+
+/**
+ * Test of the Simula Build Driver.
+ * <p>
+ * Four modules are written to a temporary directory: The separately compiled procedure pa, the
+ * class pb calling pa, the class pc prefixed by pb, and the main program prog using pc. They are
+ * given to the build driver in the reverse order, and each module must be started after the module
+ * it depends on is done. They are built again and again after changes, and the decision for each
+ * module, as reported by the build driver, is checked:
+ * <ul>
+ * <li>"Compile" when the source text or the interface of an external module has changed. The
+ * statements of a class are part of its interface, they are copied into the subclasses.
+ * <li>"Repackage" when only the classes of an external module have changed.
+ * <li>"Up to date" otherwise. A main program is always compiled unless -noexec is given.
+ * </ul>
+ * The test prints "--- NO ERRORS FOUND IN BUILD TEST" or the errors found, and exits with the
+ * number of errors.
+ */
+public final class RunBuildTest {
+	private static final File simulaDir=new File("C:/GitHub/SimulaCompiler/Simula");
+	private static final String COMPILE = "Compile";
+	private static final String REPACKAGE = "Repackage";
+	private static final String UP_TO_DATE = "Up to date";
+	private static final String[] DECISIONS = { COMPILE, REPACKAGE, UP_TO_DATE };
+	private static final String[] MODULES = { "prog", "pc", "pb", "pa" };
+	private static final String[][] DEPENDS = { { "pb", "pa" }, { "pc", "pb" }, { "prog", "pc" } };
+
+	private static final String PA = """
+			integer procedure pa(n); integer n;
+			begin
+			   pa:=n+1;
+			end;
+			""";
+
+	private static final String PA_BODY = """
+			integer procedure pa(n); integer n;
+			begin
+			   pa:=n+2;
+			end;
+			""";
+
+	private static final String PA_INTERFACE = """
+			integer procedure pa(n); real n;
+			begin
+			   pa:=n+2;
+			end;
+			""";
+
+	private static final String PA_ERROR = """
+			integer procedure pa(n); real n;
+			begin
+			   pa:=;
+			end;
+			""";
+
+	private static final String PA_CORRECTED = """
+			integer procedure pa(n); real n;
+			begin
+			   pa:=n+3;
+			end;
+			""";
+
+	private static final String PB = """
+			external integer procedure pa;
+			class pb;
+			begin integer y;
+			   y:=pa(1);
+			end;
+			""";
+
+	private static final String PB_BODY = """
+			external integer procedure pa;
+			class pb;
+			begin integer y;
+			   y:=pa(2);
+			end;
+			""";
+
+	private static final String PC = """
+			external class pb;
+			pb class pc;
+			begin integer z;
+			   z:=y+1;
+			end;
+			""";
+
+	private static final String PROG = """
+			begin
+			   external class pc;
+			   ref(pc) r;
+			   r:-new pc;
+			   outint(r.z, 4); outimage;
+			end;
+			""";
+
+	private static final String PROG_CHANGED = """
+			begin
+			   external class pc;
+			   ref(pc) r;
+			   r:-new pc;
+			   outint(r.z, 6); outimage;
+			end;
+			""";
+
+	private static File dir;
+	private static int nErr;
+
+	public static void main(String[] args) throws IOException {
+		Option.INLINE_TESTING=true;
+		Option.WARNINGS=false;
+		Option.verbose=false;
+		Option.noExecution=true;
+		Global.packetName="simulaTestBatch";
+		Global.simulaRtsLib=new File(simulaDir,"bin"); // To use Eclipse Project's simula.runtime
+
+		dir=Files.createTempDirectory("RunBuildTest").toFile();
+		try {
+			write("pa.sim", PA); write("pb.sim", PB); write("pc.sim", PC); write("prog.sim", PROG);
+			build("Case 1: First build", 0, "pa", COMPILE, "pb", COMPILE, "pc", COMPILE, "prog", COMPILE);
+			build("Case 2: Nothing changed", 0, "pa", UP_TO_DATE, "pb", UP_TO_DATE, "pc", UP_TO_DATE, "prog", UP_TO_DATE);
+
+			write("pa.sim", PA_BODY);
+			build("Case 3: Body of pa changed", 0, "pa", COMPILE, "pb", REPACKAGE, "pc", REPACKAGE, "prog", REPACKAGE);
+			for(String into:new String[] { "pb.jar", "pc.jar", "prog.jar" })
+				checkClasses("Case 3", "pa.jar", into);
+			checkClasses("Case 3", "pb.jar", "pc.jar");
+			checkClasses("Case 3", "pc.jar", "prog.jar");
+			build("Case 4: Nothing changed after repackage", 0, "pa", UP_TO_DATE, "pb", UP_TO_DATE, "pc", UP_TO_DATE, "prog", UP_TO_DATE);
+
+			write("pb.sim", PB_BODY);
+			build("Case 5: Body of class pb changed", 0, "pa", UP_TO_DATE, "pb", COMPILE, "pc", COMPILE, "prog", COMPILE);
+
+			write("pa.sim", PA_INTERFACE);
+			build("Case 6: Interface of pa changed", 0, "pa", COMPILE, "pb", COMPILE, "pc", COMPILE, "prog", COMPILE);
+
+			write("prog.sim", PROG_CHANGED);
+			build("Case 7: Main program changed", 0, "pa", UP_TO_DATE, "pb", UP_TO_DATE, "pc", UP_TO_DATE, "prog", COMPILE);
+
+			Option.noExecution=false;
+			build("Case 8: Main program to be executed", 0, "pa", UP_TO_DATE, "pb", UP_TO_DATE, "pc", UP_TO_DATE, "prog", COMPILE);
+			Option.noExecution=true;
+
+			write("pa.sim", PA_ERROR);
+			build("Case 9: Error in pa", 4, "pa", COMPILE);
+			write("pa.sim", PA_CORRECTED);
+			build("Case 9: Error in pa corrected", 0, "pa", COMPILE, "pb", REPACKAGE, "pc", REPACKAGE, "prog", REPACKAGE);
+			build("Case 9: Nothing changed", 0, "pa", UP_TO_DATE, "pb", UP_TO_DATE, "pc", UP_TO_DATE, "prog", UP_TO_DATE);
+
+			// pa(2)=5, y=5 and z=6
+			Option.noExecution=false;
+			String output=build("Case 10: Execute after repackage", 0, "pa", UP_TO_DATE, "pb", UP_TO_DATE, "pc", UP_TO_DATE, "prog", COMPILE);
+			if(!output.contains("     6")) err("Case 10: Wrong output from prog");
+			Option.noExecution=true;
+		} finally {
+			deleteFiles(dir);
+		}
+
+		if(nErr>0) System.out.println("\n--- "+nErr+" ERROR(S) FOUND IN BUILD TEST");
+		else System.out.println("\n--- NO ERRORS FOUND IN BUILD TEST");
+		System.exit(nErr);
+	}
+
+	// ***************************************************************
+	// *** BUILD AND CHECK THE DECISIONS
+	// ***************************************************************
+	private static String build(final String title, final int nFailed, final String... facit) {
+		Vector<File> files=new Vector<File>();
+		for(String name:MODULES) files.add(new File(dir,name+".sim"));
+		ByteArrayOutputStream output=new ByteArrayOutputStream();
+		PrintStream sysout=System.out;
+		System.setOut(new PrintStream(new Tee(sysout,output),true,StandardCharsets.UTF_8));
+		int result;
+		try { result=BuildDriver.build(files); }
+		finally { System.out.flush(); System.setOut(sysout); }
+
+		Hashtable<String,String> decision=new Hashtable<String,String>();
+		Hashtable<String,Integer> started=new Hashtable<String,Integer>();
+		Hashtable<String,Integer> finished=new Hashtable<String,Integer>();
+		String[] lines=output.toString(StandardCharsets.UTF_8).split("\\R");
+		for(int i=0;i<lines.length;i++) {
+			for(String d:DECISIONS) {
+				if(lines[i].startsWith(d+": ")) {
+					String name=moduleName(lines[i].substring(d.length()+2));
+					decision.put(name,d); started.put(name,i); finished.put(name,i);
+				}
+			}
+			if(lines[i].startsWith("Done: ")) finished.put(moduleName(lines[i].substring(6)),i);
+		}
+		for(String[] depends:DEPENDS) {
+			if(started.containsKey(depends[0]) && !(finished.containsKey(depends[1]) && finished.get(depends[1])<started.get(depends[0])))
+				err(title+": "+depends[0]+" is started before "+depends[1]+" is done");
+		}
+		if(result!=nFailed) err(title+": "+result+" modules failed, expected "+nFailed);
+		Vector<String> expected=new Vector<String>();
+		for(int i=0;i<facit.length;i+=2) {
+			expected.add(facit[i]);
+			if(!facit[i+1].equals(decision.get(facit[i])))
+				err(title+": "+facit[i]+": "+decision.get(facit[i])+", expected "+facit[i+1]);
+		}
+		for(String name:decision.keySet())
+			if(!expected.contains(name)) err(title+": "+name+": "+decision.get(name)+", expected none");
+		System.out.println("--- "+title+": "+decision);
+		return(output.toString(StandardCharsets.UTF_8));
+	}
+
+	// ***************************************************************
+	// *** CHECK THAT THE CLASSES OF A MODULE ARE COPIED UNCHANGED
+	// ***************************************************************
+	private static void checkClasses(final String title, final String from, final String into) throws IOException {
+		String packetDir=Global.packetName+'/';
+		File sourceJar=new File(dir,"bin/"+from);
+		File targetJar=new File(dir,"bin/"+into);
+		if(!sourceJar.exists() || !targetJar.exists()) { err(title+": "+from+" or "+into+" is missing"); return; }
+		try(JarFile source=new JarFile(sourceJar); JarFile target=new JarFile(targetJar)) {
+			for(JarEntry entry:Collections.list(source.entries())) {
+				if(entry.getName().startsWith(packetDir) && entry.getName().endsWith(".class")) {
+					JarEntry copy=target.getJarEntry(entry.getName());
+					if(copy==null) err(title+": "+entry.getName()+" is missing in "+into);
+					else if(!Arrays.equals(source.getInputStream(entry).readAllBytes(),target.getInputStream(copy).readAllBytes()))
+						err(title+": "+entry.getName()+" in "+into+" differs from "+from);
+				}
+			}
+		}
+	}
+
+	private static String moduleName(final String sourceFile) {
+		String name=new File(sourceFile.strip()).getName();
+		return(name.substring(0,name.length()-4));
+	}
+
+	private static void write(final String name, final String source) throws IOException {
+		Files.writeString(new File(dir,name).toPath(), source);
+	}
+
+	private static void err(final String msg) {
+		nErr++;
+		System.out.println("*** error: "+msg);
+	}
+
+	// ***************************************************************
+	// *** DELETE FILES
+	// ***************************************************************
+	private static void deleteFiles(final File dir) {
+		File[] elt = dir.listFiles();
+		if(elt!=null) for (File f : elt) {
+			if(f.isDirectory()) deleteFiles(f);
+			else f.delete();
+		}
+		dir.delete();
+	}
+
+	// ***************************************************************
+	// *** COPY THE OUTPUT TO TWO STREAMS
+	// ***************************************************************
+	private static final class Tee extends OutputStream {
+		private final OutputStream a, b;
+		Tee(final OutputStream a, final OutputStream b) { this.a=a; this.b=b; }
+		@Override public void write(int c) throws IOException { a.write(c); b.write(c); }
+		@Override public void write(byte[] buf, int off, int len) throws IOException { a.write(buf,off,len); b.write(buf,off,len); }
+		@Override public void flush() throws IOException { a.flush(); b.flush(); }
+	}
+
+}
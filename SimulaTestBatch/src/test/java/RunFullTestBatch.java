@@ -19,6 +19,7 @@ import simula.compiler.SimulaCompiler;
 import simula.compiler.utilities.Global;
 import simula.compiler.utilities.Option;
 import simula.compiler.utilities.Util;
+import simula.editor.RTOption;
 
 /**
  * Simula Test Batch donated by Simula as.
@@ -195,6 +196,13 @@ public final class RunFullTestBatch {
 		names.add("simtst138.sim"); // OK: ref() and Real type Arrays.
 		names.add("simtst139.sim"); // OK: Test remote Array access.
 		names.add("simtst140.sim"); // OK: Test For-Statement with ControlVariable with Type Conversion.
+		names.add("simtst141.sim"); // OK: Sequencing Set: Equal times, prior, cancel, reactivate before/after
+		names.add("simtst142.sim"); // OK: Local goto: Jumps within a block, compound statements and connection blocks
+		names.add("simtst143.sim"); // OK: For-lists with several elements: Step-until, while and single elements
+		names.add("simtst144.sim"); // OK: Infile: Partial inrecord, inimage, line terminators and long lines
+		names.add("simtst145.sim"); // OK: Directfile and Directbytefile: Random operations checked against a model
+		names.add("simtst146.sim"); // OK: Outfile: Read back after checkpoint and close
+		names.add("simtst147.sim"); // OK: Text concatenation: Evaluation order and the result frame
 
 		names.add("RT_ErrorTest.sim"); // Simula Error TestBatch Framework
 		names.add("simerr01.sim"); // OK: ILLEGAL GOTO out of an operating Process and into the enclosing System.
@@ -233,12 +241,43 @@ public final class RunFullTestBatch {
 //		RTOption.SML_TRACING = false;
 
 		for(String name:names) {
-//			String fileName = userDir+"/src/"+Global.packetName+"/sim/"+name;
-			String fileName = sourceDir+name;
-			Option.RUNTIME_USER_DIR=new File(fileName).getParent();
-			SimulaCompiler compiler = new SimulaCompiler(fileName);
-			try { compiler.doCompile(); } catch (IOException e) { Util.IERR("Compiler Error: ", e); }
+			compile(name);
 		}
+
+		// Run some tests again with the alternative runtime implementations.
+		for(String set:new String[] {"calendar","heap"}) {
+			System.out.println("\n--- RUNTIME OPTION -sequencingSet "+set);
+			RTOption.SEQUENCING_SET=set;
+			compile("simtst54.sim");  // A VERY Simple Simulation
+			compile("simtst103.sim"); // All kinds of Activation Statements
+			compile("simtst107.sim"); // Test Process, activation statements, idle, terminated, time.
+			compile("simtst141.sim"); // Sequencing Set: Equal times, prior, cancel, reactivate before/after
+		}
+		RTOption.SEQUENCING_SET=null;
+
+		System.out.println("\n--- RUNTIME OPTION -mappedDirectfiles");
+		RTOption.MAPPED_DIRECTFILES=true;
+		compile("simtst84.sim");  // Test DirectBytefile.
+		compile("simtst85.sim");  // Test Directfile.
+		compile("simtst136.sim"); // Directfile with CREATE, APPEND and PURGE.
+		compile("simtst137.sim"); // DirectBytefile with CREATE, APPEND and PURGE.
+		compile("simtst145.sim"); // Directfile and Directbytefile: Random operations checked against a model
+		RTOption.MAPPED_DIRECTFILES=false;
+
+		System.out.println("\n--- RUNTIME OPTION -directfileCache 4");
+		RTOption.DIRECTFILE_CACHE=4;
+		compile("simtst85.sim");  // Test Directfile.
+		compile("simtst136.sim"); // Directfile with CREATE, APPEND and PURGE.
+		compile("simtst145.sim"); // Directfile and Directbytefile: Random operations checked against a model
+		RTOption.DIRECTFILE_CACHE=0;
+
+		System.out.println("\n--- RUNTIME OPTION -writeBehind");
+		RTOption.WRITE_BEHIND=true;
+		compile("simtst81.sim");  // Test the value of close.
+		compile("simtst134.sim"); // Outfile with CREATE, APPEND and PURGE.
+		compile("simtst144.sim"); // Infile: Partial inrecord, inimage, line terminators and long lines
+		compile("simtst146.sim"); // Outfile: Read back after checkpoint and close
+		RTOption.WRITE_BEHIND=false;
 		
 //		list(testBatchJarDir);
 		deleteFiles(testBatchJarDir);
@@ -249,6 +288,17 @@ public final class RunFullTestBatch {
 		System.out.println("\nElapsed Time: Approximately " + timeUsed/1000 + " sec.");
 	}
 
+	// ***************************************************************
+	// *** COMPILE AND EXECUTE A TEST
+	// ***************************************************************
+	private static void compile(final String name) {
+//		String fileName = userDir+"/src/"+Global.packetName+"/sim/"+name;
+		String fileName = sourceDir+name;
+		Option.RUNTIME_USER_DIR=new File(fileName).getParent();
+		SimulaCompiler compiler = new SimulaCompiler(fileName);
+		try { compiler.doCompile(); } catch (IOException e) { Util.IERR("Compiler Error: ", e); }
+	}
+
 	// ***************************************************************
 	// *** DELETE FILES
 	// ***************************************************************
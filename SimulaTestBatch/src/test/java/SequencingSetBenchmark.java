@@ -0,0 +1,65 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.util.Random;
+
+import simula.runtime.RTS_CalendarQueue;
+import simula.runtime.RTS_EVENT_NOTICE;
+import simula.runtime.RTS_PairingHeap;
+import simula.runtime.RTS_RankingSet;
+import simula.runtime.RTS_SequencingSet;
+
+/**
+ * Sequencing set benchmark.
+ * <p>
+ * The classic 'hold model': The set is filled with N event notices, then the first
+ * event notice is repeatedly rescheduled at its EVTIME plus an exponentially
+ * distributed holding time. This is what Simulation.hold does.
+ * <p>
+ * Measures holds per second for N = 10^3 to 10^6 for each of the sequencing sets
+ * selectable by the runtime option -sequencingSet.
+ */
+public final class SequencingSetBenchmark {
+	private static final int HOLDS = 2_000_000;
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) {
+		System.out.println("         N         tree     calendar         heap   (holds/sec)");
+		for (int n = 1_000; n <= 1_000_000; n *= 10) {
+			long tree = measure(new RTS_RankingSet(), n);
+			long calendar = measure(new RTS_CalendarQueue(), n);
+			long heap = measure(new RTS_PairingHeap(), n);
+			System.out.println(String.format("%10d %12d %12d %12d", n, tree, calendar, heap));
+		}
+	}
+
+	/**
+	 * Fill the set with n event notices and return the best holds per second of ROUNDS.
+	 * @param sqs the sequencing set
+	 * @param n the number of event notices
+	 * @return holds per second
+	 */
+	private static long measure(final RTS_SequencingSet sqs, final int n) {
+		Random random = new Random(4711);
+		for (int i = 0; i < n; i++)
+			sqs.into(new RTS_EVENT_NOTICE(0, null), -Math.log(random.nextDouble()));
+		long best = 0;
+		for (int r = 0; r < ROUNDS; r++) {
+			long startTime = System.nanoTime();
+			for (int i = 0; i < HOLDS; i++) {
+				RTS_EVENT_NOTICE first = sqs.first();
+				sqs.into(first, first.EVTIME() - Math.log(random.nextDouble()));
+			}
+			long timeUsed = System.nanoTime() - startTime;
+			best = Math.max(best, HOLDS * 1_000_000_000L / timeUsed);
+		}
+		return (best);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.lang.management.ManagementFactory;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Text allocation benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program creating many short texts:
+ * <pre>
+ *     text t;
+ *     for i := 1 step 1 until LOOPS do begin
+ *         t :- blanks(8); t :- copy("abcdefgh"); t :- "abcd" &amp; "efgh"; t :- "abcdefgh";
+ *     end;
+ * </pre>
+ * Bytes allocated per text frame are measured with com.sun.management.ThreadMXBean. Each frame is
+ * a RTS_TXT, a RTS_TEXTOBJ and its character array. RTS_TEXTOBJ is a standalone class without the
+ * attributes of RTS_RTObject.
+ */
+public final class TextAllocationBenchmark extends RTS_BASICIO {
+	private static final int WARMUP = 1_000_000;
+	private static final int LOOPS = 10_000_000;
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	/**
+	 * Keeps the last text alive.
+	 */
+	static RTS_TXT last;
+
+	public TextAllocationBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("TextAllocationBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		for (int kind = 0; kind < 4; kind++) {
+			run(kind, WARMUP);
+			long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+			long startTime = System.nanoTime();
+			run(kind, LOOPS);
+			long timeUsed = System.nanoTime() - startTime;
+			bytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+			String title = switch (kind) {
+				case 0 -> "blanks(8):        ";
+				case 1 -> "copy(\"abcdefgh\"): ";
+				case 2 -> "\"abcd\" & \"efgh\":  ";
+				default -> "\"abcdefgh\":       ";
+			};
+			System.out.println(String.format("%s %10d texts/sec %8.1f bytes/text", title,
+					LOOPS * 1_000_000_000L / timeUsed, (double) bytes / LOOPS));
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new TextAllocationBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * Create texts.
+	 * @param kind the kind of text
+	 * @param loops the number of texts
+	 */
+	private void run(final int kind, final int loops) {
+		for (int i = 0; i < loops; i++) {
+			last = switch (kind) {
+				case 0 -> blanks(8);
+				case 1 -> copy(new RTS_TXT("abcdefgh"));
+				case 2 -> CONC(new RTS_TXT("abcd"), new RTS_TXT("efgh"));
+				default -> new RTS_TXT("abcdefgh");
+			};
+		}
+	}
+
+}
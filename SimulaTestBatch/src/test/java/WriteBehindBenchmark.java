@@ -0,0 +1,136 @@
+/*
+ * (CC) This work is licensed under a Creative Commons
+ * Attribution 4.0 International License.
+ *
+ * You find a copy of the License on the following
+ * page: https://creativecommons.org/licenses/by/4.0/
+ */
+package test.java;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import simula.runtime.RTS_BASICIO;
+import simula.runtime.RTS_COMMON;
+import simula.runtime.RTS_Outfile;
+import simula.runtime.RTS_RTObject;
+import simula.runtime.RTS_Simulation;
+import simula.runtime.RTS_TXT;
+
+/**
+ * Write-behind benchmark.
+ * <p>
+ * Written the same way as the Java code generated for a Simula program with a Simulation block
+ * logging each event:
+ * <pre>
+ *     ref(Outfile) log; log :- new Outfile("..."); log.setaccess("SYNCHRONOUS"); log.open(blanks(132));
+ *     Simulation begin
+ *         for i := 1 step 1 until EVENTS do begin
+ *             hold(negexp(1, u));
+ *             log.outtext("Event"); log.outint(i, 10); log.outfix(time, 4, 16); ... ; log.outimage;
+ *         end;
+ *     end;
+ * </pre>
+ * It compares the wall-clock time of the default mode, where outimage writes the image on the Simula
+ * thread, with the write-behind mode selected by the runtime option -writeBehind, where outimage
+ * copies the image into a buffer written by a writer thread. Both a SYNCHRONOUS log file, which
+ * is flushed for each line, and an ordinary log file are measured.
+ * <p>
+ * Both modes write the same lines, and the files are compared.
+ */
+public final class WriteBehindBenchmark extends RTS_BASICIO {
+	private static final int ROUNDS = 3;
+	private static final int EVENTS = 500_000;
+	private static final int WIDTH = 132;
+
+	/**
+	 * The log file used by the Simulation block.
+	 */
+	static RTS_Outfile log;
+
+	public WriteBehindBenchmark(RTS_RTObject staticLink) {
+		super(staticLink);
+		BBLK();
+		BPRG("WriteBehindBenchmark");
+	}
+
+	@Override
+	public RTS_RTObject _STM() {
+		try {
+			File file = File.createTempFile("WriteBehindBenchmark", ".log");
+			file.deleteOnExit();
+			System.out.println(String.format("%d events               default ms   writeBehind ms", EVENTS));
+			for (int r = 0; r < ROUNDS; r++) {
+				for (boolean synchronous : new boolean[] { true, false }) {
+					long[] time = new long[2];
+					byte[][] contents = new byte[2][];
+					for (int mode = 0; mode < 2; mode++) {
+						RTS_COMMON.Option.WRITE_BEHIND = mode == 1;
+						long startTime = System.nanoTime();
+						log = new RTS_Outfile(_CUR, new RTS_TXT(file.getPath()))._STM();
+						if (synchronous)
+							log.setaccess(new RTS_TXT("SYNCHRONOUS"));
+						log.open(blanks(WIDTH));
+						new Sim(_CUR)._START();
+						log.close();
+						time[mode] = System.nanoTime() - startTime;
+						contents[mode] = Files.readAllBytes(file.toPath());
+					}
+					RTS_COMMON.Option.WRITE_BEHIND = false;
+					if (!Arrays.equals(contents[0], contents[1]))
+						throw new RuntimeException("The modes differ");
+					System.out.println(String.format("%-24s %12d %16d", (synchronous) ? "SYNCHRONOUS log:" : "log:",
+							time[0] / 1_000_000, time[1] / 1_000_000));
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		EBLK();
+		return (this);
+	}
+
+	public static void main(String[] args) {
+		RTS_COMMON.setRuntimeOptions(args);
+		RTS_COMMON.runMainProgram(() -> new WriteBehindBenchmark(_CTX)._STM());
+	}
+
+	/**
+	 * A Simulation block logging each event.
+	 */
+	static final class Sim extends RTS_Simulation {
+
+		@Override
+		public boolean isQPSystemBlock() {
+			return (true);
+		}
+
+		Sim(RTS_RTObject staticLink) {
+			super(staticLink);
+		}
+
+		@Override
+		public Sim _STM() {
+			Random random = new Random(4711);
+			RTS_TXT event = new RTS_TXT("Event");
+			RTS_TXT at = new RTS_TXT(" at time");
+			RTS_TXT queue = new RTS_TXT(" queue length");
+			for (int i = 1; i <= EVENTS; i++) {
+				hold(-Math.log(random.nextDouble()));
+				log.outtext(event);
+				log.outint(i, 10);
+				log.outtext(at);
+				log.outfix(time(), 4, 16);
+				log.outtext(queue);
+				log.outint(random.nextInt(100), 5);
+				log.outimage();
+			}
+			EBLK();
+			return (this);
+		}
+	}
+
+}